@@ -0,0 +1,98 @@
+package com.gzeport.cbec.api;
+
+import com.gzeport.cbec.logging.HotPathLogPolicy;
+import com.gzeport.cbec.logging.HotPathLogger;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+/**
+ * 日志管理API控制器
+ * 运行时查询和调整热点日志各分类的采样率、限流和截断长度，调整只对当前JVM生效，重启后恢复配置文件中的取值
+ */
+@Profile("!processor")
+@RestController
+@RequestMapping("/api/logging")
+@Slf4j
+@Tag(name = "日志管理", description = "热点日志策略相关的API接口")
+public class LoggingController {
+
+    /**
+     * 查询热点日志策略
+     * @return 分类到策略的映射
+     */
+    @Operation(
+        summary = "查询热点日志策略",
+        description = "查询各热点日志分类当前的采样率、每秒限流条数和报文截断长度",
+        tags = {"日志管理"}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @GetMapping("/hot-path")
+    public ResponseEntity<Map<String, HotPathLogPolicy>> getPolicies() {
+        return ResponseEntity.ok(HotPathLogger.policies());
+    }
+
+    /**
+     * 调整热点日志策略，未传的参数保持当前取值
+     * @param category 日志分类
+     * @param sampleRate 采样率
+     * @param rateLimit 每秒限流条数
+     * @param maxPayload 报文截断长度
+     * @return 调整后的策略
+     */
+    @Operation(
+        summary = "调整热点日志策略",
+        description = "调整指定分类（message、validation、batch）的采样率、每秒限流条数和报文截断长度，立即生效",
+        tags = {"日志管理"}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "调整成功",
+            content = @Content(mediaType = "application/json")
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "请求参数错误",
+            content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "采样率应在0~1之间: 2.0"))
+        )
+    })
+    @PutMapping("/hot-path/{category}")
+    public ResponseEntity<?> updatePolicy(
+        @Parameter(description = "日志分类", required = true, schema = @Schema(type = "string", example = "message"))
+        @PathVariable String category,
+        @Parameter(description = "采样率，取值0~1", schema = @Schema(type = "number", example = "0.01"))
+        @RequestParam(required = false) Double sampleRate,
+        @Parameter(description = "每秒限流条数，小于等于0表示不限流", schema = @Schema(type = "integer", example = "10"))
+        @RequestParam(required = false) Integer rateLimit,
+        @Parameter(description = "报文截断长度，小于等于0表示不截断", schema = @Schema(type = "integer", example = "200"))
+        @RequestParam(required = false) Integer maxPayload) {
+        HotPathLogPolicy current = HotPathLogger.policies().getOrDefault(category, HotPathLogPolicy.UNLIMITED);
+        try {
+            HotPathLogPolicy policy = new HotPathLogPolicy(
+                    sampleRate != null ? sampleRate : current.getSampleRate(),
+                    rateLimit != null ? rateLimit : current.getRateLimitPerSecond(),
+                    maxPayload != null ? maxPayload : current.getMaxPayloadLength());
+            HotPathLogger.configure(category, policy);
+            return ResponseEntity.ok(policy);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
@@ -1,6 +1,9 @@
 package com.gzeport.cbec.api;
 
+import com.gzeport.cbec.ceb.CebSchemaValidator;
 import com.gzeport.cbec.kafka.producer.OrderMessageProducer;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.gzeport.cbec.service.LatencyTracker;
 import com.gzeport.cbec.service.OrderService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -12,29 +15,39 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Map;
+
 /**
  * 订单API控制器
  * 用于接收企业发送的订单数据报文，保存至Kafka后由Flink处理
  */
+@Profile("!processor")
 @RestController
 @RequestMapping("/api/orders")
 @Slf4j
 @Tag(name = "订单管理", description = "订单相关的API接口")
 public class OrderController {
 
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(OrderController.class, HotPathLogger.CATEGORY_MESSAGE);
+
     @Autowired
     private OrderMessageProducer orderMessageProducer;
 
-    @Autowired
+    /**
+     * api角色不连接数据库，不注册OrderService，订单查询接口返回503
+     */
+    @Autowired(required = false)
     private OrderService orderService;
 
     /**
      * 接收企业发送的订单报文
      * 将订单数据保存至Kafka的订单主题，然后由Flink进行业务处理并保存至数据库
+     * 请求体按原始字节转发，不解码为字符串，字符集由报文XML声明决定（缺省为UTF-8）
      * @param xmlMessage XML格式的订单报文
      * @param companyId 公司ID
      * @param messageType 消息类型
@@ -70,7 +83,7 @@ public class OrderController {
             required = true,
             schema = @Schema(type = "string", example = "<order><orderId>ORDER001</orderId><companyId>COMP000001</companyId><customerName>John Doe</customerName><totalAmount>100.00</totalAmount><orderStatus>PENDING</orderStatus></order>")
         )
-        @RequestBody String xmlMessage, 
+        @RequestBody byte[] xmlMessage, 
         @Parameter(
             description = "公司ID",
             required = true,
@@ -93,10 +106,10 @@ public class OrderController {
         )
         @RequestHeader(value = "SenderId", required = true) String senderId) {
         try {
-            log.info("接收到企业订单提交请求，公司ID: {}, 消息类型: {}, 发送者ID: {}", companyId, messageType, senderId);
+            MESSAGE_LOG.info("接收到企业订单提交请求，公司ID: {}, 消息类型: {}, 发送者ID: {}", companyId, messageType, senderId);
             
             // 验证XML格式是否正确
-            if (xmlMessage == null || xmlMessage.isEmpty()) {
+            if (xmlMessage == null || xmlMessage.length == 0) {
                 return ResponseEntity.badRequest().body("订单报文为空");
             }
             
@@ -114,10 +127,9 @@ public class OrderController {
             // 将订单报文发送到Kafka，包含header信息
             boolean result = orderMessageProducer.sendOrderMessage(xmlMessage, companyId, messageType, senderId);
             if (result) {
-                log.info("订单报文已成功发送到Kafka，等待Flink处理");
                 return ResponseEntity.ok("订单提交成功，正在处理中");
             } else {
-                log.error("订单报文发送到Kafka失败");
+                MESSAGE_LOG.error("订单报文发送到Kafka失败");
                 return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("订单提交失败，请重试");
             }
         } catch (Exception e) {
@@ -147,6 +159,11 @@ public class OrderController {
             description = "订单不存在",
             content = @Content(mediaType = "text/plain", schema = @Schema(type = "string"))
         ),
+        @ApiResponse(
+            responseCode = "503",
+            description = "当前节点为api角色，未启用订单查询",
+            content = @Content(mediaType = "text/plain", schema = @Schema(type = "string", example = "当前节点未启用订单查询"))
+        ),
         @ApiResponse(
             responseCode = "500",
             description = "内部服务器错误",
@@ -163,6 +180,9 @@ public class OrderController {
         @PathVariable String orderId) {
         try {
             log.info("查询订单: {}", orderId);
+            if (orderService == null) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body("当前节点未启用订单查询");
+            }
             var order = orderService.getOrderByOrderId(orderId);
             if (order != null) {
                 return ResponseEntity.ok(order);
@@ -175,6 +195,50 @@ public class OrderController {
         }
     }
 
+    /**
+     * 查询API侧延迟统计
+     * 延迟统计按JVM保存，Flink作业不在API服务进程中运行，这里只返回本节点记录的apiToKafka阶段；
+     * kafkaToOperator、operatorToCommit和endToEnd阶段通过Flink的latency指标组查看
+     * @return apiToKafka阶段的样本数和分位数（毫秒）
+     */
+    @Operation(
+        summary = "延迟统计",
+        description = "查询本节点报文从API接收到Kafka确认写入（apiToKafka）的延迟分位数（毫秒）；Flink侧各阶段延迟通过Flink指标latency组查看",
+        tags = {"订单管理"}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @GetMapping("/latency")
+    public ResponseEntity<Map<String, Map<String, Long>>> getLatency() {
+        return ResponseEntity.ok(LatencyTracker.snapshot(LatencyTracker.Stage.API_TO_KAFKA));
+    }
+
+    /**
+     * 查询报文XSD校验统计
+     * @return 各报文类型的校验通过数、不通过数和平均校验耗时（微秒）
+     */
+    @Operation(
+        summary = "XSD校验统计",
+        description = "查询本节点开启XSD校验的CEB报文类型的校验通过数、不通过数和抽样平均耗时（微秒）",
+        tags = {"订单管理"}
+    )
+    @ApiResponses({
+        @ApiResponse(
+            responseCode = "200",
+            description = "查询成功",
+            content = @Content(mediaType = "application/json")
+        )
+    })
+    @GetMapping("/schema-validation")
+    public ResponseEntity<Map<String, Map<String, Object>>> getSchemaValidation() {
+        return ResponseEntity.ok(CebSchemaValidator.snapshot());
+    }
+
     /**
      * 健康检查接口
      * @return 健康状态
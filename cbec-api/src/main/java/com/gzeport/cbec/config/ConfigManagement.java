@@ -10,9 +10,10 @@ import org.springframework.context.annotation.Import;
 @Configuration
 @Import({
     ApplicationConfig.class,
-    BatchConfig.class,
-    FlinkConfig.class,
-    KafkaConfig.class
+    HotPathLogConfig.class,
+    KafkaConfig.class,
+    NodeRoleConfig.class,
+    ServiceConfig.class
 })
 public class ConfigManagement {
     // 集中管理所有配置类，无需额外代码
@@ -0,0 +1,136 @@
+package com.gzeport.cbec.config;
+
+import com.gzeport.cbec.logging.HotPathLogPolicy;
+import com.gzeport.cbec.logging.HotPathLogger;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 热点日志配置管理类
+ * 启动时将各分类的采样率、限流和截断长度注册到HotPathLogger，运行时可通过日志管理接口调整
+ */
+@Component
+public class HotPathLogConfig {
+
+    @Value("${logging.hot-path.summary-interval.ms:60000}")
+    private long summaryIntervalMs;
+
+    @Value("${logging.hot-path.message.sample-rate:0.001}")
+    private double messageSampleRate;
+
+    @Value("${logging.hot-path.message.rate-limit:10}")
+    private int messageRateLimit;
+
+    @Value("${logging.hot-path.message.max-payload:200}")
+    private int messageMaxPayload;
+
+    @Value("${logging.hot-path.validation.sample-rate:0.01}")
+    private double validationSampleRate;
+
+    @Value("${logging.hot-path.validation.rate-limit:20}")
+    private int validationRateLimit;
+
+    @Value("${logging.hot-path.validation.max-payload:200}")
+    private int validationMaxPayload;
+
+    @Value("${logging.hot-path.batch.sample-rate:1}")
+    private double batchSampleRate;
+
+    @Value("${logging.hot-path.batch.rate-limit:50}")
+    private int batchRateLimit;
+
+    @Value("${logging.hot-path.batch.max-payload:200}")
+    private int batchMaxPayload;
+
+    @PostConstruct
+    public void apply() {
+        HotPathLogger.setSummaryIntervalMs(summaryIntervalMs);
+        HotPathLogger.configure(HotPathLogger.CATEGORY_MESSAGE,
+                new HotPathLogPolicy(messageSampleRate, messageRateLimit, messageMaxPayload));
+        HotPathLogger.configure(HotPathLogger.CATEGORY_VALIDATION,
+                new HotPathLogPolicy(validationSampleRate, validationRateLimit, validationMaxPayload));
+        HotPathLogger.configure(HotPathLogger.CATEGORY_BATCH,
+                new HotPathLogPolicy(batchSampleRate, batchRateLimit, batchMaxPayload));
+    }
+
+    public long getSummaryIntervalMs() {
+        return summaryIntervalMs;
+    }
+
+    public void setSummaryIntervalMs(long summaryIntervalMs) {
+        this.summaryIntervalMs = summaryIntervalMs;
+    }
+
+    public double getMessageSampleRate() {
+        return messageSampleRate;
+    }
+
+    public void setMessageSampleRate(double messageSampleRate) {
+        this.messageSampleRate = messageSampleRate;
+    }
+
+    public int getMessageRateLimit() {
+        return messageRateLimit;
+    }
+
+    public void setMessageRateLimit(int messageRateLimit) {
+        this.messageRateLimit = messageRateLimit;
+    }
+
+    public int getMessageMaxPayload() {
+        return messageMaxPayload;
+    }
+
+    public void setMessageMaxPayload(int messageMaxPayload) {
+        this.messageMaxPayload = messageMaxPayload;
+    }
+
+    public double getValidationSampleRate() {
+        return validationSampleRate;
+    }
+
+    public void setValidationSampleRate(double validationSampleRate) {
+        this.validationSampleRate = validationSampleRate;
+    }
+
+    public int getValidationRateLimit() {
+        return validationRateLimit;
+    }
+
+    public void setValidationRateLimit(int validationRateLimit) {
+        this.validationRateLimit = validationRateLimit;
+    }
+
+    public int getValidationMaxPayload() {
+        return validationMaxPayload;
+    }
+
+    public void setValidationMaxPayload(int validationMaxPayload) {
+        this.validationMaxPayload = validationMaxPayload;
+    }
+
+    public double getBatchSampleRate() {
+        return batchSampleRate;
+    }
+
+    public void setBatchSampleRate(double batchSampleRate) {
+        this.batchSampleRate = batchSampleRate;
+    }
+
+    public int getBatchRateLimit() {
+        return batchRateLimit;
+    }
+
+    public void setBatchRateLimit(int batchRateLimit) {
+        this.batchRateLimit = batchRateLimit;
+    }
+
+    public int getBatchMaxPayload() {
+        return batchMaxPayload;
+    }
+
+    public void setBatchMaxPayload(int batchMaxPayload) {
+        this.batchMaxPayload = batchMaxPayload;
+    }
+}
@@ -29,6 +29,9 @@ public class KafkaConfig {
     @Value("${kafka.topic.order.replication.factor}")
     private int topicOrderReplicationFactor;
 
+    @Value("${kafka.topic.reject.name:cbec_topic_order_reject}")
+    private String topicRejectName;
+
     public String getBootstrapServers() {
         return bootstrapServers;
     }
@@ -84,4 +87,12 @@ public class KafkaConfig {
     public void setTopicOrderReplicationFactor(int topicOrderReplicationFactor) {
         this.topicOrderReplicationFactor = topicOrderReplicationFactor;
     }
+
+    public String getTopicRejectName() {
+        return topicRejectName;
+    }
+
+    public void setTopicRejectName(String topicRejectName) {
+        this.topicRejectName = topicRejectName;
+    }
 }
@@ -0,0 +1,82 @@
+package com.gzeport.cbec.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * 节点角色配置类
+ * 角色由Spring profile指定：api（只接收报文写入Kafka，不连接数据库）、processor（只消费Kafka写库，不启动Web服务器）、
+ * 未指定或all（全部组件）。启动完成后输出角色、启动耗时和内存占用，用于比较各角色的资源开销
+ */
+@Component
+@Slf4j
+public class NodeRoleConfig {
+
+    public static final String ROLE_API = "api";
+    public static final String ROLE_PROCESSOR = "processor";
+    public static final String ROLE_ALL = "all";
+
+    private static final Path PROC_STATUS = Paths.get("/proc/self/status");
+
+    @Autowired
+    private Environment environment;
+
+    private String role;
+
+    @PostConstruct
+    public void init() {
+        boolean api = environment.acceptsProfiles(Profiles.of(ROLE_API));
+        boolean processor = environment.acceptsProfiles(Profiles.of(ROLE_PROCESSOR));
+        if (api && processor) {
+            throw new RuntimeException("api和processor角色不能同时启用，需要全部组件时使用all角色或不指定角色");
+        }
+        role = api ? ROLE_API : processor ? ROLE_PROCESSOR : ROLE_ALL;
+    }
+
+    @EventListener
+    public void onReady(ApplicationReadyEvent event) {
+        Runtime runtime = Runtime.getRuntime();
+        long heapUsedMb = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        long rssMb = readRssKb() / 1024;
+        log.info("节点启动完成，角色: {}，Spring启动耗时: {}ms，JVM启动至就绪: {}ms，堆内存已用: {}MB，常驻内存(RSS): {}",
+                role, event.getTimeTaken().toMillis(), ManagementFactory.getRuntimeMXBean().getUptime(),
+                heapUsedMb, rssMb >= 0 ? rssMb + "MB" : "未知");
+    }
+
+    /**
+     * 读取当前进程常驻内存（KB），非Linux系统返回-1
+     */
+    static long readRssKb() {
+        if (!Files.isReadable(PROC_STATUS)) {
+            return -1;
+        }
+        try {
+            List<String> lines = Files.readAllLines(PROC_STATUS);
+            for (String line : lines) {
+                if (line.startsWith("VmRSS:")) {
+                    return Long.parseLong(line.substring("VmRSS:".length()).replace("kB", "").trim());
+                }
+            }
+        } catch (IOException | NumberFormatException e) {
+            log.warn("读取进程常驻内存失败: {}", e.getMessage());
+        }
+        return -1;
+    }
+
+    public String getRole() {
+        return role;
+    }
+}
@@ -0,0 +1,62 @@
+package com.gzeport.cbec.config;
+
+import com.gzeport.cbec.ceb.CebSchemaValidator;
+import com.gzeport.cbec.service.ParallelMessageParser;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.service.XmlParserService;
+import com.gzeport.cbec.validation.ValidationRuleEngine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 公共服务配置类
+ * 报文解析和校验服务位于公共模块，不依赖Spring，在此注册为Bean
+ * 校验规则可放在外部文件中，修改后按检查间隔生效
+ * 订单、支付单、运单服务共用一个解析线程池，批量解析时的线程数不超过配置的并行度
+ */
+@Profile("!api")
+@Configuration
+public class ServiceConfig {
+
+    /**
+     * 报文解析服务，按配置对CEB报文做XSD校验
+     */
+    @Bean
+    public XmlParserService xmlParserService(@Value("${xml.schema-validation.message-types:}") String schemaValidationTypes) {
+        List<String> roots = new ArrayList<>();
+        for (String type : schemaValidationTypes.split(",")) {
+            if (!type.trim().isEmpty()) {
+                roots.add(type.trim());
+            }
+        }
+        return new XmlParserService(roots.isEmpty() ? CebSchemaValidator.DISABLED : new CebSchemaValidator(roots));
+    }
+
+    /**
+     * 校验规则引擎，指定外部规则文件时按间隔检查文件修改并重新加载
+     */
+    @Bean(destroyMethod = "close")
+    public ValidationRuleEngine validationRuleEngine(@Value("${validation.rules.file:}") String rulesFile,
+                                                     @Value("${validation.rules.reload-interval.ms:30000}") long reloadIntervalMs) {
+        return rulesFile.isEmpty() ? ValidationRuleEngine.fromClasspath()
+                : ValidationRuleEngine.fromFile(Paths.get(rulesFile), reloadIntervalMs);
+    }
+
+    @Bean
+    public ValidationService validationService(ValidationRuleEngine validationRuleEngine) {
+        return new ValidationService(validationRuleEngine);
+    }
+
+    @Bean(destroyMethod = "close")
+    public ParallelMessageParser parallelMessageParser(@Value("${batch.parse.parallelism:0}") int parallelism,
+                                                       @Value("${batch.parse.threshold:" + ParallelMessageParser.DEFAULT_THRESHOLD + "}") int threshold) {
+        return new ParallelMessageParser("batch-parse",
+                parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), threshold);
+    }
+}
@@ -5,11 +5,13 @@ import io.swagger.v3.oas.models.info.Info;
 import io.swagger.v3.oas.models.info.License;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
 /**
  * Swagger配置类
  * 用于设置OpenAPI文档和Swagger UI
  */
+@Profile("!processor")
 @Configuration
 public class SwaggerConfig {
 
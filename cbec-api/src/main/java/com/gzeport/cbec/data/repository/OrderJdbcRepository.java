@@ -0,0 +1,36 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.jdbc.OrderUpsertStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 订单JDBC Repository
+ * 提供JPA无法高效完成的批量幂等写入
+ */
+@Profile("!api")
+@Repository
+public class OrderJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批量幂等写入订单
+     * @param orders 订单列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @return 写入的订单数量
+     */
+    public int upsertAll(List<Order> orders, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(OrderUpsertStatement.SQL, orders, batchSize, (ps, order) -> OrderUpsertStatement.bind(ps, order, now));
+        return orders.size();
+    }
+}
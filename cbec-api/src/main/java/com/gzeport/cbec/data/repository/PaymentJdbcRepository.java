@@ -0,0 +1,36 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.jdbc.PaymentUpsertStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 支付单JDBC Repository
+ * 提供支付单的批量幂等写入，供支付单写库阶段使用
+ */
+@Profile("!api")
+@Repository
+public class PaymentJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批量幂等写入支付单
+     * @param payments 支付单列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @return 写入的支付单数量
+     */
+    public int upsertAll(List<Payment> payments, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(PaymentUpsertStatement.SQL, payments, batchSize, (ps, payment) -> PaymentUpsertStatement.bind(ps, payment, now));
+        return payments.size();
+    }
+}
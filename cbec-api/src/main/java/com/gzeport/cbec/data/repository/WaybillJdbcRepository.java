@@ -0,0 +1,36 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.data.jdbc.WaybillUpsertStatement;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 运单JDBC Repository
+ * 提供运单的批量幂等写入，供运单写库阶段使用
+ */
+@Profile("!api")
+@Repository
+public class WaybillJdbcRepository {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * 批量幂等写入运单
+     * @param waybills 运单列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @return 写入的运单数量
+     */
+    public int upsertAll(List<Waybill> waybills, int batchSize) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(WaybillUpsertStatement.SQL, waybills, batchSize, (ps, waybill) -> WaybillUpsertStatement.bind(ps, waybill, now));
+        return waybills.size();
+    }
+}
@@ -4,13 +4,16 @@ import com.gzeport.cbec.config.KafkaConfig;
 import com.gzeport.cbec.service.OrderService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Component;
 
 /**
  * 订单消息消费者
  * 用于接收Kafka中的订单数据报文，然后调用OrderService进行业务处理
+ * 仅在processor角色下默认启动监听，all角色由Flink作业处理订单主题，监听容器不启动
  */
+@Profile("!api")
 @Component
 @Slf4j
 public class OrderMessageConsumer {
@@ -24,11 +27,12 @@ public class OrderMessageConsumer {
     /**
      * 监听订单主题
      * 当接收到订单报文时，调用OrderService进行业务处理并保存至数据库
-     * @param message 订单数据报文（XML格式）
+     * @param message 订单数据报文（XML格式）原始字节
      */
-    //@KafkaListener(topics = "${kafka.topic.order.name}", groupId = "${kafka.consumer.group.id}")
-    public void listenOrderMessage(String message) {
-        log.info("接收到Kafka订单报文: {}", message.substring(0, Math.min(message.length(), 100)) + (message.length() > 100 ? "..." : ""));
+    @KafkaListener(topics = "${kafka.topic.order.name}", groupId = "${kafka.consumer.group.id}",
+            autoStartup = "${kafka.consumer.listener.auto-startup:false}")
+    public void listenOrderMessage(byte[] message) {
+        log.info("接收到Kafka订单报文，长度: {} 字节", message.length);
         
         try {
             // 调用OrderService处理订单报文
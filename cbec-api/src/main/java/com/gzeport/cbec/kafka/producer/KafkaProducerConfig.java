@@ -2,10 +2,12 @@ package com.gzeport.cbec.kafka.producer;
 
 import com.gzeport.cbec.config.KafkaConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.apache.kafka.common.serialization.StringSerializer;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 import org.springframework.kafka.core.DefaultKafkaProducerFactory;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.core.ProducerFactory;
@@ -16,6 +18,7 @@ import java.util.Map;
 /**
  * Kafka生产者配置类
  */
+@Profile("!processor")
 @Configuration
 public class KafkaProducerConfig {
 
@@ -24,9 +27,10 @@ public class KafkaProducerConfig {
 
     /**
      * 创建生产者工厂
+     * 报文按原始字节写入Kafka，不经字符串转码，字符集由报文XML声明决定
      */
     @Bean
-    public ProducerFactory<String, String> producerFactory() {
+    public ProducerFactory<String, byte[]> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         
         // 添加空值检查，提供默认值
@@ -36,7 +40,7 @@ public class KafkaProducerConfig {
                 
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
         
         return new DefaultKafkaProducerFactory<>(configProps);
     }
@@ -45,7 +49,7 @@ public class KafkaProducerConfig {
      * 创建Kafka模板
      */
     @Bean
-    public KafkaTemplate<String, String> kafkaTemplate() {
+    public KafkaTemplate<String, byte[]> kafkaTemplate() {
         return new KafkaTemplate<>(producerFactory());
     }
 }
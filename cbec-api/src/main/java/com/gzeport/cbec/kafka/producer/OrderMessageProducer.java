@@ -0,0 +1,114 @@
+package com.gzeport.cbec.kafka.producer;
+
+import com.gzeport.cbec.config.KafkaConfig;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.gzeport.cbec.service.LatencyTracker;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageBuilder;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * 订单消息生产者
+ * 用于将API接收到的订单数据发送到Kafka的订单主题
+ * 发送时写入IngestTime header记录报文接收时间，Kafka确认写入后统计API到Kafka的延迟
+ */
+@Profile("!processor")
+@Component
+public class OrderMessageProducer {
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(OrderMessageProducer.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    @Autowired
+    private KafkaTemplate<String, byte[]> kafkaTemplate;
+
+    @Autowired
+    private KafkaConfig kafkaConfig;
+
+    /**
+     * 发送订单消息到Kafka
+     * 字符串报文按UTF-8编码写入，报文XML声明了其他字符集时应使用字节接口
+     * @param orderMessage 订单数据报文（XML格式）
+     * @return 是否发送成功
+     */
+    public boolean sendOrderMessage(String orderMessage) {
+        try {
+            // 添加空值检查，使用默认主题名称
+            String topicName = "cbec-order-topic";
+            if (kafkaConfig != null && kafkaConfig.getTopicOrderName() != null) {
+                topicName = kafkaConfig.getTopicOrderName();
+            }
+            long ingestTime = System.currentTimeMillis();
+            ProducerRecord<String, byte[]> record = new ProducerRecord<>(topicName, orderMessage.getBytes(StandardCharsets.UTF_8));
+            record.headers().add(LatencyTracker.HEADER_INGEST_TIME, encodeIngestTime(ingestTime));
+            trackAck(kafkaTemplate.send(record), ingestTime);
+            MESSAGE_LOG.info("订单报文已发送到Kafka主题: {}", topicName);
+            return true;
+        } catch (Exception e) {
+            MESSAGE_LOG.error("发送订单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 发送订单消息到Kafka，包含header信息
+     * 报文字节原样写入，不解码为字符串
+     * @param orderMessage 订单数据报文（XML格式）原始字节
+     * @param companyId 公司ID
+     * @param messageType 消息类型
+     * @param senderId 发送者ID
+     * @return 是否发送成功
+     */
+    public boolean sendOrderMessage(byte[] orderMessage, String companyId, String messageType, String senderId) {
+        try {
+            // 添加空值检查，使用默认主题名称
+            String topicName = "cbec-order-topic";
+            if (kafkaConfig != null && kafkaConfig.getTopicOrderName() != null) {
+                topicName = kafkaConfig.getTopicOrderName();
+            }
+            // 创建带有header信息的消息，接收时间以字节形式写入，不经JSON转换
+            long ingestTime = System.currentTimeMillis();
+            Message<byte[]> message = MessageBuilder
+                    .withPayload(orderMessage)
+                    .setHeader("CompanyId", companyId)
+                    .setHeader("MessageType", messageType)
+                    .setHeader("SenderId", senderId)
+                    .setHeader(LatencyTracker.HEADER_INGEST_TIME, encodeIngestTime(ingestTime))
+                    .setHeader(KafkaHeaders.TOPIC, topicName)
+                    .build();
+
+            // 发送消息到Kafka
+            trackAck(kafkaTemplate.send(message), ingestTime);
+            MESSAGE_LOG.info("订单报文已发送到Kafka主题: {}，公司ID: {}, 消息类型: {}, 发送者ID: {}",
+                    topicName, companyId, messageType, senderId);
+            return true;
+        } catch (Exception e) {
+            MESSAGE_LOG.error("发送订单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static byte[] encodeIngestTime(long ingestTime) {
+        return Long.toString(ingestTime).getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Kafka确认写入后记录API到Kafka的延迟
+     */
+    private static void trackAck(CompletableFuture<?> future, long ingestTime) {
+        future.whenComplete((result, error) -> {
+            if (error == null) {
+                LatencyTracker.record(LatencyTracker.Stage.API_TO_KAFKA, System.currentTimeMillis() - ingestTime);
+            } else {
+                MESSAGE_LOG.error("订单报文写入Kafka失败: {}", error.getMessage());
+            }
+        });
+    }
+}
@@ -0,0 +1,211 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.repository.OrderJdbcRepository;
+import com.gzeport.cbec.data.repository.OrderRepository;
+import com.gzeport.cbec.service.XmlParserService;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 订单服务类
+ * 处理订单相关的业务逻辑
+ */
+@Profile("!api")
+@Service
+@Slf4j
+public class OrderService implements MessageBatchWriter, Serializable {
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(OrderService.class, HotPathLogger.CATEGORY_BATCH);
+
+    @Autowired
+    private transient OrderRepository orderRepository;
+
+    @Autowired
+    private transient XmlParserService xmlParserService;
+
+    @Autowired
+    private transient ValidationService validationService;
+
+    @Autowired
+    private transient ParallelMessageParser parallelMessageParser;
+
+    @Autowired
+    private transient OrderJdbcRepository orderJdbcRepository;
+
+    /**
+     * 处理订单报文
+     * @param xmlMessage XML格式的订单报文
+     * @return 处理结果
+     */
+    @Transactional
+    public boolean processOrderMessage(String xmlMessage) {
+        return saveOrder(xmlParserService.parseOrderXml(xmlMessage));
+    }
+
+    /**
+     * 处理订单报文原始字节
+     * 直接读取Kafka消息中的字节，字符集由XML声明决定（缺省为UTF-8）
+     * @param xmlBytes XML格式的订单报文字节
+     * @return 处理结果
+     */
+    @Transactional
+    public boolean processOrderMessage(byte[] xmlBytes) {
+        return saveOrder(xmlParserService.parseOrderXml(xmlBytes));
+    }
+
+    private boolean saveOrder(Order order) {
+        try {
+            // 1. 检查解析结果
+            if (order == null) {
+                log.error("订单报文解析失败");
+                return false;
+            }
+
+            // 2. 校验订单数据
+            if (!validationService.validateOrder(order)) {
+                log.error("订单数据校验失败");
+                return false;
+            }
+
+            // 3. 保存订单数据
+            orderRepository.save(order);
+            log.info("订单保存成功: {}", order.getOrderId());
+            return true;
+        } catch (Exception e) {
+            log.error("处理订单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 批量处理订单
+     * 订单主键为IDENTITY，Hibernate无法批量插入，saveAll逐条执行INSERT；改为按订单ID批量幂等写入，不经持久化上下文
+     * @param orders 订单列表
+     * @return 处理结果
+     */
+    @Transactional
+    public boolean batchProcessOrders(List<Order> orders) {
+        try {
+            orderJdbcRepository.upsertAll(orders, orders.size());
+            log.info("批量保存订单成功，共 {} 条", orders.size());
+            return true;
+        } catch (Exception e) {
+            log.error("批量处理订单异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 批量处理订单XML报文
+     * 用于Flink批量处理，将XML报文解析为订单对象并按订单ID幂等保存，
+     * 企业重复报送的订单更新已有记录，不会因唯一约束导致整批失败、反复重试
+     * @param orderMessages 订单XML报文原始字节列表
+     * @return 处理结果
+     */
+    @Transactional
+    public boolean batchProcessOrderMessages(List<byte[]> orderMessages) {
+        return batchProcessMessages(orderMessages, new BatchProcessStats());
+    }
+
+    @Override
+    @Transactional
+    public boolean batchProcessMessages(List<byte[]> orderMessages, BatchProcessStats stats) {
+        try {
+            List<Order> orders = parseOrderMessages(orderMessages, stats);
+            int validCount = orders.size();
+            int invalidCount = orderMessages.size() - validCount;
+
+            // 批量保存有效订单
+            if (!orders.isEmpty()) {
+                long start = System.nanoTime();
+                stats.setRowsPersisted(orderJdbcRepository.upsertAll(orders, orders.size()));
+                stats.addWriteTimeNanos(System.nanoTime() - start);
+                BATCH_LOG.info("批量处理订单报文完成，有效: {} 条，无效: {} 条", validCount, invalidCount);
+                return true;
+            } else {
+                // 整批均为无效报文时无需写库，重试也无法成功，视为处理完成
+                BATCH_LOG.warn("批量处理订单报文，无有效订单，无效: {} 条", invalidCount);
+                return true;
+            }
+        } catch (Exception e) {
+            log.error("批量处理订单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 在一个事务中幂等提交订单XML报文
+     * 用于两阶段提交Sink在Checkpoint完成后提交整个事务，按订单ID覆盖写入，
+     * 故障恢复后重复提交同一事务不会违反唯一约束；写库失败时抛出异常，由Flink重试提交
+     * @param orderMessages 订单XML报文原始字节列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @return 写入的订单数量
+     */
+    @Transactional
+    public int commitOrderMessages(List<byte[]> orderMessages, int batchSize) {
+        return commitMessages(orderMessages, batchSize, new BatchProcessStats());
+    }
+
+    @Override
+    @Transactional
+    public int commitMessages(List<byte[]> orderMessages, int batchSize, BatchProcessStats stats) {
+        List<Order> orders = parseOrderMessages(orderMessages, stats);
+        if (orders.isEmpty()) {
+            BATCH_LOG.warn("提交订单事务，无有效订单，无效: {} 条", orderMessages.size());
+            return 0;
+        }
+        long start = System.nanoTime();
+        int count = orderJdbcRepository.upsertAll(orders, batchSize);
+        stats.addWriteTimeNanos(System.nanoTime() - start);
+        stats.setRowsPersisted(count);
+        BATCH_LOG.info("提交订单事务完成，写入: {} 条，无效: {} 条", count, orderMessages.size() - orders.size());
+        return count;
+    }
+
+    /**
+     * 解析并校验订单XML报文
+     * @param orderMessages 订单XML报文原始字节列表
+     * @return 解析成功且校验通过的订单列表，解析失败或校验不通过的报文被忽略
+     */
+    public List<Order> parseOrderMessages(List<byte[]> orderMessages) {
+        return parseOrderMessages(orderMessages, new BatchProcessStats());
+    }
+
+    /**
+     * 解析并校验订单XML报文，统计解析失败、校验不通过的数量和耗时
+     * 批次较大时在解析线程池中并行解析，返回的订单与报文顺序一致
+     * @param orderMessages 订单XML报文原始字节列表
+     * @param stats 批量处理统计
+     * @return 解析成功且校验通过的订单列表
+     */
+    public List<Order> parseOrderMessages(List<byte[]> orderMessages, BatchProcessStats stats) {
+        return parallelMessageParser.parse(orderMessages, xmlParserService::parseOrderXml, validationService::validateOrder, stats);
+    }
+
+    /**
+     * 根据订单ID查询订单
+     * @param orderId 订单ID
+     * @return 订单实体
+     */
+    public Order getOrderByOrderId(String orderId) {
+        return orderRepository.findByOrderId(orderId);
+    }
+
+    /**
+     * 根据企业ID查询订单
+     * @param companyId 企业ID
+     * @return 订单列表
+     */
+    public List<Order> getOrdersByCompanyId(String companyId) {
+        return orderRepository.findByCompanyId(companyId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.repository.PaymentJdbcRepository;
+import com.gzeport.cbec.data.repository.PaymentRepository;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 支付单服务类
+ * 处理支付单相关的业务逻辑
+ */
+@Profile("!api")
+@Service
+@Slf4j
+public class PaymentService implements MessageBatchWriter, Serializable {
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(PaymentService.class, HotPathLogger.CATEGORY_BATCH);
+
+    @Autowired
+    private transient PaymentRepository paymentRepository;
+
+    @Autowired
+    private transient XmlParserService xmlParserService;
+
+    @Autowired
+    private transient ValidationService validationService;
+
+    @Autowired
+    private transient ParallelMessageParser parallelMessageParser;
+
+    @Autowired
+    private transient PaymentJdbcRepository paymentJdbcRepository;
+
+    /**
+     * 批量处理支付单XML报文
+     * 按支付单ID幂等写入，异步写库阶段重试同一批次不会违反唯一约束
+     * @param messages 支付单XML报文原始字节列表
+     * @param stats 批量处理统计
+     * @return 处理结果
+     */
+    @Override
+    @Transactional
+    public boolean batchProcessMessages(List<byte[]> messages, BatchProcessStats stats) {
+        try {
+            List<Payment> payments = parsePaymentMessages(messages, stats);
+            if (!payments.isEmpty()) {
+                long start = System.nanoTime();
+                stats.setRowsPersisted(paymentJdbcRepository.upsertAll(payments, payments.size()));
+                stats.addWriteTimeNanos(System.nanoTime() - start);
+            }
+            BATCH_LOG.info("批量处理支付单报文完成，有效: {} 条，无效: {} 条", payments.size(), messages.size() - payments.size());
+            return true;
+        } catch (Exception e) {
+            log.error("批量处理支付单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 在一个事务中幂等提交支付单XML报文
+     * @param messages 支付单XML报文原始字节列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @param stats 批量处理统计
+     * @return 写入的支付单数量
+     */
+    @Override
+    @Transactional
+    public int commitMessages(List<byte[]> messages, int batchSize, BatchProcessStats stats) {
+        List<Payment> payments = parsePaymentMessages(messages, stats);
+        if (payments.isEmpty()) {
+            BATCH_LOG.warn("提交支付单事务，无有效支付单，无效: {} 条", messages.size());
+            return 0;
+        }
+        long start = System.nanoTime();
+        int count = paymentJdbcRepository.upsertAll(payments, batchSize);
+        stats.addWriteTimeNanos(System.nanoTime() - start);
+        stats.setRowsPersisted(count);
+        BATCH_LOG.info("提交支付单事务完成，写入: {} 条，无效: {} 条", count, messages.size() - payments.size());
+        return count;
+    }
+
+    /**
+     * 解析并校验支付单XML报文，批次较大时在解析线程池中并行解析，返回的支付单与报文顺序一致
+     * @param messages 支付单XML报文原始字节列表
+     * @param stats 批量处理统计，记录解析失败、校验不通过的数量和耗时
+     * @return 解析成功且校验通过的支付单列表，解析失败或校验不通过的报文被忽略
+     */
+    public List<Payment> parsePaymentMessages(List<byte[]> messages, BatchProcessStats stats) {
+        return parallelMessageParser.parse(messages, xmlParserService::parsePaymentXml, validationService::validatePayment, stats);
+    }
+
+    /**
+     * 根据支付单ID查询支付单
+     * @param paymentId 支付单ID
+     * @return 支付单实体
+     */
+    public Payment getPaymentByPaymentId(String paymentId) {
+        return paymentRepository.findByPaymentId(paymentId);
+    }
+
+    /**
+     * 根据订单ID查询支付单
+     * @param orderId 订单ID
+     * @return 支付单列表
+     */
+    public List<Payment> getPaymentsByOrderId(String orderId) {
+        return paymentRepository.findByOrderId(orderId);
+    }
+}
@@ -0,0 +1,117 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.data.repository.WaybillJdbcRepository;
+import com.gzeport.cbec.data.repository.WaybillRepository;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 运单服务类
+ * 处理运单相关的业务逻辑
+ */
+@Profile("!api")
+@Service
+@Slf4j
+public class WaybillService implements MessageBatchWriter, Serializable {
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(WaybillService.class, HotPathLogger.CATEGORY_BATCH);
+
+    @Autowired
+    private transient WaybillRepository waybillRepository;
+
+    @Autowired
+    private transient XmlParserService xmlParserService;
+
+    @Autowired
+    private transient ValidationService validationService;
+
+    @Autowired
+    private transient ParallelMessageParser parallelMessageParser;
+
+    @Autowired
+    private transient WaybillJdbcRepository waybillJdbcRepository;
+
+    /**
+     * 批量处理运单XML报文
+     * 按运单ID幂等写入，异步写库阶段重试同一批次不会违反唯一约束
+     * @param messages 运单XML报文原始字节列表
+     * @param stats 批量处理统计
+     * @return 处理结果
+     */
+    @Override
+    @Transactional
+    public boolean batchProcessMessages(List<byte[]> messages, BatchProcessStats stats) {
+        try {
+            List<Waybill> waybills = parseWaybillMessages(messages, stats);
+            if (!waybills.isEmpty()) {
+                long start = System.nanoTime();
+                stats.setRowsPersisted(waybillJdbcRepository.upsertAll(waybills, waybills.size()));
+                stats.addWriteTimeNanos(System.nanoTime() - start);
+            }
+            BATCH_LOG.info("批量处理运单报文完成，有效: {} 条，无效: {} 条", waybills.size(), messages.size() - waybills.size());
+            return true;
+        } catch (Exception e) {
+            log.error("批量处理运单报文异常: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * 在一个事务中幂等提交运单XML报文
+     * @param messages 运单XML报文原始字节列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @param stats 批量处理统计
+     * @return 写入的运单数量
+     */
+    @Override
+    @Transactional
+    public int commitMessages(List<byte[]> messages, int batchSize, BatchProcessStats stats) {
+        List<Waybill> waybills = parseWaybillMessages(messages, stats);
+        if (waybills.isEmpty()) {
+            BATCH_LOG.warn("提交运单事务，无有效运单，无效: {} 条", messages.size());
+            return 0;
+        }
+        long start = System.nanoTime();
+        int count = waybillJdbcRepository.upsertAll(waybills, batchSize);
+        stats.addWriteTimeNanos(System.nanoTime() - start);
+        stats.setRowsPersisted(count);
+        BATCH_LOG.info("提交运单事务完成，写入: {} 条，无效: {} 条", count, messages.size() - waybills.size());
+        return count;
+    }
+
+    /**
+     * 解析并校验运单XML报文，批次较大时在解析线程池中并行解析，返回的运单与报文顺序一致
+     * @param messages 运单XML报文原始字节列表
+     * @param stats 批量处理统计，记录解析失败、校验不通过的数量和耗时
+     * @return 解析成功且校验通过的运单列表，解析失败或校验不通过的报文被忽略
+     */
+    public List<Waybill> parseWaybillMessages(List<byte[]> messages, BatchProcessStats stats) {
+        return parallelMessageParser.parse(messages, xmlParserService::parseWaybillXml, validationService::validateWaybill, stats);
+    }
+
+    /**
+     * 根据运单ID查询运单
+     * @param waybillId 运单ID
+     * @return 运单实体
+     */
+    public Waybill getWaybillByWaybillId(String waybillId) {
+        return waybillRepository.findByWaybillId(waybillId);
+    }
+
+    /**
+     * 根据订单ID查询运单
+     * @param orderId 订单ID
+     * @return 运单列表
+     */
+    public List<Waybill> getWaybillsByOrderId(String orderId) {
+        return waybillRepository.findByOrderId(orderId);
+    }
+}
@@ -0,0 +1,59 @@
+package com.gzeport.cbec.config;
+
+import com.gzeport.CbecFlinkProcessor;
+import com.gzeport.cbec.api.OrderController;
+import com.gzeport.cbec.kafka.consumer.OrderMessageConsumer;
+import com.gzeport.cbec.kafka.producer.OrderMessageProducer;
+import com.gzeport.cbec.service.OrderService;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 节点角色配置测试类
+ */
+public class NodeRoleConfigTest {
+
+    private static ConfigurableApplicationContext start(String role) {
+        return new SpringApplicationBuilder(CbecFlinkProcessor.class)
+                .profiles("test", role)
+                .properties("server.port=0", "kafka.consumer.listener.auto-startup=false")
+                .run();
+    }
+
+    @Test
+    public void testApiRole_NoDatabaseOrConsumer() {
+        try (ConfigurableApplicationContext context = start(NodeRoleConfig.ROLE_API)) {
+            assertEquals(NodeRoleConfig.ROLE_API, context.getBean(NodeRoleConfig.class).getRole());
+            assertTrue(context instanceof WebServerApplicationContext);
+            assertEquals(1, context.getBeansOfType(OrderController.class).size());
+            assertEquals(1, context.getBeansOfType(OrderMessageProducer.class).size());
+            assertTrue(context.getBeansOfType(DataSource.class).isEmpty());
+            assertTrue(context.getBeansOfType(OrderService.class).isEmpty());
+            assertTrue(context.getBeansOfType(OrderMessageConsumer.class).isEmpty());
+        }
+    }
+
+    @Test
+    public void testProcessorRole_NoWebServerOrProducer() {
+        try (ConfigurableApplicationContext context = start(NodeRoleConfig.ROLE_PROCESSOR)) {
+            assertEquals(NodeRoleConfig.ROLE_PROCESSOR, context.getBean(NodeRoleConfig.class).getRole());
+            assertFalse(context instanceof WebServerApplicationContext);
+            assertTrue(context.getBeansOfType(OrderController.class).isEmpty());
+            assertTrue(context.getBeansOfType(OrderMessageProducer.class).isEmpty());
+            assertEquals(1, context.getBeansOfType(OrderService.class).size());
+            assertEquals(1, context.getBeansOfType(OrderMessageConsumer.class).size());
+        }
+    }
+
+    @Test
+    public void testReadRssKb() {
+        long rss = NodeRoleConfig.readRssKb();
+        assertTrue(rss == -1 || rss > 0);
+    }
+}
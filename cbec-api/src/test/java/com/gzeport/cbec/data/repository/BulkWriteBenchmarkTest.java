@@ -0,0 +1,164 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.jdbc.OrderUpsertStatement;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.Configuration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * 订单批量写库方式的吞吐对比 - 使用MySQL兼容模式的H2内存数据库
+ * JPA saveAll（IDENTITY主键，逐条INSERT并经过持久化上下文）、JDBC批量执行和多行语句，每批500条一个事务。
+ * 内存数据库没有网络往返，差距主要来自持久化上下文和语句执行次数，连接MySQL时逐条INSERT的差距更大
+ */
+@Tag("benchmark")
+public class BulkWriteBenchmarkTest {
+
+    private static final String URL = "jdbc:h2:mem:bulkwrite;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final int BATCH_SIZE = 500;
+
+    private SessionFactory sessionFactory;
+
+    private SingleConnectionDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    private TransactionTemplate transactionTemplate;
+
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @BeforeEach
+    public void setUp() {
+        // 由Hibernate按实体建表，三种方式写入同一张表
+        sessionFactory = new Configuration()
+                .addAnnotatedClass(Order.class)
+                .setProperty("hibernate.connection.driver_class", "org.h2.Driver")
+                .setProperty("hibernate.connection.url", URL)
+                .setProperty("hibernate.connection.username", "sa")
+                .setProperty("hibernate.connection.password", "")
+                .setProperty("hibernate.connection.pool_size", "1")
+                .setProperty("hibernate.hbm2ddl.auto", "create-drop")
+                .buildSessionFactory();
+
+        dataSource = new SingleConnectionDataSource(URL, "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+        orderJdbcRepository = new OrderJdbcRepository();
+        ReflectionTestUtils.setField(orderJdbcRepository, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        dataSource.destroy();
+        sessionFactory.close();
+    }
+
+    @Test
+    public void testBenchmark_RowsPerSecond() {
+        int total = 20000;
+        // 预热
+        jpa(orders("WARM", 2000));
+        jdbcBatch(orders("WARM", 2000));
+        multiRow(orders("WARM", 2000));
+
+        List<Order> jpaOrders = orders("JPA", total);
+        long jpaNanos = jpa(jpaOrders);
+        List<Order> batchOrders = orders("BATCH", total);
+        long batchNanos = jdbcBatch(batchOrders);
+        List<Order> multiRowOrders = orders("MULTI", total);
+        long multiRowNanos = multiRow(multiRowOrders);
+
+        print("JPA saveAll", total, jpaNanos);
+        print("JDBC批量执行", total, batchNanos);
+        print("多行语句", total, multiRowNanos);
+
+        assertEquals(total, count("JPA%"));
+        assertEquals(total, count("BATCH%"));
+        assertEquals(total, count("MULTI%"));
+        assertTrue(batchNanos < jpaNanos);
+    }
+
+    private long jpa(List<Order> orders) {
+        long start = System.nanoTime();
+        for (int from = 0; from < orders.size(); from += BATCH_SIZE) {
+            // 与服务端@Transactional的saveAll一致：每批一个事务和持久化上下文，逐条persist
+            try (Session session = sessionFactory.openSession()) {
+                session.beginTransaction();
+                for (Order order : orders.subList(from, Math.min(from + BATCH_SIZE, orders.size()))) {
+                    session.persist(order);
+                }
+                session.getTransaction().commit();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long jdbcBatch(List<Order> orders) {
+        long start = System.nanoTime();
+        for (int from = 0; from < orders.size(); from += BATCH_SIZE) {
+            List<Order> batch = orders.subList(from, Math.min(from + BATCH_SIZE, orders.size()));
+            transactionTemplate.executeWithoutResult(status -> orderJdbcRepository.upsertAll(batch, batch.size()));
+        }
+        return System.nanoTime() - start;
+    }
+
+    private long multiRow(List<Order> orders) {
+        long start = System.nanoTime();
+        for (int from = 0; from < orders.size(); from += BATCH_SIZE) {
+            List<Order> batch = orders.subList(from, Math.min(from + BATCH_SIZE, orders.size()));
+            transactionTemplate.executeWithoutResult(status -> {
+                try {
+                    OrderUpsertStatement.MULTI_ROW.upsert(DataSourceUtils.getConnection(dataSource), batch, batch.size(),
+                            Timestamp.valueOf(LocalDateTime.now()));
+                } catch (SQLException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+        }
+        return System.nanoTime() - start;
+    }
+
+    private static List<Order> orders(String prefix, int total) {
+        List<Order> orders = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            Order order = new Order();
+            order.setOrderId(prefix + i);
+            order.setCompanyId("COMP000001");
+            order.setCustomerName("张三");
+            order.setTotalAmount(new BigDecimal("100.00"));
+            order.setOrderStatus("PENDING");
+            orders.add(order);
+        }
+        return orders;
+    }
+
+    private int count(String pattern) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cbec_order WHERE order_id LIKE ?", Integer.class, pattern);
+    }
+
+    private static void print(String name, int total, long nanos) {
+        System.out.println(name + ": " + total + " 条订单，耗时: " + nanos / 1_000_000 + "ms，"
+                + total * 1_000_000_000L / Math.max(1, nanos) + " 行/秒");
+    }
+}
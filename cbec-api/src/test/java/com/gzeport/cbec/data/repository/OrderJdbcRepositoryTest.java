@@ -0,0 +1,69 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Order;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 订单JDBC Repository测试类 - 使用MySQL兼容模式的H2数据库
+ */
+public class OrderJdbcRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private OrderJdbcRepository orderJdbcRepository;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:upsert;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cbec_order");
+        jdbcTemplate.execute("CREATE TABLE cbec_order (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_id VARCHAR(255) NOT NULL UNIQUE, company_id VARCHAR(255) NOT NULL, customer_name VARCHAR(255), "
+                + "total_amount DECIMAL(38, 2), order_status VARCHAR(255), create_time TIMESTAMP NOT NULL, update_time TIMESTAMP)");
+
+        orderJdbcRepository = new OrderJdbcRepository();
+        ReflectionTestUtils.setField(orderJdbcRepository, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    public void testUpsertAll_ReplayIsIdempotent() {
+        Order first = order("ORDER001", "PENDING");
+        Order second = order("ORDER002", "PENDING");
+
+        assertEquals(2, orderJdbcRepository.upsertAll(Arrays.asList(first, second), 1));
+        // 模拟故障恢复后重新提交同一事务
+        assertEquals(2, orderJdbcRepository.upsertAll(Arrays.asList(first, second), 1));
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cbec_order", Integer.class));
+    }
+
+    @Test
+    public void testUpsertAll_UpdatesExistingOrder() {
+        orderJdbcRepository.upsertAll(Collections.singletonList(order("ORDER001", "PENDING")), 100);
+        orderJdbcRepository.upsertAll(Collections.singletonList(order("ORDER001", "PAID")), 100);
+
+        assertEquals("PAID", jdbcTemplate.queryForObject(
+                "SELECT order_status FROM cbec_order WHERE order_id = 'ORDER001'", String.class));
+    }
+
+    private Order order(String orderId, String status) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCompanyId("COMP000001");
+        order.setCustomerName("John Doe");
+        order.setTotalAmount(new BigDecimal("100.00"));
+        order.setOrderStatus(status);
+        return order;
+    }
+}
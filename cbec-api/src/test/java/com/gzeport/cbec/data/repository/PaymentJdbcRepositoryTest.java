@@ -0,0 +1,65 @@
+package com.gzeport.cbec.data.repository;
+
+import com.gzeport.cbec.data.entity.Payment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * 支付单JDBC Repository测试类 - 使用MySQL兼容模式的H2数据库
+ */
+public class PaymentJdbcRepositoryTest {
+
+    private JdbcTemplate jdbcTemplate;
+
+    private PaymentJdbcRepository paymentJdbcRepository;
+
+    @BeforeEach
+    public void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:payment_upsert;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("DROP TABLE IF EXISTS cbec_payment");
+        jdbcTemplate.execute("CREATE TABLE cbec_payment (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "payment_id VARCHAR(255) NOT NULL UNIQUE, order_id VARCHAR(255) NOT NULL, company_id VARCHAR(255) NOT NULL, "
+                + "payment_amount DECIMAL(38, 2) NOT NULL, payment_method VARCHAR(255), payment_status VARCHAR(255), "
+                + "transaction_id VARCHAR(255), create_time TIMESTAMP NOT NULL, update_time TIMESTAMP)");
+
+        paymentJdbcRepository = new PaymentJdbcRepository();
+        ReflectionTestUtils.setField(paymentJdbcRepository, "jdbcTemplate", jdbcTemplate);
+    }
+
+    @Test
+    public void testUpsertAll_ReplayIsIdempotent() {
+        Payment first = payment("PAY001", "PENDING");
+        Payment second = payment("PAY002", "PENDING");
+
+        assertEquals(2, paymentJdbcRepository.upsertAll(Arrays.asList(first, second), 1));
+        // 模拟故障恢复后重新提交同一事务
+        assertEquals(2, paymentJdbcRepository.upsertAll(Arrays.asList(first, second), 1));
+        paymentJdbcRepository.upsertAll(Collections.singletonList(payment("PAY001", "PAID")), 100);
+
+        assertEquals(2, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cbec_payment", Integer.class));
+        assertEquals("PAID", jdbcTemplate.queryForObject(
+                "SELECT payment_status FROM cbec_payment WHERE payment_id = 'PAY001'", String.class));
+    }
+
+    private Payment payment(String paymentId, String status) {
+        Payment payment = new Payment();
+        payment.setPaymentId(paymentId);
+        payment.setOrderId("ORDER001");
+        payment.setCompanyId("COMP000001");
+        payment.setPaymentAmount(new BigDecimal("100.00"));
+        payment.setPaymentMethod("ALIPAY");
+        payment.setPaymentStatus(status);
+        return payment;
+    }
+}
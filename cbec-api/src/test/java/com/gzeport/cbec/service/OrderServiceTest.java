@@ -10,6 +10,7 @@ import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -28,6 +29,9 @@ public class OrderServiceTest {
     @Mock
     private ValidationService validationService;
 
+    @Spy
+    private ParallelMessageParser parallelMessageParser = new ParallelMessageParser("OrderServiceTest", 2, 2);
+
     @InjectMocks
     private OrderService orderService;
 
@@ -101,4 +105,32 @@ public class OrderServiceTest {
         verify(validationService, times(1)).validateOrder(order);
         verify(orderRepository, never()).save(any());
     }
+
+    @Test
+    public void testParseOrderMessages_Stats() {
+        // 准备测试数据：一条有效、一条解析失败、一条校验不通过
+        byte[] valid = "valid".getBytes();
+        byte[] broken = "broken".getBytes();
+        byte[] invalid = "invalid".getBytes();
+        Order validOrder = new Order();
+        validOrder.setOrderId("ORDER001");
+        Order invalidOrder = new Order();
+        invalidOrder.setOrderId("ORDER002");
+
+        when(xmlParserService.parseOrderXml(valid)).thenReturn(validOrder);
+        when(xmlParserService.parseOrderXml(broken)).thenReturn(null);
+        when(xmlParserService.parseOrderXml(invalid)).thenReturn(invalidOrder);
+        when(validationService.validateOrder(validOrder)).thenReturn(true);
+        when(validationService.validateOrder(invalidOrder)).thenReturn(false);
+
+        // 执行测试方法
+        BatchProcessStats stats = new BatchProcessStats();
+        java.util.List<Order> orders = orderService.parseOrderMessages(java.util.Arrays.asList(valid, broken, invalid), stats);
+
+        // 验证结果
+        assertEquals(1, orders.size());
+        assertEquals(1, stats.getParseFailures());
+        assertEquals(1, stats.getValidationRejects());
+        assertTrue(stats.getParseTimeNanos() > 0);
+    }
 }
@@ -0,0 +1,243 @@
+package com.gzeport.cbec.codegen;
+
+import com.gzeport.cbec.codegen.MessageMapping.ListMapping;
+import com.gzeport.cbec.codegen.XsdSchema.XsdElement;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * CEB报文解析器生成器
+ * 根据报文XSD和映射配置生成基于StAX的专用解析器：每个复杂元素生成一个读取方法，按元素名switch分派到实体setter，
+ * 未映射的元素整体跳过，解析时不再需要字段查找表和反射
+ * <p>
+ * 参数：映射配置目录 XSD目录 输出目录 包名，由cbec-common在generate-sources阶段调用
+ */
+public final class CebParserGenerator {
+
+    private static final String SUPPORT = "CebParserSupport";
+
+    private final XsdElement root;
+
+    private final MessageMapping mapping;
+
+    private final String packageName;
+
+    private final StringBuilder methods = new StringBuilder();
+
+    private final Set<String> imports = new TreeSet<>();
+
+    private final Set<String> usedFields = new HashSet<>();
+
+    private final Set<String> usedLists = new HashSet<>();
+
+    private final Set<String> generatedMethods = new LinkedHashSet<>();
+
+    private CebParserGenerator(XsdElement root, MessageMapping mapping, String packageName) {
+        this.root = root;
+        this.mapping = mapping;
+        this.packageName = packageName;
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length != 4) {
+            throw new IllegalArgumentException("用法: CebParserGenerator <映射配置目录> <XSD目录> <输出目录> <包名>");
+        }
+        Path mappingDir = Paths.get(args[0]);
+        Path xsdDir = Paths.get(args[1]);
+        Path outputDir = Paths.get(args[2]).resolve(args[3].replace('.', '/'));
+        Files.createDirectories(outputDir);
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(mappingDir, "*.properties")) {
+            for (Path file : files) {
+                MessageMapping mapping = MessageMapping.load(file);
+                String source = generate(xsdDir.resolve(mapping.xsd), mapping, args[3]);
+                writeIfChanged(outputDir.resolve(mapping.parser + ".java"), source);
+            }
+        }
+    }
+
+    /**
+     * 生成解析器源码
+     * @param xsd 报文XSD文件
+     * @param mapping 映射配置
+     * @param packageName 解析器包名
+     * @return Java源码
+     * @throws IllegalArgumentException 映射配置引用了XSD中不存在的元素，或映射与元素类型不匹配时抛出
+     */
+    static String generate(Path xsd, MessageMapping mapping, String packageName) throws Exception {
+        return new CebParserGenerator(XsdSchema.readRoot(xsd, mapping.root), mapping, packageName).generate();
+    }
+
+    private String generate() {
+        String entityType = simpleName(mapping.entity);
+        imports.add(mapping.entity);
+        imports.add("javax.xml.stream.XMLStreamException");
+        imports.add("javax.xml.stream.XMLStreamReader");
+        generateMethod(root, entityType);
+
+        Set<String> unusedFields = new TreeSet<>(mapping.fields.keySet());
+        unusedFields.removeAll(usedFields);
+        Set<String> unusedLists = new TreeSet<>(mapping.lists.keySet());
+        unusedLists.removeAll(usedLists);
+        if (!unusedFields.isEmpty() || !unusedLists.isEmpty()) {
+            unusedFields.addAll(unusedLists);
+            throw new IllegalArgumentException(mapping.source + " 中的映射在 " + mapping.xsd + " 中不存在: " + unusedFields);
+        }
+
+        StringBuilder source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        for (String type : imports) {
+            source.append("import ").append(type).append(";\n");
+        }
+        source.append("\n/**\n")
+                .append(" * ").append(mapping.description).append("解析器\n")
+                .append(" * 由cbec-codegen根据 ").append(mapping.xsd).append(" 和 ").append(mapping.source)
+                .append(" 生成，请勿手工修改\n")
+                .append(" */\n")
+                .append("public final class ").append(mapping.parser).append(" {\n\n")
+                .append("    public static final String ROOT = \"").append(root.name).append("\";\n\n")
+                .append("    private ").append(mapping.parser).append("() {\n    }\n\n")
+                .append("    /**\n")
+                .append("     * 解析报文，调用时reader应位于根元素的开始标签\n")
+                .append("     */\n")
+                .append("    public static ").append(entityType).append(" parse(XMLStreamReader reader) throws XMLStreamException {\n")
+                .append("        ").append(entityType).append(" target = new ").append(entityType).append("();\n")
+                .append("        ").append(methodName(root)).append("(reader, target);\n")
+                .append("        return target;\n")
+                .append("    }\n")
+                .append(methods)
+                .append("}\n");
+        return source.toString();
+    }
+
+    private void generateMethod(XsdElement element, String targetType) {
+        if (!generatedMethods.add(element.name)) {
+            throw new IllegalArgumentException(mapping.xsd + " 中存在同名复杂元素，无法生成解析方法: " + element.name);
+        }
+        // 子元素的读取方法排在父元素之后
+        int position = methods.length();
+        StringBuilder body = new StringBuilder();
+        for (XsdElement child : element.children) {
+            String key = element.name + "." + child.name;
+            if (!child.isComplex()) {
+                List<String> properties = mapping.fields.get(key);
+                if (properties != null) {
+                    usedFields.add(key);
+                    appendField(body, child, key, properties);
+                }
+                continue;
+            }
+            ListMapping list = mapping.lists.get(child.name);
+            if (list != null) {
+                usedLists.add(child.name);
+                appendList(body, child, list);
+            } else if (isMapped(child)) {
+                generateMethod(child, targetType);
+                body.append("                case \"").append(child.name).append("\":\n")
+                        .append("                    ").append(methodName(child)).append("(reader, target);\n")
+                        .append("                    break;\n");
+            }
+        }
+
+        StringBuilder method = new StringBuilder();
+        method.append("\n    private static void ").append(methodName(element)).append("(XMLStreamReader reader, ")
+                .append(targetType).append(" target) throws XMLStreamException {\n")
+                .append("        while (").append(SUPPORT).append(".nextChild(reader)) {\n")
+                .append("            switch (reader.getLocalName()) {\n")
+                .append(body)
+                .append("                default:\n")
+                .append("                    ").append(SUPPORT).append(".skip(reader);\n")
+                .append("                    break;\n")
+                .append("            }\n")
+                .append("        }\n")
+                .append("    }\n");
+        methods.insert(position, method);
+    }
+
+    private void appendField(StringBuilder body, XsdElement child, String key, List<String> properties) {
+        if (child.repeated) {
+            throw new IllegalArgumentException(mapping.source + " 中重复元素不能直接映射为属性: " + key);
+        }
+        String read = SUPPORT + ".read" + (child.javaType.equals("BigDecimal") ? "Decimal" : child.javaType) + "(reader)";
+        if (properties.size() == 1) {
+            body.append("                case \"").append(child.name).append("\":\n")
+                    .append("                    target.").append(setter(properties.get(0))).append("(").append(read).append(");\n")
+                    .append("                    break;\n");
+            return;
+        }
+        if (child.javaType.equals("BigDecimal")) {
+            imports.add("java.math.BigDecimal");
+        }
+        body.append("                case \"").append(child.name).append("\": {\n")
+                .append("                    ").append(child.javaType).append(" value = ").append(read).append(";\n");
+        for (String property : properties) {
+            body.append("                    target.").append(setter(property)).append("(value);\n");
+        }
+        body.append("                    break;\n")
+                .append("                }\n");
+    }
+
+    private void appendList(StringBuilder body, XsdElement child, ListMapping list) {
+        if (!child.repeated) {
+            throw new IllegalArgumentException(mapping.source + " 中明细映射的元素在XSD中不是重复元素: " + child.name);
+        }
+        String itemType = simpleName(list.itemClass);
+        imports.add(list.itemClass);
+        generateMethod(child, itemType);
+        body.append("                case \"").append(child.name).append("\": {\n")
+                .append("                    ").append(itemType).append(" item = new ").append(itemType).append("();\n")
+                .append("                    ").append(methodName(child)).append("(reader, item);\n")
+                .append("                    target.").append(getter(list.property)).append("().add(item);\n")
+                .append("                    break;\n")
+                .append("                }\n");
+    }
+
+    /**
+     * 元素或其子孙元素是否有映射，没有映射的复杂元素不生成读取方法，解析时直接跳过
+     */
+    private boolean isMapped(XsdElement element) {
+        for (XsdElement child : element.children) {
+            if (mapping.fields.containsKey(element.name + "." + child.name) || mapping.lists.containsKey(child.name)
+                    || (child.isComplex() && isMapped(child))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void writeIfChanged(Path file, String source) throws IOException {
+        byte[] content = source.getBytes(StandardCharsets.UTF_8);
+        // 内容不变时不改写文件，避免触发增量编译
+        if (Files.exists(file) && Arrays.equals(Files.readAllBytes(file), content)) {
+            return;
+        }
+        Files.write(file, content);
+    }
+
+    private static String methodName(XsdElement element) {
+        return "read" + element.name;
+    }
+
+    private static String setter(String property) {
+        return "set" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    }
+
+    private static String getter(String property) {
+        return "get" + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+    }
+
+    private static String simpleName(String className) {
+        return className.substring(className.lastIndexOf('.') + 1);
+    }
+}
@@ -0,0 +1,91 @@
+package com.gzeport.cbec.codegen;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 报文映射配置
+ * 描述XSD元素到实体属性的映射，格式：
+ * <pre>
+ * xsd=CEB311Message.xsd                     报文XSD文件
+ * root=CEB311Message                         根元素
+ * parser=Ceb311OrderParser                   生成的解析器类名
+ * entity=com.gzeport.cbec.data.entity.Order  实体类
+ * list.OrderList=com.gzeport.cbec.data.entity.OrderItem:items   重复元素映射为明细类，追加到实体的集合属性
+ * field.OrderHead.orderNo=orderId            父元素.子元素=属性，多个属性用逗号分隔
+ * </pre>
+ */
+final class MessageMapping {
+
+    /**
+     * 明细映射
+     */
+    static final class ListMapping {
+        final String itemClass;
+        final String property;
+
+        ListMapping(String itemClass, String property) {
+            this.itemClass = itemClass;
+            this.property = property;
+        }
+    }
+
+    final String source;
+    final String xsd;
+    final String root;
+    final String parser;
+    final String entity;
+    final String description;
+    final Map<String, ListMapping> lists = new LinkedHashMap<>();
+    final Map<String, List<String>> fields = new LinkedHashMap<>();
+
+    private MessageMapping(String source, Properties properties) {
+        this.source = source;
+        this.xsd = required(properties, "xsd");
+        this.root = required(properties, "root");
+        this.parser = required(properties, "parser");
+        this.entity = required(properties, "entity");
+        this.description = properties.getProperty("description", root);
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key).trim();
+            if (key.startsWith("list.")) {
+                String[] parts = value.split(":");
+                if (parts.length != 2) {
+                    throw new IllegalArgumentException(source + " 明细映射格式应为 明细类:集合属性: " + key);
+                }
+                lists.put(key.substring("list.".length()), new ListMapping(parts[0].trim(), parts[1].trim()));
+            } else if (key.startsWith("field.")) {
+                List<String> targets = new ArrayList<>();
+                for (String property : Arrays.asList(value.split(","))) {
+                    targets.add(property.trim());
+                }
+                fields.put(key.substring("field.".length()), targets);
+            }
+        }
+    }
+
+    static MessageMapping load(Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return new MessageMapping(file.getFileName().toString(), properties);
+    }
+
+    private String required(Properties properties, String key) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            throw new IllegalArgumentException(source + " 缺少配置项: " + key);
+        }
+        return value.trim();
+    }
+}
@@ -0,0 +1,217 @@
+package com.gzeport.cbec.codegen;
+
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * XSD结构读取
+ * 只支持报文XSD常用的子集：具名或内联的complexType（sequence/all/choice）、具名simpleType的restriction、element的ref引用，
+ * 足以描述海关CEB报文的层级结构和字段类型
+ */
+final class XsdSchema {
+
+    private static final int MAX_DEPTH = 16;
+
+    /**
+     * 报文元素
+     */
+    static final class XsdElement {
+        final String name;
+        final boolean repeated;
+        /**
+         * 简单类型元素对应的Java类型，复杂类型元素为null
+         */
+        final String javaType;
+        final List<XsdElement> children;
+
+        XsdElement(String name, boolean repeated, String javaType, List<XsdElement> children) {
+            this.name = name;
+            this.repeated = repeated;
+            this.javaType = javaType;
+            this.children = children;
+        }
+
+        boolean isComplex() {
+            return javaType == null;
+        }
+    }
+
+    private final Map<String, Element> complexTypes = new HashMap<>();
+
+    private final Map<String, Element> simpleTypes = new HashMap<>();
+
+    private final Map<String, Element> elements = new HashMap<>();
+
+    private XsdSchema(Document document) {
+        for (Node node = document.getDocumentElement().getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (!(node instanceof Element) || !XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(node.getNamespaceURI())) {
+                continue;
+            }
+            Element definition = (Element) node;
+            String name = definition.getAttribute("name");
+            switch (definition.getLocalName()) {
+                case "complexType":
+                    complexTypes.put(name, definition);
+                    break;
+                case "simpleType":
+                    simpleTypes.put(name, definition);
+                    break;
+                case "element":
+                    elements.put(name, definition);
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    /**
+     * 读取XSD中指定根元素的结构
+     * @param xsd XSD文件
+     * @param rootName 根元素名称
+     * @return 根元素
+     * @throws IllegalArgumentException XSD中不存在该根元素或结构不受支持时抛出
+     */
+    static XsdElement readRoot(Path xsd, String rootName) throws Exception {
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        factory.setNamespaceAware(true);
+        factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        XsdSchema schema = new XsdSchema(factory.newDocumentBuilder().parse(xsd.toFile()));
+        Element root = schema.elements.get(rootName);
+        if (root == null) {
+            throw new IllegalArgumentException(xsd + " 中不存在根元素: " + rootName);
+        }
+        return schema.resolve(root, false, 0);
+    }
+
+    private XsdElement resolve(Element definition, boolean repeated, int depth) {
+        if (depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("元素层级超过" + MAX_DEPTH + "层或存在循环引用: " + definition.getAttribute("name"));
+        }
+        String ref = definition.getAttribute("ref");
+        if (!ref.isEmpty()) {
+            Element target = elements.get(localName(ref));
+            if (target == null) {
+                throw new IllegalArgumentException("未定义的元素引用: " + ref);
+            }
+            return resolve(target, repeated, depth + 1);
+        }
+
+        String name = definition.getAttribute("name");
+        String type = definition.getAttribute("type");
+        if (!type.isEmpty()) {
+            if (isSchemaType(definition, type)) {
+                return new XsdElement(name, repeated, javaTypeOf(localName(type)), Collections.emptyList());
+            }
+            Element simpleType = simpleTypes.get(localName(type));
+            if (simpleType != null) {
+                return new XsdElement(name, repeated, javaTypeOf(simpleType), Collections.emptyList());
+            }
+            Element complexType = complexTypes.get(localName(type));
+            if (complexType == null) {
+                throw new IllegalArgumentException("未定义的类型: " + type);
+            }
+            return new XsdElement(name, repeated, null, childrenOf(complexType, depth));
+        }
+
+        Element inlineComplex = child(definition, "complexType");
+        if (inlineComplex != null) {
+            return new XsdElement(name, repeated, null, childrenOf(inlineComplex, depth));
+        }
+        Element inlineSimple = child(definition, "simpleType");
+        return new XsdElement(name, repeated, inlineSimple != null ? javaTypeOf(inlineSimple) : "String", Collections.emptyList());
+    }
+
+    private List<XsdElement> childrenOf(Element complexType, int depth) {
+        List<XsdElement> children = new ArrayList<>();
+        collectParticles(complexType, children, depth);
+        return children;
+    }
+
+    private void collectParticles(Element group, List<XsdElement> children, int depth) {
+        for (Node node = group.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (!(node instanceof Element) || !XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(node.getNamespaceURI())) {
+                continue;
+            }
+            Element particle = (Element) node;
+            switch (particle.getLocalName()) {
+                case "sequence":
+                case "all":
+                case "choice":
+                    collectParticles(particle, children, depth);
+                    break;
+                case "element":
+                    children.add(resolve(particle, isRepeated(particle), depth + 1));
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private String javaTypeOf(Element simpleType) {
+        Element restriction = child(simpleType, "restriction");
+        if (restriction == null) {
+            return "String";
+        }
+        String base = restriction.getAttribute("base");
+        if (isSchemaType(restriction, base)) {
+            return javaTypeOf(localName(base));
+        }
+        Element baseType = simpleTypes.get(localName(base));
+        return baseType != null ? javaTypeOf(baseType) : "String";
+    }
+
+    private static String javaTypeOf(String schemaType) {
+        switch (schemaType) {
+            case "decimal":
+                return "BigDecimal";
+            case "int":
+            case "short":
+            case "byte":
+                return "Integer";
+            case "integer":
+            case "long":
+            case "positiveInteger":
+            case "nonNegativeInteger":
+                return "Long";
+            default:
+                return "String";
+        }
+    }
+
+    private static boolean isRepeated(Element particle) {
+        String maxOccurs = particle.getAttribute("maxOccurs");
+        return "unbounded".equals(maxOccurs) || (!maxOccurs.isEmpty() && Integer.parseInt(maxOccurs) > 1);
+    }
+
+    private static boolean isSchemaType(Element context, String qualifiedName) {
+        int colon = qualifiedName.indexOf(':');
+        String prefix = colon > 0 ? qualifiedName.substring(0, colon) : null;
+        return XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(context.lookupNamespaceURI(prefix));
+    }
+
+    private static String localName(String qualifiedName) {
+        return qualifiedName.substring(qualifiedName.indexOf(':') + 1);
+    }
+
+    private static Element child(Element parent, String localName) {
+        for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+            if (node instanceof Element && localName.equals(node.getLocalName())
+                    && XMLConstants.W3C_XML_SCHEMA_NS_URI.equals(node.getNamespaceURI())) {
+                return (Element) node;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,69 @@
+package com.gzeport.cbec.codegen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CEB报文解析器生成器测试类
+ */
+public class CebParserGeneratorTest {
+
+    private static final String XSD = "<xs:schema xmlns:xs=\"http://www.w3.org/2001/XMLSchema\" xmlns=\"urn:test\" targetNamespace=\"urn:test\">"
+            + "<xs:simpleType name=\"Amount\"><xs:restriction base=\"xs:decimal\"/></xs:simpleType>"
+            + "<xs:complexType name=\"LineType\"><xs:sequence>"
+            + "<xs:element name=\"gnum\" type=\"xs:int\"/><xs:element name=\"price\" type=\"Amount\"/>"
+            + "</xs:sequence></xs:complexType>"
+            + "<xs:element name=\"Msg\"><xs:complexType><xs:sequence>"
+            + "<xs:element name=\"Head\"><xs:complexType><xs:sequence>"
+            + "<xs:element name=\"no\" type=\"xs:string\"/><xs:element name=\"total\" type=\"Amount\"/>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "<xs:element name=\"Line\" type=\"LineType\" maxOccurs=\"unbounded\"/>"
+            + "<xs:element name=\"Ignored\"><xs:complexType><xs:sequence><xs:element name=\"x\" type=\"xs:string\"/></xs:sequence></xs:complexType></xs:element>"
+            + "</xs:sequence></xs:complexType></xs:element>"
+            + "</xs:schema>";
+
+    @TempDir
+    Path dir;
+
+    private String generate(String mapping) throws Exception {
+        Files.write(dir.resolve("Msg.xsd"), XSD.getBytes(StandardCharsets.UTF_8));
+        Path file = dir.resolve("Msg.properties");
+        Files.write(file, ("xsd=Msg.xsd\nroot=Msg\nparser=MsgParser\nentity=demo.Doc\n" + mapping).getBytes(StandardCharsets.UTF_8));
+        return CebParserGenerator.generate(dir.resolve("Msg.xsd"), MessageMapping.load(file), "demo.ceb");
+    }
+
+    @Test
+    public void testGenerate_FieldsListsAndSkippedElements() throws Exception {
+        String source = generate("field.Head.no=id,code\nfield.Head.total=amount\n"
+                + "list.Line=demo.Line:lines\nfield.Line.gnum=gnum\nfield.Line.price=price\n");
+
+        assertTrue(source.contains("public static final String ROOT = \"Msg\";"));
+        assertTrue(source.contains("String value = CebParserSupport.readString(reader);"));
+        assertTrue(source.contains("target.setId(value);"));
+        assertTrue(source.contains("target.setCode(value);"));
+        assertTrue(source.contains("target.setAmount(CebParserSupport.readDecimal(reader));"));
+        assertTrue(source.contains("target.setGnum(CebParserSupport.readInteger(reader));"));
+        assertTrue(source.contains("target.getLines().add(item);"));
+        // 没有映射的元素不生成读取方法
+        assertFalse(source.contains("readIgnored"));
+        // 父元素的读取方法在前
+        assertTrue(source.indexOf("readMsg(XMLStreamReader") < source.indexOf("readHead(XMLStreamReader"));
+    }
+
+    @Test
+    public void testGenerate_UnknownElementRejected() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> generate("field.Head.orderNo=id\n"));
+        assertTrue(e.getMessage().contains("Head.orderNo"));
+    }
+
+    @Test
+    public void testGenerate_ListOnSingleElementRejected() {
+        assertThrows(IllegalArgumentException.class, () -> generate("list.Head=demo.Line:lines\nfield.Head.no=id\n"));
+    }
+}
@@ -0,0 +1,120 @@
+package com.gzeport.cbec.ceb;
+
+import com.gzeport.cbec.logging.HotPathLogger;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.math.BigDecimal;
+
+/**
+ * CEB报文解析器公共方法
+ * 供cbec-codegen生成的解析器调用，生成代码只负责按元素名分派，读取器移动和文本转换集中在这里
+ */
+public final class CebParserSupport {
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(CebParserSupport.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    private CebParserSupport() {
+    }
+
+    /**
+     * 移动到根元素的开始标签
+     * @param reader 报文读取器
+     * @return 根元素本地名称
+     * @throws XMLStreamException 报文格式错误、包含DTD或没有根元素时抛出
+     */
+    public static String moveToRoot(XMLStreamReader reader) throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.DTD) {
+                throw new XMLStreamException("报文不允许包含DTD");
+            }
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return reader.getLocalName();
+            }
+        }
+        throw new XMLStreamException("报文没有根元素");
+    }
+
+    /**
+     * 移动到当前元素的下一个子元素
+     * @param reader 位于父元素开始标签或上一个子元素结束标签的读取器
+     * @return 移动到子元素开始标签时返回true，到达父元素结束标签时返回false
+     */
+    public static boolean nextChild(XMLStreamReader reader) throws XMLStreamException {
+        while (true) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT) {
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 跳过当前元素及其全部子元素，结束后读取器位于该元素的结束标签
+     */
+    public static void skip(XMLStreamReader reader) throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == XMLStreamConstants.START_ELEMENT) {
+                depth++;
+            } else if (event == XMLStreamConstants.END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    /**
+     * 读取当前简单元素的文本，结束后读取器位于该元素的结束标签
+     */
+    public static String readString(XMLStreamReader reader) throws XMLStreamException {
+        return reader.getElementText();
+    }
+
+    /**
+     * 读取金额等数值，格式错误时记录日志并返回null
+     */
+    public static BigDecimal readDecimal(XMLStreamReader reader) throws XMLStreamException {
+        String name = reader.getLocalName();
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : new BigDecimal(text);
+        } catch (NumberFormatException e) {
+            MESSAGE_LOG.error("报文元素 {} 数值格式错误: {}", name, text);
+            return null;
+        }
+    }
+
+    /**
+     * 读取整数，格式错误时记录日志并返回null
+     */
+    public static Integer readInteger(XMLStreamReader reader) throws XMLStreamException {
+        String name = reader.getLocalName();
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : Integer.valueOf(text);
+        } catch (NumberFormatException e) {
+            MESSAGE_LOG.error("报文元素 {} 整数格式错误: {}", name, text);
+            return null;
+        }
+    }
+
+    /**
+     * 读取长整数，格式错误时记录日志并返回null
+     */
+    public static Long readLong(XMLStreamReader reader) throws XMLStreamException {
+        String name = reader.getLocalName();
+        String text = reader.getElementText().trim();
+        try {
+            return text.isEmpty() ? null : Long.valueOf(text);
+        } catch (NumberFormatException e) {
+            MESSAGE_LOG.error("报文元素 {} 整数格式错误: {}", name, text);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,324 @@
+package com.gzeport.cbec.ceb;
+
+import org.xml.sax.ErrorHandler;
+import org.xml.sax.SAXException;
+import org.xml.sax.SAXParseException;
+import org.xml.sax.helpers.AttributesImpl;
+
+import javax.xml.XMLConstants;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.util.StreamReaderDelegate;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
+import java.net.URL;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * CEB报文XSD校验
+ * 按报文类型（根元素名）开启，Schema从classpath的/xsd/{根元素}.xsd编译一次后在JVM内共享。
+ * 校验与解析在同一遍读取中完成：解析器经包装后的读取器拉取事件，每个事件同时转发给线程内复用的ValidatorHandler，
+ * 报文不需要先完整校验再解析。报文不符合XSD时读取器抛出XMLStreamException，解析失败
+ */
+public final class CebSchemaValidator {
+
+    /**
+     * 不校验任何报文
+     */
+    public static final CebSchemaValidator DISABLED = new CebSchemaValidator(Collections.emptySet());
+
+    /**
+     * 每多少条报文抽样一条统计校验耗时
+     */
+    private static final int SAMPLE_INTERVAL = 16;
+
+    private static final Map<String, Schema> SCHEMAS = new ConcurrentHashMap<>();
+
+    private static final Map<String, SchemaValidationStats> STATS = new ConcurrentHashMap<>();
+
+    /**
+     * ValidatorHandler不是线程安全的，每个线程按报文类型各保留一个，startDocument时重置状态
+     */
+    private static final ThreadLocal<Map<String, ValidatorHandler>> HANDLERS = ThreadLocal.withInitial(HashMap::new);
+
+    private static final ErrorHandler FAIL_FAST = new ErrorHandler() {
+        @Override
+        public void warning(SAXParseException exception) {
+        }
+
+        @Override
+        public void error(SAXParseException exception) throws SAXException {
+            throw exception;
+        }
+
+        @Override
+        public void fatalError(SAXParseException exception) throws SAXException {
+            throw exception;
+        }
+    };
+
+    private final Set<String> roots;
+
+    /**
+     * @param roots 需要校验的报文根元素名，如CEB311Message
+     * @throws IllegalArgumentException 报文类型没有对应的XSD或XSD编译失败时抛出
+     */
+    public CebSchemaValidator(Collection<String> roots) {
+        this.roots = Collections.unmodifiableSet(new LinkedHashSet<>(roots));
+        for (String root : this.roots) {
+            schema(root);
+        }
+    }
+
+    /**
+     * 是否校验该类报文
+     */
+    public boolean isEnabled(String root) {
+        return roots.contains(root);
+    }
+
+    public Set<String> getRoots() {
+        return roots;
+    }
+
+    /**
+     * 开始校验报文，未开启校验的报文类型原样返回读取器
+     * @param root 报文根元素名
+     * @param reader 位于根元素开始标签的读取器
+     * @return 解析器应使用的读取器
+     */
+    public XMLStreamReader begin(String root, XMLStreamReader reader) throws XMLStreamException {
+        if (!roots.contains(root)) {
+            return reader;
+        }
+        Map<String, ValidatorHandler> handlers = HANDLERS.get();
+        ValidatorHandler handler = handlers.get(root);
+        if (handler == null) {
+            handler = schema(root).newValidatorHandler();
+            handler.setErrorHandler(FAIL_FAST);
+            handlers.put(root, handler);
+        }
+        ValidatingReader validating = new ValidatingReader(reader, handler, stats(root),
+                ThreadLocalRandom.current().nextInt(SAMPLE_INTERVAL) == 0);
+        validating.startDocument();
+        return validating;
+    }
+
+    /**
+     * 结束校验，解析器读取到根元素结束标签后调用
+     * @param reader begin返回的读取器
+     * @throws XMLStreamException 报文不符合XSD时抛出
+     */
+    public void end(XMLStreamReader reader) throws XMLStreamException {
+        if (reader instanceof ValidatingReader) {
+            ((ValidatingReader) reader).endDocument();
+        }
+    }
+
+    /**
+     * 获取报文类型的校验统计
+     */
+    public static SchemaValidationStats stats(String root) {
+        return STATS.computeIfAbsent(root, key -> new SchemaValidationStats());
+    }
+
+    /**
+     * 各报文类型的校验统计
+     */
+    public static Map<String, Map<String, Object>> snapshot() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (Map.Entry<String, SchemaValidationStats> entry : STATS.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        return result;
+    }
+
+    private static Schema schema(String root) {
+        return SCHEMAS.computeIfAbsent(root, CebSchemaValidator::compile);
+    }
+
+    private static Schema compile(String root) {
+        URL xsd = CebSchemaValidator.class.getResource("/xsd/" + root + ".xsd");
+        if (xsd == null) {
+            throw new IllegalArgumentException("报文类型没有XSD: " + root);
+        }
+        try {
+            SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+            factory.setProperty(XMLConstants.ACCESS_EXTERNAL_DTD, "");
+            factory.setProperty(XMLConstants.ACCESS_EXTERNAL_SCHEMA, "");
+            return factory.newSchema(xsd);
+        } catch (SAXException e) {
+            throw new IllegalArgumentException("报文XSD编译失败: " + xsd, e);
+        }
+    }
+
+    /**
+     * 校验读取器：解析器每拉取一个事件，同时转发给ValidatorHandler
+     */
+    private static final class ValidatingReader extends StreamReaderDelegate {
+
+        private final ValidatorHandler handler;
+
+        private final SchemaValidationStats stats;
+
+        private final boolean timed;
+
+        private final AttributesImpl attributes = new AttributesImpl();
+
+        private long nanos;
+
+        ValidatingReader(XMLStreamReader reader, ValidatorHandler handler, SchemaValidationStats stats, boolean timed) {
+            super(reader);
+            this.handler = handler;
+            this.stats = stats;
+            this.timed = timed;
+        }
+
+        void startDocument() throws XMLStreamException {
+            long start = timed ? System.nanoTime() : 0L;
+            try {
+                handler.startDocument();
+                startElement();
+            } catch (SAXException e) {
+                throw invalid(e);
+            }
+            if (timed) {
+                nanos += System.nanoTime() - start;
+            }
+        }
+
+        void endDocument() throws XMLStreamException {
+            long start = timed ? System.nanoTime() : 0L;
+            try {
+                handler.endDocument();
+            } catch (SAXException e) {
+                throw invalid(e);
+            }
+            if (timed) {
+                stats.recordSample(nanos + System.nanoTime() - start);
+            }
+            stats.recordValid();
+        }
+
+        @Override
+        public int next() throws XMLStreamException {
+            int event = super.next();
+            long start = timed ? System.nanoTime() : 0L;
+            try {
+                switch (event) {
+                    case XMLStreamConstants.START_ELEMENT:
+                        startElement();
+                        break;
+                    case XMLStreamConstants.END_ELEMENT:
+                        endElement();
+                        break;
+                    case XMLStreamConstants.CHARACTERS:
+                    case XMLStreamConstants.CDATA:
+                    case XMLStreamConstants.SPACE:
+                        handler.characters(getTextCharacters(), getTextStart(), getTextLength());
+                        break;
+                    default:
+                        break;
+                }
+            } catch (SAXException e) {
+                throw invalid(e);
+            }
+            if (timed) {
+                nanos += System.nanoTime() - start;
+            }
+            return event;
+        }
+
+        /**
+         * 经next()读取文本，文本事件同样转发给ValidatorHandler
+         */
+        @Override
+        public String getElementText() throws XMLStreamException {
+            if (getEventType() != XMLStreamConstants.START_ELEMENT) {
+                throw new XMLStreamException("读取元素文本时不在开始标签", getLocation());
+            }
+            StringBuilder text = null;
+            String single = null;
+            while (true) {
+                int event = next();
+                if (event == XMLStreamConstants.END_ELEMENT) {
+                    break;
+                }
+                if (event == XMLStreamConstants.CHARACTERS || event == XMLStreamConstants.CDATA
+                        || event == XMLStreamConstants.SPACE || event == XMLStreamConstants.ENTITY_REFERENCE) {
+                    if (single == null) {
+                        single = getText();
+                    } else {
+                        if (text == null) {
+                            text = new StringBuilder(single);
+                        }
+                        text.append(getTextCharacters(), getTextStart(), getTextLength());
+                    }
+                } else if (event == XMLStreamConstants.START_ELEMENT) {
+                    throw new XMLStreamException("简单元素中包含子元素", getLocation());
+                } else if (event == XMLStreamConstants.END_DOCUMENT) {
+                    throw new XMLStreamException("读取元素文本时报文意外结束", getLocation());
+                }
+            }
+            return text != null ? text.toString() : single != null ? single : "";
+        }
+
+        @Override
+        public int nextTag() throws XMLStreamException {
+            int event = next();
+            while (event == XMLStreamConstants.SPACE || event == XMLStreamConstants.COMMENT
+                    || event == XMLStreamConstants.PROCESSING_INSTRUCTION
+                    || (event == XMLStreamConstants.CHARACTERS && isWhiteSpace())) {
+                event = next();
+            }
+            if (event != XMLStreamConstants.START_ELEMENT && event != XMLStreamConstants.END_ELEMENT) {
+                throw new XMLStreamException("期望开始或结束标签", getLocation());
+            }
+            return event;
+        }
+
+        private void startElement() throws SAXException {
+            for (int i = 0, count = getNamespaceCount(); i < count; i++) {
+                String prefix = getNamespacePrefix(i);
+                handler.startPrefixMapping(prefix != null ? prefix : "", getNamespaceURI(i));
+            }
+            attributes.clear();
+            for (int i = 0, count = getAttributeCount(); i < count; i++) {
+                String namespace = getAttributeNamespace(i);
+                String localName = getAttributeLocalName(i);
+                attributes.addAttribute(namespace != null ? namespace : "", localName,
+                        qName(getAttributePrefix(i), localName), getAttributeType(i), getAttributeValue(i));
+            }
+            String namespace = getNamespaceURI();
+            handler.startElement(namespace != null ? namespace : "", getLocalName(), qName(getPrefix(), getLocalName()), attributes);
+        }
+
+        private void endElement() throws SAXException {
+            String namespace = getNamespaceURI();
+            handler.endElement(namespace != null ? namespace : "", getLocalName(), qName(getPrefix(), getLocalName()));
+            for (int i = 0, count = getNamespaceCount(); i < count; i++) {
+                String prefix = getNamespacePrefix(i);
+                handler.endPrefixMapping(prefix != null ? prefix : "");
+            }
+        }
+
+        private XMLStreamException invalid(SAXException e) {
+            stats.recordInvalid();
+            return new XMLStreamException("报文不符合XSD: " + e.getMessage(), getLocation(), e);
+        }
+
+        private static String qName(String prefix, String localName) {
+            return prefix == null || prefix.isEmpty() ? localName : prefix + ":" + localName;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.gzeport.cbec.ceb;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单类报文的XSD校验统计
+ * 按JVM汇总，服务端经REST接口查询，Flink作业由写库算子注册为指标。
+ * 逐事件计时的开销与校验本身相当，耗时只对抽样报文统计。平均耗时为抽样报文的指数加权平均，
+ * 启动初期（类加载、JIT编译前）的慢样本很快衰减，反映近期的校验开销
+ */
+public final class SchemaValidationStats {
+
+    /**
+     * 指数加权平均的新样本权重，约最近50个样本起主要作用
+     */
+    private static final double ALPHA = 0.02;
+
+    private final LongAdder validated = new LongAdder();
+
+    private final LongAdder invalid = new LongAdder();
+
+    private long sampled;
+
+    private double averageNanos;
+
+    void recordValid() {
+        validated.increment();
+    }
+
+    void recordInvalid() {
+        invalid.increment();
+    }
+
+    void recordSample(long nanos) {
+        // 每16条报文抽样一条，加锁的开销可以忽略
+        synchronized (this) {
+            averageNanos = sampled++ == 0 ? nanos : averageNanos + ALPHA * (nanos - averageNanos);
+        }
+    }
+
+    /**
+     * 校验通过的报文数
+     */
+    public long getValidated() {
+        return validated.sum();
+    }
+
+    /**
+     * 不符合XSD的报文数
+     */
+    public long getInvalid() {
+        return invalid.sum();
+    }
+
+    /**
+     * 抽样报文近期的平均校验耗时（微秒），含逐事件计时本身的开销，略高于实际值，没有样本时为0
+     */
+    public synchronized double getAverageMicros() {
+        return averageNanos / 1000.0;
+    }
+
+    public Map<String, Object> snapshot() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("validated", getValidated());
+        result.put("invalid", getInvalid());
+        result.put("averageMicros", getAverageMicros());
+        return result;
+    }
+}
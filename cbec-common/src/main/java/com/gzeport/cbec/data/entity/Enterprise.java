@@ -0,0 +1,57 @@
+package com.gzeport.cbec.data.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 企业备案实体类
+ * Flink作业按update_time增量读取，企业注销时修改状态而不是删除记录，删除的记录不会同步到作业
+ */
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "cbec_enterprise", indexes = @Index(name = "idx_enterprise_update_time", columnList = "update_time"))
+public class Enterprise {
+
+    /**
+     * 企业状态：启用
+     */
+    public static final String STATUS_ACTIVE = "1";
+
+    /**
+     * 企业状态：停用
+     */
+    public static final String STATUS_INACTIVE = "0";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "company_id", unique = true, nullable = false, length = 10)
+    private String companyId;
+
+    @Column(name = "company_name")
+    private String companyName;
+
+    @Column(name = "status", nullable = false)
+    private String status;
+
+    @Column(name = "create_time", nullable = false)
+    private LocalDateTime createTime;
+
+    @Column(name = "update_time", nullable = false)
+    private LocalDateTime updateTime;
+
+    @PrePersist
+    public void prePersist() {
+        this.createTime = LocalDateTime.now();
+        this.updateTime = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    public void preUpdate() {
+        this.updateTime = LocalDateTime.now();
+    }
+}
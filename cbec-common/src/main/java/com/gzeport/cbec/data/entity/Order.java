@@ -5,6 +5,8 @@ import lombok.NoArgsConstructor;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * 订单实体类
@@ -40,6 +42,12 @@ public class Order {
     @Column(name = "update_time")
     private LocalDateTime updateTime;
 
+    /**
+     * 商品明细，只在解析CEB311报文时填充，不持久化
+     */
+    @Transient
+    private List<OrderItem> items = new ArrayList<>();
+
     @PrePersist
     public void prePersist() {
         this.createTime = LocalDateTime.now();
@@ -162,4 +170,18 @@ public class Order {
     public void setUpdateTime(LocalDateTime updateTime) {
         this.updateTime = updateTime;
     }
+
+    /**
+     * 获取商品明细
+     */
+    public List<OrderItem> getItems() {
+        return items;
+    }
+
+    /**
+     * 设置商品明细
+     */
+    public void setItems(List<OrderItem> items) {
+        this.items = items;
+    }
 }
@@ -0,0 +1,59 @@
+package com.gzeport.cbec.data.entity;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import java.math.BigDecimal;
+
+/**
+ * 订单商品明细
+ * 对应电子订单报文（CEB311）的OrderList，随订单解析，不单独持久化
+ */
+@Data
+@NoArgsConstructor
+public class OrderItem {
+
+    /**
+     * 商品序号
+     */
+    private Integer gnum;
+
+    /**
+     * 企业商品货号
+     */
+    private String itemNo;
+
+    /**
+     * 企业商品名称
+     */
+    private String itemName;
+
+    /**
+     * 计量单位
+     */
+    private String unit;
+
+    /**
+     * 数量
+     */
+    private BigDecimal qty;
+
+    /**
+     * 单价
+     */
+    private BigDecimal price;
+
+    /**
+     * 总价
+     */
+    private BigDecimal totalPrice;
+
+    /**
+     * 币制
+     */
+    private String currency;
+
+    /**
+     * 原产国
+     */
+    private String country;
+}
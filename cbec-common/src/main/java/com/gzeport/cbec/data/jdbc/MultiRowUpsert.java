@@ -0,0 +1,132 @@
+package com.gzeport.cbec.data.jdbc;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 多行幂等写入
+ * 一条INSERT ... VALUES (...), (...) ... ON DUPLICATE KEY UPDATE语句写入多行，不依赖MySQL驱动改写批量语句
+ * （rewriteBatchedStatements），H2等数据库同样按块执行。整块的语句在一个事务中只预编译一次、重复执行，
+ * 最后不足一块的行使用单独的语句；各行数的SQL生成一次后缓存
+ * @param <T> 单据实体类型
+ */
+public final class MultiRowUpsert<T> {
+
+    /**
+     * MySQL单条语句的占位符上限
+     */
+    static final int MAX_PARAMETERS = 65535;
+
+    /**
+     * 按偏移量绑定一行的参数
+     * @param <T> 单据实体类型
+     */
+    @FunctionalInterface
+    public interface Binder<T> {
+
+        /**
+         * @param ps 预编译语句
+         * @param offset 该行第一个参数之前的参数个数
+         * @param document 单据
+         * @param now 创建和更新时间
+         */
+        void bind(PreparedStatement ps, int offset, T document, Timestamp now) throws SQLException;
+    }
+
+    private final String insert;
+
+    private final String row;
+
+    private final String update;
+
+    private final int columns;
+
+    private final Binder<T> binder;
+
+    private final Map<Integer, String> sqlCache = new ConcurrentHashMap<>();
+
+    /**
+     * @param insert INSERT INTO ... VALUES部分
+     * @param columns 每行的参数个数
+     * @param update ON DUPLICATE KEY UPDATE部分
+     * @param binder 参数绑定
+     */
+    public MultiRowUpsert(String insert, int columns, String update, Binder<T> binder) {
+        if (columns <= 0) {
+            throw new IllegalArgumentException("每行参数个数必须大于0: " + columns);
+        }
+        StringBuilder placeholders = new StringBuilder("(");
+        for (int i = 0; i < columns; i++) {
+            placeholders.append(i == 0 ? "?" : ", ?");
+        }
+        this.insert = insert;
+        this.row = placeholders.append(')').toString();
+        this.update = update;
+        this.columns = columns;
+        this.binder = binder;
+    }
+
+    /**
+     * 写入指定行数的SQL
+     */
+    public String sql(int rows) {
+        return sqlCache.computeIfAbsent(rows, key -> {
+            StringBuilder sql = new StringBuilder(insert.length() + update.length() + key * (row.length() + 2));
+            sql.append(insert);
+            for (int i = 0; i < key; i++) {
+                if (i > 0) {
+                    sql.append(", ");
+                }
+                sql.append(row);
+            }
+            return sql.append(update).toString();
+        });
+    }
+
+    /**
+     * 单条语句最多写入的行数
+     */
+    public int getMaxRows() {
+        return MAX_PARAMETERS / columns;
+    }
+
+    /**
+     * 在调用方的事务中按块写入
+     * @param connection 数据库连接，由调用方提交或回滚
+     * @param documents 单据列表
+     * @param rowsPerStatement 每条语句写入的行数，超过占位符上限时按上限
+     * @param now 创建和更新时间
+     * @return 写入的单据数量
+     */
+    public int upsert(Connection connection, List<T> documents, int rowsPerStatement, Timestamp now) throws SQLException {
+        int size = documents.size();
+        int rows = Math.max(1, Math.min(rowsPerStatement, getMaxRows()));
+        int full = size / rows * rows;
+        if (full > 0) {
+            try (PreparedStatement ps = connection.prepareStatement(sql(rows))) {
+                for (int start = 0; start < full; start += rows) {
+                    bindRows(ps, documents, start, rows, now);
+                    ps.executeUpdate();
+                }
+            }
+        }
+        if (full < size) {
+            try (PreparedStatement ps = connection.prepareStatement(sql(size - full))) {
+                bindRows(ps, documents, full, size - full, now);
+                ps.executeUpdate();
+            }
+        }
+        return size;
+    }
+
+    private void bindRows(PreparedStatement ps, List<T> documents, int start, int rows, Timestamp now) throws SQLException {
+        for (int i = 0; i < rows; i++) {
+            binder.bind(ps, i * columns, documents.get(start + i), now);
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.gzeport.cbec.data.jdbc;
+
+import com.gzeport.cbec.data.entity.Order;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 订单幂等写入语句
+ * 服务端的OrderJdbcRepository和Flink任务端的OrderJdbcWriter共用
+ */
+public final class OrderUpsertStatement {
+
+    /**
+     * INSERT部分，多行写入时在其后拼接多组占位符
+     */
+    static final String INSERT =
+            "INSERT INTO cbec_order (order_id, company_id, customer_name, total_amount, order_status, create_time, update_time) VALUES ";
+
+    /**
+     * 按order_id唯一键更新已有记录的部分
+     */
+    static final String UPDATE =
+            " ON DUPLICATE KEY UPDATE company_id = VALUES(company_id), customer_name = VALUES(customer_name), "
+                    + "total_amount = VALUES(total_amount), order_status = VALUES(order_status), update_time = VALUES(update_time)";
+
+    /**
+     * 每行的参数个数
+     */
+    static final int COLUMNS = 7;
+
+    /**
+     * 按order_id唯一键幂等写入，重复提交同一事务不会违反唯一约束
+     */
+    public static final String SQL = INSERT + "(?, ?, ?, ?, ?, ?, ?)" + UPDATE;
+
+    /**
+     * 一条语句写入多行的幂等写入
+     */
+    public static final MultiRowUpsert<Order> MULTI_ROW = new MultiRowUpsert<>(INSERT, COLUMNS, UPDATE, OrderUpsertStatement::bind);
+
+    private OrderUpsertStatement() {
+    }
+
+    /**
+     * 绑定SQL的参数
+     * @param ps 预编译语句
+     * @param order 订单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, Order order, Timestamp now) throws SQLException {
+        bind(ps, 0, order, now);
+    }
+
+    /**
+     * 按偏移量绑定一行的参数，用于多行写入
+     * @param ps 预编译语句
+     * @param offset 该行第一个参数之前的参数个数
+     * @param order 订单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, int offset, Order order, Timestamp now) throws SQLException {
+        ps.setString(offset + 1, order.getOrderId());
+        ps.setString(offset + 2, order.getCompanyId());
+        ps.setString(offset + 3, order.getCustomerName());
+        ps.setBigDecimal(offset + 4, order.getTotalAmount());
+        ps.setString(offset + 5, order.getOrderStatus());
+        ps.setTimestamp(offset + 6, now);
+        ps.setTimestamp(offset + 7, now);
+    }
+}
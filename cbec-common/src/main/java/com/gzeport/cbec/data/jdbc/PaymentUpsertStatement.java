@@ -0,0 +1,76 @@
+package com.gzeport.cbec.data.jdbc;
+
+import com.gzeport.cbec.data.entity.Payment;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 支付单幂等写入语句
+ * 服务端的PaymentJdbcRepository和Flink任务端的PaymentJdbcWriter共用
+ */
+public final class PaymentUpsertStatement {
+
+    /**
+     * INSERT部分，多行写入时在其后拼接多组占位符
+     */
+    static final String INSERT =
+            "INSERT INTO cbec_payment (payment_id, order_id, company_id, payment_amount, payment_method, payment_status, "
+                    + "transaction_id, create_time, update_time) VALUES ";
+
+    /**
+     * 按payment_id唯一键更新已有记录的部分
+     */
+    static final String UPDATE =
+            " ON DUPLICATE KEY UPDATE order_id = VALUES(order_id), company_id = VALUES(company_id), "
+                    + "payment_amount = VALUES(payment_amount), payment_method = VALUES(payment_method), "
+                    + "payment_status = VALUES(payment_status), transaction_id = VALUES(transaction_id), update_time = VALUES(update_time)";
+
+    /**
+     * 每行的参数个数
+     */
+    static final int COLUMNS = 9;
+
+    /**
+     * 按payment_id唯一键幂等写入，重复提交同一事务不会违反唯一约束
+     */
+    public static final String SQL = INSERT + "(?, ?, ?, ?, ?, ?, ?, ?, ?)" + UPDATE;
+
+    /**
+     * 一条语句写入多行的幂等写入
+     */
+    public static final MultiRowUpsert<Payment> MULTI_ROW = new MultiRowUpsert<>(INSERT, COLUMNS, UPDATE, PaymentUpsertStatement::bind);
+
+    private PaymentUpsertStatement() {
+    }
+
+    /**
+     * 绑定SQL的参数
+     * @param ps 预编译语句
+     * @param payment 支付单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, Payment payment, Timestamp now) throws SQLException {
+        bind(ps, 0, payment, now);
+    }
+
+    /**
+     * 按偏移量绑定一行的参数，用于多行写入
+     * @param ps 预编译语句
+     * @param offset 该行第一个参数之前的参数个数
+     * @param payment 支付单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, int offset, Payment payment, Timestamp now) throws SQLException {
+        ps.setString(offset + 1, payment.getPaymentId());
+        ps.setString(offset + 2, payment.getOrderId());
+        ps.setString(offset + 3, payment.getCompanyId());
+        ps.setBigDecimal(offset + 4, payment.getPaymentAmount());
+        ps.setString(offset + 5, payment.getPaymentMethod());
+        ps.setString(offset + 6, payment.getPaymentStatus());
+        ps.setString(offset + 7, payment.getTransactionId());
+        ps.setTimestamp(offset + 8, now);
+        ps.setTimestamp(offset + 9, now);
+    }
+}
@@ -0,0 +1,74 @@
+package com.gzeport.cbec.data.jdbc;
+
+import com.gzeport.cbec.data.entity.Waybill;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 运单幂等写入语句
+ * 服务端的WaybillJdbcRepository和Flink任务端的WaybillJdbcWriter共用
+ */
+public final class WaybillUpsertStatement {
+
+    /**
+     * INSERT部分，多行写入时在其后拼接多组占位符
+     */
+    static final String INSERT =
+            "INSERT INTO cbec_waybill (waybill_id, order_id, company_id, carrier, tracking_number, waybill_status, create_time, update_time) VALUES ";
+
+    /**
+     * 按waybill_id唯一键更新已有记录的部分
+     */
+    static final String UPDATE =
+            " ON DUPLICATE KEY UPDATE order_id = VALUES(order_id), company_id = VALUES(company_id), "
+                    + "carrier = VALUES(carrier), tracking_number = VALUES(tracking_number), "
+                    + "waybill_status = VALUES(waybill_status), update_time = VALUES(update_time)";
+
+    /**
+     * 每行的参数个数
+     */
+    static final int COLUMNS = 8;
+
+    /**
+     * 按waybill_id唯一键幂等写入，重复提交同一事务不会违反唯一约束
+     */
+    public static final String SQL = INSERT + "(?, ?, ?, ?, ?, ?, ?, ?)" + UPDATE;
+
+    /**
+     * 一条语句写入多行的幂等写入
+     */
+    public static final MultiRowUpsert<Waybill> MULTI_ROW = new MultiRowUpsert<>(INSERT, COLUMNS, UPDATE, WaybillUpsertStatement::bind);
+
+    private WaybillUpsertStatement() {
+    }
+
+    /**
+     * 绑定SQL的参数
+     * @param ps 预编译语句
+     * @param waybill 运单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, Waybill waybill, Timestamp now) throws SQLException {
+        bind(ps, 0, waybill, now);
+    }
+
+    /**
+     * 按偏移量绑定一行的参数，用于多行写入
+     * @param ps 预编译语句
+     * @param offset 该行第一个参数之前的参数个数
+     * @param waybill 运单
+     * @param now 创建和更新时间
+     */
+    public static void bind(PreparedStatement ps, int offset, Waybill waybill, Timestamp now) throws SQLException {
+        ps.setString(offset + 1, waybill.getWaybillId());
+        ps.setString(offset + 2, waybill.getOrderId());
+        ps.setString(offset + 3, waybill.getCompanyId());
+        ps.setString(offset + 4, waybill.getCarrier());
+        ps.setString(offset + 5, waybill.getTrackingNumber());
+        ps.setString(offset + 6, waybill.getWaybillStatus());
+        ps.setTimestamp(offset + 7, now);
+        ps.setTimestamp(offset + 8, now);
+    }
+}
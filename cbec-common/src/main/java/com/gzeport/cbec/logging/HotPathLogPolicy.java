@@ -0,0 +1,59 @@
+package com.gzeport.cbec.logging;
+
+/**
+ * 热点日志策略
+ * 包括采样率、每秒限流条数和报文截断长度，不可变，运行时通过替换整个策略调整
+ */
+public final class HotPathLogPolicy {
+
+    /**
+     * 不采样、不限流、不截断
+     */
+    public static final HotPathLogPolicy UNLIMITED = new HotPathLogPolicy(1.0, 0, 0);
+
+    private final double sampleRate;
+
+    private final int rateLimitPerSecond;
+
+    private final int maxPayloadLength;
+
+    /**
+     * @param sampleRate debug/info日志的采样率，取值0~1，1表示全部输出；warn/error日志不采样
+     * @param rateLimitPerSecond 每秒最多输出的日志条数（令牌桶，突发上限为1秒的令牌数），小于等于0表示不限流
+     * @param maxPayloadLength 字符串和字节数组参数的最大输出长度，小于等于0表示不截断
+     */
+    public HotPathLogPolicy(double sampleRate, int rateLimitPerSecond, int maxPayloadLength) {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("采样率应在0~1之间: " + sampleRate);
+        }
+        this.sampleRate = sampleRate;
+        this.rateLimitPerSecond = rateLimitPerSecond;
+        this.maxPayloadLength = maxPayloadLength;
+    }
+
+    /**
+     * 获取采样率
+     */
+    public double getSampleRate() {
+        return sampleRate;
+    }
+
+    /**
+     * 获取每秒限流条数
+     */
+    public int getRateLimitPerSecond() {
+        return rateLimitPerSecond;
+    }
+
+    /**
+     * 获取报文截断长度
+     */
+    public int getMaxPayloadLength() {
+        return maxPayloadLength;
+    }
+
+    @Override
+    public String toString() {
+        return "采样率: " + sampleRate + "，限流: " + rateLimitPerSecond + "条/秒，截断长度: " + maxPayloadLength;
+    }
+}
@@ -0,0 +1,303 @@
+package com.gzeport.cbec.logging;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 热点路径日志
+ * 逐条报文、逐批次执行的日志经过本类输出，按分类进行采样、令牌桶限流和报文截断，
+ * 被丢弃的日志只计数，按汇总间隔输出一行汇总，避免高峰期日志成为CPU和磁盘瓶颈
+ * 分类策略保存在JVM内的静态注册表中，可在运行时调整；未配置的分类不采样、不限流、不截断
+ * 用法与SLF4J一致，日志仍输出到调用方类的Logger，级别未开启时直接返回
+ */
+public final class HotPathLogger {
+
+    /**
+     * 逐条报文日志：报文接收、发送、解析失败等
+     */
+    public static final String CATEGORY_MESSAGE = "message";
+
+    /**
+     * 逐条报文的业务校验日志
+     */
+    public static final String CATEGORY_VALIDATION = "validation";
+
+    /**
+     * 逐批次日志：批处理、写库
+     */
+    public static final String CATEGORY_BATCH = "batch";
+
+    /**
+     * 热点日志配置项前缀
+     */
+    public static final String PROPERTY_PREFIX = "logging.hot-path.";
+
+    private static final Logger SUMMARY_LOG = LoggerFactory.getLogger(HotPathLogger.class);
+
+    private static final Map<String, CategoryState> CATEGORIES = new ConcurrentHashMap<>();
+
+    private static volatile long summaryIntervalMs = 60000;
+
+    private final Logger logger;
+
+    private final CategoryState state;
+
+    private HotPathLogger(Logger logger, CategoryState state) {
+        this.logger = logger;
+        this.state = state;
+    }
+
+    /**
+     * 获取热点路径日志
+     * @param owner 调用方类，日志输出到该类的Logger
+     * @param category 日志分类
+     * @return 热点路径日志
+     */
+    public static HotPathLogger getLogger(Class<?> owner, String category) {
+        return new HotPathLogger(LoggerFactory.getLogger(owner), state(category));
+    }
+
+    /**
+     * 调整分类策略，立即生效
+     * @param category 日志分类
+     * @param policy 日志策略
+     */
+    public static void configure(String category, HotPathLogPolicy policy) {
+        state(category).setPolicy(policy);
+        SUMMARY_LOG.info("热点日志[{}]策略调整为: {}", category, policy);
+    }
+
+    /**
+     * 按配置项调整汇总间隔和各分类策略，配置项格式与服务端配置文件一致：
+     * logging.hot-path.summary-interval.ms、logging.hot-path.{分类}.sample-rate|rate-limit|max-payload，
+     * 未配置的项保留当前取值，用于Flink作业在各TaskManager上应用随作业参数分发的日志策略
+     * @param properties 配置项
+     */
+    public static void configure(Map<String, String> properties) {
+        String interval = properties.get(PROPERTY_PREFIX + "summary-interval.ms");
+        if (interval != null) {
+            setSummaryIntervalMs(Long.parseLong(interval));
+        }
+        for (String category : new String[]{CATEGORY_MESSAGE, CATEGORY_VALIDATION, CATEGORY_BATCH}) {
+            String prefix = PROPERTY_PREFIX + category + ".";
+            String sampleRate = properties.get(prefix + "sample-rate");
+            String rateLimit = properties.get(prefix + "rate-limit");
+            String maxPayload = properties.get(prefix + "max-payload");
+            if (sampleRate == null && rateLimit == null && maxPayload == null) {
+                continue;
+            }
+            HotPathLogPolicy current = state(category).policy;
+            configure(category, new HotPathLogPolicy(
+                    sampleRate != null ? Double.parseDouble(sampleRate) : current.getSampleRate(),
+                    rateLimit != null ? Integer.parseInt(rateLimit) : current.getRateLimitPerSecond(),
+                    maxPayload != null ? Integer.parseInt(maxPayload) : current.getMaxPayloadLength()));
+        }
+    }
+
+    /**
+     * 设置汇总间隔
+     * @param intervalMs 汇总间隔（毫秒）
+     */
+    public static void setSummaryIntervalMs(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("汇总间隔应大于0: " + intervalMs);
+        }
+        summaryIntervalMs = intervalMs;
+    }
+
+    /**
+     * 获取所有分类的当前策略
+     */
+    public static Map<String, HotPathLogPolicy> policies() {
+        Map<String, HotPathLogPolicy> result = new LinkedHashMap<>();
+        for (Map.Entry<String, CategoryState> entry : CATEGORIES.entrySet()) {
+            result.put(entry.getKey(), entry.getValue().policy);
+        }
+        return result;
+    }
+
+    public boolean isDebugEnabled() {
+        return logger.isDebugEnabled();
+    }
+
+    public void debug(String format, Object... args) {
+        if (logger.isDebugEnabled() && state.acquire(true, System.nanoTime())) {
+            logger.debug(format, state.truncateArgs(args));
+        }
+    }
+
+    public void info(String format, Object... args) {
+        if (logger.isInfoEnabled() && state.acquire(true, System.nanoTime())) {
+            logger.info(format, state.truncateArgs(args));
+        }
+    }
+
+    public void warn(String format, Object... args) {
+        if (logger.isWarnEnabled() && state.acquire(false, System.nanoTime())) {
+            logger.warn(format, state.truncateArgs(args));
+        }
+    }
+
+    public void error(String format, Object... args) {
+        if (logger.isErrorEnabled() && state.acquire(false, System.nanoTime())) {
+            logger.error(format, state.truncateArgs(args));
+        }
+    }
+
+    /**
+     * 按分类的截断长度截断报文，用于需要自行拼接的场景
+     */
+    public String truncate(String payload) {
+        return truncate(payload, state.policy.getMaxPayloadLength());
+    }
+
+    static String truncate(String payload, int maxLength) {
+        if (payload == null || maxLength <= 0 || payload.length() <= maxLength) {
+            return payload;
+        }
+        return payload.substring(0, maxLength) + "...(共" + payload.length() + "字符)";
+    }
+
+    static CategoryState state(String category) {
+        return CATEGORIES.computeIfAbsent(category, CategoryState::new);
+    }
+
+    /**
+     * 分类状态：策略、令牌桶和汇总计数
+     */
+    static final class CategoryState {
+
+        private final String category;
+
+        private volatile HotPathLogPolicy policy = HotPathLogPolicy.UNLIMITED;
+
+        private final AtomicLong emitted = new AtomicLong();
+
+        private final AtomicLong sampledOut = new AtomicLong();
+
+        private final AtomicLong rateLimited = new AtomicLong();
+
+        private final AtomicLong nextSummaryNanos = new AtomicLong(System.nanoTime());
+
+        private double tokens;
+
+        private long lastRefillNanos = System.nanoTime();
+
+        CategoryState(String category) {
+            this.category = category;
+        }
+
+        void setPolicy(HotPathLogPolicy policy) {
+            this.policy = policy;
+            synchronized (this) {
+                tokens = policy.getRateLimitPerSecond();
+            }
+        }
+
+        /**
+         * 判断本条日志是否输出
+         * @param sampled 是否参与采样
+         * @param now 当前时间（纳秒）
+         */
+        boolean acquire(boolean sampled, long now) {
+            maybeSummarize(now);
+            HotPathLogPolicy current = policy;
+            if (sampled && current.getSampleRate() < 1
+                    && ThreadLocalRandom.current().nextDouble() >= current.getSampleRate()) {
+                sampledOut.incrementAndGet();
+                return false;
+            }
+            int rate = current.getRateLimitPerSecond();
+            if (rate > 0 && !takeToken(rate, now)) {
+                rateLimited.incrementAndGet();
+                return false;
+            }
+            emitted.incrementAndGet();
+            return true;
+        }
+
+        private synchronized boolean takeToken(int rate, long now) {
+            tokens = Math.min(rate, tokens + (now - lastRefillNanos) * rate / 1e9);
+            lastRefillNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return true;
+            }
+            return false;
+        }
+
+        /**
+         * 到达汇总时间且有日志被丢弃时输出一行汇总，由抢到汇总时间的线程输出
+         */
+        private void maybeSummarize(long now) {
+            long next = nextSummaryNanos.get();
+            if (now - next < 0 || !nextSummaryNanos.compareAndSet(next, now + summaryIntervalMs * 1_000_000)) {
+                return;
+            }
+            long sampledCount = sampledOut.getAndSet(0);
+            long limitedCount = rateLimited.getAndSet(0);
+            long emittedCount = emitted.getAndSet(0);
+            if (sampledCount > 0 || limitedCount > 0) {
+                SUMMARY_LOG.info("热点日志[{}]汇总: 输出 {} 条，采样丢弃 {} 条，限流丢弃 {} 条",
+                        category, emittedCount, sampledCount, limitedCount);
+            }
+        }
+
+        /**
+         * 按截断长度截断字符串参数，字节数组参数按UTF-8解码为字符串（只解码截断所需的前缀）
+         */
+        Object[] truncateArgs(Object[] args) {
+            if (args == null) {
+                return null;
+            }
+            int maxLength = policy.getMaxPayloadLength();
+            Object[] result = args;
+            for (int i = 0; i < args.length; i++) {
+                Object arg = args[i];
+                Object truncated = arg;
+                if (arg instanceof String) {
+                    truncated = truncate((String) arg, maxLength);
+                } else if (arg instanceof byte[]) {
+                    truncated = decode((byte[]) arg, maxLength);
+                }
+                if (truncated != arg) {
+                    if (result == args) {
+                        result = args.clone();
+                    }
+                    result[i] = truncated;
+                }
+            }
+            return result;
+        }
+
+        private static String decode(byte[] bytes, int maxLength) {
+            if (maxLength <= 0) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+            // UTF-8每个字符最多4字节
+            String prefix = new String(bytes, 0, Math.min(bytes.length, maxLength * 4), StandardCharsets.UTF_8);
+            return prefix.length() > maxLength
+                    ? prefix.substring(0, maxLength) + "...(共" + bytes.length + "字节)"
+                    : prefix;
+        }
+
+        long getEmitted() {
+            return emitted.get();
+        }
+
+        long getSampledOut() {
+            return sampledOut.get();
+        }
+
+        long getRateLimited() {
+            return rateLimited.get();
+        }
+    }
+}
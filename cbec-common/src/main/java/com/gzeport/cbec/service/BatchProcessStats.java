@@ -0,0 +1,83 @@
+package com.gzeport.cbec.service;
+
+/**
+ * 批量处理统计
+ * 写库服务在解析、校验和写库过程中填写，由Flink写库阶段汇总到算子指标
+ */
+public class BatchProcessStats {
+    private int parseFailures;
+    private int validationRejects;
+    private int rowsPersisted;
+    private long parseTimeNanos;
+    private long writeTimeNanos;
+
+    /**
+     * 记录一次解析失败
+     */
+    public void incParseFailures() {
+        parseFailures++;
+    }
+
+    /**
+     * 记录一次校验不通过
+     */
+    public void incValidationRejects() {
+        validationRejects++;
+    }
+
+    /**
+     * 累加解析和校验耗时
+     */
+    public void addParseTimeNanos(long nanos) {
+        parseTimeNanos += nanos;
+    }
+
+    /**
+     * 累加写库耗时
+     */
+    public void addWriteTimeNanos(long nanos) {
+        writeTimeNanos += nanos;
+    }
+
+    /**
+     * 获取解析失败的报文数量
+     */
+    public int getParseFailures() {
+        return parseFailures;
+    }
+
+    /**
+     * 获取校验不通过的报文数量
+     */
+    public int getValidationRejects() {
+        return validationRejects;
+    }
+
+    /**
+     * 获取写入数据库的行数
+     */
+    public int getRowsPersisted() {
+        return rowsPersisted;
+    }
+
+    /**
+     * 设置写入数据库的行数
+     */
+    public void setRowsPersisted(int rowsPersisted) {
+        this.rowsPersisted = rowsPersisted;
+    }
+
+    /**
+     * 获取解析和校验耗时（纳秒）
+     */
+    public long getParseTimeNanos() {
+        return parseTimeNanos;
+    }
+
+    /**
+     * 获取写库耗时（纳秒）
+     */
+    public long getWriteTimeNanos() {
+        return writeTimeNanos;
+    }
+}
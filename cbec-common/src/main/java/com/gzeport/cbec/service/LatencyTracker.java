@@ -0,0 +1,162 @@
+package com.gzeport.cbec.service;
+
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * 端到端延迟统计
+ * 以API接收报文时写入的IngestTime header为起点，分阶段记录报文延迟（毫秒）：
+ * <ul>
+ *     <li>API_TO_KAFKA：API接收报文到Kafka确认写入</li>
+ *     <li>KAFKA_TO_OPERATOR：Kafka记录时间戳到Flink源端算子读取</li>
+ *     <li>OPERATOR_TO_COMMIT：批处理窗口输出批次到写库提交</li>
+ *     <li>END_TO_END：API接收报文到写库提交，端到端延迟与前三个阶段之差即批处理窗口等待时间</li>
+ * </ul>
+ * 每个阶段保留最近的固定数量样本，按样本计算分位数；统计值按JVM保存，只有API服务记录样本，REST接口查询API_TO_KAFKA阶段；
+ * Flink作业独立部署，其余阶段只记录到同名的Flink直方图（指标组latency下的"指标名称+Ms"），不写入本统计
+ */
+public final class LatencyTracker {
+
+    /**
+     * 报文接收时间 header名称，取值为API接收报文时的毫秒时间戳（十进制字符串）
+     */
+    public static final String HEADER_INGEST_TIME = "IngestTime";
+
+    /**
+     * 每个阶段保留的最近样本数
+     */
+    static final int WINDOW_SIZE = 10000;
+
+    private static final double[] PERCENTILES = {0.5, 0.9, 0.95, 0.99, 0.999};
+
+    private static final String[] PERCENTILE_NAMES = {"p50", "p90", "p95", "p99", "p999"};
+
+    private static final Map<Stage, SampleWindow> WINDOWS = new EnumMap<>(Stage.class);
+
+    static {
+        for (Stage stage : Stage.values()) {
+            WINDOWS.put(stage, new SampleWindow(WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * 延迟统计阶段
+     */
+    public enum Stage {
+        API_TO_KAFKA("apiToKafka"),
+        KAFKA_TO_OPERATOR("kafkaToOperator"),
+        OPERATOR_TO_COMMIT("operatorToCommit"),
+        END_TO_END("endToEnd");
+
+        private final String metricName;
+
+        Stage(String metricName) {
+            this.metricName = metricName;
+        }
+
+        /**
+         * 获取指标名称
+         */
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private LatencyTracker() {
+    }
+
+    /**
+     * 记录一个延迟样本，时钟偏差导致的负值按0记录
+     * @param stage 统计阶段
+     * @param latencyMs 延迟（毫秒）
+     */
+    public static void record(Stage stage, long latencyMs) {
+        WINDOWS.get(stage).add(Math.max(latencyMs, 0));
+    }
+
+    /**
+     * 获取各阶段延迟统计
+     * @return 阶段指标名称到统计值的映射，统计值包括样本总数count、窗口内样本数samples、min、max、mean及p50至p999分位数
+     */
+    public static Map<String, Map<String, Long>> snapshot() {
+        return snapshot(Stage.values());
+    }
+
+    /**
+     * 获取指定阶段的延迟统计，只返回本JVM中记录样本的阶段时使用
+     * @param stages 统计阶段
+     * @return 阶段指标名称到统计值的映射，按参数顺序
+     */
+    public static Map<String, Map<String, Long>> snapshot(Stage... stages) {
+        Map<String, Map<String, Long>> result = new LinkedHashMap<>();
+        for (Stage stage : stages) {
+            result.put(stage.getMetricName(), WINDOWS.get(stage).statistics());
+        }
+        return result;
+    }
+
+    /**
+     * 清空所有样本
+     */
+    static void reset() {
+        for (SampleWindow window : WINDOWS.values()) {
+            window.clear();
+        }
+    }
+
+    /**
+     * 固定容量的环形样本窗口
+     * 多个写入线程无锁追加，统计时复制一份样本排序，读取期间并发写入的样本可能计入也可能不计入
+     */
+    private static final class SampleWindow {
+
+        private final AtomicLongArray samples;
+
+        private final AtomicLong count = new AtomicLong();
+
+        SampleWindow(int size) {
+            samples = new AtomicLongArray(size);
+        }
+
+        void add(long value) {
+            long index = count.getAndIncrement();
+            samples.set((int) (index % samples.length()), value);
+        }
+
+        void clear() {
+            count.set(0);
+        }
+
+        Map<String, Long> statistics() {
+            long total = count.get();
+            int size = (int) Math.min(total, samples.length());
+            long[] sorted = new long[size];
+            long sum = 0;
+            for (int i = 0; i < size; i++) {
+                sorted[i] = samples.get(i);
+                sum += sorted[i];
+            }
+            Arrays.sort(sorted);
+
+            Map<String, Long> statistics = new LinkedHashMap<>();
+            statistics.put("count", total);
+            statistics.put("samples", (long) size);
+            if (size == 0) {
+                return statistics;
+            }
+            statistics.put("min", sorted[0]);
+            statistics.put("max", sorted[size - 1]);
+            statistics.put("mean", sum / size);
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                // 最近秩法
+                int rank = (int) Math.ceil(PERCENTILES[i] * size);
+                statistics.put(PERCENTILE_NAMES[i], sorted[Math.max(rank, 1) - 1]);
+            }
+            return statistics;
+        }
+    }
+}
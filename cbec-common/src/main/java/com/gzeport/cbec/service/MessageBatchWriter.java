@@ -0,0 +1,43 @@
+package com.gzeport.cbec.service;
+
+import java.util.List;
+
+/**
+ * 报文批量写库接口
+ * 由各类单据的业务服务实现，Flink写库阶段按单据类型获取对应实现，不依赖具体单据
+ */
+public interface MessageBatchWriter {
+
+    /**
+     * 批量解析、校验并保存报文
+     * 用于异步写库阶段，写库失败时返回false，由调用方重试
+     * @param messages 报文原始字节列表
+     * @param stats 批量处理统计，由实现填写解析失败、校验不通过、写入行数和各阶段耗时
+     * @return 处理结果
+     */
+    boolean batchProcessMessages(List<byte[]> messages, BatchProcessStats stats);
+
+    /**
+     * 在一个事务中幂等提交报文
+     * 用于两阶段提交Sink在Checkpoint完成后提交整个事务，写库失败时抛出异常
+     * @param messages 报文原始字节列表
+     * @param batchSize 每次JDBC批量执行的条数
+     * @param stats 批量处理统计，由实现填写解析失败、校验不通过、写入行数和各阶段耗时
+     * @return 写入的单据数量
+     */
+    int commitMessages(List<byte[]> messages, int batchSize, BatchProcessStats stats);
+
+    /**
+     * 批量解析、校验并保存报文，不收集统计
+     */
+    default boolean batchProcessMessages(List<byte[]> messages) {
+        return batchProcessMessages(messages, new BatchProcessStats());
+    }
+
+    /**
+     * 在一个事务中幂等提交报文，不收集统计
+     */
+    default int commitMessages(List<byte[]> messages, int batchSize) {
+        return commitMessages(messages, batchSize, new BatchProcessStats());
+    }
+}
@@ -0,0 +1,224 @@
+package com.gzeport.cbec.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * 批量报文并行解析
+ * 在独占的有界ForkJoinPool中并行解析和校验一批报文，结果保持报文原有顺序。
+ * 各子任务只写入自己负责区间的结果数组，合并后在调用线程统计解析失败和校验不通过数量，解析过程不加锁。
+ * 批次较小或并行度为1时直接在调用线程解析，不切换线程
+ * 同一JVM内的多个调用方可通过acquire()共用一个线程池，线程总数不随调用方数量增加
+ */
+public class ParallelMessageParser implements AutoCloseable {
+
+    /**
+     * 并行解析的最小批次大小，小于该值的批次在调用线程解析
+     */
+    public static final int DEFAULT_THRESHOLD = 32;
+
+    /**
+     * 每个子任务最少解析的报文数量
+     */
+    private static final int MIN_CHUNK = 8;
+
+    private static final ConcurrentMap<String, ParallelMessageParser> SHARED = new ConcurrentHashMap<>();
+
+    private static final byte ACCEPTED = 1;
+    private static final byte PARSE_FAILED = 2;
+    private static final byte REJECTED = 3;
+
+    private final int parallelism;
+
+    private final int threshold;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * 共享实例的引用数，由SHARED的更新操作保护
+     */
+    private int references;
+
+    /**
+     * @param name 解析线程名前缀
+     * @param parallelism 解析线程数，即线程池大小
+     * @param threshold 并行解析的最小批次大小
+     */
+    public ParallelMessageParser(String name, int parallelism, int threshold) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("解析并行度必须大于0: " + parallelism);
+        }
+        this.parallelism = parallelism;
+        this.threshold = Math.max(threshold, 2);
+        this.pool = parallelism > 1 ? new ForkJoinPool(parallelism, threadFactory(name), null, false) : null;
+    }
+
+    /**
+     * 获取当前JVM内同名的共享实例并增加引用数，不存在时按参数创建，用完后调用release()
+     * @param name 共享名称，同时作为解析线程名前缀
+     * @param parallelism 解析线程数，小于等于0时为处理器数
+     * @param threshold 并行解析的最小批次大小
+     */
+    public static ParallelMessageParser acquire(String name, int parallelism, int threshold) {
+        return SHARED.compute(name, (key, current) -> {
+            if (current == null) {
+                current = new ParallelMessageParser(name,
+                        parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors(), threshold);
+            }
+            current.references++;
+            return current;
+        });
+    }
+
+    /**
+     * 释放共享实例的引用，最后一个引用释放后移除并关闭线程池
+     * @param name 共享名称
+     */
+    public static void release(String name) {
+        ParallelMessageParser[] closed = new ParallelMessageParser[1];
+        SHARED.computeIfPresent(name, (key, current) -> {
+            if (--current.references > 0) {
+                return current;
+            }
+            closed[0] = current;
+            return null;
+        });
+        if (closed[0] != null) {
+            closed[0].close();
+        }
+    }
+
+    /**
+     * 解析并校验一批报文
+     * @param messages 报文原始字节列表
+     * @param parser 解析函数，解析失败时返回null
+     * @param validator 校验函数
+     * @param stats 批量处理统计，记录解析失败、校验不通过数量和耗时
+     * @return 解析成功且校验通过的单据，与报文顺序一致
+     */
+    public <T> List<T> parse(List<byte[]> messages, Function<byte[], T> parser, Predicate<? super T> validator,
+                             BatchProcessStats stats) {
+        long start = System.nanoTime();
+        // 复制为数组，各子任务按下标随机访问
+        byte[][] array = messages.toArray(new byte[0][]);
+        int size = array.length;
+        Object[] documents = new Object[size];
+        byte[] outcomes = new byte[size];
+        ParseTask<T> task = new ParseTask<>(array, parser, validator, documents, outcomes, 0, size,
+                Math.max(MIN_CHUNK, size / (parallelism * 4)));
+        if (pool == null || size < threshold) {
+            task.parseRange();
+        } else {
+            pool.invoke(task);
+        }
+
+        List<T> accepted = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            if (outcomes[i] == ACCEPTED) {
+                @SuppressWarnings("unchecked")
+                T document = (T) documents[i];
+                accepted.add(document);
+            } else if (outcomes[i] == PARSE_FAILED) {
+                stats.incParseFailures();
+            } else {
+                stats.incValidationRejects();
+            }
+        }
+        stats.addParseTimeNanos(System.nanoTime() - start);
+        return accepted;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * 关闭线程池，等待正在解析的批次完成
+     */
+    @Override
+    public void close() {
+        if (pool != null) {
+            pool.shutdown();
+            try {
+                pool.awaitTermination(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory threadFactory(String name) {
+        // 线程上下文类加载器使用本类的类加载器，Flink任务端与用户代码一致
+        ClassLoader classLoader = ParallelMessageParser.class.getClassLoader();
+        return pool -> {
+            ForkJoinWorkerThread thread = new ForkJoinWorkerThread(pool) {
+            };
+            thread.setName(name + "-" + thread.getPoolIndex());
+            thread.setDaemon(true);
+            thread.setContextClassLoader(classLoader);
+            return thread;
+        };
+    }
+
+    /**
+     * 按区间二分的解析任务，区间不超过chunk时在当前线程解析
+     */
+    private static final class ParseTask<T> extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final byte[][] messages;
+        private final Function<byte[], T> parser;
+        private final Predicate<? super T> validator;
+        private final Object[] documents;
+        private final byte[] outcomes;
+        private final int from;
+        private final int to;
+        private final int chunk;
+
+        ParseTask(byte[][] messages, Function<byte[], T> parser, Predicate<? super T> validator,
+                  Object[] documents, byte[] outcomes, int from, int to, int chunk) {
+            this.messages = messages;
+            this.parser = parser;
+            this.validator = validator;
+            this.documents = documents;
+            this.outcomes = outcomes;
+            this.from = from;
+            this.to = to;
+            this.chunk = chunk;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= chunk) {
+                parseRange();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new ParseTask<>(messages, parser, validator, documents, outcomes, from, middle, chunk),
+                    new ParseTask<>(messages, parser, validator, documents, outcomes, middle, to, chunk));
+        }
+
+        void parseRange() {
+            for (int i = from; i < to; i++) {
+                T document = parser.apply(messages[i]);
+                if (document == null) {
+                    outcomes[i] = PARSE_FAILED;
+                } else if (!validator.test(document)) {
+                    outcomes[i] = REJECTED;
+                } else {
+                    documents[i] = document;
+                    outcomes[i] = ACCEPTED;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.gzeport.cbec.validation.RuleSet;
+import com.gzeport.cbec.validation.ValidationRuleEngine;
+
+import java.util.List;
+
+/**
+ * 验证服务类
+ * 用于校验订单、支付单和运单数据的合法性，规则由ValidationRuleEngine从配置加载并编译，
+ * 每张单据执行全部规则，违反的规则以位图返回，不在第一条失败时停止
+ * 不依赖Spring，服务端由ServiceConfig注册为Bean，Flink任务端直接创建
+ */
+public class ValidationService {
+
+    private static final HotPathLogger VALIDATION_LOG = HotPathLogger.getLogger(ValidationService.class, HotPathLogger.CATEGORY_VALIDATION);
+
+    private final ValidationRuleEngine ruleEngine;
+
+    /**
+     * 使用classpath中的默认规则
+     */
+    public ValidationService() {
+        this(ValidationRuleEngine.shared(null, 0));
+    }
+
+    public ValidationService(ValidationRuleEngine ruleEngine) {
+        this.ruleEngine = ruleEngine;
+    }
+
+    /**
+     * 校验订单数据
+     * @param order 订单实体
+     * @return 是否有效
+     */
+    public boolean validateOrder(Order order) {
+        if (order == null) {
+            VALIDATION_LOG.error("订单数据为空");
+            return false;
+        }
+        RuleSet<Order> rules = ruleEngine.getOrderRules();
+        long violations = rules.evaluate(order);
+        if (violations != 0L) {
+            VALIDATION_LOG.info("订单校验不通过: {}，违反规则: {}", order.getOrderId(), rules.describe(violations));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 校验支付单数据
+     * @param payment 支付单实体
+     * @return 是否有效
+     */
+    public boolean validatePayment(Payment payment) {
+        if (payment == null) {
+            VALIDATION_LOG.error("支付单数据为空");
+            return false;
+        }
+        RuleSet<Payment> rules = ruleEngine.getPaymentRules();
+        long violations = rules.evaluate(payment);
+        if (violations != 0L) {
+            VALIDATION_LOG.info("支付单校验不通过: {}，违反规则: {}", payment.getPaymentId(), rules.describe(violations));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 校验运单数据
+     * @param waybill 运单实体
+     * @return 是否有效
+     */
+    public boolean validateWaybill(Waybill waybill) {
+        if (waybill == null) {
+            VALIDATION_LOG.error("运单数据为空");
+            return false;
+        }
+        RuleSet<Waybill> rules = ruleEngine.getWaybillRules();
+        long violations = rules.evaluate(waybill);
+        if (violations != 0L) {
+            VALIDATION_LOG.info("运单校验不通过: {}，违反规则: {}", waybill.getWaybillId(), rules.describe(violations));
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 执行全部订单规则，不记录日志
+     * @param order 订单实体，不能为空
+     * @return 违反规则的位图，0表示校验通过
+     */
+    public long checkOrder(Order order) {
+        return ruleEngine.getOrderRules().evaluate(order);
+    }
+
+    /**
+     * 执行全部订单规则，返回违反的规则名称，用于向调用方返回拒绝原因
+     * @param order 订单实体，不能为空
+     */
+    public List<String> orderViolations(Order order) {
+        RuleSet<Order> rules = ruleEngine.getOrderRules();
+        return rules.describe(rules.evaluate(order));
+    }
+
+    public ValidationRuleEngine getRuleEngine() {
+        return ruleEngine;
+    }
+}
@@ -0,0 +1,435 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.ceb.Ceb311OrderParser;
+import com.gzeport.cbec.ceb.Ceb411PaymentParser;
+import com.gzeport.cbec.ceb.Ceb511WaybillParser;
+import com.gzeport.cbec.ceb.CebParserSupport;
+import com.gzeport.cbec.ceb.CebSchemaValidator;
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.logging.HotPathLogger;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * XML解析服务类
+ * 用于解析订单、支付单和运单报文
+ * 无状态、不依赖Spring，服务端由ServiceConfig注册为Bean，Flink任务端直接创建
+ * 根元素为海关CEB报文（CEB311/CEB411/CEB511）时，交给构建期按报文XSD生成的专用解析器，按层级读取并填充订单商品明细；
+ * 其他报文使用StAX单遍读取，只提取需要的元素，全部元素读取完毕后不再读取报文剩余部分。
+ * 与原DOM解析一致：取文档中第一个同名元素（不区分所在层级）的全部文本内容，元素不存在时字段为null
+ * CEB报文可按类型开启XSD校验，校验在解析的同一遍读取中完成，不符合XSD的报文解析失败
+ */
+public class XmlParserService {
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(XmlParserService.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    private static final String[] ORDER_FIELDS = {"orderId", "companyId", "customerName", "totalAmount", "orderStatus"};
+
+    private static final String[] PAYMENT_FIELDS = {"paymentId", "orderId", "companyId", "paymentMethod", "paymentStatus", "transactionId", "paymentAmount"};
+
+    private static final String[] WAYBILL_FIELDS = {"waybillId", "orderId", "companyId", "carrier", "trackingNumber", "waybillStatus"};
+
+    /**
+     * 全局共享的StAX工厂，只在类初始化时配置，之后仅用于创建读取器，可被多个线程同时使用。
+     * 禁止DTD和外部实体，防止XXE和实体膨胀攻击
+     */
+    private static final XMLInputFactory INPUT_FACTORY = createInputFactory();
+
+    private final CebSchemaValidator schemaValidator;
+
+    /**
+     * 不做XSD校验
+     */
+    public XmlParserService() {
+        this(CebSchemaValidator.DISABLED);
+    }
+
+    /**
+     * @param schemaValidator XSD校验，只对开启校验的CEB报文类型生效
+     */
+    public XmlParserService(CebSchemaValidator schemaValidator) {
+        this.schemaValidator = schemaValidator;
+    }
+
+    public CebSchemaValidator getSchemaValidator() {
+        return schemaValidator;
+    }
+
+    private static XMLInputFactory createInputFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        // CEB报文带命名空间，统一按本地名称匹配元素
+        factory.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, true);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory;
+    }
+
+    /**
+     * 解析订单XML报文
+     * 字符串已解码，按字符读取，忽略XML声明中的字符集
+     * @param xmlMessage XML格式的订单报文
+     * @return 订单实体
+     */
+    public Order parseOrderXml(String xmlMessage) {
+        try {
+            return readOrder(INPUT_FACTORY.createXMLStreamReader(new StringReader(xmlMessage)));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析订单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析订单XML报文原始字节
+     * 直接读取Kafka消息中的字节，无需先解码为字符串，字符集由XML声明决定（缺省为UTF-8）
+     * @param xmlBytes XML格式的订单报文字节
+     * @return 订单实体
+     */
+    public Order parseOrderXml(byte[] xmlBytes) {
+        return parseOrderXml(xmlBytes, 0, xmlBytes != null ? xmlBytes.length : 0);
+    }
+
+    /**
+     * 解析订单XML报文原始字节的指定区间，不复制字节
+     * @param xmlBytes 包含订单报文的字节数组
+     * @param offset 报文起始位置
+     * @param length 报文长度
+     * @return 订单实体
+     */
+    public Order parseOrderXml(byte[] xmlBytes, int offset, int length) {
+        try {
+            return readOrder(readerOf(xmlBytes, offset, length));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析订单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析ByteBuffer中position到limit之间的订单XML报文，不复制字节，不修改ByteBuffer的position
+     * @param xmlBuffer 包含订单报文的缓冲区
+     * @return 订单实体
+     */
+    public Order parseOrderXml(ByteBuffer xmlBuffer) {
+        try {
+            return readOrder(readerOf(xmlBuffer));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析订单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析支付单XML报文原始字节
+     * @param xmlBytes XML格式的支付单报文字节
+     * @return 支付单实体
+     */
+    public Payment parsePaymentXml(byte[] xmlBytes) {
+        return parsePaymentXml(xmlBytes, 0, xmlBytes != null ? xmlBytes.length : 0);
+    }
+
+    /**
+     * 解析支付单XML报文原始字节的指定区间，不复制字节
+     * @param xmlBytes 包含支付单报文的字节数组
+     * @param offset 报文起始位置
+     * @param length 报文长度
+     * @return 支付单实体
+     */
+    public Payment parsePaymentXml(byte[] xmlBytes, int offset, int length) {
+        try {
+            return readPayment(readerOf(xmlBytes, offset, length));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析支付单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析ByteBuffer中的支付单XML报文，不复制字节，不修改ByteBuffer的position
+     * @param xmlBuffer 包含支付单报文的缓冲区
+     * @return 支付单实体
+     */
+    public Payment parsePaymentXml(ByteBuffer xmlBuffer) {
+        try {
+            return readPayment(readerOf(xmlBuffer));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析支付单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析运单XML报文原始字节
+     * @param xmlBytes XML格式的运单报文字节
+     * @return 运单实体
+     */
+    public Waybill parseWaybillXml(byte[] xmlBytes) {
+        return parseWaybillXml(xmlBytes, 0, xmlBytes != null ? xmlBytes.length : 0);
+    }
+
+    /**
+     * 解析运单XML报文原始字节的指定区间，不复制字节
+     * @param xmlBytes 包含运单报文的字节数组
+     * @param offset 报文起始位置
+     * @param length 报文长度
+     * @return 运单实体
+     */
+    public Waybill parseWaybillXml(byte[] xmlBytes, int offset, int length) {
+        try {
+            return readWaybill(readerOf(xmlBytes, offset, length));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析运单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * 解析ByteBuffer中的运单XML报文，不复制字节，不修改ByteBuffer的position
+     * @param xmlBuffer 包含运单报文的缓冲区
+     * @return 运单实体
+     */
+    public Waybill parseWaybillXml(ByteBuffer xmlBuffer) {
+        try {
+            return readWaybill(readerOf(xmlBuffer));
+        } catch (Exception e) {
+            MESSAGE_LOG.error("解析运单XML异常: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private Order readOrder(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            if (Ceb311OrderParser.ROOT.equals(CebParserSupport.moveToRoot(reader))) {
+                XMLStreamReader source = schemaValidator.begin(Ceb311OrderParser.ROOT, reader);
+                Order order = Ceb311OrderParser.parse(source);
+                schemaValidator.end(source);
+                return order;
+            }
+            return toOrder(extract(reader, ORDER_FIELDS));
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Payment readPayment(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            if (Ceb411PaymentParser.ROOT.equals(CebParserSupport.moveToRoot(reader))) {
+                XMLStreamReader source = schemaValidator.begin(Ceb411PaymentParser.ROOT, reader);
+                Payment payment = Ceb411PaymentParser.parse(source);
+                schemaValidator.end(source);
+                return payment;
+            }
+            return toPayment(extract(reader, PAYMENT_FIELDS));
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Waybill readWaybill(XMLStreamReader reader) throws XMLStreamException {
+        try {
+            if (Ceb511WaybillParser.ROOT.equals(CebParserSupport.moveToRoot(reader))) {
+                XMLStreamReader source = schemaValidator.begin(Ceb511WaybillParser.ROOT, reader);
+                Waybill waybill = Ceb511WaybillParser.parse(source);
+                schemaValidator.end(source);
+                return waybill;
+            }
+            return toWaybill(extract(reader, WAYBILL_FIELDS));
+        } finally {
+            reader.close();
+        }
+    }
+
+    private Order toOrder(String[] values) {
+        // 创建订单实体
+        Order order = new Order();
+        order.setOrderId(values[0]);
+        order.setCompanyId(values[1]);
+        order.setCustomerName(values[2]);
+
+        // 解析订单金额
+        String amountStr = values[3];
+        if (amountStr != null) {
+            try {
+                order.setTotalAmount(new BigDecimal(amountStr));
+            } catch (NumberFormatException e) {
+                MESSAGE_LOG.error("订单金额格式错误: {}", amountStr);
+            }
+        }
+
+        order.setOrderStatus(values[4]);
+        return order;
+    }
+
+    private Payment toPayment(String[] values) {
+        // 创建支付单实体
+        Payment payment = new Payment();
+        payment.setPaymentId(values[0]);
+        payment.setOrderId(values[1]);
+        payment.setCompanyId(values[2]);
+        payment.setPaymentMethod(values[3]);
+        payment.setPaymentStatus(values[4]);
+        payment.setTransactionId(values[5]);
+
+        // 解析支付金额
+        String amountStr = values[6];
+        if (amountStr != null) {
+            try {
+                payment.setPaymentAmount(new BigDecimal(amountStr));
+            } catch (NumberFormatException e) {
+                MESSAGE_LOG.error("支付金额格式错误: {}", amountStr);
+            }
+        }
+        return payment;
+    }
+
+    private Waybill toWaybill(String[] values) {
+        // 创建运单实体
+        Waybill waybill = new Waybill();
+        waybill.setWaybillId(values[0]);
+        waybill.setOrderId(values[1]);
+        waybill.setCompanyId(values[2]);
+        waybill.setCarrier(values[3]);
+        waybill.setTrackingNumber(values[4]);
+        waybill.setWaybillStatus(values[5]);
+        return waybill;
+    }
+
+    /**
+     * 按字节创建读取器，由StAX按BOM和XML声明识别字符集，缺省为UTF-8
+     */
+    private static XMLStreamReader readerOf(byte[] xmlBytes, int offset, int length) throws XMLStreamException {
+        if (xmlBytes == null) {
+            throw new IllegalArgumentException("报文为空");
+        }
+        return INPUT_FACTORY.createXMLStreamReader(new ByteArrayInputStream(xmlBytes, offset, length));
+    }
+
+    private static XMLStreamReader readerOf(ByteBuffer xmlBuffer) throws XMLStreamException {
+        if (xmlBuffer == null) {
+            throw new IllegalArgumentException("报文为空");
+        }
+        if (xmlBuffer.hasArray()) {
+            return readerOf(xmlBuffer.array(), xmlBuffer.arrayOffset() + xmlBuffer.position(), xmlBuffer.remaining());
+        }
+        return INPUT_FACTORY.createXMLStreamReader(new ByteBufferInputStream(xmlBuffer.duplicate()));
+    }
+
+    /**
+     * 单遍读取报文，提取每个元素名第一次出现时的文本内容（含子元素文本）
+     * 需要的元素全部读取完毕后立即停止，报文剩余部分不再读取和校验
+     * @param reader 位于根元素开始标签的报文读取器
+     * @param fields 需要提取的元素名
+     * @return 与fields一一对应的文本内容，元素不存在时为null
+     * @throws XMLStreamException 报文格式错误时抛出
+     */
+    private String[] extract(XMLStreamReader reader, String[] fields) throws XMLStreamException {
+        String[] values = new String[fields.length];
+        int remaining = fields.length;
+        // 正在读取文本内容的元素（可能嵌套），记录对应字段下标、元素深度和已读取的文本
+        List<int[]> open = new ArrayList<>(2);
+        List<StringBuilder> texts = new ArrayList<>(2);
+        int depth = 0;
+
+        for (int event = reader.getEventType(); ; event = reader.next()) {
+            switch (event) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    int index = indexOf(fields, reader.getLocalName());
+                    if (index >= 0 && values[index] == null && !isOpen(open, index)) {
+                        open.add(new int[]{index, depth});
+                        texts.add(new StringBuilder());
+                        remaining--;
+                    }
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    if (!open.isEmpty()) {
+                        for (StringBuilder text : texts) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    int last = open.size() - 1;
+                    if (last >= 0 && open.get(last)[1] == depth) {
+                        values[open.remove(last)[0]] = texts.remove(last).toString();
+                    }
+                    depth--;
+                    break;
+                default:
+                    break;
+            }
+            if (!reader.hasNext() || (remaining == 0 && open.isEmpty())) {
+                return values;
+            }
+        }
+    }
+
+    private static int indexOf(String[] fields, String name) {
+        for (int i = 0; i < fields.length; i++) {
+            if (fields[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isOpen(List<int[]> open, int index) {
+        for (int[] element : open) {
+            if (element[0] == index) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 读取堆外ByteBuffer的输入流，按需读取，不复制整个报文
+     */
+    private static final class ByteBufferInputStream extends InputStream {
+
+        private final ByteBuffer buffer;
+
+        ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int n = Math.min(len, buffer.remaining());
+            buffer.get(b, off, n);
+            return n;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+}
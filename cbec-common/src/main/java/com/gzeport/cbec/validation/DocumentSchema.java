@@ -0,0 +1,116 @@
+package com.gzeport.cbec.validation;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * 单据校验字段表
+ * 规则中可引用的字段及其取值方法，编译规则时按字段名查找getter引用，校验时不使用反射
+ * @param <T> 单据类型
+ */
+public final class DocumentSchema<T> {
+
+    public static final DocumentSchema<Order> ORDER = new DocumentSchema<Order>("order", "订单")
+            .field("orderId", String.class, Order::getOrderId)
+            .field("companyId", String.class, Order::getCompanyId)
+            .field("customerName", String.class, Order::getCustomerName)
+            .field("totalAmount", BigDecimal.class, Order::getTotalAmount)
+            .field("orderStatus", String.class, Order::getOrderStatus);
+
+    public static final DocumentSchema<Payment> PAYMENT = new DocumentSchema<Payment>("payment", "支付单")
+            .field("paymentId", String.class, Payment::getPaymentId)
+            .field("orderId", String.class, Payment::getOrderId)
+            .field("companyId", String.class, Payment::getCompanyId)
+            .field("paymentAmount", BigDecimal.class, Payment::getPaymentAmount)
+            .field("paymentMethod", String.class, Payment::getPaymentMethod)
+            .field("paymentStatus", String.class, Payment::getPaymentStatus)
+            .field("transactionId", String.class, Payment::getTransactionId);
+
+    public static final DocumentSchema<Waybill> WAYBILL = new DocumentSchema<Waybill>("waybill", "运单")
+            .field("waybillId", String.class, Waybill::getWaybillId)
+            .field("orderId", String.class, Waybill::getOrderId)
+            .field("companyId", String.class, Waybill::getCompanyId)
+            .field("carrier", String.class, Waybill::getCarrier)
+            .field("trackingNumber", String.class, Waybill::getTrackingNumber)
+            .field("waybillStatus", String.class, Waybill::getWaybillStatus);
+
+    private final String name;
+
+    private final String description;
+
+    private final Map<String, Field<T>> fields = new LinkedHashMap<>();
+
+    private DocumentSchema(String name, String description) {
+        this.name = name;
+        this.description = description;
+    }
+
+    private DocumentSchema<T> field(String field, Class<?> type, Function<T, ?> accessor) {
+        fields.put(field, new Field<>(field, type, accessor));
+        return this;
+    }
+
+    /**
+     * 单据名称，即规则配置项的前缀
+     */
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public Map<String, Field<T>> getFields() {
+        return Collections.unmodifiableMap(fields);
+    }
+
+    /**
+     * 查找字段
+     * @throws IllegalArgumentException 字段不存在时抛出
+     */
+    Field<T> require(String field) {
+        Field<T> result = fields.get(field);
+        if (result == null) {
+            throw new IllegalArgumentException(description + "没有字段 " + field + "，可用字段: " + fields.keySet());
+        }
+        return result;
+    }
+
+    /**
+     * 单据字段：名称、类型和取值方法
+     */
+    public static final class Field<T> {
+
+        private final String name;
+
+        private final Class<?> type;
+
+        private final Function<T, ?> accessor;
+
+        Field(String name, Class<?> type, Function<T, ?> accessor) {
+            this.name = name;
+            this.type = type;
+            this.accessor = accessor;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Class<?> getType() {
+            return type;
+        }
+
+        Function<T, ?> getAccessor() {
+            return accessor;
+        }
+    }
+}
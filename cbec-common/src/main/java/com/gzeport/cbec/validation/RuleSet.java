@@ -0,0 +1,322 @@
+package com.gzeport.cbec.validation;
+
+import com.gzeport.cbec.validation.DocumentSchema.Field;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * 编译后的单据校验规则集
+ * 每条规则编译为一个判断"是否违反"的谓词，校验时依次执行全部规则，违反的规则按序号记入long位图。
+ * 谓词只调用getter和比较已有对象，正则使用线程内复用的Matcher，校验过程不分配对象
+ * <p>
+ * 规则定义格式为 {@code 类型 参数...}，支持的类型：
+ * <ul>
+ *     <li>{@code required 字段}：字段不能为空，字符串不能为空串</li>
+ *     <li>{@code length 字段 最小长度 最大长度}：字符串长度范围，含边界</li>
+ *     <li>{@code range 字段 最小值 最大值}：金额范围，含边界，{@code *}表示不限</li>
+ *     <li>{@code regex 字段 正则}：字符串完整匹配正则，正则为定义的剩余部分</li>
+ *     <li>{@code compare 字段 运算符 字段}：跨字段比较，运算符为eq、ne、lt、le、gt、ge</li>
+ * </ul>
+ * 除required外，字段为空时规则不生效，是否必填由required规则单独约束
+ * @param <T> 单据类型
+ */
+public final class RuleSet<T> {
+
+    /**
+     * 每类单据最多的规则数，即位图的位数
+     */
+    public static final int MAX_RULES = Long.SIZE;
+
+    private final DocumentSchema<T> schema;
+
+    private final String[] names;
+
+    private final String[] definitions;
+
+    private final Predicate<T>[] rules;
+
+    private RuleSet(DocumentSchema<T> schema, String[] names, String[] definitions, Predicate<T>[] rules) {
+        this.schema = schema;
+        this.names = names;
+        this.definitions = definitions;
+        this.rules = rules;
+    }
+
+    /**
+     * 编译规则
+     * @param schema 单据字段表
+     * @param definitions 规则名称到规则定义的映射，规则按名称排序后依次分配位图中的位
+     * @return 规则集
+     * @throws IllegalArgumentException 规则定义错误、引用了不存在的字段或规则数超过64条时抛出
+     */
+    public static <T> RuleSet<T> compile(DocumentSchema<T> schema, Map<String, String> definitions) {
+        if (definitions.size() > MAX_RULES) {
+            throw new IllegalArgumentException(schema.getDescription() + "校验规则超过" + MAX_RULES + "条: " + definitions.size());
+        }
+        Map<String, String> sorted = new TreeMap<>(definitions);
+        String[] names = new String[sorted.size()];
+        String[] texts = new String[sorted.size()];
+        @SuppressWarnings("unchecked")
+        Predicate<T>[] rules = new Predicate[sorted.size()];
+        int index = 0;
+        for (Map.Entry<String, String> entry : sorted.entrySet()) {
+            String definition = entry.getValue().trim();
+            try {
+                rules[index] = compileRule(schema, definition);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("校验规则 " + schema.getName() + "." + entry.getKey() + " 定义错误: " + e.getMessage(), e);
+            }
+            names[index] = entry.getKey();
+            texts[index] = definition;
+            index++;
+        }
+        return new RuleSet<>(schema, names, texts, rules);
+    }
+
+    /**
+     * 执行全部规则
+     * @param document 单据，不能为空
+     * @return 违反规则的位图，第i位对应第i条规则，0表示校验通过
+     */
+    public long evaluate(T document) {
+        long violations = 0L;
+        for (int i = 0; i < rules.length; i++) {
+            if (rules[i].test(document)) {
+                violations |= 1L << i;
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * 将位图转换为违反的规则名称
+     * @param violations evaluate返回的位图
+     */
+    public List<String> describe(long violations) {
+        if (violations == 0L) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>(Long.bitCount(violations));
+        for (long remaining = violations; remaining != 0L; remaining &= remaining - 1) {
+            int bit = Long.numberOfTrailingZeros(remaining);
+            if (bit < names.length) {
+                result.add(names[bit]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * 规则所在的位
+     * @return 规则不存在时返回-1
+     */
+    public int bitOf(String name) {
+        for (int i = 0; i < names.length; i++) {
+            if (names[i].equals(name)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    public int size() {
+        return rules.length;
+    }
+
+    public DocumentSchema<T> getSchema() {
+        return schema;
+    }
+
+    /**
+     * 规则名称到规则定义，按位的顺序排列
+     */
+    public Map<String, String> getDefinitions() {
+        Map<String, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < names.length; i++) {
+            result.put(names[i], definitions[i]);
+        }
+        return result;
+    }
+
+    private static <T> Predicate<T> compileRule(DocumentSchema<T> schema, String definition) {
+        String[] tokens = definition.split("\\s+", 3);
+        if (tokens.length < 2) {
+            throw new IllegalArgumentException("缺少字段: " + definition);
+        }
+        String type = tokens[0];
+        Field<T> field = schema.require(tokens[1]);
+        switch (type) {
+            case "required":
+                expectArguments(tokens, 2);
+                return required(field);
+            case "length":
+                return length(stringField(field), parseInts(tokens, 2));
+            case "range":
+                return range(decimalField(field), tokens);
+            case "regex":
+                expectArguments(tokens, 3);
+                return regex(stringField(field), tokens[2]);
+            case "compare":
+                return compare(schema, field, tokens);
+            default:
+                throw new IllegalArgumentException("不支持的规则类型: " + type);
+        }
+    }
+
+    private static <T> Predicate<T> required(Field<T> field) {
+        Function<T, ?> accessor = field.getAccessor();
+        if (field.getType() == String.class) {
+            return document -> {
+                Object value = accessor.apply(document);
+                return value == null || ((String) value).isEmpty();
+            };
+        }
+        return document -> accessor.apply(document) == null;
+    }
+
+    private static <T> Predicate<T> length(Function<T, String> accessor, int[] bounds) {
+        int min = bounds[0];
+        int max = bounds[1];
+        if (min < 0 || max < min) {
+            throw new IllegalArgumentException("长度范围无效: " + min + " " + max);
+        }
+        return document -> {
+            String value = accessor.apply(document);
+            return value != null && (value.length() < min || value.length() > max);
+        };
+    }
+
+    private static <T> Predicate<T> range(Function<T, BigDecimal> accessor, String[] tokens) {
+        expectArguments(tokens, 3);
+        String[] bounds = tokens[2].split("\\s+");
+        if (bounds.length != 2) {
+            throw new IllegalArgumentException("range规则需要最小值和最大值");
+        }
+        BigDecimal min = parseBound(bounds[0]);
+        BigDecimal max = parseBound(bounds[1]);
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new IllegalArgumentException("最小值大于最大值: " + tokens[2]);
+        }
+        return document -> {
+            BigDecimal value = accessor.apply(document);
+            return value != null && ((min != null && value.compareTo(min) < 0) || (max != null && value.compareTo(max) > 0));
+        };
+    }
+
+    private static <T> Predicate<T> regex(Function<T, String> accessor, String regex) {
+        Pattern pattern;
+        try {
+            pattern = Pattern.compile(regex);
+        } catch (PatternSyntaxException e) {
+            throw new IllegalArgumentException("正则表达式错误: " + e.getDescription());
+        }
+        // Matcher不是线程安全的，每个线程复用自己的Matcher，reset不分配对象
+        ThreadLocal<Matcher> matchers = ThreadLocal.withInitial(() -> pattern.matcher(""));
+        return document -> {
+            String value = accessor.apply(document);
+            return value != null && !matchers.get().reset(value).matches();
+        };
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <T> Predicate<T> compare(DocumentSchema<T> schema, Field<T> left, String[] tokens) {
+        expectArguments(tokens, 3);
+        String[] operands = tokens[2].split("\\s+");
+        if (operands.length != 2) {
+            throw new IllegalArgumentException("compare规则格式为: compare 字段 运算符 字段");
+        }
+        Field<T> right = schema.require(operands[1]);
+        if (left.getType() != right.getType() || !Comparable.class.isAssignableFrom(left.getType())) {
+            throw new IllegalArgumentException("字段类型不一致或不可比较: " + left.getName() + " " + right.getName());
+        }
+        IntPredicate passes = operator(operands[0]);
+        Function<T, Comparable> leftAccessor = (Function<T, Comparable>) left.getAccessor();
+        Function<T, Comparable> rightAccessor = (Function<T, Comparable>) right.getAccessor();
+        return document -> {
+            Comparable a = leftAccessor.apply(document);
+            Comparable b = rightAccessor.apply(document);
+            return a != null && b != null && !passes.test(a.compareTo(b));
+        };
+    }
+
+    private static IntPredicate operator(String operator) {
+        switch (operator) {
+            case "eq":
+                return result -> result == 0;
+            case "ne":
+                return result -> result != 0;
+            case "lt":
+                return result -> result < 0;
+            case "le":
+                return result -> result <= 0;
+            case "gt":
+                return result -> result > 0;
+            case "ge":
+                return result -> result >= 0;
+            default:
+                throw new IllegalArgumentException("不支持的比较运算符: " + operator);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, String> stringField(Field<T> field) {
+        if (field.getType() != String.class) {
+            throw new IllegalArgumentException("字段不是字符串: " + field.getName());
+        }
+        return (Function<T, String>) field.getAccessor();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> Function<T, BigDecimal> decimalField(Field<T> field) {
+        if (field.getType() != BigDecimal.class) {
+            throw new IllegalArgumentException("字段不是金额: " + field.getName());
+        }
+        return (Function<T, BigDecimal>) field.getAccessor();
+    }
+
+    private static int[] parseInts(String[] tokens, int count) {
+        expectArguments(tokens, 3);
+        String[] values = tokens[2].split("\\s+");
+        if (values.length != count) {
+            throw new IllegalArgumentException("需要" + count + "个参数: " + tokens[2]);
+        }
+        int[] result = new int[count];
+        for (int i = 0; i < count; i++) {
+            try {
+                result[i] = Integer.parseInt(values[i]);
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("参数不是整数: " + values[i]);
+            }
+        }
+        return result;
+    }
+
+    private static BigDecimal parseBound(String bound) {
+        if ("*".equals(bound)) {
+            return null;
+        }
+        try {
+            return new BigDecimal(bound);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("参数不是数值: " + bound);
+        }
+    }
+
+    private static void expectArguments(String[] tokens, int count) {
+        if (tokens.length != count) {
+            throw new IllegalArgumentException(count == 2 ? "不需要参数" : "缺少参数");
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.gzeport.cbec.validation;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 校验规则引擎
+ * 从配置加载订单、支付单和运单的校验规则并编译为规则集，配置项格式为 {@code 单据.规则名称=规则定义}，
+ * 单据为order、payment或waybill，规则定义见{@link RuleSet}。
+ * <p>
+ * 规则来自外部文件时按间隔检查文件修改时间，变化后重新编译并整体替换当前规则集，无需重启；
+ * 新规则编译失败时记录日志并保留原规则。未指定文件时使用classpath中的validation-rules.properties
+ */
+public class ValidationRuleEngine implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidationRuleEngine.class);
+
+    /**
+     * classpath中的默认规则
+     */
+    public static final String DEFAULT_RULES = "validation-rules.properties";
+
+    /**
+     * 同一JVM内按规则文件共享的引擎，Flink任务端各子任务共用一份规则和一个检查线程
+     */
+    private static final Map<String, ValidationRuleEngine> SHARED = new ConcurrentHashMap<>();
+
+    private final Path file;
+
+    private volatile CompiledRules rules;
+
+    private volatile FileTime lastModified;
+
+    private ScheduledExecutorService watcher;
+
+    private ValidationRuleEngine(Path file, CompiledRules rules, FileTime lastModified) {
+        this.file = file;
+        this.rules = rules;
+        this.lastModified = lastModified;
+    }
+
+    /**
+     * 使用给定规则创建引擎，不检查文件变化
+     * @throws IllegalArgumentException 规则定义错误时抛出
+     */
+    public static ValidationRuleEngine of(Properties properties) {
+        return new ValidationRuleEngine(null, compile(properties), null);
+    }
+
+    /**
+     * 使用classpath中的默认规则创建引擎
+     */
+    public static ValidationRuleEngine fromClasspath() {
+        try (InputStream in = ValidationRuleEngine.class.getClassLoader().getResourceAsStream(DEFAULT_RULES)) {
+            if (in == null) {
+                throw new IllegalStateException("classpath中没有校验规则: " + DEFAULT_RULES);
+            }
+            return of(load(in));
+        } catch (IOException e) {
+            throw new RuntimeException("读取校验规则失败: " + DEFAULT_RULES, e);
+        }
+    }
+
+    /**
+     * 从外部文件加载规则
+     * @param file 规则文件
+     * @param reloadIntervalMs 检查文件修改的间隔，小于等于0时不检查
+     * @throws IllegalArgumentException 规则定义错误时抛出
+     */
+    public static ValidationRuleEngine fromFile(Path file, long reloadIntervalMs) {
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            ValidationRuleEngine engine = new ValidationRuleEngine(file, compile(read(file)), modified);
+            if (reloadIntervalMs > 0) {
+                engine.startWatcher(reloadIntervalMs);
+            }
+            logger.info("加载校验规则: {}，检查间隔: {}ms", file, reloadIntervalMs);
+            return engine;
+        } catch (IOException e) {
+            throw new RuntimeException("读取校验规则失败: " + file, e);
+        }
+    }
+
+    /**
+     * 获取本JVM内共享的引擎，同一文件只加载一次，引擎随JVM退出
+     * @param file 规则文件，为空时使用classpath中的默认规则
+     * @param reloadIntervalMs 检查文件修改的间隔，以首次获取时为准
+     */
+    public static ValidationRuleEngine shared(String file, long reloadIntervalMs) {
+        String key = file == null ? "" : file.trim();
+        return SHARED.computeIfAbsent(key, path -> path.isEmpty() ? fromClasspath() : fromFile(Paths.get(path), reloadIntervalMs));
+    }
+
+    public RuleSet<Order> getOrderRules() {
+        return rules.order;
+    }
+
+    public RuleSet<Payment> getPaymentRules() {
+        return rules.payment;
+    }
+
+    public RuleSet<Waybill> getWaybillRules() {
+        return rules.waybill;
+    }
+
+    /**
+     * 使用给定规则替换当前规则
+     * @throws IllegalArgumentException 规则定义错误时抛出，当前规则不变
+     */
+    public void reload(Properties properties) {
+        rules = compile(properties);
+        logger.info("校验规则已更新，订单{}条，支付单{}条，运单{}条",
+                rules.order.size(), rules.payment.size(), rules.waybill.size());
+    }
+
+    /**
+     * 规则文件修改后重新加载
+     * @return 是否重新加载了规则
+     */
+    public synchronized boolean reloadIfModified() {
+        if (file == null) {
+            return false;
+        }
+        try {
+            FileTime modified = Files.getLastModifiedTime(file);
+            if (modified.equals(lastModified)) {
+                return false;
+            }
+            reload(read(file));
+            lastModified = modified;
+            return true;
+        } catch (IOException | IllegalArgumentException e) {
+            // 规则文件不可读或定义错误时保留原规则，文件再次修改后重试
+            logger.error("重新加载校验规则失败，继续使用原规则: {}", file, e);
+            return false;
+        }
+    }
+
+    /**
+     * 停止检查文件修改
+     */
+    @Override
+    public synchronized void close() {
+        if (watcher != null) {
+            watcher.shutdownNow();
+            watcher = null;
+        }
+    }
+
+    private synchronized void startWatcher(long intervalMs) {
+        watcher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "validation-rules-watcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        watcher.scheduleWithFixedDelay(this::reloadIfModified, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    private static CompiledRules compile(Properties properties) {
+        Map<String, Map<String, String>> definitions = new HashMap<>();
+        definitions.put(DocumentSchema.ORDER.getName(), new HashMap<>());
+        definitions.put(DocumentSchema.PAYMENT.getName(), new HashMap<>());
+        definitions.put(DocumentSchema.WAYBILL.getName(), new HashMap<>());
+        for (String key : properties.stringPropertyNames()) {
+            int dot = key.indexOf('.');
+            Map<String, String> document = dot > 0 ? definitions.get(key.substring(0, dot)) : null;
+            if (document == null || dot == key.length() - 1) {
+                throw new IllegalArgumentException("无法识别的校验规则配置项: " + key + "，格式应为 order|payment|waybill.规则名称");
+            }
+            document.put(key.substring(dot + 1), properties.getProperty(key));
+        }
+        return new CompiledRules(
+                RuleSet.compile(DocumentSchema.ORDER, definitions.get(DocumentSchema.ORDER.getName())),
+                RuleSet.compile(DocumentSchema.PAYMENT, definitions.get(DocumentSchema.PAYMENT.getName())),
+                RuleSet.compile(DocumentSchema.WAYBILL, definitions.get(DocumentSchema.WAYBILL.getName())));
+    }
+
+    private static Properties read(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return load(in);
+        }
+    }
+
+    private static Properties load(InputStream in) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        return properties;
+    }
+
+    /**
+     * 一次编译的全部规则，作为整体替换，校验时不会看到新旧规则混用
+     */
+    private static final class CompiledRules {
+
+        private final RuleSet<Order> order;
+
+        private final RuleSet<Payment> payment;
+
+        private final RuleSet<Waybill> waybill;
+
+        CompiledRules(RuleSet<Order> order, RuleSet<Payment> payment, RuleSet<Waybill> waybill) {
+            this.order = order;
+            this.payment = payment;
+            this.waybill = waybill;
+        }
+    }
+}
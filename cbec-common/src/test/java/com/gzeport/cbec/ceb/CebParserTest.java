@@ -0,0 +1,260 @@
+package com.gzeport.cbec.ceb;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.OrderItem;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.service.XmlParserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+import javax.xml.XMLConstants;
+import javax.xml.parsers.DocumentBuilder;
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.SchemaFactory;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CEB报文生成解析器测试类
+ */
+public class CebParserTest {
+
+    private final XmlParserService parserService = new XmlParserService();
+
+    private static byte[] sample(String root) throws IOException {
+        try (InputStream in = CebParserTest.class.getResourceAsStream("/ceb/" + root + ".xml")) {
+            return in.readAllBytes();
+        }
+    }
+
+    @Test
+    public void testSamples_ConformToXsd() throws Exception {
+        SchemaFactory factory = SchemaFactory.newInstance(XMLConstants.W3C_XML_SCHEMA_NS_URI);
+        for (String root : new String[]{Ceb311OrderParser.ROOT, Ceb411PaymentParser.ROOT, Ceb511WaybillParser.ROOT}) {
+            factory.newSchema(getClass().getResource("/xsd/" + root + ".xsd")).newValidator()
+                    .validate(new StreamSource(new ByteArrayInputStream(sample(root))));
+        }
+    }
+
+    @Test
+    public void testParseCeb311_HeadAndItems() throws IOException {
+        Order order = parserService.parseOrderXml(sample(Ceb311OrderParser.ROOT));
+
+        assertNotNull(order);
+        assertEquals("ORDER20240115001", order.getOrderId());
+        assertEquals("COMP000001", order.getCompanyId());
+        assertEquals("张三", order.getCustomerName());
+        assertEquals(new BigDecimal("226.92"), order.getTotalAmount());
+        assertEquals("2", order.getOrderStatus());
+
+        List<OrderItem> items = order.getItems();
+        assertEquals(2, items.size());
+        assertEquals(Integer.valueOf(1), items.get(0).getGnum());
+        assertEquals("奶粉", items.get(0).getItemName());
+        assertEquals(new BigDecimal("138.00"), items.get(0).getTotalPrice());
+        // 明细中的currency不会覆盖表头
+        assertEquals("142", items.get(1).getCurrency());
+        assertEquals("601", items.get(1).getCountry());
+    }
+
+    @Test
+    public void testParseCeb411AndCeb511() throws IOException {
+        Payment payment = parserService.parsePaymentXml(sample(Ceb411PaymentParser.ROOT));
+        assertEquals("PAY20240115001", payment.getPaymentId());
+        assertEquals("ORDER20240115001", payment.getOrderId());
+        assertEquals("PAY0000001", payment.getCompanyId());
+        assertEquals("支付企业", payment.getPaymentMethod());
+        assertEquals(new BigDecimal("226.92"), payment.getPaymentAmount());
+        assertEquals("TX20240115001", payment.getTransactionId());
+
+        Waybill waybill = parserService.parseWaybillXml(sample(Ceb511WaybillParser.ROOT));
+        assertEquals("SF20240115001", waybill.getWaybillId());
+        assertEquals("SF20240115001", waybill.getTrackingNumber());
+        assertEquals("顺丰速运", waybill.getCarrier());
+        assertEquals("LOG0000001", waybill.getCompanyId());
+        assertEquals("2", waybill.getWaybillStatus());
+    }
+
+    @Test
+    public void testParseCeb311_InvalidAmountAndTruncated() throws IOException {
+        String xml = new String(sample(Ceb311OrderParser.ROOT), StandardCharsets.UTF_8);
+
+        Order order = parserService.parseOrderXml(xml.replace("226.92", "abc"));
+        assertNotNull(order);
+        assertNull(order.getTotalAmount());
+        assertEquals("ORDER20240115001", order.getOrderId());
+
+        assertNull(parserService.parseOrderXml(xml.substring(0, xml.indexOf("</ceb:OrderHead>"))));
+    }
+
+    /**
+     * 生成解析器与通用解析方式（DOM + 按同一映射配置反射赋值）的性能对比
+     */
+    @Test
+    @Tag("benchmark")
+    public void testBenchmark_AgainstReflectionMapper() throws Exception {
+        byte[] xml = sample(Ceb311OrderParser.ROOT);
+        ReflectionMapper mapper = new ReflectionMapper(Paths.get("src/main/codegen/CEB311Message.properties"));
+        XMLInputFactory inputFactory = XMLInputFactory.newFactory();
+        inputFactory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        inputFactory.setProperty(XMLInputFactory.IS_COALESCING, true);
+
+        Order generated = parseGenerated(inputFactory, xml);
+        Order reflected = mapper.map(xml);
+        assertEquals(generated.getOrderId(), reflected.getOrderId());
+        assertEquals(generated.getTotalAmount(), reflected.getTotalAmount());
+        assertEquals(generated.getItems(), reflected.getItems());
+
+        int total = 20000;
+        // 预热
+        measure(() -> parseGenerated(inputFactory, xml), total);
+        measure(() -> mapper.map(xml), total);
+
+        long generatedNanos = measure(() -> parseGenerated(inputFactory, xml), total);
+        long reflectedNanos = measure(() -> mapper.map(xml), total);
+        System.out.println("生成解析器: " + total + " 条CEB311，耗时: " + generatedNanos / 1_000_000 + "ms");
+        System.out.println("DOM+反射映射: " + total + " 条CEB311，耗时: " + reflectedNanos / 1_000_000 + "ms");
+        assertTrue(generatedNanos < reflectedNanos);
+    }
+
+    private static Order parseGenerated(XMLInputFactory inputFactory, byte[] xml) throws Exception {
+        XMLStreamReader reader = inputFactory.createXMLStreamReader(new ByteArrayInputStream(xml));
+        try {
+            CebParserSupport.moveToRoot(reader);
+            return Ceb311OrderParser.parse(reader);
+        } finally {
+            reader.close();
+        }
+    }
+
+    private interface Parse {
+        Order run() throws Exception;
+    }
+
+    private static long measure(Parse parse, int total) throws Exception {
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            assertNotNull(parse.run());
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * 通用映射：DOM解析后按映射配置逐个查找元素，反射调用setter
+     */
+    private static final class ReflectionMapper {
+
+        private final Class<?> entityClass;
+        private final Map<String, String> fields = new TreeMap<>();
+        private final Map<String, String[]> lists = new TreeMap<>();
+        private final DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+
+        ReflectionMapper(Path mappingFile) throws Exception {
+            Properties properties = new Properties();
+            try (Reader reader = Files.newBufferedReader(mappingFile, StandardCharsets.UTF_8)) {
+                properties.load(reader);
+            }
+            entityClass = Class.forName(properties.getProperty("entity"));
+            for (String key : properties.stringPropertyNames()) {
+                if (key.startsWith("field.")) {
+                    fields.put(key.substring("field.".length()), properties.getProperty(key));
+                } else if (key.startsWith("list.")) {
+                    lists.put(key.substring("list.".length()), properties.getProperty(key).split(":"));
+                }
+            }
+            factory.setNamespaceAware(true);
+            factory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        }
+
+        Order map(byte[] xml) throws Exception {
+            DocumentBuilder builder = factory.newDocumentBuilder();
+            Document document = builder.parse(new ByteArrayInputStream(xml));
+            Object entity = entityClass.getDeclaredConstructor().newInstance();
+            for (Map.Entry<String, String[]> list : lists.entrySet()) {
+                Class<?> itemClass = Class.forName(list.getValue()[0]);
+                @SuppressWarnings("unchecked")
+                Collection<Object> items = (Collection<Object>) entityClass.getMethod(accessor("get", list.getValue()[1])).invoke(entity);
+                NodeList elements = document.getElementsByTagNameNS("*", list.getKey());
+                for (int i = 0; i < elements.getLength(); i++) {
+                    Object item = itemClass.getDeclaredConstructor().newInstance();
+                    apply((Element) elements.item(i), list.getKey(), item);
+                    items.add(item);
+                }
+            }
+            for (String parent : parents()) {
+                NodeList elements = document.getElementsByTagNameNS("*", parent);
+                if (elements.getLength() > 0) {
+                    apply((Element) elements.item(0), parent, entity);
+                }
+            }
+            return (Order) entity;
+        }
+
+        private List<String> parents() {
+            List<String> parents = new ArrayList<>();
+            for (String key : fields.keySet()) {
+                String parent = key.substring(0, key.indexOf('.'));
+                if (!lists.containsKey(parent) && !parents.contains(parent)) {
+                    parents.add(parent);
+                }
+            }
+            return parents;
+        }
+
+        private void apply(Element parent, String parentName, Object target) throws Exception {
+            for (Node node = parent.getFirstChild(); node != null; node = node.getNextSibling()) {
+                if (node.getNodeType() != Node.ELEMENT_NODE) {
+                    continue;
+                }
+                String properties = fields.get(parentName + "." + node.getLocalName());
+                if (properties == null) {
+                    continue;
+                }
+                String text = node.getTextContent().trim();
+                for (String property : properties.split(",")) {
+                    Method setter = setter(target.getClass(), accessor("set", property.trim()));
+                    Class<?> type = setter.getParameterTypes()[0];
+                    setter.invoke(target, type == BigDecimal.class ? new BigDecimal(text)
+                            : type == Integer.class ? Integer.valueOf(text) : type == Long.class ? Long.valueOf(text) : text);
+                }
+            }
+        }
+
+        private static Method setter(Class<?> type, String name) {
+            for (Method method : type.getMethods()) {
+                if (method.getName().equals(name) && method.getParameterCount() == 1) {
+                    return method;
+                }
+            }
+            throw new IllegalArgumentException(type.getName() + " 没有方法: " + name);
+        }
+
+        private static String accessor(String prefix, String property) {
+            return prefix + Character.toUpperCase(property.charAt(0)) + property.substring(1);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.gzeport.cbec.ceb;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.service.XmlParserService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CEB报文XSD校验测试类
+ */
+public class CebSchemaValidatorTest {
+
+    private final XmlParserService validating = new XmlParserService(new CebSchemaValidator(
+            Arrays.asList(Ceb311OrderParser.ROOT, Ceb411PaymentParser.ROOT, Ceb511WaybillParser.ROOT)));
+
+    private final XmlParserService plain = new XmlParserService();
+
+    private static String sample(String root) throws IOException {
+        try (InputStream in = CebSchemaValidatorTest.class.getResourceAsStream("/ceb/" + root + ".xml")) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    @Test
+    public void testValidMessages_ParsedAndCounted() throws IOException {
+        SchemaValidationStats stats = CebSchemaValidator.stats(Ceb311OrderParser.ROOT);
+        long validated = stats.getValidated();
+
+        Order order = validating.parseOrderXml(sample(Ceb311OrderParser.ROOT).getBytes(StandardCharsets.UTF_8));
+        assertNotNull(order);
+        assertEquals("ORDER20240115001", order.getOrderId());
+        assertEquals(new BigDecimal("226.92"), order.getTotalAmount());
+        assertEquals(2, order.getItems().size());
+        assertEquals(validated + 1, stats.getValidated());
+
+        Payment payment = validating.parsePaymentXml(sample(Ceb411PaymentParser.ROOT).getBytes(StandardCharsets.UTF_8));
+        assertEquals("PAY20240115001", payment.getPaymentId());
+        assertNotNull(validating.parseWaybillXml(sample(Ceb511WaybillParser.ROOT).getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testSchemaViolations_Rejected() throws IOException {
+        String xml = sample(Ceb311OrderParser.ROOT);
+        SchemaValidationStats stats = CebSchemaValidator.stats(Ceb311OrderParser.ROOT);
+        long invalid = stats.getInvalid();
+
+        // 时间格式错误，未映射的元素同样校验
+        byte[] badTime = xml.replace("20240115103000", "2024-01-15").getBytes(StandardCharsets.UTF_8);
+        assertNull(validating.parseOrderXml(badTime));
+        assertNotNull(plain.parseOrderXml(badTime));
+
+        // 缺少必填元素，在父元素结束时发现
+        byte[] missing = xml.replaceFirst("<ceb:orderNo>[^<]*</ceb:orderNo>", "").getBytes(StandardCharsets.UTF_8);
+        assertNull(validating.parseOrderXml(missing));
+
+        // 金额不是数值，不再以null金额入库
+        byte[] badAmount = xml.replace("226.92", "abc").getBytes(StandardCharsets.UTF_8);
+        assertNull(validating.parseOrderXml(badAmount));
+        Order partial = plain.parseOrderXml(badAmount);
+        assertNull(partial.getTotalAmount());
+
+        assertEquals(invalid + 3, stats.getInvalid());
+    }
+
+    @Test
+    public void testOnlyEnabledTypesValidated() throws IOException {
+        XmlParserService orderOnly = new XmlParserService(new CebSchemaValidator(Collections.singleton(Ceb311OrderParser.ROOT)));
+        String payment = sample(Ceb411PaymentParser.ROOT).replace("20240115103050", "bad");
+        assertNotNull(orderOnly.parsePaymentXml(payment.getBytes(StandardCharsets.UTF_8)));
+        assertNull(validating.parsePaymentXml(payment.getBytes(StandardCharsets.UTF_8)));
+
+        // 非CEB报文没有XSD，不校验
+        String legacy = "<order><orderId>ORDER001</orderId><companyId>COMP000001</companyId></order>";
+        assertEquals("ORDER001", validating.parseOrderXml(legacy.getBytes(StandardCharsets.UTF_8)).getOrderId());
+
+        assertThrows(IllegalArgumentException.class, () -> new CebSchemaValidator(Collections.singleton("CEB999Message")));
+    }
+
+    /**
+     * 边解析边校验与仅解析的耗时对比
+     */
+    @Test
+    @Tag("benchmark")
+    public void testBenchmark_ValidationCost() throws IOException {
+        byte[] xml = sample(Ceb311OrderParser.ROOT).getBytes(StandardCharsets.UTF_8);
+        int total = 20000;
+        // 预热
+        measure(plain, xml, total);
+        measure(validating, xml, total);
+
+        long plainNanos = measure(plain, xml, total);
+        long validatingNanos = measure(validating, xml, total);
+        System.out.println("仅解析: " + total + " 条CEB311，耗时: " + plainNanos / 1_000_000 + "ms");
+        System.out.println("解析并校验XSD: " + total + " 条CEB311，耗时: " + validatingNanos / 1_000_000
+                + "ms，抽样平均校验耗时: " + String.format("%.1f", CebSchemaValidator.stats(Ceb311OrderParser.ROOT).getAverageMicros()) + "us");
+        assertTrue(CebSchemaValidator.stats(Ceb311OrderParser.ROOT).getAverageMicros() > 0);
+    }
+
+    private static long measure(XmlParserService service, byte[] xml, int total) {
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            assertNotNull(service.parseOrderXml(xml));
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,76 @@
+package com.gzeport.cbec.logging;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 热点路径日志测试类
+ */
+public class HotPathLoggerTest {
+
+    @Test
+    public void testSamplingSkipsWarnAndError() {
+        HotPathLogger.CategoryState state = new HotPathLogger.CategoryState("test-sampling");
+        state.setPolicy(new HotPathLogPolicy(0, 0, 0));
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 100; i++) {
+            assertFalse(state.acquire(true, now));
+        }
+        // warn/error不参与采样
+        assertTrue(state.acquire(false, now));
+        assertEquals(100, state.getSampledOut());
+        assertEquals(1, state.getEmitted());
+    }
+
+    @Test
+    public void testRateLimit() {
+        HotPathLogger.CategoryState state = new HotPathLogger.CategoryState("test-rate-limit");
+        state.setPolicy(new HotPathLogPolicy(1, 10, 0));
+        long now = System.nanoTime();
+
+        // 突发上限为1秒的令牌数
+        int emitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (state.acquire(false, now)) {
+                emitted++;
+            }
+        }
+        assertEquals(10, emitted);
+        assertEquals(90, state.getRateLimited());
+
+        // 半秒后补充5个令牌
+        emitted = 0;
+        for (int i = 0; i < 100; i++) {
+            if (state.acquire(false, now + 500_000_000L)) {
+                emitted++;
+            }
+        }
+        assertEquals(5, emitted);
+    }
+
+    @Test
+    public void testTruncateArgs() {
+        HotPathLogger.CategoryState state = new HotPathLogger.CategoryState("test-truncate");
+        state.setPolicy(new HotPathLogPolicy(1, 0, 5));
+        String xml = "<order><orderId>ORDER001</orderId></order>";
+
+        Object[] args = {xml, xml.getBytes(StandardCharsets.UTF_8), 42, "短"};
+        Object[] truncated = state.truncateArgs(args);
+
+        assertEquals("<orde...(共" + xml.length() + "字符)", truncated[0]);
+        assertEquals("<orde...(共" + xml.length() + "字节)", truncated[1]);
+        assertEquals(42, truncated[2]);
+        assertEquals("短", truncated[3]);
+        // 原参数数组不被修改
+        assertSame(xml, args[0]);
+    }
+
+    @Test
+    public void testInvalidSampleRate() {
+        assertThrows(IllegalArgumentException.class, () -> new HotPathLogPolicy(1.5, 0, 0));
+    }
+}
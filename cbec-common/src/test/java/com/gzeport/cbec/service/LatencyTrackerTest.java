@@ -0,0 +1,67 @@
+package com.gzeport.cbec.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 端到端延迟统计测试类
+ */
+public class LatencyTrackerTest {
+
+    @BeforeEach
+    public void setUp() {
+        LatencyTracker.reset();
+    }
+
+    @Test
+    public void testPercentiles() {
+        for (int i = 1; i <= 1000; i++) {
+            LatencyTracker.record(LatencyTracker.Stage.END_TO_END, i);
+        }
+        LatencyTracker.record(LatencyTracker.Stage.API_TO_KAFKA, -5);
+
+        Map<String, Map<String, Long>> snapshot = LatencyTracker.snapshot();
+        Map<String, Long> endToEnd = snapshot.get("endToEnd");
+        assertEquals(1000L, endToEnd.get("count"));
+        assertEquals(1L, endToEnd.get("min"));
+        assertEquals(1000L, endToEnd.get("max"));
+        assertEquals(500L, endToEnd.get("p50"));
+        assertEquals(990L, endToEnd.get("p99"));
+
+        // 时钟偏差导致的负值按0记录
+        assertEquals(0L, snapshot.get("apiToKafka").get("max"));
+        // 没有样本的阶段只返回计数
+        assertEquals(0L, snapshot.get("operatorToCommit").get("count"));
+        assertNull(snapshot.get("operatorToCommit").get("p99"));
+    }
+
+    @Test
+    public void testSnapshot_SelectedStages() {
+        LatencyTracker.record(LatencyTracker.Stage.API_TO_KAFKA, 7);
+        LatencyTracker.record(LatencyTracker.Stage.END_TO_END, 100);
+
+        Map<String, Map<String, Long>> snapshot = LatencyTracker.snapshot(LatencyTracker.Stage.API_TO_KAFKA);
+        assertEquals(1, snapshot.size());
+        assertEquals(7L, snapshot.get("apiToKafka").get("max"));
+        assertNull(snapshot.get("endToEnd"));
+    }
+
+    @Test
+    public void testWindowKeepsRecentSamples() {
+        for (int i = 0; i < LatencyTracker.WINDOW_SIZE; i++) {
+            LatencyTracker.record(LatencyTracker.Stage.KAFKA_TO_OPERATOR, 10000);
+        }
+        for (int i = 0; i < LatencyTracker.WINDOW_SIZE; i++) {
+            LatencyTracker.record(LatencyTracker.Stage.KAFKA_TO_OPERATOR, 10);
+        }
+
+        Map<String, Long> statistics = LatencyTracker.snapshot().get("kafkaToOperator");
+        assertEquals(2L * LatencyTracker.WINDOW_SIZE, statistics.get("count"));
+        assertEquals((long) LatencyTracker.WINDOW_SIZE, statistics.get("samples"));
+        assertEquals(10L, statistics.get("max"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Order;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 批量报文并行解析测试类
+ */
+public class ParallelMessageParserTest {
+
+    private final XmlParserService parserService = new XmlParserService();
+
+    private final ValidationService validationService = new ValidationService();
+
+    private static byte[] order(int i) {
+        return ("<order><orderId>ORDER" + i + "</orderId><companyId>COMP000001</companyId><customerName>张三</customerName>"
+                + "<totalAmount>" + (i % 7 == 0 ? "-1" : "100.00") + "</totalAmount><orderStatus>PENDING</orderStatus></order>")
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testParse_KeepsOrderAndCountsOutcomes() {
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            messages.add(i % 10 == 0 ? "not xml".getBytes(StandardCharsets.UTF_8) : order(i));
+        }
+        List<Order> expected;
+        BatchProcessStats sequentialStats = new BatchProcessStats();
+        try (ParallelMessageParser sequential = new ParallelMessageParser("sequential", 1, 2)) {
+            expected = sequential.parse(messages, parserService::parseOrderXml, validationService::validateOrder, sequentialStats);
+        }
+
+        BatchProcessStats stats = new BatchProcessStats();
+        try (ParallelMessageParser parser = new ParallelMessageParser("parallel", 4, 2)) {
+            List<Order> orders = parser.parse(messages, parserService::parseOrderXml, validationService::validateOrder, stats);
+
+            assertEquals(expected.size(), orders.size());
+            for (int i = 0; i < orders.size(); i++) {
+                assertEquals(expected.get(i).getOrderId(), orders.get(i).getOrderId());
+            }
+        }
+        assertEquals(100, stats.getParseFailures());
+        assertEquals(sequentialStats.getValidationRejects(), stats.getValidationRejects());
+        assertTrue(stats.getValidationRejects() > 0);
+        assertEquals(1000, expected.size() + stats.getParseFailures() + stats.getValidationRejects());
+        assertTrue(stats.getParseTimeNanos() > 0);
+    }
+
+    @Test
+    public void testParse_SmallBatchOnCallerThread() {
+        Set<String> threads = ConcurrentHashMap.newKeySet();
+        try (ParallelMessageParser parser = new ParallelMessageParser("small", 4, 32)) {
+            List<Order> orders = parser.parse(Collections.nCopies(10, order(1)), message -> {
+                threads.add(Thread.currentThread().getName());
+                return parserService.parseOrderXml(message);
+            }, order -> true, new BatchProcessStats());
+            assertEquals(10, orders.size());
+        }
+        assertEquals(Collections.singleton(Thread.currentThread().getName()), threads);
+    }
+
+    @Test
+    public void testParse_PropagatesFailure() {
+        try (ParallelMessageParser parser = new ParallelMessageParser("failure", 2, 2)) {
+            assertThrows(IllegalStateException.class, () -> parser.parse(Collections.nCopies(100, order(1)), message -> {
+                throw new IllegalStateException("解析异常");
+            }, order -> true, new BatchProcessStats()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> new ParallelMessageParser("invalid", 0, 2));
+    }
+
+    @Test
+    public void testAcquire_SharedUntilLastRelease() throws Exception {
+        // 同一TaskManager上多个写库子任务共用一个线程池，后到的调用方不再创建线程
+        ParallelMessageParser first = ParallelMessageParser.acquire("shared", 3, 2);
+        ParallelMessageParser second = ParallelMessageParser.acquire("shared", 8, 2);
+        assertSame(first, second);
+        assertEquals(3, second.getParallelism());
+
+        List<byte[]> messages = Collections.nCopies(200, order(1));
+        Thread other = new Thread(() -> first.parse(messages, parserService::parseOrderXml, order -> true, new BatchProcessStats()));
+        other.start();
+        assertEquals(200, second.parse(messages, parserService::parseOrderXml, order -> true, new BatchProcessStats()).size());
+        other.join();
+
+        ParallelMessageParser.release("shared");
+        assertEquals(200, second.parse(messages, parserService::parseOrderXml, order -> true, new BatchProcessStats()).size());
+        ParallelMessageParser.release("shared");
+        // 最后一个引用释放后线程池关闭，再次获取时重新创建
+        assertThrows(RuntimeException.class,
+                () -> first.parse(messages, parserService::parseOrderXml, order -> true, new BatchProcessStats()));
+        ParallelMessageParser recreated = ParallelMessageParser.acquire("shared", 0, 2);
+        assertNotSame(first, recreated);
+        assertEquals(Runtime.getRuntime().availableProcessors(), recreated.getParallelism());
+        ParallelMessageParser.release("shared");
+    }
+
+    /**
+     * 1000条CEB311报文的单线程与并行解析耗时对比，单核机器上只输出结果
+     */
+    @Test
+    @Tag("benchmark")
+    public void testBenchmark_SequentialVsParallel() throws IOException {
+        byte[] xml;
+        try (InputStream in = getClass().getResourceAsStream("/ceb/CEB311Message.xml")) {
+            xml = in.readAllBytes();
+        }
+        List<byte[]> messages = Collections.nCopies(1000, xml);
+        int processors = Runtime.getRuntime().availableProcessors();
+        try (ParallelMessageParser sequential = new ParallelMessageParser("bench-sequential", 1, 2);
+             ParallelMessageParser parallel = new ParallelMessageParser("bench-parallel", processors, 2)) {
+            // 预热
+            for (int i = 0; i < 20; i++) {
+                measure(sequential, messages);
+                measure(parallel, messages);
+            }
+            long sequentialNanos = Long.MAX_VALUE;
+            long parallelNanos = Long.MAX_VALUE;
+            for (int i = 0; i < 10; i++) {
+                sequentialNanos = Math.min(sequentialNanos, measure(sequential, messages));
+                parallelNanos = Math.min(parallelNanos, measure(parallel, messages));
+            }
+            System.out.println("单线程解析: 1000 条CEB311，耗时: " + sequentialNanos / 1000 + "us");
+            System.out.println("并行解析（" + processors + " 线程）: 1000 条CEB311，耗时: " + parallelNanos / 1000 + "us");
+            if (processors >= 4) {
+                assertTrue(parallelNanos < sequentialNanos);
+            }
+        }
+    }
+
+    private long measure(ParallelMessageParser parser, List<byte[]> messages) {
+        BatchProcessStats stats = new BatchProcessStats();
+        assertEquals(1000, parser.parse(messages, parserService::parseOrderXml, validationService::validateOrder, stats).size());
+        return stats.getParseTimeNanos();
+    }
+}
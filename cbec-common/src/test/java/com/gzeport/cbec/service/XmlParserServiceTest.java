@@ -0,0 +1,126 @@
+package com.gzeport.cbec.service;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.entity.Waybill;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+public class XmlParserServiceTest {
+
+    private XmlParserService parserService = new XmlParserService();
+
+    @Test
+    public void testParseOrderXml_ValidXml() {
+        String validXml = "<order><orderId>ORDER001</orderId><companyId>COMP000001</companyId><customerName>John Doe</customerName><totalAmount>100.00</totalAmount><orderStatus>PENDING</orderStatus></order>";
+        
+        Order order = parserService.parseOrderXml(validXml);
+        assertNotNull(order);
+        assertNotNull(order.getOrderId());
+        assertNotNull(order.getCompanyId());
+        assertNotNull(order.getCustomerName());
+        assertNotNull(order.getTotalAmount());
+        assertNotNull(order.getOrderStatus());
+    }
+
+    @Test
+    public void testParseOrderXml_Bytes() {
+        byte[] validXml = "<order><orderId>ORDER002</orderId><companyId>COMP000001</companyId><customerName>张三</customerName><totalAmount>88.50</totalAmount><orderStatus>PENDING</orderStatus></order>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Order order = parserService.parseOrderXml(validXml);
+        assertNotNull(order);
+        assertEquals("ORDER002", order.getOrderId());
+        assertEquals("张三", order.getCustomerName());
+    }
+
+    @Test
+    public void testParsePaymentXml() {
+        byte[] validXml = "<payment><paymentId>PAY001</paymentId><orderId>ORDER001</orderId><companyId>COMP000001</companyId><paymentAmount>100.00</paymentAmount><paymentMethod>ALIPAY</paymentMethod><paymentStatus>PAID</paymentStatus><transactionId>TX001</transactionId></payment>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Payment payment = parserService.parsePaymentXml(validXml);
+        assertNotNull(payment);
+        assertEquals("PAY001", payment.getPaymentId());
+        assertEquals("ORDER001", payment.getOrderId());
+        assertEquals(new BigDecimal("100.00"), payment.getPaymentAmount());
+        assertEquals("TX001", payment.getTransactionId());
+    }
+
+    @Test
+    public void testParseWaybillXml() {
+        byte[] validXml = "<waybill><waybillId>WB001</waybillId><orderId>ORDER001</orderId><companyId>COMP000001</companyId><carrier>顺丰</carrier><trackingNumber>SF001</trackingNumber><waybillStatus>SHIPPED</waybillStatus></waybill>"
+                .getBytes(StandardCharsets.UTF_8);
+
+        Waybill waybill = parserService.parseWaybillXml(validXml);
+        assertNotNull(waybill);
+        assertEquals("WB001", waybill.getWaybillId());
+        assertEquals("顺丰", waybill.getCarrier());
+        assertEquals("SHIPPED", waybill.getWaybillStatus());
+    }
+
+    @Test
+    public void testParseOrderXml_FirstOccurrenceAndTextContent() {
+        byte[] xml = ("<order><header><orderId>ORDER003</orderId></header><orderId>ORDER999</orderId>"
+                + "<customerName><![CDATA[A&B]]> &amp; <b>C</b></customerName><totalAmount>12.30</totalAmount></order>")
+                .getBytes(StandardCharsets.UTF_8);
+
+        Order order = parserService.parseOrderXml(xml);
+        assertNotNull(order);
+        assertEquals("ORDER003", order.getOrderId());
+        assertEquals("A&B & C", order.getCustomerName());
+        assertEquals(new BigDecimal("12.30"), order.getTotalAmount());
+        assertNull(order.getCompanyId());
+        assertNull(order.getOrderStatus());
+    }
+
+    @Test
+    public void testParseOrderXml_RejectsExternalEntity() {
+        byte[] xml = ("<?xml version=\"1.0\"?><!DOCTYPE order [<!ENTITY xxe SYSTEM \"file:///etc/passwd\">]>"
+                + "<order><orderId>&xxe;</orderId></order>").getBytes(StandardCharsets.UTF_8);
+
+        assertNull(parserService.parseOrderXml(xml));
+    }
+
+    @Test
+    public void testParseOrderXml_Malformed() {
+        assertNull(parserService.parseOrderXml("<order><orderId>ORDER004</order>".getBytes(StandardCharsets.UTF_8)));
+        assertNull(parserService.parseOrderXml("not xml"));
+    }
+
+    @Test
+    public void testParseOrderXml_DeclaredCharset() {
+        String xml = "<?xml version=\"1.0\" encoding=\"GBK\"?><order><orderId>ORDER005</orderId><customerName>张三</customerName></order>";
+
+        // 字节按声明的GBK解码；字符串已解码，忽略声明
+        assertEquals("张三", parserService.parseOrderXml(xml.getBytes(Charset.forName("GBK"))).getCustomerName());
+        assertEquals("张三", parserService.parseOrderXml(xml).getCustomerName());
+    }
+
+    @Test
+    public void testParseOrderXml_SliceAndByteBuffer() {
+        byte[] xml = "<order><orderId>ORDER006</orderId><customerName>李四</customerName></order>".getBytes(StandardCharsets.UTF_8);
+        byte[] framed = new byte[xml.length + 8];
+        System.arraycopy(xml, 0, framed, 4, xml.length);
+
+        assertEquals("ORDER006", parserService.parseOrderXml(framed, 4, xml.length).getOrderId());
+
+        ByteBuffer direct = ByteBuffer.allocateDirect(xml.length);
+        direct.put(xml).flip();
+        assertEquals("李四", parserService.parseOrderXml(direct).getCustomerName());
+        assertEquals(0, direct.position());
+
+        Payment payment = parserService.parsePaymentXml(ByteBuffer.wrap(framed, 4, xml.length));
+        assertNotNull(payment);
+        assertEquals("ORDER006", payment.getOrderId());
+        assertNull(parserService.parseOrderXml((byte[]) null));
+    }
+}
@@ -0,0 +1,186 @@
+package com.gzeport.cbec.validation;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.service.ValidationService;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 校验规则引擎测试类
+ */
+public class ValidationRuleEngineTest {
+
+    @TempDir
+    Path dir;
+
+    private static Order order(String orderId, String companyId, String amount) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCompanyId(companyId);
+        order.setCustomerName("张三");
+        order.setTotalAmount(amount == null ? null : new BigDecimal(amount));
+        order.setOrderStatus("1");
+        return order;
+    }
+
+    private static Properties rules(String... lines) {
+        Properties properties = new Properties();
+        for (String line : lines) {
+            int eq = line.indexOf('=');
+            properties.setProperty(line.substring(0, eq), line.substring(eq + 1));
+        }
+        return properties;
+    }
+
+    @Test
+    public void testDefaultRules_ReportAllViolations() {
+        ValidationService service = new ValidationService(ValidationRuleEngine.fromClasspath());
+        RuleSet<Order> rules = service.getRuleEngine().getOrderRules();
+
+        assertTrue(service.validateOrder(order("ORDER001", "COMP000001", "100.00")));
+        assertEquals(0L, service.checkOrder(order("ORDER001", "COMP000001", "0")));
+
+        Order invalid = order("", "COMP01", "-1");
+        long violations = service.checkOrder(invalid);
+        assertEquals(3, Long.bitCount(violations));
+        assertTrue((violations & (1L << rules.bitOf("companyIdLength"))) != 0);
+        assertEquals(Arrays.asList("companyIdLength", "orderIdRequired", "totalAmountRange"), service.orderViolations(invalid));
+        assertFalse(service.validateOrder(invalid));
+        assertFalse(service.validateOrder(null));
+
+        Waybill waybill = new Waybill();
+        waybill.setWaybillId("SF001");
+        waybill.setOrderId("ORDER001");
+        assertFalse(service.validateWaybill(waybill));
+        waybill.setCompanyId("LOG0000001");
+        assertTrue(service.validateWaybill(waybill));
+    }
+
+    @Test
+    public void testRegexAndCrossFieldRules() {
+        ValidationRuleEngine engine = ValidationRuleEngine.of(rules(
+                "order.orderIdPattern=regex orderId ORDER\\d{3,}",
+                "waybill.trackingMatches=compare trackingNumber eq waybillId",
+                "payment.amountRange=range paymentAmount 0.01 50000"));
+        RuleSet<Order> orderRules = engine.getOrderRules();
+
+        assertEquals(0L, orderRules.evaluate(order("ORDER001", null, null)));
+        assertEquals(1L, orderRules.evaluate(order("ORD-1", null, null)));
+        // 字段为空时由required规则约束
+        assertEquals(0L, orderRules.evaluate(order(null, null, null)));
+
+        Waybill waybill = new Waybill();
+        waybill.setWaybillId("SF001");
+        waybill.setTrackingNumber("SF002");
+        assertEquals(1L, engine.getWaybillRules().evaluate(waybill));
+        waybill.setTrackingNumber("SF001");
+        assertEquals(0L, engine.getWaybillRules().evaluate(waybill));
+    }
+
+    @Test
+    public void testInvalidRulesRejected() {
+        assertThrows(IllegalArgumentException.class, () -> ValidationRuleEngine.of(rules("order.x=required orderNo")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRuleEngine.of(rules("order.x=length totalAmount 1 2")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRuleEngine.of(rules("order.x=regex orderId [")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRuleEngine.of(rules("order.x=compare orderId eq totalAmount")));
+        assertThrows(IllegalArgumentException.class, () -> ValidationRuleEngine.of(rules("invoice.x=required orderId")));
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> ValidationRuleEngine.of(rules("order.amount=range totalAmount 10 1")));
+        assertTrue(e.getMessage().contains("order.amount"));
+    }
+
+    @Test
+    public void testReloadIfModified_KeepsRulesOnError() throws Exception {
+        Path file = dir.resolve("rules.properties");
+        Files.write(file, "order.orderIdRequired=required orderId\n".getBytes(StandardCharsets.UTF_8));
+        try (ValidationRuleEngine engine = ValidationRuleEngine.fromFile(file, 0)) {
+            Order order = order("ORDER001", "COMP01", "1");
+            assertEquals(0L, engine.getOrderRules().evaluate(order));
+            assertFalse(engine.reloadIfModified());
+
+            Files.write(file, "order.orderIdRequired=required orderId\norder.companyIdLength=length companyId 10 10\n"
+                    .getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 1000));
+            assertTrue(engine.reloadIfModified());
+            assertEquals(1L, engine.getOrderRules().evaluate(order));
+
+            Files.write(file, "order.companyIdLength=length companyId ten\n".getBytes(StandardCharsets.UTF_8));
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 2000));
+            assertFalse(engine.reloadIfModified());
+            assertEquals(2, engine.getOrderRules().size());
+        }
+    }
+
+    /**
+     * 校验热路径不分配对象
+     */
+    @Test
+    public void testEvaluate_AllocationFree() {
+        RuleSet<Order> rules = allRuleTypes().getOrderRules();
+        Order valid = order("ORDER001", "COMP000001", "100.00");
+        Order invalid = order("ORD-1", "COMP01", "-1");
+        int total = 200000;
+        long violations = 0L;
+        for (int i = 0; i < total; i++) {
+            violations |= rules.evaluate(valid) | rules.evaluate(invalid);
+        }
+
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < total; i++) {
+            violations |= rules.evaluate(valid) | rules.evaluate(invalid);
+        }
+        long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertEquals(0b10101L, violations);
+        // 允许测量本身的少量分配
+        assertTrue(allocated < 64 * 1024, "校验过程分配了 " + allocated + " 字节");
+    }
+
+    /**
+     * 各类规则同时启用时的校验耗时
+     */
+    @Test
+    @Tag("benchmark")
+    public void testBenchmark_Evaluate() {
+        RuleSet<Order> rules = allRuleTypes().getOrderRules();
+        Order valid = order("ORDER001", "COMP000001", "100.00");
+        Order invalid = order("ORD-1", "COMP01", "-1");
+        int total = 200000;
+        long violations = 0L;
+        // 预热
+        for (int i = 0; i < total; i++) {
+            violations |= rules.evaluate(valid) | rules.evaluate(invalid);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            violations |= rules.evaluate(valid) | rules.evaluate(invalid);
+        }
+        long elapsed = System.nanoTime() - start;
+        System.out.println("规则引擎: " + (total * 2) + " 次校验，" + rules.size() + " 条规则，耗时: " + elapsed / 1_000_000 + "ms");
+        assertEquals(0b10101L, violations);
+    }
+
+    private static ValidationRuleEngine allRuleTypes() {
+        return ValidationRuleEngine.of(rules(
+                "order.orderIdRequired=required orderId",
+                "order.companyIdLength=length companyId 10 10",
+                "order.totalAmountRange=range totalAmount 0 *",
+                "order.orderIdPattern=regex orderId ORDER\\d+",
+                "order.idNotCompany=compare orderId ne companyId"));
+    }
+}
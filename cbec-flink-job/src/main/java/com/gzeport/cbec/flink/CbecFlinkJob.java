@@ -0,0 +1,62 @@
+package com.gzeport.cbec.flink;
+
+import com.gzeport.cbec.flink.config.FlinkConfig;
+import com.gzeport.cbec.flink.processor.OrderProcessor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.api.java.utils.ParameterTool;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Flink报文处理作业入口
+ * 可通过flink run提交到Session集群，或以Application模式部署；本地直接运行main()时使用本地执行环境
+ * 作业参数依次由以下来源合并，后者覆盖前者：
+ * <ul>
+ *     <li>作业jar中的cbec-job.properties</li>
+ *     <li>--config指定的配置文件</li>
+ *     <li>命令行参数，如--flink.parallelism 8</li>
+ * </ul>
+ */
+@Slf4j
+public final class CbecFlinkJob {
+
+    /**
+     * 作业jar中的默认配置文件
+     */
+    static final String DEFAULT_CONFIG = "/cbec-job.properties";
+
+    /**
+     * 指定外部配置文件的命令行参数
+     */
+    static final String ARG_CONFIG = "config";
+
+    private CbecFlinkJob() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        ParameterTool parameters = loadParameters(args);
+        log.info("启动Flink报文处理作业，配置文件: {}", parameters.get(ARG_CONFIG, DEFAULT_CONFIG));
+        new OrderProcessor(FlinkConfig.fromParameters(parameters)).startProcessing();
+    }
+
+    /**
+     * 合并默认配置、外部配置文件和命令行参数
+     * @param args 命令行参数
+     * @return 作业参数
+     */
+    static ParameterTool loadParameters(String[] args) throws IOException {
+        ParameterTool arguments = ParameterTool.fromArgs(args);
+        ParameterTool parameters;
+        try (InputStream in = CbecFlinkJob.class.getResourceAsStream(DEFAULT_CONFIG)) {
+            if (in == null) {
+                throw new IllegalStateException("作业jar中缺少默认配置文件: " + DEFAULT_CONFIG);
+            }
+            parameters = ParameterTool.fromPropertiesFile(in);
+        }
+        if (arguments.has(ARG_CONFIG)) {
+            parameters = parameters.mergeWith(ParameterTool.fromPropertiesFile(arguments.get(ARG_CONFIG)));
+        }
+        return parameters.mergeWith(arguments);
+    }
+}
@@ -0,0 +1,887 @@
+package com.gzeport.cbec.flink.config;
+
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.gzeport.cbec.service.ParallelMessageParser;
+import org.apache.flink.api.java.utils.ParameterTool;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Flink作业配置
+ * 由作业main()从配置文件和命令行参数读取，参数名与原Spring配置一致，不依赖Spring
+ */
+public class FlinkConfig {
+    private int parallelism;
+    
+    private long checkpointInterval;
+    
+    private long checkpointTimeout;
+    
+    private String stateBackend;
+    
+    private String stateCheckpointsDir;
+    
+    private int batchSize;
+    
+    private long batchTimeoutMs;
+    
+    private int restartStrategyMaxAttempts;
+    
+    private long restartStrategyDelayMs;
+    
+    private boolean stateBackendIncremental;
+    
+    private long checkpointMinPauseBetweenCheckpoints;
+    
+    private int checkpointMaxConcurrentCheckpoints;
+    
+    private String checkpointExternalizedCleanup;
+    
+    private int maxParallelism;
+    
+    private String keyMode;
+    
+    private int keyGroups;
+    
+    private String sinkMode;
+    
+    private int sinkAsyncCapacity;
+    
+    private long sinkAsyncTimeoutMs;
+    
+    private int sinkRetryMaxAttempts;
+    
+    private long sinkRetryDelayMs;
+    
+    private int paymentBatchSize;
+    
+    private long paymentBatchTimeoutMs;
+    
+    /**
+     * 支付单分支并行度，小于等于0时与全局并行度相同
+     */
+    private int paymentParallelism;
+    
+    private int shipmentBatchSize;
+    
+    private long shipmentBatchTimeoutMs;
+    
+    /**
+     * 运单分支并行度，小于等于0时与全局并行度相同
+     */
+    private int shipmentParallelism;
+    
+    private boolean dedupEnabled;
+    
+    private long dedupTtlHours;
+    
+    private long dedupBloomExpectedInsertions;
+    
+    private double dedupBloomFpp;
+    
+    private String dedupDuplicateMode;
+    
+    private boolean batchAdaptiveEnabled;
+    
+    private int batchAdaptiveMinSize;
+    
+    private int batchAdaptiveMaxSize;
+    
+    private long batchAdaptiveMinTimeoutMs;
+    
+    private long batchAdaptiveMaxTimeoutMs;
+    
+    private long batchAdaptiveTargetP99Ms;
+    
+    private long batchAdaptiveLagThresholdMs;
+    
+    private int webPort;
+    
+    private String metricsReporterName;
+    
+    private String metricsReporterFactoryClass;
+    
+    private String metricsReporterInterval;
+    
+    private String sinkJdbcUrl;
+    
+    private String sinkJdbcUsername;
+    
+    private String sinkJdbcPassword;
+    
+    private String sinkJdbcDriverClassName;
+    
+    private int sinkJdbcPoolMaxSize;
+    
+    private long sinkJdbcPoolConnectionTimeoutMs;
+    
+    /**
+     * 写入方式：batch（JDBC批量执行单行语句）或multi-row（多行语句）
+     */
+    private String sinkJdbcInsertMode;
+    
+    /**
+     * Kafka集群地址
+     */
+    private String kafkaBootstrapServers;
+    
+    /**
+     * 报文主题
+     */
+    private String kafkaTopicOrderName;
+    
+    /**
+     * 消费组
+     */
+    private String kafkaConsumerGroupId;
+    
+    /**
+     * 是否自动提交偏移量
+     */
+    private boolean kafkaConsumerEnableAutoCommit;
+    
+    /**
+     * 拒绝主题，为空时不写回Kafka
+     */
+    private String kafkaTopicRejectName;
+    
+    /**
+     * 报文主题期望分区数，主题不存在时按该值创建
+     */
+    private int kafkaTopicOrderPartitions;
+    
+    /**
+     * 报文主题期望副本因子
+     */
+    private short kafkaTopicOrderReplicationFactor;
+    
+    /**
+     * 报文主题不存在时是否自动创建
+     */
+    private boolean kafkaTopicAutoCreate;
+    
+    /**
+     * 启动时查询、创建主题的超时时间（毫秒）
+     */
+    private long kafkaAdminTimeoutMs;
+    
+    /**
+     * 是否按报文主题实际分区数设置并行度
+     */
+    private boolean parallelismAuto;
+    
+    /**
+     * 数据源分区发现间隔（毫秒），小于等于0时不发现新增分区
+     */
+    private long sourcePartitionDiscoveryIntervalMs;
+    
+    /**
+     * 每个TaskManager上写库算子共用的报文解析线程数，小于等于0时为TaskManager处理器数
+     */
+    private int parseParallelism;
+    
+    /**
+     * 并行解析的最小批次大小
+     */
+    private int parseThreshold;
+    
+    /**
+     * 校验规则文件，需在各TaskManager上可读，为空时使用内置规则
+     */
+    private String validationRulesFile;
+    
+    /**
+     * 检查校验规则文件修改的间隔（毫秒），小于等于0时不重新加载
+     */
+    private long validationRulesReloadIntervalMs;
+    
+    /**
+     * 开启XSD校验的报文类型（CEB报文根元素名，逗号分隔），为空时不校验
+     */
+    private String schemaValidationMessageTypes;
+    
+    /**
+     * 是否在源端按企业备案校验公司ID
+     */
+    private boolean enterpriseRegistryEnabled;
+    
+    /**
+     * 企业备案增量读取间隔（毫秒）
+     */
+    private long enterpriseRegistryPollIntervalMs;
+    
+    /**
+     * 企业备案增量读取起点向前回退的时间（毫秒）
+     */
+    private long enterpriseRegistryPollOverlapMs;
+    
+    /**
+     * 热点日志策略配置项，随全局作业参数分发到各TaskManager
+     */
+    private Map<String, String> hotPathLogProperties = Collections.emptyMap();
+
+    /**
+     * 从作业参数读取配置
+     * @param parameters 作业参数
+     * @return 作业配置
+     * @throws RuntimeException 必填参数缺失时抛出
+     */
+    public static FlinkConfig fromParameters(ParameterTool parameters) {
+        FlinkConfig config = new FlinkConfig();
+        config.parallelism = parameters.getInt("flink.parallelism");
+        config.checkpointInterval = parameters.getLong("flink.checkpoint.interval");
+        config.checkpointTimeout = parameters.getLong("flink.checkpoint.timeout");
+        config.stateBackend = parameters.getRequired("flink.state.backend");
+        config.stateCheckpointsDir = parameters.getRequired("flink.state.checkpoints.dir");
+        config.batchSize = parameters.getInt("flink.batch.size");
+        config.batchTimeoutMs = parameters.getLong("flink.batch.timeout.ms", 1000L);
+        config.restartStrategyMaxAttempts = parameters.getInt("flink.restart.strategy.max-attempts", 3);
+        config.restartStrategyDelayMs = parameters.getLong("flink.restart.strategy.delay.ms", 10000L);
+        config.stateBackendIncremental = parameters.getBoolean("flink.state.backend.incremental", true);
+        config.checkpointMinPauseBetweenCheckpoints = parameters.getLong("flink.checkpoint.min-pause-between-checkpoints", 5000L);
+        config.checkpointMaxConcurrentCheckpoints = parameters.getInt("flink.checkpoint.max-concurrent-checkpoints", 1);
+        config.checkpointExternalizedCleanup = parameters.get("flink.checkpoint.externalized-cleanup", "RETAIN_ON_CANCELLATION");
+        config.maxParallelism = parameters.getInt("flink.max-parallelism", 128);
+        config.keyMode = parameters.get("flink.key.mode", "company");
+        config.keyGroups = parameters.getInt("flink.key.groups", 0);
+        config.sinkMode = parameters.get("flink.sink.mode", "exactly-once");
+        config.sinkAsyncCapacity = parameters.getInt("flink.sink.async.capacity", 4);
+        config.sinkAsyncTimeoutMs = parameters.getLong("flink.sink.async.timeout.ms", 60000L);
+        config.sinkRetryMaxAttempts = parameters.getInt("flink.sink.retry.max-attempts", 3);
+        config.sinkRetryDelayMs = parameters.getLong("flink.sink.retry.delay.ms", 1000L);
+        config.paymentBatchSize = parameters.getInt("flink.payment.batch.size", config.batchSize);
+        config.paymentBatchTimeoutMs = parameters.getLong("flink.payment.batch.timeout.ms", config.batchTimeoutMs);
+        config.paymentParallelism = parameters.getInt("flink.payment.parallelism", 0);
+        config.shipmentBatchSize = parameters.getInt("flink.shipment.batch.size", config.batchSize);
+        config.shipmentBatchTimeoutMs = parameters.getLong("flink.shipment.batch.timeout.ms", config.batchTimeoutMs);
+        config.shipmentParallelism = parameters.getInt("flink.shipment.parallelism", 0);
+        config.dedupEnabled = parameters.getBoolean("flink.dedup.enabled", true);
+        config.dedupTtlHours = parameters.getLong("flink.dedup.ttl.hours", 72L);
+        config.dedupBloomExpectedInsertions = parameters.getLong("flink.dedup.bloom.expected-insertions", 1000000L);
+        config.dedupBloomFpp = parameters.getDouble("flink.dedup.bloom.fpp", 0.01);
+        config.dedupDuplicateMode = parameters.get("flink.dedup.duplicate-mode", "update");
+        config.batchAdaptiveEnabled = parameters.getBoolean("flink.batch.adaptive.enabled", true);
+        config.batchAdaptiveMinSize = parameters.getInt("flink.batch.adaptive.min-size", 20);
+        config.batchAdaptiveMaxSize = parameters.getInt("flink.batch.adaptive.max-size", 1000);
+        config.batchAdaptiveMinTimeoutMs = parameters.getLong("flink.batch.adaptive.min-timeout.ms", 200L);
+        config.batchAdaptiveMaxTimeoutMs = parameters.getLong("flink.batch.adaptive.max-timeout.ms", 5000L);
+        config.batchAdaptiveTargetP99Ms = parameters.getLong("flink.batch.adaptive.target-p99.ms", 500L);
+        config.batchAdaptiveLagThresholdMs = parameters.getLong("flink.batch.adaptive.lag-threshold.ms", 10000L);
+        config.webPort = parameters.getInt("flink.web.port", 8082);
+        config.metricsReporterName = parameters.get("flink.metrics.reporter.name", "jmx");
+        config.metricsReporterFactoryClass = parameters.get("flink.metrics.reporter.factory-class", "");
+        config.metricsReporterInterval = parameters.get("flink.metrics.reporter.interval", "60 SECONDS");
+        config.sinkJdbcUrl = parameters.get("flink.sink.jdbc.url");
+        config.sinkJdbcUsername = parameters.get("flink.sink.jdbc.username");
+        config.sinkJdbcPassword = parameters.get("flink.sink.jdbc.password");
+        config.sinkJdbcDriverClassName = parameters.get("flink.sink.jdbc.driver-class-name");
+        config.sinkJdbcPoolMaxSize = parameters.getInt("flink.sink.jdbc.pool.max-size", 0);
+        config.sinkJdbcPoolConnectionTimeoutMs = parameters.getLong("flink.sink.jdbc.pool.connection-timeout.ms", 30000L);
+        config.sinkJdbcInsertMode = parameters.get("flink.sink.jdbc.insert-mode", "batch");
+        config.kafkaBootstrapServers = parameters.getRequired("kafka.bootstrap.servers");
+        config.kafkaTopicOrderName = parameters.getRequired("kafka.topic.order.name");
+        config.kafkaConsumerGroupId = parameters.getRequired("kafka.consumer.group.id");
+        config.kafkaConsumerEnableAutoCommit = parameters.getBoolean("kafka.consumer.enable.auto.commit", false);
+        config.kafkaTopicRejectName = parameters.get("kafka.topic.reject.name", "cbec_topic_order_reject");
+        config.kafkaTopicOrderPartitions = parameters.getInt("kafka.topic.order.partitions", config.parallelism);
+        config.kafkaTopicOrderReplicationFactor = parameters.getShort("kafka.topic.order.replication.factor", (short) 1);
+        config.kafkaTopicAutoCreate = parameters.getBoolean("kafka.topic.auto-create", true);
+        config.kafkaAdminTimeoutMs = parameters.getLong("kafka.admin.timeout.ms", 30000L);
+        config.parallelismAuto = parameters.getBoolean("flink.parallelism.auto", true);
+        config.sourcePartitionDiscoveryIntervalMs = parameters.getLong("flink.source.partition-discovery.interval.ms", 60000L);
+        config.parseParallelism = parameters.getInt("flink.parse.parallelism", 0);
+        config.parseThreshold = parameters.getInt("flink.parse.threshold", ParallelMessageParser.DEFAULT_THRESHOLD);
+        config.validationRulesFile = parameters.get("flink.validation.rules.file", "");
+        config.validationRulesReloadIntervalMs = parameters.getLong("flink.validation.rules.reload-interval.ms", 30000L);
+        config.schemaValidationMessageTypes = parameters.get("flink.schema-validation.message-types", "");
+        config.enterpriseRegistryEnabled = parameters.getBoolean("flink.enterprise.registry.enabled", false);
+        config.enterpriseRegistryPollIntervalMs = parameters.getLong("flink.enterprise.registry.poll-interval.ms", 60000L);
+        config.enterpriseRegistryPollOverlapMs = parameters.getLong("flink.enterprise.registry.poll-overlap.ms", 5000L);
+        Map<String, String> hotPathLogProperties = new HashMap<>();
+        for (Map.Entry<String, String> entry : parameters.toMap().entrySet()) {
+            if (entry.getKey().startsWith(HotPathLogger.PROPERTY_PREFIX)) {
+                hotPathLogProperties.put(entry.getKey(), entry.getValue());
+            }
+        }
+        config.hotPathLogProperties = hotPathLogProperties;
+        return config;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    public long getCheckpointInterval() {
+        return checkpointInterval;
+    }
+
+    public void setCheckpointInterval(long checkpointInterval) {
+        this.checkpointInterval = checkpointInterval;
+    }
+
+    public long getCheckpointTimeout() {
+        return checkpointTimeout;
+    }
+
+    public void setCheckpointTimeout(long checkpointTimeout) {
+        this.checkpointTimeout = checkpointTimeout;
+    }
+
+    public String getStateBackend() {
+        return stateBackend;
+    }
+
+    public void setStateBackend(String stateBackend) {
+        this.stateBackend = stateBackend;
+    }
+
+    public String getStateCheckpointsDir() {
+        return stateCheckpointsDir;
+    }
+
+    public void setStateCheckpointsDir(String stateCheckpointsDir) {
+        this.stateCheckpointsDir = stateCheckpointsDir;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    public long getBatchTimeoutMs() {
+        return batchTimeoutMs;
+    }
+
+    public void setBatchTimeoutMs(long batchTimeoutMs) {
+        this.batchTimeoutMs = batchTimeoutMs;
+    }
+
+    public int getRestartStrategyMaxAttempts() {
+        return restartStrategyMaxAttempts;
+    }
+
+    public void setRestartStrategyMaxAttempts(int restartStrategyMaxAttempts) {
+        this.restartStrategyMaxAttempts = restartStrategyMaxAttempts;
+    }
+
+    public long getRestartStrategyDelayMs() {
+        return restartStrategyDelayMs;
+    }
+
+    public void setRestartStrategyDelayMs(long restartStrategyDelayMs) {
+        this.restartStrategyDelayMs = restartStrategyDelayMs;
+    }
+
+    public boolean isStateBackendIncremental() {
+        return stateBackendIncremental;
+    }
+
+    public void setStateBackendIncremental(boolean stateBackendIncremental) {
+        this.stateBackendIncremental = stateBackendIncremental;
+    }
+
+    public long getCheckpointMinPauseBetweenCheckpoints() {
+        return checkpointMinPauseBetweenCheckpoints;
+    }
+
+    public void setCheckpointMinPauseBetweenCheckpoints(long checkpointMinPauseBetweenCheckpoints) {
+        this.checkpointMinPauseBetweenCheckpoints = checkpointMinPauseBetweenCheckpoints;
+    }
+
+    public int getCheckpointMaxConcurrentCheckpoints() {
+        return checkpointMaxConcurrentCheckpoints;
+    }
+
+    public void setCheckpointMaxConcurrentCheckpoints(int checkpointMaxConcurrentCheckpoints) {
+        this.checkpointMaxConcurrentCheckpoints = checkpointMaxConcurrentCheckpoints;
+    }
+
+    public String getCheckpointExternalizedCleanup() {
+        return checkpointExternalizedCleanup;
+    }
+
+    public void setCheckpointExternalizedCleanup(String checkpointExternalizedCleanup) {
+        this.checkpointExternalizedCleanup = checkpointExternalizedCleanup;
+    }
+
+    public int getMaxParallelism() {
+        return maxParallelism;
+    }
+
+    public void setMaxParallelism(int maxParallelism) {
+        this.maxParallelism = maxParallelism;
+    }
+
+    public String getKeyMode() {
+        return keyMode;
+    }
+
+    public void setKeyMode(String keyMode) {
+        this.keyMode = keyMode;
+    }
+
+    public int getKeyGroups() {
+        return keyGroups;
+    }
+
+    public void setKeyGroups(int keyGroups) {
+        this.keyGroups = keyGroups;
+    }
+
+    public String getSinkMode() {
+        return sinkMode;
+    }
+
+    public void setSinkMode(String sinkMode) {
+        this.sinkMode = sinkMode;
+    }
+
+    public int getSinkAsyncCapacity() {
+        return sinkAsyncCapacity;
+    }
+
+    public void setSinkAsyncCapacity(int sinkAsyncCapacity) {
+        this.sinkAsyncCapacity = sinkAsyncCapacity;
+    }
+
+    public long getSinkAsyncTimeoutMs() {
+        return sinkAsyncTimeoutMs;
+    }
+
+    public void setSinkAsyncTimeoutMs(long sinkAsyncTimeoutMs) {
+        this.sinkAsyncTimeoutMs = sinkAsyncTimeoutMs;
+    }
+
+    public int getSinkRetryMaxAttempts() {
+        return sinkRetryMaxAttempts;
+    }
+
+    public void setSinkRetryMaxAttempts(int sinkRetryMaxAttempts) {
+        this.sinkRetryMaxAttempts = sinkRetryMaxAttempts;
+    }
+
+    public long getSinkRetryDelayMs() {
+        return sinkRetryDelayMs;
+    }
+
+    public void setSinkRetryDelayMs(long sinkRetryDelayMs) {
+        this.sinkRetryDelayMs = sinkRetryDelayMs;
+    }
+
+    public int getPaymentBatchSize() {
+        return paymentBatchSize;
+    }
+
+    public void setPaymentBatchSize(int paymentBatchSize) {
+        this.paymentBatchSize = paymentBatchSize;
+    }
+
+    public long getPaymentBatchTimeoutMs() {
+        return paymentBatchTimeoutMs;
+    }
+
+    public void setPaymentBatchTimeoutMs(long paymentBatchTimeoutMs) {
+        this.paymentBatchTimeoutMs = paymentBatchTimeoutMs;
+    }
+
+    public int getPaymentParallelism() {
+        return paymentParallelism > 0 ? paymentParallelism : parallelism;
+    }
+
+    public void setPaymentParallelism(int paymentParallelism) {
+        this.paymentParallelism = paymentParallelism;
+    }
+
+    public int getShipmentBatchSize() {
+        return shipmentBatchSize;
+    }
+
+    public void setShipmentBatchSize(int shipmentBatchSize) {
+        this.shipmentBatchSize = shipmentBatchSize;
+    }
+
+    public long getShipmentBatchTimeoutMs() {
+        return shipmentBatchTimeoutMs;
+    }
+
+    public void setShipmentBatchTimeoutMs(long shipmentBatchTimeoutMs) {
+        this.shipmentBatchTimeoutMs = shipmentBatchTimeoutMs;
+    }
+
+    public int getShipmentParallelism() {
+        return shipmentParallelism > 0 ? shipmentParallelism : parallelism;
+    }
+
+    public void setShipmentParallelism(int shipmentParallelism) {
+        this.shipmentParallelism = shipmentParallelism;
+    }
+
+    public boolean isDedupEnabled() {
+        return dedupEnabled;
+    }
+
+    public void setDedupEnabled(boolean dedupEnabled) {
+        this.dedupEnabled = dedupEnabled;
+    }
+
+    public long getDedupTtlHours() {
+        return dedupTtlHours;
+    }
+
+    public void setDedupTtlHours(long dedupTtlHours) {
+        this.dedupTtlHours = dedupTtlHours;
+    }
+
+    public long getDedupBloomExpectedInsertions() {
+        return dedupBloomExpectedInsertions;
+    }
+
+    public void setDedupBloomExpectedInsertions(long dedupBloomExpectedInsertions) {
+        this.dedupBloomExpectedInsertions = dedupBloomExpectedInsertions;
+    }
+
+    public double getDedupBloomFpp() {
+        return dedupBloomFpp;
+    }
+
+    public void setDedupBloomFpp(double dedupBloomFpp) {
+        this.dedupBloomFpp = dedupBloomFpp;
+    }
+
+    public String getDedupDuplicateMode() {
+        return dedupDuplicateMode;
+    }
+
+    public void setDedupDuplicateMode(String dedupDuplicateMode) {
+        this.dedupDuplicateMode = dedupDuplicateMode;
+    }
+
+    public boolean isBatchAdaptiveEnabled() {
+        return batchAdaptiveEnabled;
+    }
+
+    public void setBatchAdaptiveEnabled(boolean batchAdaptiveEnabled) {
+        this.batchAdaptiveEnabled = batchAdaptiveEnabled;
+    }
+
+    public int getBatchAdaptiveMinSize() {
+        return batchAdaptiveMinSize;
+    }
+
+    public void setBatchAdaptiveMinSize(int batchAdaptiveMinSize) {
+        this.batchAdaptiveMinSize = batchAdaptiveMinSize;
+    }
+
+    public int getBatchAdaptiveMaxSize() {
+        return batchAdaptiveMaxSize;
+    }
+
+    public void setBatchAdaptiveMaxSize(int batchAdaptiveMaxSize) {
+        this.batchAdaptiveMaxSize = batchAdaptiveMaxSize;
+    }
+
+    public long getBatchAdaptiveMinTimeoutMs() {
+        return batchAdaptiveMinTimeoutMs;
+    }
+
+    public void setBatchAdaptiveMinTimeoutMs(long batchAdaptiveMinTimeoutMs) {
+        this.batchAdaptiveMinTimeoutMs = batchAdaptiveMinTimeoutMs;
+    }
+
+    public long getBatchAdaptiveMaxTimeoutMs() {
+        return batchAdaptiveMaxTimeoutMs;
+    }
+
+    public void setBatchAdaptiveMaxTimeoutMs(long batchAdaptiveMaxTimeoutMs) {
+        this.batchAdaptiveMaxTimeoutMs = batchAdaptiveMaxTimeoutMs;
+    }
+
+    public long getBatchAdaptiveTargetP99Ms() {
+        return batchAdaptiveTargetP99Ms;
+    }
+
+    public void setBatchAdaptiveTargetP99Ms(long batchAdaptiveTargetP99Ms) {
+        this.batchAdaptiveTargetP99Ms = batchAdaptiveTargetP99Ms;
+    }
+
+    public long getBatchAdaptiveLagThresholdMs() {
+        return batchAdaptiveLagThresholdMs;
+    }
+
+    public void setBatchAdaptiveLagThresholdMs(long batchAdaptiveLagThresholdMs) {
+        this.batchAdaptiveLagThresholdMs = batchAdaptiveLagThresholdMs;
+    }
+
+    public int getWebPort() {
+        return webPort;
+    }
+
+    public void setWebPort(int webPort) {
+        this.webPort = webPort;
+    }
+
+    public String getMetricsReporterName() {
+        return metricsReporterName;
+    }
+
+    public void setMetricsReporterName(String metricsReporterName) {
+        this.metricsReporterName = metricsReporterName;
+    }
+
+    public String getMetricsReporterFactoryClass() {
+        return metricsReporterFactoryClass;
+    }
+
+    public void setMetricsReporterFactoryClass(String metricsReporterFactoryClass) {
+        this.metricsReporterFactoryClass = metricsReporterFactoryClass;
+    }
+
+    public String getMetricsReporterInterval() {
+        return metricsReporterInterval;
+    }
+
+    public void setMetricsReporterInterval(String metricsReporterInterval) {
+        this.metricsReporterInterval = metricsReporterInterval;
+    }
+
+    public String getSinkJdbcUrl() {
+        return sinkJdbcUrl;
+    }
+
+    public void setSinkJdbcUrl(String sinkJdbcUrl) {
+        this.sinkJdbcUrl = sinkJdbcUrl;
+    }
+
+    public String getSinkJdbcUsername() {
+        return sinkJdbcUsername;
+    }
+
+    public void setSinkJdbcUsername(String sinkJdbcUsername) {
+        this.sinkJdbcUsername = sinkJdbcUsername;
+    }
+
+    public String getSinkJdbcPassword() {
+        return sinkJdbcPassword;
+    }
+
+    public void setSinkJdbcPassword(String sinkJdbcPassword) {
+        this.sinkJdbcPassword = sinkJdbcPassword;
+    }
+
+    public String getSinkJdbcDriverClassName() {
+        return sinkJdbcDriverClassName;
+    }
+
+    public void setSinkJdbcDriverClassName(String sinkJdbcDriverClassName) {
+        this.sinkJdbcDriverClassName = sinkJdbcDriverClassName;
+    }
+
+    public int getSinkJdbcPoolMaxSize() {
+        return sinkJdbcPoolMaxSize;
+    }
+
+    public void setSinkJdbcPoolMaxSize(int sinkJdbcPoolMaxSize) {
+        this.sinkJdbcPoolMaxSize = sinkJdbcPoolMaxSize;
+    }
+
+    public long getSinkJdbcPoolConnectionTimeoutMs() {
+        return sinkJdbcPoolConnectionTimeoutMs;
+    }
+
+    public void setSinkJdbcPoolConnectionTimeoutMs(long sinkJdbcPoolConnectionTimeoutMs) {
+        this.sinkJdbcPoolConnectionTimeoutMs = sinkJdbcPoolConnectionTimeoutMs;
+    }
+
+    public String getSinkJdbcInsertMode() {
+        return sinkJdbcInsertMode;
+    }
+
+    public void setSinkJdbcInsertMode(String sinkJdbcInsertMode) {
+        this.sinkJdbcInsertMode = sinkJdbcInsertMode;
+    }
+
+    public String getKafkaBootstrapServers() {
+        return kafkaBootstrapServers;
+    }
+
+    public void setKafkaBootstrapServers(String kafkaBootstrapServers) {
+        this.kafkaBootstrapServers = kafkaBootstrapServers;
+    }
+
+    public String getKafkaTopicOrderName() {
+        return kafkaTopicOrderName;
+    }
+
+    public void setKafkaTopicOrderName(String kafkaTopicOrderName) {
+        this.kafkaTopicOrderName = kafkaTopicOrderName;
+    }
+
+    public String getKafkaConsumerGroupId() {
+        return kafkaConsumerGroupId;
+    }
+
+    public void setKafkaConsumerGroupId(String kafkaConsumerGroupId) {
+        this.kafkaConsumerGroupId = kafkaConsumerGroupId;
+    }
+
+    public boolean isKafkaConsumerEnableAutoCommit() {
+        return kafkaConsumerEnableAutoCommit;
+    }
+
+    public void setKafkaConsumerEnableAutoCommit(boolean kafkaConsumerEnableAutoCommit) {
+        this.kafkaConsumerEnableAutoCommit = kafkaConsumerEnableAutoCommit;
+    }
+
+    public String getKafkaTopicRejectName() {
+        return kafkaTopicRejectName;
+    }
+
+    public void setKafkaTopicRejectName(String kafkaTopicRejectName) {
+        this.kafkaTopicRejectName = kafkaTopicRejectName;
+    }
+
+    public int getKafkaTopicOrderPartitions() {
+        return kafkaTopicOrderPartitions;
+    }
+
+    public void setKafkaTopicOrderPartitions(int kafkaTopicOrderPartitions) {
+        this.kafkaTopicOrderPartitions = kafkaTopicOrderPartitions;
+    }
+
+    public short getKafkaTopicOrderReplicationFactor() {
+        return kafkaTopicOrderReplicationFactor;
+    }
+
+    public void setKafkaTopicOrderReplicationFactor(short kafkaTopicOrderReplicationFactor) {
+        this.kafkaTopicOrderReplicationFactor = kafkaTopicOrderReplicationFactor;
+    }
+
+    public boolean isKafkaTopicAutoCreate() {
+        return kafkaTopicAutoCreate;
+    }
+
+    public void setKafkaTopicAutoCreate(boolean kafkaTopicAutoCreate) {
+        this.kafkaTopicAutoCreate = kafkaTopicAutoCreate;
+    }
+
+    public long getKafkaAdminTimeoutMs() {
+        return kafkaAdminTimeoutMs;
+    }
+
+    public void setKafkaAdminTimeoutMs(long kafkaAdminTimeoutMs) {
+        this.kafkaAdminTimeoutMs = kafkaAdminTimeoutMs;
+    }
+
+    public boolean isParallelismAuto() {
+        return parallelismAuto;
+    }
+
+    public void setParallelismAuto(boolean parallelismAuto) {
+        this.parallelismAuto = parallelismAuto;
+    }
+
+    public long getSourcePartitionDiscoveryIntervalMs() {
+        return sourcePartitionDiscoveryIntervalMs;
+    }
+
+    public void setSourcePartitionDiscoveryIntervalMs(long sourcePartitionDiscoveryIntervalMs) {
+        this.sourcePartitionDiscoveryIntervalMs = sourcePartitionDiscoveryIntervalMs;
+    }
+
+    public int getParseParallelism() {
+        return parseParallelism;
+    }
+
+    public void setParseParallelism(int parseParallelism) {
+        this.parseParallelism = parseParallelism;
+    }
+
+    public int getParseThreshold() {
+        return parseThreshold;
+    }
+
+    public void setParseThreshold(int parseThreshold) {
+        this.parseThreshold = parseThreshold;
+    }
+
+    public String getValidationRulesFile() {
+        return validationRulesFile;
+    }
+
+    public void setValidationRulesFile(String validationRulesFile) {
+        this.validationRulesFile = validationRulesFile;
+    }
+
+    public long getValidationRulesReloadIntervalMs() {
+        return validationRulesReloadIntervalMs;
+    }
+
+    public void setValidationRulesReloadIntervalMs(long validationRulesReloadIntervalMs) {
+        this.validationRulesReloadIntervalMs = validationRulesReloadIntervalMs;
+    }
+
+    public String getSchemaValidationMessageTypes() {
+        return schemaValidationMessageTypes;
+    }
+
+    public void setSchemaValidationMessageTypes(String schemaValidationMessageTypes) {
+        this.schemaValidationMessageTypes = schemaValidationMessageTypes;
+    }
+
+    /**
+     * 是否对该类CEB报文做XSD校验
+     * @param messageRoot 报文根元素名，如CEB311Message
+     */
+    public boolean isSchemaValidationEnabled(String messageRoot) {
+        if (schemaValidationMessageTypes == null) {
+            return false;
+        }
+        for (String type : schemaValidationMessageTypes.split(",")) {
+            if (type.trim().equals(messageRoot)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isEnterpriseRegistryEnabled() {
+        return enterpriseRegistryEnabled;
+    }
+
+    public void setEnterpriseRegistryEnabled(boolean enterpriseRegistryEnabled) {
+        this.enterpriseRegistryEnabled = enterpriseRegistryEnabled;
+    }
+
+    public long getEnterpriseRegistryPollIntervalMs() {
+        return enterpriseRegistryPollIntervalMs;
+    }
+
+    public void setEnterpriseRegistryPollIntervalMs(long enterpriseRegistryPollIntervalMs) {
+        this.enterpriseRegistryPollIntervalMs = enterpriseRegistryPollIntervalMs;
+    }
+
+    public long getEnterpriseRegistryPollOverlapMs() {
+        return enterpriseRegistryPollOverlapMs;
+    }
+
+    public void setEnterpriseRegistryPollOverlapMs(long enterpriseRegistryPollOverlapMs) {
+        this.enterpriseRegistryPollOverlapMs = enterpriseRegistryPollOverlapMs;
+    }
+
+    public Map<String, String> getHotPathLogProperties() {
+        return hotPathLogProperties;
+    }
+
+    public void setHotPathLogProperties(Map<String, String> hotPathLogProperties) {
+        this.hotPathLogProperties = hotPathLogProperties;
+    }
+}
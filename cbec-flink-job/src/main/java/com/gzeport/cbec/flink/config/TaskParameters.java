@@ -0,0 +1,89 @@
+package com.gzeport.cbec.flink.config;
+
+import com.gzeport.cbec.logging.HotPathLogger;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.api.java.utils.ParameterTool;
+import org.apache.flink.configuration.GlobalConfiguration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 任务端作业参数
+ * 作业提交时写入全局作业参数的写库连接参数和热点日志策略，在各TaskManager上由算子的open()读取
+ */
+public final class TaskParameters {
+
+    /**
+     * Web UI和REST接口中敏感参数的显示值
+     */
+    static final String MASKED_VALUE = "******";
+
+    private TaskParameters() {
+    }
+
+    /**
+     * 创建全局作业参数
+     * Flink的Web UI和REST接口通过toMap()展示全局作业参数，名称包含password、secret等的参数在其中显示为掩码，
+     * 算子只能经of()读取原值
+     * @param parameters 作业参数
+     * @return 全局作业参数
+     */
+    public static ExecutionConfig.GlobalJobParameters create(Map<String, String> parameters) {
+        return new MaskedParameters(parameters);
+    }
+
+    /**
+     * 读取全局作业参数
+     * @param context 算子运行时上下文
+     * @return 全局作业参数，未设置时为空
+     */
+    public static ParameterTool of(RuntimeContext context) {
+        ExecutionConfig.GlobalJobParameters parameters = context.getExecutionConfig().getGlobalJobParameters();
+        if (parameters instanceof MaskedParameters) {
+            return ParameterTool.fromMap(((MaskedParameters) parameters).values);
+        }
+        return ParameterTool.fromMap(parameters.toMap());
+    }
+
+    /**
+     * 将全局作业参数中的热点日志策略应用到当前TaskManager
+     * 策略保存在JVM静态注册表中，同一TaskManager上的多个算子重复应用结果相同
+     * @param context 算子运行时上下文
+     */
+    public static void applyHotPathLogPolicies(RuntimeContext context) {
+        HotPathLogger.configure(of(context).toMap());
+    }
+
+    /**
+     * 对外展示时隐藏敏感参数的全局作业参数
+     */
+    private static final class MaskedParameters extends ExecutionConfig.GlobalJobParameters {
+
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, String> values;
+
+        MaskedParameters(Map<String, String> values) {
+            this.values = new HashMap<>(values);
+        }
+
+        @Override
+        public Map<String, String> toMap() {
+            Map<String, String> masked = new HashMap<>(values);
+            masked.replaceAll((key, value) -> GlobalConfiguration.isSensitive(key) ? MASKED_VALUE : value);
+            return masked;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof MaskedParameters && values.equals(((MaskedParameters) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return values.hashCode();
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.gzeport.cbec.flink.function;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * 自适应批处理控制器
+ * 在配置的上下限内运行时调整批处理大小和最大等待时间：
+ * <ul>
+ *     <li>写库p99延迟超过目标值：数据库是瓶颈，按比例缩小批次</li>
+ *     <li>写库延迟正常但消费积压（Kafka记录时间戳落后超过阈值）或写库阶段满载：增大批次和等待时间，提升吞吐</li>
+ *     <li>写库延迟正常且无积压：逐步缩短等待时间，降低低峰期端到端延迟</li>
+ * </ul>
+ * 控制器按作业ID和分支名称在每个TaskManager内共享：批处理触发器读取当前值，异步写库阶段上报JDBC写入耗时和满载信号，
+ * 同一TaskManager上该作业该分支的所有子任务共同反映数据库压力，同一TaskManager上的其他作业或同一作业的再次提交互不影响。
+ * 两阶段提交写库随Checkpoint提交，批次大小不改变提交频率，不使用控制器
+ * 积压和延迟统计允许多线程无锁近似更新，仅用于调节，不要求精确
+ */
+@Slf4j
+public class AdaptiveBatchController implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ConcurrentMap<String, AdaptiveBatchController> SHARED = new ConcurrentHashMap<>();
+
+    /**
+     * 每次调整前至少需要的写库延迟样本数
+     */
+    private static final int MIN_SAMPLES = 16;
+
+    /**
+     * 延迟样本环形缓冲区大小
+     */
+    private static final int MAX_SAMPLES = 256;
+
+    /**
+     * 两次调整的最小间隔（毫秒）
+     */
+    private static final long MIN_ADJUST_INTERVAL_MS = 1000;
+
+    private final String name;
+
+    private final int minSize;
+
+    private final int maxSize;
+
+    private final long minTimeoutMs;
+
+    private final long maxTimeoutMs;
+
+    private final long targetP99Ms;
+
+    private final long lagThresholdMs;
+
+    private final int initialSize;
+
+    private final long initialTimeoutMs;
+
+    private transient volatile int batchSize;
+
+    private transient volatile long timeoutMs;
+
+    private transient volatile long lagMs;
+
+    private transient volatile long writeP99Ms;
+
+    private transient volatile boolean saturated;
+
+    private transient long[] samples;
+
+    private transient int sampleCount;
+
+    private transient long lastAdjustAt;
+
+    /**
+     * 共享实例的引用数，由SHARED的更新操作保护
+     */
+    private transient int references;
+
+    /**
+     * @param name 控制器名称，同一作业的同名控制器在同一JVM内共享
+     * @param initialSize 初始批处理大小
+     * @param initialTimeoutMs 初始最大等待时间（毫秒）
+     * @param minSize 批处理大小下限
+     * @param maxSize 批处理大小上限
+     * @param minTimeoutMs 最大等待时间下限（毫秒）
+     * @param maxTimeoutMs 最大等待时间上限（毫秒）
+     * @param targetP99Ms 写库p99延迟目标（毫秒）
+     * @param lagThresholdMs 消费积压阈值（毫秒）
+     */
+    public AdaptiveBatchController(String name, int initialSize, long initialTimeoutMs, int minSize, int maxSize,
+                                   long minTimeoutMs, long maxTimeoutMs, long targetP99Ms, long lagThresholdMs) {
+        if (minSize < 1 || maxSize < minSize) {
+            throw new IllegalArgumentException("批处理大小上下限无效: " + minSize + " - " + maxSize);
+        }
+        if (minTimeoutMs < 1 || maxTimeoutMs < minTimeoutMs) {
+            throw new IllegalArgumentException("批处理等待时间上下限无效: " + minTimeoutMs + " - " + maxTimeoutMs);
+        }
+        this.name = name;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.minTimeoutMs = minTimeoutMs;
+        this.maxTimeoutMs = maxTimeoutMs;
+        this.targetP99Ms = targetP99Ms;
+        this.lagThresholdMs = lagThresholdMs;
+        this.initialSize = clamp(initialSize, minSize, maxSize);
+        this.initialTimeoutMs = clamp(initialTimeoutMs, minTimeoutMs, maxTimeoutMs);
+        reset();
+    }
+
+    /**
+     * 获取当前JVM内同一作业与本控制器同名的共享实例，不增加引用数
+     * 控制器随算子序列化到各子任务，首次调用时登记为共享实例
+     * @param jobId 作业ID
+     */
+    public AdaptiveBatchController shared(String jobId) {
+        return SHARED.computeIfAbsent(key(jobId, name), key -> {
+            reset();
+            return this;
+        });
+    }
+
+    /**
+     * 获取共享实例并增加引用数，算子在open()中调用，close()时调用release()
+     * @param jobId 作业ID
+     */
+    public AdaptiveBatchController acquire(String jobId) {
+        return SHARED.compute(key(jobId, name), (key, current) -> {
+            if (current == null) {
+                reset();
+                current = this;
+            }
+            current.references++;
+            return current;
+        });
+    }
+
+    /**
+     * 释放共享实例的引用，最后一个引用释放后移除，作业结束后不再占用TaskManager内存
+     * @param jobId 作业ID
+     */
+    public void release(String jobId) {
+        SHARED.computeIfPresent(key(jobId, name), (key, current) -> --current.references > 0 ? current : null);
+    }
+
+    static String key(String jobId, String name) {
+        return jobId + "/" + name;
+    }
+
+    /**
+     * 获取当前批处理大小
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * 获取当前最大等待时间（毫秒）
+     */
+    public long getTimeoutMs() {
+        return timeoutMs;
+    }
+
+    /**
+     * 获取最近的消费积压（毫秒），即Kafka记录时间戳与处理时间之差的平滑值
+     */
+    public long getLagMs() {
+        return lagMs;
+    }
+
+    /**
+     * 获取最近一次调整时的写库p99延迟（毫秒）
+     */
+    public long getWriteP99Ms() {
+        return writeP99Ms;
+    }
+
+    /**
+     * 上报消费积压
+     * @param lag 记录时间戳与当前处理时间之差（毫秒）
+     */
+    public void recordLag(long lag) {
+        // 指数平滑，平滑系数1/8
+        lagMs = lagMs + ((Math.max(lag, 0) - lagMs) >> 3);
+    }
+
+    /**
+     * 上报写库阶段满载（在途批次达到上限），视为下游反压
+     */
+    public void recordSaturated() {
+        saturated = true;
+    }
+
+    /**
+     * 上报一次写库延迟，样本足够时按策略调整批处理参数
+     * @param latencyMs 一个批次的JDBC写入耗时（毫秒），不含解析和校验
+     */
+    public void recordWrite(long latencyMs) {
+        recordWrite(latencyMs, System.currentTimeMillis());
+    }
+
+    synchronized void recordWrite(long latencyMs, long now) {
+        samples[sampleCount % MAX_SAMPLES] = latencyMs;
+        sampleCount++;
+        if (sampleCount >= MIN_SAMPLES && now - lastAdjustAt >= MIN_ADJUST_INTERVAL_MS) {
+            adjust(now);
+        }
+    }
+
+    private void adjust(long now) {
+        long[] sorted = Arrays.copyOf(samples, Math.min(sampleCount, MAX_SAMPLES));
+        Arrays.sort(sorted);
+        long p99 = sorted[(int) Math.ceil(sorted.length * 0.99) - 1];
+        boolean backlog = lagMs > lagThresholdMs || saturated;
+
+        int newSize = batchSize;
+        long newTimeout = timeoutMs;
+        if (p99 > targetP99Ms) {
+            // 数据库延迟超标，缩小批次
+            newSize = Math.max(minSize, batchSize * 3 / 4);
+        } else if (backlog) {
+            // 存在积压且数据库有余量，增大批次和等待时间
+            newSize = Math.min(maxSize, batchSize + Math.max(1, batchSize / 4));
+            newTimeout = Math.min(maxTimeoutMs, timeoutMs * 3 / 2);
+        } else {
+            // 无积压，缩短等待时间以降低延迟
+            newTimeout = Math.max(minTimeoutMs, timeoutMs * 3 / 4);
+        }
+
+        if (newSize != batchSize || newTimeout != timeoutMs) {
+            log.info("自适应批处理[{}]调整: 批处理大小 {} -> {}，最大等待时间 {}ms -> {}ms（写库p99: {}ms，积压: {}ms，满载: {}）",
+                    name, batchSize, newSize, timeoutMs, newTimeout, p99, lagMs, saturated);
+        }
+        batchSize = newSize;
+        timeoutMs = newTimeout;
+        writeP99Ms = p99;
+        saturated = false;
+        sampleCount = 0;
+        lastAdjustAt = now;
+    }
+
+    private void reset() {
+        batchSize = initialSize;
+        timeoutMs = initialTimeoutMs;
+        lagMs = 0;
+        writeP99Ms = 0;
+        saturated = false;
+        samples = new long[MAX_SAMPLES];
+        sampleCount = 0;
+        lastAdjustAt = 0;
+        references = 0;
+    }
+
+    private static int clamp(int value, int min, int max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    private static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
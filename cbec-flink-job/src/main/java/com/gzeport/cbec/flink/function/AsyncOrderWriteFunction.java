@@ -0,0 +1,203 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import com.gzeport.cbec.flink.sink.JdbcDocumentWriter;
+import com.gzeport.cbec.service.BatchProcessStats;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.async.ResultFuture;
+import org.apache.flink.streaming.api.functions.async.RichAsyncFunction;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 订单异步写库函数
+ * 将批处理窗口输出的订单批次异步写入数据库，数据库往返不再阻塞算子线程
+ * 通过JdbcDocumentWriter写库，订单、支付单、运单各分支使用各自的写库实现；
+ * 每个子任务按全局作业参数中的连接参数创建独占连接池，连接数默认等于写库通道数，不依赖Spring上下文
+ * 写库线程按分片划分为多条单线程通道，同一分片的批次串行写入（同一订单只会落在同一分片，保证按orderId有序），
+ * 不同分片的批次并发写入；在途批次数量由AsyncDataStream的容量参数限制
+ */
+@Slf4j
+public class AsyncOrderWriteFunction extends RichAsyncFunction<OrderBatch, Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(AsyncOrderWriteFunction.class, HotPathLogger.CATEGORY_BATCH);
+
+    private final JdbcDocumentWriter<?> writer;
+
+    private final int lanes;
+
+    private final int maxAttempts;
+
+    private final long retryDelayMs;
+
+    private transient HikariDataSource dataSource;
+
+    /**
+     * 自适应批处理控制器，设置后上报JDBC写入耗时和满载信号
+     */
+    private AdaptiveBatchController batchController;
+
+    private transient AdaptiveBatchController sharedController;
+
+    private transient AtomicInteger inFlight;
+
+    private transient WriteMetrics metrics;
+
+    private transient ExecutorService[] executors;
+
+    /**
+     * @param writer 写库实现，随算子分发到各子任务，在open()中初始化连接池
+     * @param lanes 写库通道数量，即单个子任务的最大并发写库批次数
+     * @param maxAttempts 单个批次最大写库尝试次数
+     * @param retryDelayMs 重试间隔（毫秒）
+     */
+    public AsyncOrderWriteFunction(JdbcDocumentWriter<?> writer, int lanes, int maxAttempts, long retryDelayMs) {
+        if (lanes < 1) {
+            throw new IllegalArgumentException("写库通道数量必须大于0: " + lanes);
+        }
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("最大尝试次数必须大于0: " + maxAttempts);
+        }
+        this.writer = writer;
+        this.lanes = lanes;
+        this.maxAttempts = maxAttempts;
+        this.retryDelayMs = retryDelayMs;
+    }
+
+    /**
+     * 设置自适应批处理控制器
+     */
+    public void setBatchController(AdaptiveBatchController batchController) {
+        this.batchController = batchController;
+    }
+
+    /**
+     * 初始化方法，创建连接池和写库线程
+     */
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+
+        int subtask = getRuntimeContext().getIndexOfThisSubtask();
+        JdbcConnectionOptions options = JdbcConnectionOptions.fromParameters(TaskParameters.of(getRuntimeContext()));
+        dataSource = options.createDataSource(writer.getClass().getSimpleName() + "-Pool-" + subtask, lanes);
+        writer.open(dataSource, getRuntimeContext().getJobId().toString());
+
+        if (batchController != null) {
+            sharedController = batchController.acquire(getRuntimeContext().getJobId().toString());
+        }
+        inFlight = new AtomicInteger();
+        metrics = new WriteMetrics(getRuntimeContext().getMetricGroup(), writer.getSchemaValidationRoot());
+
+        executors = new ExecutorService[lanes];
+        for (int i = 0; i < lanes; i++) {
+            String threadName = writer.getClass().getSimpleName() + "-" + subtask + "-" + i;
+            executors[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        log.info("{}异步写库阶段初始化完成，写库通道: {}，最大尝试次数: {}", writer.getDocumentName(), lanes, maxAttempts);
+    }
+
+    @Override
+    public void asyncInvoke(OrderBatch batch, ResultFuture<Integer> resultFuture) {
+        ExecutorService executor = executors[(batch.getShardKey() & Integer.MAX_VALUE) % lanes];
+        if (inFlight.incrementAndGet() >= lanes && sharedController != null) {
+            // 在途批次达到上限，上游将被反压
+            sharedController.recordSaturated();
+        }
+        CompletableFuture
+                .supplyAsync(() -> writeWithRetry(batch), executor)
+                .whenComplete((count, error) -> {
+                    inFlight.decrementAndGet();
+                    if (error != null) {
+                        resultFuture.completeExceptionally(error);
+                    } else {
+                        resultFuture.complete(Collections.singleton(count));
+                    }
+                });
+    }
+
+    @Override
+    public void timeout(OrderBatch batch, ResultFuture<Integer> resultFuture) {
+        log.error("{} 批次写库超时，分片: {}，共 {} 条", batch.getMessageType(), batch.getShardKey(), batch.size());
+        resultFuture.completeExceptionally(new TimeoutException(batch.getMessageType() + " 批次写库超时，分片: " + batch.getShardKey()));
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (executors != null) {
+            for (ExecutorService executor : executors) {
+                executor.shutdown();
+            }
+            for (ExecutorService executor : executors) {
+                if (!executor.awaitTermination(30, TimeUnit.SECONDS)) {
+                    executor.shutdownNow();
+                }
+            }
+        }
+        writer.close();
+        if (dataSource != null) {
+            dataSource.close();
+        }
+        if (sharedController != null) {
+            batchController.release(getRuntimeContext().getJobId().toString());
+            sharedController = null;
+        }
+        super.close();
+    }
+
+    /**
+     * 写入报文批次，失败时在当前通道内重试，保证同一分片的后续批次不会越过正在重试的批次
+     * @param batch 报文批次
+     * @return 写入的报文数量
+     */
+    private int writeWithRetry(OrderBatch batch) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                BatchProcessStats stats = new BatchProcessStats();
+                boolean success = writer.batchProcessMessages(batch.getMessages(), stats);
+                metrics.record(stats);
+                if (success && sharedController != null) {
+                    // 只上报JDBC写入耗时，解析和校验耗时随报文内容变化，不反映数据库压力
+                    sharedController.recordWrite(TimeUnit.NANOSECONDS.toMillis(stats.getWriteTimeNanos()));
+                }
+                if (success) {
+                    metrics.recordLatency(batch.getEmitTime(), batch.getIngestTimes(), System.currentTimeMillis());
+                    BATCH_LOG.debug("{} 批次写库成功，分片: {}，共 {} 条", batch.getMessageType(), batch.getShardKey(), batch.size());
+                    return batch.size();
+                }
+                log.warn("{} 批次写库失败，分片: {}，第 {}/{} 次尝试", batch.getMessageType(), batch.getShardKey(), attempt, maxAttempts);
+            } catch (Exception e) {
+                log.warn("{} 批次写库异常，分片: {}，第 {}/{} 次尝试: {}", batch.getMessageType(), batch.getShardKey(), attempt, maxAttempts, e.getMessage());
+            }
+
+            if (attempt >= maxAttempts) {
+                // 重试耗尽视为致命异常，由Flink重启策略从Checkpoint恢复
+                throw new RuntimeException(batch.getMessageType() + " 批次写库失败，分片: " + batch.getShardKey() + "，已重试" + maxAttempts + "次");
+            }
+            try {
+                Thread.sleep(retryDelayMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(batch.getMessageType() + " 批次写库被中断", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.gzeport.cbec.flink.function;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 布隆过滤器
+ * 用于去重阶段在访问RocksDB状态之前快速判断单据ID是否一定未出现过，只会误判为"可能出现过"，不会漏判
+ * 位数组随算子状态一起保存，同样配置的过滤器之间可按位或合并
+ */
+public class BloomFilter implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int numBits;
+    private int numHashes;
+    private long[] bits;
+
+    public BloomFilter() {
+    }
+
+    /**
+     * 按预期元素数量和误判率创建过滤器
+     * @param expectedInsertions 预期元素数量
+     * @param fpp 误判率，取值(0, 1)
+     */
+    public BloomFilter(long expectedInsertions, double fpp) {
+        if (expectedInsertions < 1) {
+            throw new IllegalArgumentException("布隆过滤器预期元素数量必须大于0: " + expectedInsertions);
+        }
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("布隆过滤器误判率必须在0和1之间: " + fpp);
+        }
+        long optimalBits = (long) Math.ceil(-expectedInsertions * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.min(Math.max(optimalBits, 64), Integer.MAX_VALUE - 63);
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / expectedInsertions * Math.log(2)));
+        this.bits = new long[(numBits + 63) >>> 6];
+    }
+
+    /**
+     * 加入元素
+     */
+    public void put(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            bits[index >>> 6] |= 1L << index;
+        }
+    }
+
+    /**
+     * 判断元素是否可能已加入
+     * @return false表示一定未加入，true表示可能已加入
+     */
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int index = ((h1 + i * h2) & Integer.MAX_VALUE) % numBits;
+            if ((bits[index >>> 6] & (1L << index)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 判断两个过滤器的配置是否相同，相同时才能合并
+     */
+    public boolean isCompatible(BloomFilter other) {
+        return other != null && numBits == other.numBits && numHashes == other.numHashes;
+    }
+
+    /**
+     * 按位或合并另一个过滤器，合并后包含两者的全部元素
+     */
+    public void merge(BloomFilter other) {
+        if (!isCompatible(other)) {
+            throw new IllegalArgumentException("布隆过滤器配置不一致，无法合并");
+        }
+        for (int i = 0; i < bits.length; i++) {
+            bits[i] |= other.bits[i];
+        }
+    }
+
+    /**
+     * 复制过滤器
+     */
+    public BloomFilter copy() {
+        BloomFilter copy = new BloomFilter();
+        copy.numBits = numBits;
+        copy.numHashes = numHashes;
+        copy.bits = Arrays.copyOf(bits, bits.length);
+        return copy;
+    }
+
+    /**
+     * 创建相同配置的空过滤器
+     */
+    public BloomFilter emptyCopy() {
+        BloomFilter copy = new BloomFilter();
+        copy.numBits = numBits;
+        copy.numHashes = numHashes;
+        copy.bits = new long[bits.length];
+        return copy;
+    }
+
+    public int getNumBits() {
+        return numBits;
+    }
+
+    public void setNumBits(int numBits) {
+        this.numBits = numBits;
+    }
+
+    public int getNumHashes() {
+        return numHashes;
+    }
+
+    public void setNumHashes(int numHashes) {
+        this.numHashes = numHashes;
+    }
+
+    public long[] getBits() {
+        return bits;
+    }
+
+    public void setBits(long[] bits) {
+        this.bits = bits;
+    }
+
+    /**
+     * 64位FNV-1a哈希，高低32位用作双重哈希的两个基础哈希值
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xFF;
+            hash *= 0x100000001b3L;
+        }
+        // 末尾混合，改善短ID的高位分布
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
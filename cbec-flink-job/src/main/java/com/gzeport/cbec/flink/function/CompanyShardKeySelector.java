@@ -0,0 +1,107 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+
+/**
+ * 按企业ID分片的键选择器
+ * 将CompanyId哈希到固定数量的分片上，每个分片对应一个预先计算好的分区键，
+ * 保证各分片均匀落到下游窗口算子的各个子任务上，避免单一"fixed-key"造成的热点
+ * 分片数为1时等价于原来的固定键模式
+ */
+public class CompanyShardKeySelector implements KeySelector<KafkaMessageWithHeaders, Integer> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 固定键模式
+     */
+    public static final String MODE_FIXED = "fixed";
+
+    /**
+     * 按企业ID分片模式
+     */
+    public static final String MODE_COMPANY = "company";
+
+    private final int[] shardKeys;
+
+    /**
+     * @param shardCount 分片数量
+     * @param parallelism 下游算子并行度
+     * @param maxParallelism 作业最大并行度（决定Key Group数量）
+     */
+    public CompanyShardKeySelector(int shardCount, int parallelism, int maxParallelism) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("分片数量必须大于0: " + shardCount);
+        }
+        if (parallelism < 1 || parallelism > maxParallelism) {
+            throw new IllegalArgumentException("并行度无效: " + parallelism + "，最大并行度: " + maxParallelism);
+        }
+        this.shardKeys = computeShardKeys(shardCount, parallelism, maxParallelism);
+    }
+
+    /**
+     * 根据配置创建键选择器
+     * @param mode 分区模式，fixed或company
+     * @param keyGroups 分片数量，小于等于0时取并行度
+     * @param parallelism 下游算子并行度
+     * @param maxParallelism 作业最大并行度
+     * @return 键选择器
+     */
+    public static CompanyShardKeySelector of(String mode, int keyGroups, int parallelism, int maxParallelism) {
+        if (MODE_FIXED.equalsIgnoreCase(mode)) {
+            return new CompanyShardKeySelector(1, parallelism, maxParallelism);
+        }
+        if (!MODE_COMPANY.equalsIgnoreCase(mode)) {
+            throw new IllegalArgumentException("未知的分区模式: " + mode);
+        }
+        int shardCount = keyGroups > 0 ? keyGroups : parallelism;
+        return new CompanyShardKeySelector(shardCount, parallelism, maxParallelism);
+    }
+
+    @Override
+    public Integer getKey(KafkaMessageWithHeaders message) {
+        return shardKeys[shardOf(message.getCompanyId(), shardKeys.length)];
+    }
+
+    /**
+     * 获取分片数量
+     */
+    public int getShardCount() {
+        return shardKeys.length;
+    }
+
+    /**
+     * 计算企业ID所属分片
+     * @param companyId 企业ID，为空时归入0号分片
+     * @param shardCount 分片数量
+     * @return 分片序号
+     */
+    static int shardOf(String companyId, int shardCount) {
+        if (companyId == null || shardCount == 1) {
+            return 0;
+        }
+        return (companyId.hashCode() & Integer.MAX_VALUE) % shardCount;
+    }
+
+    /**
+     * 为每个分片挑选一个分区键，使第i个分片落在第(i % parallelism)个子任务上
+     * Flink按murmur哈希将键映射到Key Group，直接使用分片序号作为键时少量分片很容易碰撞到同一子任务
+     */
+    private static int[] computeShardKeys(int shardCount, int parallelism, int maxParallelism) {
+        int[] keys = new int[shardCount];
+        int[] nextCandidate = new int[parallelism];
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard % parallelism;
+            int candidate = nextCandidate[target];
+            while (KeyGroupRangeAssignment.assignKeyToParallelOperator(candidate, maxParallelism, parallelism) != target) {
+                candidate++;
+            }
+            keys[shard] = candidate;
+            // 同一子任务上的下一个分片从后续候选值开始查找，保证键不重复
+            nextCandidate[target] = candidate + 1;
+        }
+        return keys;
+    }
+}
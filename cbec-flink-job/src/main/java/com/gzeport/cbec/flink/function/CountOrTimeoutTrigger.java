@@ -0,0 +1,151 @@
+package com.gzeport.cbec.flink.function;
+
+import org.apache.flink.api.common.functions.ReduceFunction;
+import org.apache.flink.api.common.state.ReducingState;
+import org.apache.flink.api.common.state.ReducingStateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.state.ValueStateDescriptor;
+import org.apache.flink.api.common.typeutils.base.LongSerializer;
+import org.apache.flink.streaming.api.windowing.triggers.Trigger;
+import org.apache.flink.streaming.api.windowing.triggers.TriggerResult;
+import org.apache.flink.streaming.api.windowing.windows.GlobalWindow;
+
+/**
+ * 按数量或超时触发的批处理触发器
+ * 窗口内累计达到批处理大小，或自第一条数据进入起超过最大等待时间，二者先到者触发并清空窗口
+ * 既保留了数据库批量写入，又限制了端到端延迟和窗口状态大小
+ * 使用自适应控制器创建时，批处理大小和最大等待时间在每条数据到达时从控制器读取，并向控制器上报消费积压
+ */
+public class CountOrTimeoutTrigger<T> extends Trigger<T, GlobalWindow> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 算子指标组中作业ID的变量名，触发器上下文不提供RuntimeContext，从指标变量读取作业ID
+     */
+    static final String JOB_ID_VARIABLE = "<job_id>";
+
+    private final long maxCount;
+
+    private final long timeoutMs;
+
+    private final AdaptiveBatchController controller;
+
+    private transient AdaptiveBatchController sharedController;
+
+    private final ReducingStateDescriptor<Long> countStateDesc =
+            new ReducingStateDescriptor<>("batch-count", new Sum(), LongSerializer.INSTANCE);
+
+    private final ValueStateDescriptor<Long> timerStateDesc =
+            new ValueStateDescriptor<>("batch-timeout", LongSerializer.INSTANCE);
+
+    private CountOrTimeoutTrigger(long maxCount, long timeoutMs, AdaptiveBatchController controller) {
+        if (maxCount < 1) {
+            throw new IllegalArgumentException("批处理大小必须大于0: " + maxCount);
+        }
+        if (timeoutMs < 1) {
+            throw new IllegalArgumentException("批处理超时时间必须大于0: " + timeoutMs);
+        }
+        this.maxCount = maxCount;
+        this.timeoutMs = timeoutMs;
+        this.controller = controller;
+    }
+
+    /**
+     * 创建触发器
+     * @param maxCount 批处理大小
+     * @param timeoutMs 最大等待时间（毫秒）
+     * @param <T> 元素类型
+     * @return 触发器
+     */
+    public static <T> CountOrTimeoutTrigger<T> of(long maxCount, long timeoutMs) {
+        return new CountOrTimeoutTrigger<>(maxCount, timeoutMs, null);
+    }
+
+    /**
+     * 创建自适应触发器
+     * @param controller 自适应批处理控制器
+     * @param <T> 元素类型
+     * @return 触发器
+     */
+    public static <T> CountOrTimeoutTrigger<T> adaptive(AdaptiveBatchController controller) {
+        return new CountOrTimeoutTrigger<>(controller.getBatchSize(), controller.getTimeoutMs(), controller);
+    }
+
+    @Override
+    public TriggerResult onElement(T element, long timestamp, GlobalWindow window, TriggerContext ctx) throws Exception {
+        long currentMaxCount = maxCount;
+        long currentTimeoutMs = timeoutMs;
+        if (controller != null) {
+            if (sharedController == null) {
+                // 与窗口函数open()中登记的同一作业的共享实例
+                sharedController = controller.shared(ctx.getMetricGroup().getAllVariables().get(JOB_ID_VARIABLE));
+            }
+            if (timestamp > 0) {
+                // 元素时间戳为Kafka记录时间戳，与处理时间之差反映消费积压
+                sharedController.recordLag(ctx.getCurrentProcessingTime() - timestamp);
+            }
+            currentMaxCount = sharedController.getBatchSize();
+            currentTimeoutMs = sharedController.getTimeoutMs();
+        }
+
+        ValueState<Long> timerState = ctx.getPartitionedState(timerStateDesc);
+        if (timerState.value() == null) {
+            // 批次中的第一条数据，开始计时
+            long fireTime = ctx.getCurrentProcessingTime() + currentTimeoutMs;
+            ctx.registerProcessingTimeTimer(fireTime);
+            timerState.update(fireTime);
+        }
+
+        ReducingState<Long> countState = ctx.getPartitionedState(countStateDesc);
+        countState.add(1L);
+        if (countState.get() >= currentMaxCount) {
+            clear(window, ctx);
+            return TriggerResult.FIRE_AND_PURGE;
+        }
+        return TriggerResult.CONTINUE;
+    }
+
+    @Override
+    public TriggerResult onProcessingTime(long time, GlobalWindow window, TriggerContext ctx) throws Exception {
+        Long fireTime = ctx.getPartitionedState(timerStateDesc).value();
+        if (fireTime == null || fireTime != time) {
+            // 已按数量触发过的批次遗留的定时器，忽略
+            return TriggerResult.CONTINUE;
+        }
+        clear(window, ctx);
+        return TriggerResult.FIRE_AND_PURGE;
+    }
+
+    @Override
+    public TriggerResult onEventTime(long time, GlobalWindow window, TriggerContext ctx) {
+        return TriggerResult.CONTINUE;
+    }
+
+    @Override
+    public void clear(GlobalWindow window, TriggerContext ctx) throws Exception {
+        ValueState<Long> timerState = ctx.getPartitionedState(timerStateDesc);
+        Long fireTime = timerState.value();
+        if (fireTime != null) {
+            ctx.deleteProcessingTimeTimer(fireTime);
+            timerState.clear();
+        }
+        ctx.getPartitionedState(countStateDesc).clear();
+    }
+
+    @Override
+    public String toString() {
+        return controller != null
+                ? "CountOrTimeoutTrigger(adaptive)"
+                : "CountOrTimeoutTrigger(" + maxCount + ", " + timeoutMs + "ms)";
+    }
+
+    private static class Sum implements ReduceFunction<Long> {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public Long reduce(Long value1, Long value2) {
+            return value1 + value2;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.api.common.state.ListState;
+import org.apache.flink.api.common.state.ListStateDescriptor;
+import org.apache.flink.api.common.state.MapState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.StateTtlConfig;
+import org.apache.flink.api.common.time.Time;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.state.FunctionInitializationContext;
+import org.apache.flink.runtime.state.FunctionSnapshotContext;
+import org.apache.flink.streaming.api.checkpoint.CheckpointedFunction;
+import org.apache.flink.streaming.api.functions.KeyedProcessFunction;
+import org.apache.flink.util.Collector;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 单据ID去重函数
+ * 企业经常重复报送同一单据，去重阶段位于批处理窗口之前，按公司ID分区（不随并行度变化，扩缩容恢复后状态键不变），
+ * 已出现过的单据ID及报文内容指纹保存在带TTL的MapState中（RocksDB状态后端），重复单据在到达MySQL之前丢弃或继续走更新路径。
+ * 去重位于解析校验和写库之前，单据ID和内容指纹都相同才视为重复：被下游校验拒绝的单据修改后以同一ID重报时内容不同，
+ * 仍会写库；内容完全相同的重报会再次被拒绝，丢弃不影响结果
+ * 单据ID按根元素选择所在元素：CEB报文（如CEB311Message）取映射中的单据编号元素（如orderNo），其他报文取idTag；
+ * 元素按本地名称匹配，带命名空间前缀（如&lt;ceb:orderNo&gt;）和使用默认命名空间的报文同样能提取
+ * 状态前面有一个内存布隆过滤器：过滤器判定一定未出现过的ID直接写入状态，无需读取RocksDB
+ * 布隆过滤器分当前和上一代两代，每个TTL周期轮换一次，随算子状态（Union List State）保存，
+ * 恢复时所有子任务的过滤器按位或合并为上一代，保证不会漏判仍在状态中的ID
+ */
+@Slf4j
+public class DocumentDedupFunction extends KeyedProcessFunction<String, KafkaMessageWithHeaders, KafkaMessageWithHeaders>
+        implements CheckpointedFunction {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(DocumentDedupFunction.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    private final String idTag;
+
+    private final String messageRoot;
+
+    private final String messageIdTag;
+
+    private final long ttlMs;
+
+    private final long bloomExpectedInsertions;
+
+    private final double bloomFpp;
+
+    private final boolean dropDuplicates;
+
+    private transient byte[] idName;
+
+    private transient byte[] messageRootName;
+
+    private transient byte[] messageIdName;
+
+    /**
+     * 单据ID -> 最近一次报文内容指纹
+     */
+    private transient MapState<String, Long> seenIds;
+
+    private transient ListState<BloomFilter> bloomState;
+
+    private transient BloomFilter currentBloom;
+
+    private transient BloomFilter previousBloom;
+
+    private transient long rotatedAt;
+
+    /**
+     * 在该时间之前布隆过滤器可能不完整（首次从不含过滤器的快照恢复或过滤器配置变更），所有ID都需查询状态
+     */
+    private transient long bloomTrustedAfter;
+
+    private transient Counter checkedCounter;
+
+    private transient Counter duplicateCounter;
+
+    private transient Counter bloomSkippedCounter;
+
+    /**
+     * @param idTag 单据ID所在的XML元素名称，如orderId
+     * @param messageRoot CEB报文根元素名称，如CEB311Message
+     * @param messageIdTag CEB报文中单据ID所在元素的本地名称，如orderNo
+     * @param ttlMs 单据ID在去重状态中的保留时间（毫秒）
+     * @param bloomExpectedInsertions 每个子任务每个TTL周期的预期单据数量
+     * @param bloomFpp 布隆过滤器误判率
+     * @param dropDuplicates true丢弃重复单据，false继续向下游输出，由幂等写库更新
+     */
+    public DocumentDedupFunction(String idTag, String messageRoot, String messageIdTag, long ttlMs, long bloomExpectedInsertions, double bloomFpp, boolean dropDuplicates) {
+        if (ttlMs < 1) {
+            throw new IllegalArgumentException("去重TTL必须大于0: " + ttlMs);
+        }
+        this.idTag = idTag;
+        this.messageRoot = messageRoot;
+        this.messageIdTag = messageIdTag;
+        this.ttlMs = ttlMs;
+        this.bloomExpectedInsertions = bloomExpectedInsertions;
+        this.bloomFpp = bloomFpp;
+        this.dropDuplicates = dropDuplicates;
+    }
+
+    @Override
+    public void initializeState(FunctionInitializationContext context) throws Exception {
+        bloomState = context.getOperatorStateStore().getUnionListState(
+                new ListStateDescriptor<>("dedup-bloom-" + idTag, BloomFilter.class));
+
+        currentBloom = new BloomFilter(bloomExpectedInsertions, bloomFpp);
+        previousBloom = currentBloom.emptyCopy();
+        rotatedAt = System.currentTimeMillis();
+        bloomTrustedAfter = 0;
+
+        if (context.isRestored()) {
+            boolean complete = false;
+            for (BloomFilter restored : bloomState.get()) {
+                if (!currentBloom.isCompatible(restored)) {
+                    complete = false;
+                    break;
+                }
+                previousBloom.merge(restored);
+                complete = true;
+            }
+            if (!complete) {
+                // 恢复出的过滤器缺失或配置不一致，一个TTL周期内状态中可能存在过滤器未记录的ID
+                previousBloom = currentBloom.emptyCopy();
+                bloomTrustedAfter = rotatedAt + ttlMs;
+                log.warn("去重布隆过滤器未能从快照恢复，{}ms内所有单据ID均查询状态", ttlMs);
+            }
+        }
+    }
+
+    @Override
+    public void snapshotState(FunctionSnapshotContext context) throws Exception {
+        bloomState.clear();
+        bloomState.add(currentBloom);
+        bloomState.add(previousBloom);
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+        idName = idTag.getBytes(StandardCharsets.UTF_8);
+        messageRootName = messageRoot.getBytes(StandardCharsets.UTF_8);
+        messageIdName = messageIdTag.getBytes(StandardCharsets.UTF_8);
+
+        StateTtlConfig ttlConfig = StateTtlConfig.newBuilder(Time.milliseconds(ttlMs))
+                .setUpdateType(StateTtlConfig.UpdateType.OnCreateAndWrite)
+                .setStateVisibility(StateTtlConfig.StateVisibility.NeverReturnExpired)
+                .cleanupInRocksdbCompactFilter(1000)
+                .build();
+        MapStateDescriptor<String, Long> descriptor = new MapStateDescriptor<>("seen-content-" + idTag, Types.STRING, Types.LONG);
+        descriptor.enableTimeToLive(ttlConfig);
+        seenIds = getRuntimeContext().getMapState(descriptor);
+
+        MetricGroup metricGroup = getRuntimeContext().getMetricGroup().addGroup("dedup");
+        checkedCounter = metricGroup.counter("checked");
+        duplicateCounter = metricGroup.counter("duplicates");
+        bloomSkippedCounter = metricGroup.counter("bloomSkipped");
+        metricGroup.gauge("hitRate", (Gauge<Double>) () -> checkedCounter.getCount() == 0
+                ? 0.0 : (double) duplicateCounter.getCount() / checkedCounter.getCount());
+        log.info("单据去重阶段初始化完成，ID元素: {}，{}报文ID元素: {}，TTL: {}ms，重复单据{}", idTag, messageRoot, messageIdTag, ttlMs, dropDuplicates ? "丢弃" : "继续写库更新");
+    }
+
+    @Override
+    public void processElement(KafkaMessageWithHeaders message, Context ctx, Collector<KafkaMessageWithHeaders> out) throws Exception {
+        String id = extractDocumentId(message.getValue(), messageRootName, messageIdName, idName);
+        if (id == null) {
+            // 无法提取单据ID，交由下游解析校验处理
+            out.collect(message);
+            return;
+        }
+        checkedCounter.inc();
+
+        long now = System.currentTimeMillis();
+        if (now - rotatedAt >= ttlMs) {
+            previousBloom = currentBloom;
+            currentBloom = currentBloom.emptyCopy();
+            rotatedAt = now;
+        }
+
+        boolean maybeSeen = now < bloomTrustedAfter || currentBloom.mightContain(id) || previousBloom.mightContain(id);
+        if (!maybeSeen) {
+            bloomSkippedCounter.inc();
+        }
+        long fingerprint = fingerprint(message.getValue());
+        Long seen = maybeSeen ? seenIds.get(id) : null;
+        if (seen != null && seen == fingerprint) {
+            duplicateCounter.inc();
+            if (dropDuplicates) {
+                MESSAGE_LOG.debug("丢弃重复单据: {}，公司: {}", id, message.getCompanyId());
+            } else {
+                out.collect(message);
+            }
+            return;
+        }
+
+        // 新单据或内容有变化的重报（如校验拒绝后修改重报），记录最新内容
+        seenIds.put(id, fingerprint);
+        currentBloom.put(id);
+        out.collect(message);
+    }
+
+    /**
+     * 报文内容的64位FNV-1a指纹
+     */
+    static long fingerprint(byte[] xml) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : xml) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * 按根元素选择单据ID元素并提取其文本，不构建DOM
+     * @param xml 报文字节
+     * @param messageRoot CEB报文根元素本地名称字节
+     * @param messageIdName CEB报文中单据ID元素本地名称字节
+     * @param idName 其他报文中单据ID元素名称字节
+     * @return 单据ID，元素不存在或为空时返回null
+     */
+    static String extractDocumentId(byte[] xml, byte[] messageRoot, byte[] messageIdName, byte[] idName) {
+        if (xml == null) {
+            return null;
+        }
+        int root = nextStartTag(xml, 0);
+        if (root < 0) {
+            return null;
+        }
+        int rootEnd = nameEnd(xml, root);
+        boolean message = regionEquals(xml, localNameStart(xml, root, rootEnd), rootEnd, messageRoot);
+        return extractElementText(xml, rootEnd, message ? messageIdName : idName);
+    }
+
+    /**
+     * 从XML报文字节中提取第一个指定本地名称元素的文本，忽略命名空间前缀
+     * @param xml 报文字节
+     * @param from 开始查找的位置
+     * @param localName 元素本地名称字节，如orderNo，可匹配&lt;orderNo&gt;和&lt;ceb:orderNo&gt;
+     * @return 去除首尾空白后的元素文本，元素不存在、为空或为空元素标签时返回null
+     */
+    static String extractElementText(byte[] xml, int from, byte[] localName) {
+        for (int start = nextStartTag(xml, from); start >= 0; start = nextStartTag(xml, start)) {
+            int end = nameEnd(xml, start);
+            if (!regionEquals(xml, localNameStart(xml, start, end), end, localName)) {
+                continue;
+            }
+            int close = indexOf(xml, (byte) '>', end);
+            if (close < 0 || xml[close - 1] == '/') {
+                return null;
+            }
+            int textEnd = indexOf(xml, (byte) '<', close + 1);
+            if (textEnd < 0) {
+                return null;
+            }
+            String text = new String(xml, close + 1, textEnd - close - 1, StandardCharsets.UTF_8).trim();
+            return text.isEmpty() ? null : text;
+        }
+        return null;
+    }
+
+    /**
+     * 查找下一个开始标签，跳过XML声明、注释、DOCTYPE和结束标签
+     * @return 元素名称的起始位置，没有时返回-1
+     */
+    private static int nextStartTag(byte[] xml, int from) {
+        for (int i = indexOf(xml, (byte) '<', from); i >= 0 && i + 1 < xml.length; i = indexOf(xml, (byte) '<', i + 1)) {
+            byte next = xml[i + 1];
+            if (next != '?' && next != '!' && next != '/') {
+                return i + 1;
+            }
+        }
+        return -1;
+    }
+
+    private static int nameEnd(byte[] xml, int start) {
+        int i = start;
+        while (i < xml.length && xml[i] != '>' && xml[i] != '/' && xml[i] != ' ' && xml[i] != '\t'
+                && xml[i] != '\r' && xml[i] != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static int localNameStart(byte[] xml, int start, int end) {
+        for (int i = end - 1; i >= start; i--) {
+            if (xml[i] == ':') {
+                return i + 1;
+            }
+        }
+        return start;
+    }
+
+    private static boolean regionEquals(byte[] xml, int start, int end, byte[] name) {
+        if (end - start != name.length) {
+            return false;
+        }
+        for (int i = 0; i < name.length; i++) {
+            if (xml[start + i] != name[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int indexOf(byte[] data, byte value, int from) {
+        for (int i = from; i < data.length; i++) {
+            if (data[i] == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -0,0 +1,141 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.EnterpriseRecord;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.RejectReason;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.api.common.state.BroadcastState;
+import org.apache.flink.api.common.state.MapStateDescriptor;
+import org.apache.flink.api.common.state.ReadOnlyBroadcastState;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.streaming.api.functions.co.BroadcastProcessFunction;
+import org.apache.flink.util.Collector;
+
+import java.util.Map;
+
+/**
+ * 源端企业备案校验函数
+ * 紧接header校验执行，按消息header中的公司ID查询广播状态中的企业备案，未备案或已停用企业的消息
+ * 经侧输出HeaderValidationFunction.REJECTED_TAG写入拒绝主题，不再进入批处理和写库。
+ * 企业备案由EnterpriseRegistrySource增量读取后广播，各子任务在内存中查询，不访问数据库；
+ * 广播状态随Checkpoint保存，故障恢复后无需重新全量加载。
+ * 首次加载完成之前（广播状态中没有已加载标记）消息不校验直接放行，避免作业启动时拒绝全部消息
+ */
+@Slf4j
+public class EnterpriseValidationFunction
+        extends BroadcastProcessFunction<KafkaMessageWithHeaders, EnterpriseRecord, KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(EnterpriseValidationFunction.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    /**
+     * 企业备案广播状态：公司ID -> 是否启用
+     */
+    public static final MapStateDescriptor<String, Boolean> REGISTRY_STATE =
+            new MapStateDescriptor<>("enterprise-registry", Types.STRING, Types.BOOLEAN);
+
+    /**
+     * 已加载标记的键，公司ID不会为空字符串（header校验已拒绝）
+     */
+    static final String LOADED_KEY = "";
+
+    private transient boolean loaded;
+
+    private transient volatile int registrySize;
+
+    private transient volatile long lastRefreshTime;
+
+    private transient Counter hitCounter;
+
+    private transient Counter missCounter;
+
+    private transient Counter inactiveCounter;
+
+    private transient Counter uncheckedCounter;
+
+    private transient Counter updateCounter;
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+        MetricGroup metricGroup = getRuntimeContext().getMetricGroup().addGroup("enterprise");
+        hitCounter = metricGroup.counter("hits");
+        missCounter = metricGroup.counter("misses");
+        inactiveCounter = metricGroup.counter("inactive");
+        uncheckedCounter = metricGroup.counter("unchecked");
+        updateCounter = metricGroup.counter("updates");
+        metricGroup.gauge("registrySize", (Gauge<Integer>) () -> registrySize);
+        metricGroup.gauge("refreshAgeMs", (Gauge<Long>) () -> lastRefreshTime > 0 ? System.currentTimeMillis() - lastRefreshTime : -1L);
+    }
+
+    @Override
+    public void processElement(KafkaMessageWithHeaders message, ReadOnlyContext ctx, Collector<KafkaMessageWithHeaders> out) throws Exception {
+        ReadOnlyBroadcastState<String, Boolean> registry = ctx.getBroadcastState(REGISTRY_STATE);
+        if (!loaded) {
+            loaded = registry.contains(LOADED_KEY);
+            if (!loaded) {
+                uncheckedCounter.inc();
+                out.collect(message);
+                return;
+            }
+        }
+        RejectReason reason = check(registry.get(message.getCompanyId()));
+        if (reason == null) {
+            hitCounter.inc();
+            out.collect(message);
+            return;
+        }
+        if (reason == RejectReason.UNKNOWN_COMPANY) {
+            missCounter.inc();
+        } else {
+            inactiveCounter.inc();
+        }
+        MESSAGE_LOG.warn("企业备案校验不通过: {}({}), 公司: {}, 消息类型: {}, 发送者: {}", reason.getCode(), reason.getDescription(),
+                message.getCompanyId(), message.getMessageType(), message.getSenderId());
+        ctx.output(HeaderValidationFunction.REJECTED_TAG, new RejectedMessage(message, reason));
+    }
+
+    @Override
+    public void processBroadcastElement(EnterpriseRecord record, Context ctx, Collector<KafkaMessageWithHeaders> out) throws Exception {
+        BroadcastState<String, Boolean> registry = ctx.getBroadcastState(REGISTRY_STATE);
+        if (!record.isRefreshMarker()) {
+            registry.put(record.getCompanyId(), record.isActive());
+            updateCounter.inc();
+            return;
+        }
+        // 一轮读取完成：统计备案数量，至少有一家企业时才开始校验，备案表尚未同步数据时不拒绝消息
+        int size = 0;
+        for (Map.Entry<String, Boolean> entry : registry.entries()) {
+            if (!LOADED_KEY.equals(entry.getKey())) {
+                size++;
+            }
+        }
+        registrySize = size;
+        lastRefreshTime = record.getUpdateTime();
+        if (size > 0 && !registry.contains(LOADED_KEY)) {
+            registry.put(LOADED_KEY, Boolean.TRUE);
+            log.info("企业备案加载完成，共 {} 家企业，开始校验消息的公司ID", size);
+        }
+    }
+
+    /**
+     * 根据企业备案状态校验
+     * @param active 广播状态中的启用状态，未备案时为null
+     * @return 拒绝原因，校验通过时返回null
+     */
+    static RejectReason check(Boolean active) {
+        if (active == null) {
+            return RejectReason.UNKNOWN_COMPANY;
+        }
+        return active ? null : RejectReason.INACTIVE_COMPANY;
+    }
+}
@@ -0,0 +1,131 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import com.gzeport.cbec.flink.model.OrderTransaction;
+import com.gzeport.cbec.flink.serializer.OrderTransactionSerializer;
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import com.gzeport.cbec.flink.sink.JdbcDocumentWriter;
+import com.gzeport.cbec.service.BatchProcessStats;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.api.common.typeutils.base.VoidSerializer;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.streaming.api.functions.sink.TwoPhaseCommitSinkFunction;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 订单两阶段提交Sink
+ * 订单批次到达时（invoke）即解析和校验报文，两次Checkpoint之间只有待写库的单据缓冲在事务中并随Checkpoint持久化（预提交），
+ * Checkpoint完成后（notifyCheckpointComplete）在一个数据库事务中整体写入，提交阶段只访问数据库，每个Checkpoint周期只提交一次
+ * 提交按订单ID幂等写入，故障恢复时重新提交未确认的事务不会重复插入
+ * 通过JdbcDocumentWriter解析和写库，订单、支付单、运单各分支使用各自的写库实现，事务状态由OrderTransactionSerializer按写库实现定义的列序列化；
+ * 每个子任务按全局作业参数中的连接参数创建独占连接池，提交串行执行，连接数默认为1，不依赖Spring上下文
+ * @param <T> 单据实体类型
+ */
+@Slf4j
+public class ExactlyOnceOrderSink<T> extends TwoPhaseCommitSinkFunction<OrderBatch, OrderTransaction<T>, Void> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(ExactlyOnceOrderSink.class, HotPathLogger.CATEGORY_BATCH);
+
+    private final JdbcDocumentWriter<T> writer;
+
+    private final int jdbcBatchSize;
+
+    private transient HikariDataSource dataSource;
+
+    private transient WriteMetrics metrics;
+
+    /**
+     * @param writer 写库实现，随Sink分发到各子任务，首次使用前初始化连接池
+     * @param jdbcBatchSize 提交时每次JDBC批量执行的条数
+     */
+    public ExactlyOnceOrderSink(JdbcDocumentWriter<T> writer, int jdbcBatchSize) {
+        super(new OrderTransactionSerializer<>(writer), VoidSerializer.INSTANCE);
+        this.writer = writer;
+        this.jdbcBatchSize = jdbcBatchSize;
+    }
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        metrics = new WriteMetrics(getRuntimeContext().getMetricGroup(), writer.getSchemaValidationRoot());
+    }
+
+    @Override
+    public void close() throws Exception {
+        try {
+            super.close();
+        } finally {
+            writer.close();
+            if (dataSource != null) {
+                dataSource.close();
+            }
+        }
+    }
+
+    @Override
+    protected OrderTransaction<T> beginTransaction() {
+        return new OrderTransaction<>(UUID.randomUUID().toString());
+    }
+
+    @Override
+    protected void invoke(OrderTransaction<T> transaction, OrderBatch batch, Context context) {
+        // 解析和校验在进入事务之前完成，无效报文不进入Checkpoint状态
+        BatchProcessStats stats = new BatchProcessStats();
+        List<T> documents = writer().parseMessages(batch.getMessages(), stats);
+        metrics.record(stats);
+        transaction.addBatch(documents, batch.size(), batch.getIngestTimes(), batch.getEmitTime());
+    }
+
+    @Override
+    protected void preCommit(OrderTransaction<T> transaction) {
+        // 事务内容随Checkpoint状态一起持久化，预提交阶段无需访问数据库
+        BATCH_LOG.debug("预提交事务: {}，单据: {}，共 {} 条", transaction.getTransactionId(), writer.getDocumentName(), transaction.size());
+    }
+
+    @Override
+    protected void commit(OrderTransaction<T> transaction) {
+        if (transaction.getMessageCount() == 0) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        BatchProcessStats stats = new BatchProcessStats();
+        int count = writer().commitDocuments(transaction.getDocuments(), jdbcBatchSize, stats);
+        if (metrics != null) {
+            // 故障恢复时initializeState中的提交早于open，此时指标尚未注册
+            metrics.record(stats);
+            metrics.recordLatency(transaction.getEmitTimes(), transaction.getIngestTimes(), System.currentTimeMillis());
+        }
+        BATCH_LOG.info("提交事务: {}，单据: {}，报文 {} 条，写入 {} 条，耗时 {}ms",
+                transaction.getTransactionId(), writer.getDocumentName(), transaction.getMessageCount(), count,
+                System.currentTimeMillis() - start);
+    }
+
+    @Override
+    protected void abort(OrderTransaction<T> transaction) {
+        log.warn("放弃事务: {}，单据: {}，共 {} 条", transaction.getTransactionId(), writer.getDocumentName(), transaction.size());
+        transaction.getDocuments().clear();
+    }
+
+    /**
+     * 获取写库实现
+     * 故障恢复时initializeState会在open之前提交未确认的事务，因此延迟初始化连接池
+     */
+    private JdbcDocumentWriter<T> writer() {
+        if (!writer.isOpen()) {
+            TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+            JdbcConnectionOptions options = JdbcConnectionOptions.fromParameters(TaskParameters.of(getRuntimeContext()));
+            dataSource = options.createDataSource(
+                    writer.getClass().getSimpleName() + "-Pool-" + getRuntimeContext().getIndexOfThisSubtask(), 1);
+            writer.open(dataSource, getRuntimeContext().getJobId().toString());
+            log.info("{}两阶段提交Sink连接池初始化完成: {}", writer.getDocumentName(), options.getUrl());
+        }
+        return writer;
+    }
+}
@@ -0,0 +1,98 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.RejectReason;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import com.gzeport.cbec.service.LatencyTracker;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+/**
+ * 源端header校验函数
+ * 紧接Kafka数据源执行，在消息进入窗口状态之前剔除header缺失或消息类型未知的消息，
+ * 无效消息不再占用窗口状态、Checkpoint带宽和数据库写入能力
+ * 校验不通过的消息连同拒绝原因输出到侧输出REJECTED_TAG
+ * 作为第一个算子，同时统计Kafka记录时间戳到读取的延迟（指标组latency下的kafkaToOperatorMs）
+ */
+@Slf4j
+public class HeaderValidationFunction extends ProcessFunction<KafkaMessageWithHeaders, KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(HeaderValidationFunction.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    /**
+     * 被拒绝消息的侧输出标签
+     */
+    public static final OutputTag<RejectedMessage> REJECTED_TAG = new OutputTag<RejectedMessage>("rejected-messages") {
+    };
+
+    private transient Histogram kafkaToOperatorMs;
+
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+        kafkaToOperatorMs = getRuntimeContext().getMetricGroup().addGroup("latency").histogram(
+                LatencyTracker.Stage.KAFKA_TO_OPERATOR.getMetricName() + "Ms", new DescriptiveStatisticsHistogram(500));
+    }
+
+    @Override
+    public void processElement(KafkaMessageWithHeaders message, Context ctx, Collector<KafkaMessageWithHeaders> out) {
+        Long timestamp = ctx.timestamp();
+        if (timestamp != null && kafkaToOperatorMs != null) {
+            kafkaToOperatorMs.update(System.currentTimeMillis() - timestamp);
+        }
+        RejectReason reason = validate(message);
+        if (reason == null) {
+            out.collect(message);
+            return;
+        }
+        MESSAGE_LOG.warn("消息校验不通过: {}({}), 公司: {}, 消息类型: {}, 发送者: {}", reason.getCode(), reason.getDescription(),
+                message.getCompanyId(), message.getMessageType(), message.getSenderId());
+        ctx.output(REJECTED_TAG, new RejectedMessage(message, reason));
+    }
+
+    /**
+     * 根据header信息校验消息
+     * @param message 包含header信息的Kafka消息
+     * @return 拒绝原因，校验通过时返回null
+     */
+    static RejectReason validate(KafkaMessageWithHeaders message) {
+        // 1. 检查消息是否为空
+        if (message.getValue() == null || message.getValue().length == 0) {
+            return RejectReason.EMPTY_CONTENT;
+        }
+
+        // 2. 检查header信息
+        if (isEmpty(message.getCompanyId())) {
+            return RejectReason.MISSING_COMPANY_ID;
+        }
+        if (isEmpty(message.getMessageType())) {
+            return RejectReason.MISSING_MESSAGE_TYPE;
+        }
+        if (isEmpty(message.getSenderId())) {
+            return RejectReason.MISSING_SENDER_ID;
+        }
+
+        // 3. 检查消息类型
+        String messageType = message.getMessageType();
+        if (!KafkaMessageWithHeaders.MESSAGE_TYPE_ORDER.equals(messageType)
+                && !KafkaMessageWithHeaders.MESSAGE_TYPE_PAYMENT.equals(messageType)
+                && !KafkaMessageWithHeaders.MESSAGE_TYPE_SHIPMENT.equals(messageType)) {
+            return RejectReason.UNKNOWN_MESSAGE_TYPE;
+        }
+        return null;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,74 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.serializer.KafkaMessageTypeInfo;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.connector.kafka.source.reader.deserializer.KafkaRecordDeserializationSchema;
+import org.apache.flink.util.Collector;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+
+import java.util.Arrays;
+
+/**
+ * Kafka消息反序列化器
+ * 直接引用Kafka记录的value和header字节构造KafkaMessageWithHeaders，不预先解码为字符串，
+ * 仅将常用header解码为驻留字符串
+ */
+public class KafkaMessageDeserializationSchema implements KafkaRecordDeserializationSchema<KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public void deserialize(ConsumerRecord<byte[], byte[]> record, Collector<KafkaMessageWithHeaders> out) {
+        out.collect(toMessage(record.value(), record.headers()));
+    }
+
+    @Override
+    public TypeInformation<KafkaMessageWithHeaders> getProducedType() {
+        return new KafkaMessageTypeInfo();
+    }
+
+    /**
+     * 将Kafka记录转换为消息包装对象
+     * @param value 消息内容原始字节
+     * @param headers Kafka header
+     * @return 消息包装对象
+     */
+    static KafkaMessageWithHeaders toMessage(byte[] value, Headers headers) {
+        String companyId = null;
+        String messageType = null;
+        String senderId = null;
+        String[] extraKeys = new String[0];
+        byte[][] extraValues = new byte[0][];
+
+        if (headers != null) {
+            int extraCount = 0;
+            for (Header header : headers) {
+                String key = header.key();
+                if (KafkaMessageWithHeaders.HEADER_COMPANY_ID.equals(key)) {
+                    companyId = KafkaMessageWithHeaders.decodeInterned(header.value());
+                } else if (KafkaMessageWithHeaders.HEADER_MESSAGE_TYPE.equals(key)) {
+                    messageType = KafkaMessageWithHeaders.decodeInterned(header.value());
+                } else if (KafkaMessageWithHeaders.HEADER_SENDER_ID.equals(key)) {
+                    senderId = KafkaMessageWithHeaders.decodeInterned(header.value());
+                } else {
+                    if (extraCount == extraKeys.length) {
+                        extraKeys = Arrays.copyOf(extraKeys, extraCount + 4);
+                        extraValues = Arrays.copyOf(extraValues, extraCount + 4);
+                    }
+                    extraKeys[extraCount] = key;
+                    extraValues[extraCount] = header.value();
+                    extraCount++;
+                }
+            }
+            if (extraCount != extraKeys.length) {
+                extraKeys = Arrays.copyOf(extraKeys, extraCount);
+                extraValues = Arrays.copyOf(extraValues, extraCount);
+            }
+        }
+
+        return new KafkaMessageWithHeaders(value, companyId, messageType, senderId, extraKeys, extraValues);
+    }
+}
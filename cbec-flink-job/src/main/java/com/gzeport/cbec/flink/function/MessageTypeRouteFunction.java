@@ -0,0 +1,41 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.streaming.api.functions.ProcessFunction;
+import org.apache.flink.util.Collector;
+import org.apache.flink.util.OutputTag;
+
+/**
+ * 消息类型路由函数
+ * 按MessageType header将已校验的消息分流：订单走主输出，支付单和运单分别走各自的侧输出，
+ * 各类单据进入独立的批处理和写库分支，按各自的批处理大小和并行度处理
+ * 上游HeaderValidationFunction已剔除未知消息类型，这里只处理三种已知类型
+ */
+public class MessageTypeRouteFunction extends ProcessFunction<KafkaMessageWithHeaders, KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 支付单消息的侧输出标签
+     */
+    public static final OutputTag<KafkaMessageWithHeaders> PAYMENT_TAG = new OutputTag<KafkaMessageWithHeaders>("payment-messages") {
+    };
+
+    /**
+     * 运单消息的侧输出标签
+     */
+    public static final OutputTag<KafkaMessageWithHeaders> SHIPMENT_TAG = new OutputTag<KafkaMessageWithHeaders>("shipment-messages") {
+    };
+
+    @Override
+    public void processElement(KafkaMessageWithHeaders message, Context ctx, Collector<KafkaMessageWithHeaders> out) {
+        String messageType = message.getMessageType();
+        if (KafkaMessageWithHeaders.MESSAGE_TYPE_PAYMENT.equals(messageType)) {
+            ctx.output(PAYMENT_TAG, message);
+        } else if (KafkaMessageWithHeaders.MESSAGE_TYPE_SHIPMENT.equals(messageType)) {
+            ctx.output(SHIPMENT_TAG, message);
+        } else {
+            out.collect(message);
+        }
+    }
+}
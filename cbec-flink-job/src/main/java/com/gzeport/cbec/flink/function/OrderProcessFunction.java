@@ -0,0 +1,185 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import com.gzeport.cbec.logging.HotPathLogger;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+import org.apache.flink.streaming.api.functions.windowing.RichProcessWindowFunction;
+import org.apache.flink.streaming.api.windowing.windows.GlobalWindow;
+import org.apache.flink.util.Collector;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 订单批量处理函数
+ * 用于批量处理订单数据的业务逻辑，提升大促期间的处理性能
+ * 将窗口内的订单报文按批处理大小切分为订单批次输出，由下游异步写库阶段保存到数据库
+ * 支付单、运单分支复用本函数切分批次，批次中的报文由各自的写库服务解析
+ * 支持处理Kafka消息的header信息，header校验在进入窗口之前由HeaderValidationFunction完成
+ */
+@Slf4j
+public class OrderProcessFunction extends RichProcessWindowFunction<KafkaMessageWithHeaders, OrderBatch, Integer, GlobalWindow> implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger MESSAGE_LOG = HotPathLogger.getLogger(OrderProcessFunction.class, HotPathLogger.CATEGORY_MESSAGE);
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(OrderProcessFunction.class, HotPathLogger.CATEGORY_BATCH);
+
+    private int batchSize;
+
+    /**
+     * 自适应批处理控制器，设置后按控制器的当前批处理大小切分批次
+     */
+    private AdaptiveBatchController batchController;
+
+    private transient AdaptiveBatchController sharedController;
+
+    private transient Counter recordsIn;
+
+    private transient Counter batchesOut;
+
+    private transient Histogram batchSizeHistogram;
+
+    public OrderProcessFunction() {
+        // 默认批处理大小
+        this.batchSize = 100;
+    }
+
+    /**
+     * 使用指定批处理大小，订单、支付单、运单各分支按各自配置批处理
+     * @param batchSize 批处理大小
+     */
+    public OrderProcessFunction(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 设置批处理大小
+     */
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 设置自适应批处理控制器
+     */
+    public void setBatchController(AdaptiveBatchController batchController) {
+        this.batchController = batchController;
+    }
+
+    /**
+     * 初始化方法，在Flink任务启动时执行
+     * 用于注册指标和初始化自适应批处理控制器
+     */
+    @Override
+    public void open(Configuration parameters) throws Exception {
+        super.open(parameters);
+        TaskParameters.applyHotPathLogPolicies(getRuntimeContext());
+
+        // 注册批处理指标：输入记录数及每秒速率、输出批次数、批次大小分布
+        MetricGroup batchGroup = getRuntimeContext().getMetricGroup().addGroup("batch");
+        recordsIn = batchGroup.counter("recordsIn");
+        batchGroup.meter("recordsInPerSecond", new MeterView(recordsIn));
+        batchesOut = batchGroup.counter("batchesOut");
+        batchSizeHistogram = batchGroup.histogram("batchSize", new DescriptiveStatisticsHistogram(500));
+
+        if (batchController != null) {
+            sharedController = batchController.acquire(getRuntimeContext().getJobId().toString());
+            // 上报自适应批处理的当前参数
+            MetricGroup metricGroup = getRuntimeContext().getMetricGroup().addGroup("adaptiveBatch");
+            metricGroup.gauge("batchSize", (Gauge<Integer>) sharedController::getBatchSize);
+            metricGroup.gauge("batchTimeoutMs", (Gauge<Long>) sharedController::getTimeoutMs);
+            metricGroup.gauge("writeP99Ms", (Gauge<Long>) sharedController::getWriteP99Ms);
+            metricGroup.gauge("lagMs", (Gauge<Long>) sharedController::getLagMs);
+        }
+    }
+
+    @Override
+    public void close() throws Exception {
+        if (sharedController != null) {
+            batchController.release(getRuntimeContext().getJobId().toString());
+            sharedController = null;
+        }
+        super.close();
+    }
+
+    /**
+     * 批量处理订单数据
+     * @param key 分区键（企业分片）
+     * @param context 窗口上下文
+     * @param elements 窗口内的订单数据
+     * @param out 输出收集器，输出待写库的订单批次
+     */
+    @Override
+    public void process(Integer key, Context context, Iterable<KafkaMessageWithHeaders> elements, Collector<OrderBatch> out) throws Exception {
+        List<byte[]> validOrders = new ArrayList<>();
+        String messageType = null;
+        int count = 0;
+        int batchSize = sharedController != null ? sharedController.getBatchSize() : this.batchSize;
+        long[] ingestTimes = new long[batchSize];
+
+        try {
+            // 遍历窗口内的订单数据
+            for (KafkaMessageWithHeaders message : elements) {
+                // header已在源端校验函数HeaderValidationFunction中校验，窗口内只有有效消息
+                // 逐条报文日志经采样和限流输出，参数均为已有字段的引用，被丢弃时不产生解码开销，报文内容按截断长度输出
+                MESSAGE_LOG.debug("消息header信息，公司: {}，消息类型: {}，发送者: {}，消息内容: {}",
+                        message.getCompanyId(), message.getMessageType(), message.getSenderId(), message.getValue());
+                // 各分支按消息类型分流，窗口内的报文类型相同
+                messageType = message.getMessageType();
+                ingestTimes[validOrders.size()] = message.getIngestTime();
+                validOrders.add(transformOrder(message.getValue()));
+                count++;
+                recordsIn.inc();
+
+                // 达到批处理大小，输出一批数据
+                if (validOrders.size() >= batchSize) {
+                    emit(key, messageType, validOrders, ingestTimes, out);
+                    validOrders = new ArrayList<>();
+                }
+            }
+
+            // 处理剩余的订单数据
+            if (!validOrders.isEmpty()) {
+                emit(key, messageType, validOrders, ingestTimes, out);
+            }
+            BATCH_LOG.debug("批量处理完成，分片: {}，共 {} 条，批处理大小: {}", key, count, batchSize);
+        } catch (Exception e) {
+            log.error("批量处理订单异常: {}", e.getMessage());
+            // 重新抛出异常，让Flink知道处理失败
+            throw e;
+        }
+    }
+
+    /**
+     * 输出一批订单并更新批次指标，批次携带各报文的接收时间和输出时间
+     */
+    private void emit(Integer key, String messageType, List<byte[]> orders, long[] ingestTimes, Collector<OrderBatch> out) {
+        batchesOut.inc();
+        batchSizeHistogram.update(orders.size());
+        out.collect(new OrderBatch(key, messageType, orders, Arrays.copyOf(ingestTimes, orders.size()), System.currentTimeMillis()));
+    }
+
+    /**
+     * 转换订单数据格式
+     * @param orderData 原始订单数据
+     * @return 转换后的订单数据
+     */
+    private byte[] transformOrder(byte[] orderData) {
+        // TODO: 实现订单数据转换逻辑
+        // 例如：将XML转换为内部对象模型
+        return orderData;
+    }
+}
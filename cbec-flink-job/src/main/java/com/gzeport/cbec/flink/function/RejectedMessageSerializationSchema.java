@@ -0,0 +1,53 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import org.apache.flink.connector.kafka.sink.KafkaRecordSerializationSchema;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 被拒绝消息的Kafka序列化器
+ * 原样写回消息内容和header，追加RejectReason header记录拒绝原因代码，以公司ID作为消息key
+ */
+public class RejectedMessageSerializationSchema implements KafkaRecordSerializationSchema<RejectedMessage> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 拒绝原因 header名称
+     */
+    public static final String HEADER_REJECT_REASON = "RejectReason";
+
+    private final String topic;
+
+    public RejectedMessageSerializationSchema(String topic) {
+        this.topic = topic;
+    }
+
+    @Override
+    public ProducerRecord<byte[], byte[]> serialize(RejectedMessage element, KafkaSinkContext context, Long timestamp) {
+        KafkaMessageWithHeaders message = element.getMessage();
+        RecordHeaders headers = new RecordHeaders();
+        addHeader(headers, KafkaMessageWithHeaders.HEADER_COMPANY_ID, message.getCompanyId());
+        addHeader(headers, KafkaMessageWithHeaders.HEADER_MESSAGE_TYPE, message.getMessageType());
+        addHeader(headers, KafkaMessageWithHeaders.HEADER_SENDER_ID, message.getSenderId());
+        String[] keys = message.getExtraHeaderKeys();
+        byte[][] values = message.getExtraHeaderValues();
+        for (int i = 0; i < keys.length; i++) {
+            headers.add(keys[i], values[i]);
+        }
+        addHeader(headers, HEADER_REJECT_REASON, element.getReason().getCode());
+
+        byte[] key = message.getCompanyId() != null ? message.getCompanyId().getBytes(StandardCharsets.UTF_8) : null;
+        return new ProducerRecord<>(topic, null, timestamp, key, message.getValue(), headers);
+    }
+
+    private static void addHeader(RecordHeaders headers, String name, String value) {
+        if (value != null) {
+            headers.add(name, value.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+}
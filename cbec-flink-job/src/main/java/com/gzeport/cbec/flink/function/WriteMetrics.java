@@ -0,0 +1,135 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.ceb.CebSchemaValidator;
+import com.gzeport.cbec.ceb.SchemaValidationStats;
+import com.gzeport.cbec.service.BatchProcessStats;
+import com.gzeport.cbec.service.LatencyTracker;
+import org.apache.flink.metrics.Counter;
+import org.apache.flink.metrics.Gauge;
+import org.apache.flink.metrics.Histogram;
+import org.apache.flink.metrics.Meter;
+import org.apache.flink.metrics.MeterView;
+import org.apache.flink.metrics.MetricGroup;
+import org.apache.flink.runtime.metrics.DescriptiveStatisticsHistogram;
+
+/**
+ * 写库阶段算子指标
+ * 在写库算子的open()中注册到指标组write下，区分解析、校验和MySQL写入各环节：
+ * parseFailures、validationRejects、rowsPersisted（及其每秒速率rowsPersistedPerSecond）计数，
+ * parseTimeMs（每批解析和校验耗时）、dbWriteLatencyMs（每批写库耗时）直方图；
+ * 以及指标组latency下按报文统计的operatorToCommitMs（批次输出到写库提交）、endToEndMs（API接收到写库提交）直方图，
+ * 延迟只记录到Flink直方图，LatencyTracker仅提供阶段指标名称；
+ * 开启XSD校验时，指标组schema下的validated、invalid、averageMicros为本TaskManager上该类报文的校验统计
+ * 异步写库阶段在多个写库线程中上报，记录方法加锁
+ */
+class WriteMetrics {
+
+    /**
+     * 直方图保留的最近样本数
+     */
+    private static final int HISTOGRAM_WINDOW = 500;
+
+    private final Counter parseFailures;
+
+    private final Counter validationRejects;
+
+    private final Counter rowsPersisted;
+
+    private final Meter rowsPersistedRate;
+
+    private final Histogram parseTimeMs;
+
+    private final Histogram dbWriteLatencyMs;
+
+    private final Histogram operatorToCommitMs;
+
+    private final Histogram endToEndMs;
+
+    WriteMetrics(MetricGroup operatorGroup) {
+        this(operatorGroup, null);
+    }
+
+    /**
+     * @param schemaRoot 开启XSD校验的报文根元素名，为null时不注册校验指标
+     */
+    WriteMetrics(MetricGroup operatorGroup, String schemaRoot) {
+        MetricGroup group = operatorGroup.addGroup("write");
+        parseFailures = group.counter("parseFailures");
+        validationRejects = group.counter("validationRejects");
+        rowsPersisted = group.counter("rowsPersisted");
+        rowsPersistedRate = group.meter("rowsPersistedPerSecond", new MeterView(rowsPersisted));
+        parseTimeMs = group.histogram("parseTimeMs", new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW));
+        dbWriteLatencyMs = group.histogram("dbWriteLatencyMs", new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW));
+        MetricGroup latencyGroup = operatorGroup.addGroup("latency");
+        operatorToCommitMs = latencyGroup.histogram(LatencyTracker.Stage.OPERATOR_TO_COMMIT.getMetricName() + "Ms",
+                new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW));
+        endToEndMs = latencyGroup.histogram(LatencyTracker.Stage.END_TO_END.getMetricName() + "Ms",
+                new DescriptiveStatisticsHistogram(HISTOGRAM_WINDOW));
+        if (schemaRoot != null) {
+            SchemaValidationStats schemaStats = CebSchemaValidator.stats(schemaRoot);
+            MetricGroup schemaGroup = operatorGroup.addGroup("schema");
+            schemaGroup.gauge("validated", (Gauge<Long>) schemaStats::getValidated);
+            schemaGroup.gauge("invalid", (Gauge<Long>) schemaStats::getInvalid);
+            schemaGroup.gauge("averageMicros", (Gauge<Double>) schemaStats::getAverageMicros);
+        }
+    }
+
+    /**
+     * 汇总一次批量处理的统计
+     */
+    synchronized void record(BatchProcessStats stats) {
+        parseFailures.inc(stats.getParseFailures());
+        validationRejects.inc(stats.getValidationRejects());
+        rowsPersisted.inc(stats.getRowsPersisted());
+        if (stats.getParseTimeNanos() > 0) {
+            // 两阶段提交的解析和写库分别上报，只写库的统计不计入解析耗时分布
+            parseTimeMs.update(stats.getParseTimeNanos() / 1_000_000);
+        }
+        if (stats.getRowsPersisted() > 0) {
+            dbWriteLatencyMs.update(stats.getWriteTimeNanos() / 1_000_000);
+        }
+    }
+
+    /**
+     * 记录一批报文提交后的延迟
+     * @param emitTime 批次输出时间，为0时不统计批次输出到提交的延迟
+     * @param ingestTimes 各报文的接收时间，为null或元素为-1时不统计端到端延迟
+     * @param commitTime 提交完成时间
+     */
+    synchronized void recordLatency(long emitTime, long[] ingestTimes, long commitTime) {
+        if (emitTime > 0) {
+            operatorToCommitMs.update(commitTime - emitTime);
+        }
+        if (ingestTimes != null) {
+            for (long ingestTime : ingestTimes) {
+                recordEndToEnd(ingestTime, commitTime);
+            }
+        }
+    }
+
+    /**
+     * 记录一个事务提交后的延迟，事务内报文来自多个批次
+     * @param emitTimes 各报文所在批次的输出时间
+     * @param ingestTimes 各报文的接收时间
+     * @param commitTime 提交完成时间
+     */
+    synchronized void recordLatency(long[] emitTimes, long[] ingestTimes, long commitTime) {
+        long previousEmitTime = 0;
+        for (int i = 0; i < emitTimes.length; i++) {
+            // 批次输出到提交的延迟按批次统计，同一批次的报文连续存放
+            if (emitTimes[i] > 0 && emitTimes[i] != previousEmitTime) {
+                operatorToCommitMs.update(commitTime - emitTimes[i]);
+            }
+            previousEmitTime = emitTimes[i];
+        }
+        for (long ingestTime : ingestTimes) {
+            recordEndToEnd(ingestTime, commitTime);
+        }
+    }
+
+    private void recordEndToEnd(long ingestTime, long commitTime) {
+        if (ingestTime > 0) {
+            endToEndMs.update(commitTime - ingestTime);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.gzeport.cbec.flink.model;
+
+import java.io.Serializable;
+
+/**
+ * 企业备案变更记录
+ * 由企业备案数据源读取后广播到各源端校验子任务；企业ID为空的记录是一轮读取完成的标记，
+ * updateTime为该轮读取的时间
+ */
+public class EnterpriseRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private String companyId;
+
+    private boolean active;
+
+    private long updateTime;
+
+    public EnterpriseRecord() {
+    }
+
+    public EnterpriseRecord(String companyId, boolean active, long updateTime) {
+        this.companyId = companyId;
+        this.active = active;
+        this.updateTime = updateTime;
+    }
+
+    /**
+     * 创建一轮读取完成的标记
+     * @param pollTime 读取时间
+     */
+    public static EnterpriseRecord refreshed(long pollTime) {
+        return new EnterpriseRecord(null, false, pollTime);
+    }
+
+    /**
+     * 是否为一轮读取完成的标记
+     */
+    public boolean isRefreshMarker() {
+        return companyId == null;
+    }
+
+    public String getCompanyId() {
+        return companyId;
+    }
+
+    public void setCompanyId(String companyId) {
+        this.companyId = companyId;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public long getUpdateTime() {
+        return updateTime;
+    }
+
+    public void setUpdateTime(long updateTime) {
+        this.updateTime = updateTime;
+    }
+
+    @Override
+    public String toString() {
+        return isRefreshMarker() ? "EnterpriseRecord{refreshed=" + updateTime + "}"
+                : "EnterpriseRecord{companyId=" + companyId + ", active=" + active + ", updateTime=" + updateTime + "}";
+    }
+}
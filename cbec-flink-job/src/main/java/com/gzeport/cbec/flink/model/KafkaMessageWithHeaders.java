@@ -0,0 +1,297 @@
+package com.gzeport.cbec.flink.model;
+
+import com.gzeport.cbec.flink.serializer.KafkaMessageTypeInfo;
+import com.gzeport.cbec.service.LatencyTracker;
+import org.apache.flink.api.common.typeinfo.TypeInfo;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Kafka消息包装类
+ * 包含消息内容和header信息
+ * 消息内容和非常用header保留Kafka记录中的原始字节，仅在访问时解码；
+ * 常用header（CompanyId、MessageType、SenderId）取值重复度高，解码后驻留为字段，避免每条消息各持一份副本
+ * Flink中使用专用序列化器KafkaMessageSerializer，不走Kryo
+ */
+@TypeInfo(KafkaMessageTypeInfo.Factory.class)
+public class KafkaMessageWithHeaders implements Serializable {
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * 公司ID header名称
+     */
+    public static final String HEADER_COMPANY_ID = "CompanyId";
+
+    /**
+     * 消息类型 header名称
+     */
+    public static final String HEADER_MESSAGE_TYPE = "MessageType";
+
+    /**
+     * 发送者ID header名称
+     */
+    public static final String HEADER_SENDER_ID = "SenderId";
+
+    /**
+     * 报文接收时间 header名称，取值为API接收报文时的毫秒时间戳（十进制字符串），用于统计端到端延迟
+     */
+    public static final String HEADER_INGEST_TIME = LatencyTracker.HEADER_INGEST_TIME;
+
+    /**
+     * 订单类型消息
+     */
+    public static final String MESSAGE_TYPE_ORDER = "ORDER";
+
+    /**
+     * 支付类型消息
+     */
+    public static final String MESSAGE_TYPE_PAYMENT = "PAYMENT";
+
+    /**
+     * 物流类型消息
+     */
+    public static final String MESSAGE_TYPE_SHIPMENT = "SHIPMENT";
+
+    private static final String[] NO_KEYS = new String[0];
+
+    private static final byte[][] NO_VALUES = new byte[0][];
+
+    private byte[] value;
+    private String companyId;
+    private String messageType;
+    private String senderId;
+    private String[] extraHeaderKeys = NO_KEYS;
+    private byte[][] extraHeaderValues = NO_VALUES;
+
+    private transient String content;
+    private transient Map<String, String> headers;
+
+    public KafkaMessageWithHeaders() {
+    }
+
+    public KafkaMessageWithHeaders(String content, Map<String, String> headers) {
+        setContent(content);
+        setHeaders(headers);
+    }
+
+    /**
+     * 直接引用Kafka记录中的字节创建消息，不做拷贝
+     * @param value 消息内容原始字节
+     * @param companyId 公司ID
+     * @param messageType 消息类型
+     * @param senderId 发送者ID
+     * @param extraHeaderKeys 其他header名称
+     * @param extraHeaderValues 其他header原始字节，与名称一一对应
+     */
+    public KafkaMessageWithHeaders(byte[] value, String companyId, String messageType, String senderId,
+                                   String[] extraHeaderKeys, byte[][] extraHeaderValues) {
+        if (extraHeaderKeys.length != extraHeaderValues.length) {
+            throw new IllegalArgumentException("header名称与取值数量不一致");
+        }
+        this.value = value;
+        this.companyId = intern(companyId);
+        this.messageType = intern(messageType);
+        this.senderId = intern(senderId);
+        this.extraHeaderKeys = extraHeaderKeys;
+        this.extraHeaderValues = extraHeaderValues;
+    }
+
+    /**
+     * 判断header是否为常用header
+     */
+    public static boolean isWellKnownHeader(String name) {
+        return HEADER_COMPANY_ID.equals(name) || HEADER_MESSAGE_TYPE.equals(name) || HEADER_SENDER_ID.equals(name);
+    }
+
+    /**
+     * 将header原始字节解码为驻留字符串
+     * @param bytes header原始字节
+     * @return 驻留字符串，字节为空时返回null
+     */
+    public static String decodeInterned(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8).intern() : null;
+    }
+
+    /**
+     * 获取消息内容原始字节，XML解析可直接读取，无需先解码为字符串
+     */
+    public byte[] getValue() {
+        return value;
+    }
+
+    /**
+     * 获取消息内容，首次访问时按UTF-8解码
+     */
+    public String getContent() {
+        if (content == null && value != null) {
+            content = new String(value, StandardCharsets.UTF_8);
+        }
+        return content;
+    }
+
+    /**
+     * 设置消息内容
+     */
+    public void setContent(String content) {
+        this.content = content;
+        this.value = content != null ? content.getBytes(StandardCharsets.UTF_8) : null;
+    }
+
+    /**
+     * 获取消息header信息，首次访问时解码
+     */
+    public Map<String, String> getHeaders() {
+        if (headers == null) {
+            Map<String, String> decoded = new LinkedHashMap<>();
+            putIfPresent(decoded, HEADER_COMPANY_ID, companyId);
+            putIfPresent(decoded, HEADER_MESSAGE_TYPE, messageType);
+            putIfPresent(decoded, HEADER_SENDER_ID, senderId);
+            for (int i = 0; i < extraHeaderKeys.length; i++) {
+                decoded.put(extraHeaderKeys[i], decodeValue(extraHeaderValues[i]));
+            }
+            headers = decoded;
+        }
+        return headers;
+    }
+
+    /**
+     * 设置消息header信息
+     */
+    public void setHeaders(Map<String, String> headers) {
+        this.companyId = null;
+        this.messageType = null;
+        this.senderId = null;
+        this.headers = null;
+        if (headers == null) {
+            this.extraHeaderKeys = NO_KEYS;
+            this.extraHeaderValues = NO_VALUES;
+            return;
+        }
+
+        int extraCount = 0;
+        for (String name : headers.keySet()) {
+            if (!isWellKnownHeader(name)) {
+                extraCount++;
+            }
+        }
+        String[] keys = new String[extraCount];
+        byte[][] values = new byte[extraCount][];
+        int i = 0;
+        for (Map.Entry<String, String> entry : headers.entrySet()) {
+            String name = entry.getKey();
+            if (HEADER_COMPANY_ID.equals(name)) {
+                companyId = intern(entry.getValue());
+            } else if (HEADER_MESSAGE_TYPE.equals(name)) {
+                messageType = intern(entry.getValue());
+            } else if (HEADER_SENDER_ID.equals(name)) {
+                senderId = intern(entry.getValue());
+            } else {
+                keys[i] = name;
+                values[i] = entry.getValue() != null ? entry.getValue().getBytes(StandardCharsets.UTF_8) : null;
+                i++;
+            }
+        }
+        this.extraHeaderKeys = keys;
+        this.extraHeaderValues = values;
+    }
+
+    /**
+     * 根据header名称获取header值
+     */
+    public String getHeader(String name) {
+        if (HEADER_COMPANY_ID.equals(name)) {
+            return companyId;
+        }
+        if (HEADER_MESSAGE_TYPE.equals(name)) {
+            return messageType;
+        }
+        if (HEADER_SENDER_ID.equals(name)) {
+            return senderId;
+        }
+        for (int i = 0; i < extraHeaderKeys.length; i++) {
+            if (extraHeaderKeys[i].equals(name)) {
+                return decodeValue(extraHeaderValues[i]);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 获取公司ID
+     */
+    public String getCompanyId() {
+        return companyId;
+    }
+
+    /**
+     * 获取消息类型
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * 获取发送者ID
+     */
+    public String getSenderId() {
+        return senderId;
+    }
+
+    /**
+     * 获取报文接收时间，直接从header原始字节解析，不解码为字符串
+     * @return API接收报文时的毫秒时间戳，header不存在或格式错误时返回-1
+     */
+    public long getIngestTime() {
+        for (int i = 0; i < extraHeaderKeys.length; i++) {
+            if (HEADER_INGEST_TIME.equals(extraHeaderKeys[i])) {
+                return parseMillis(extraHeaderValues[i]);
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * 获取其他header名称
+     */
+    public String[] getExtraHeaderKeys() {
+        return extraHeaderKeys;
+    }
+
+    /**
+     * 获取其他header原始字节
+     */
+    public byte[][] getExtraHeaderValues() {
+        return extraHeaderValues;
+    }
+
+    private static String intern(String value) {
+        return value != null ? value.intern() : null;
+    }
+
+    private static long parseMillis(byte[] bytes) {
+        if (bytes == null || bytes.length == 0 || bytes.length > 19) {
+            return -1;
+        }
+        long value = 0;
+        for (byte b : bytes) {
+            if (b < '0' || b > '9') {
+                return -1;
+            }
+            value = value * 10 + (b - '0');
+        }
+        return value;
+    }
+
+    private static String decodeValue(byte[] bytes) {
+        return bytes != null ? new String(bytes, StandardCharsets.UTF_8) : null;
+    }
+
+    private static void putIfPresent(Map<String, String> map, String name, String value) {
+        if (value != null) {
+            map.put(name, value);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.gzeport.cbec.flink.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * 订单批次
+ * 批处理窗口输出的一批订单报文，携带所属分片键，供异步写库阶段按分片保证顺序；
+ * 同时携带消息类型（订单、支付单、运单各分支复用）、各报文的接收时间和批次输出时间，供写库阶段记录日志和统计延迟
+ */
+public class OrderBatch implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private int shardKey;
+    private String messageType;
+    private List<byte[]> messages;
+    private long[] ingestTimes;
+    private long emitTime;
+
+    public OrderBatch() {
+    }
+
+    public OrderBatch(int shardKey, List<byte[]> messages) {
+        this.shardKey = shardKey;
+        this.messages = messages;
+    }
+
+    /**
+     * @param shardKey 分片键
+     * @param messageType 消息类型
+     * @param messages 订单报文原始字节列表
+     * @param ingestTimes 各报文的接收时间，与报文一一对应，未知时为-1
+     * @param emitTime 批次输出时间
+     */
+    public OrderBatch(int shardKey, String messageType, List<byte[]> messages, long[] ingestTimes, long emitTime) {
+        if (ingestTimes.length != messages.size()) {
+            throw new IllegalArgumentException("接收时间与报文数量不一致");
+        }
+        this.shardKey = shardKey;
+        this.messageType = messageType;
+        this.messages = messages;
+        this.ingestTimes = ingestTimes;
+        this.emitTime = emitTime;
+    }
+
+    /**
+     * 获取分片键
+     */
+    public int getShardKey() {
+        return shardKey;
+    }
+
+    /**
+     * 设置分片键
+     */
+    public void setShardKey(int shardKey) {
+        this.shardKey = shardKey;
+    }
+
+    /**
+     * 获取消息类型，如ORDER、PAYMENT、SHIPMENT
+     */
+    public String getMessageType() {
+        return messageType;
+    }
+
+    /**
+     * 设置消息类型
+     */
+    public void setMessageType(String messageType) {
+        this.messageType = messageType;
+    }
+
+    /**
+     * 获取订单报文原始字节列表
+     */
+    public List<byte[]> getMessages() {
+        return messages;
+    }
+
+    /**
+     * 设置订单报文原始字节列表
+     */
+    public void setMessages(List<byte[]> messages) {
+        this.messages = messages;
+    }
+
+    /**
+     * 获取各报文的接收时间，未携带时为null
+     */
+    public long[] getIngestTimes() {
+        return ingestTimes;
+    }
+
+    /**
+     * 设置各报文的接收时间
+     */
+    public void setIngestTimes(long[] ingestTimes) {
+        this.ingestTimes = ingestTimes;
+    }
+
+    /**
+     * 获取批次输出时间，未携带时为0
+     */
+    public long getEmitTime() {
+        return emitTime;
+    }
+
+    /**
+     * 设置批次输出时间
+     */
+    public void setEmitTime(long emitTime) {
+        this.emitTime = emitTime;
+    }
+
+    /**
+     * 获取批次大小
+     */
+    public int size() {
+        return messages != null ? messages.size() : 0;
+    }
+}
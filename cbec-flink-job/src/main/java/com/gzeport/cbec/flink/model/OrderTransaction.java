@@ -0,0 +1,153 @@
+package com.gzeport.cbec.flink.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 订单写库事务
+ * 两阶段提交Sink在两次Checkpoint之间缓冲的单据，报文在进入事务前已解析和校验，事务中只保存待写库的单据，
+ * 随Checkpoint一起持久化（序列化器为OrderTransactionSerializer），Checkpoint完成后在一个数据库事务中整体提交
+ * 同时记录事务内各报文（含解析失败和校验不通过的报文）的接收时间和所在批次的输出时间，供提交后统计延迟；
+ * 时间数组按倍数扩容，只有前messageCount个元素有效
+ * @param <T> 单据实体类型
+ */
+public class OrderTransaction<T> {
+
+    private static final long[] EMPTY = new long[0];
+
+    private String transactionId;
+
+    private List<T> documents = new ArrayList<>();
+
+    private long[] ingestTimes = EMPTY;
+
+    private long[] emitTimes = EMPTY;
+
+    private int messageCount;
+
+    public OrderTransaction() {
+    }
+
+    public OrderTransaction(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * 获取事务ID
+     */
+    public String getTransactionId() {
+        return transactionId;
+    }
+
+    /**
+     * 设置事务ID
+     */
+    public void setTransactionId(String transactionId) {
+        this.transactionId = transactionId;
+    }
+
+    /**
+     * 获取事务内待写库的单据
+     */
+    public List<T> getDocuments() {
+        return documents;
+    }
+
+    /**
+     * 设置事务内待写库的单据
+     */
+    public void setDocuments(List<T> documents) {
+        this.documents = documents;
+    }
+
+    /**
+     * 获取各报文的接收时间，未知时为-1
+     * @return 长度为报文数量的副本
+     */
+    public long[] getIngestTimes() {
+        return Arrays.copyOf(ingestTimes, messageCount);
+    }
+
+    /**
+     * 获取第index个报文的接收时间，未知时为-1
+     */
+    public long getIngestTime(int index) {
+        return ingestTimes[index];
+    }
+
+    /**
+     * 获取各报文所在批次的输出时间，与接收时间一一对应，未知时为0
+     * @return 长度为报文数量的副本
+     */
+    public long[] getEmitTimes() {
+        return Arrays.copyOf(emitTimes, messageCount);
+    }
+
+    /**
+     * 获取第index个报文所在批次的输出时间，未知时为0
+     */
+    public long getEmitTime(int index) {
+        return emitTimes[index];
+    }
+
+    /**
+     * 设置各报文的接收时间和批次输出时间，从Checkpoint恢复时使用
+     * @param ingestTimes 各报文的接收时间
+     * @param emitTimes 各报文所在批次的输出时间，长度与接收时间相同
+     */
+    public void setMessageTimes(long[] ingestTimes, long[] emitTimes) {
+        if (ingestTimes.length != emitTimes.length) {
+            throw new IllegalArgumentException("接收时间与批次输出时间数量不一致: " + ingestTimes.length + " != " + emitTimes.length);
+        }
+        this.ingestTimes = ingestTimes;
+        this.emitTimes = emitTimes;
+        this.messageCount = ingestTimes.length;
+    }
+
+    /**
+     * 追加一批报文解析出的单据及各报文的接收时间和批次输出时间
+     * @param batchDocuments 解析成功且校验通过的单据
+     * @param messageCount 批次的报文数量
+     * @param batchIngestTimes 各报文的接收时间，为null时按未知处理
+     * @param emitTime 批次输出时间
+     */
+    public void addBatch(List<T> batchDocuments, int messageCount, long[] batchIngestTimes, long emitTime) {
+        documents.addAll(batchDocuments);
+        int from = this.messageCount;
+        ensureCapacity(from + messageCount);
+        if (batchIngestTimes != null) {
+            System.arraycopy(batchIngestTimes, 0, ingestTimes, from, messageCount);
+        } else {
+            Arrays.fill(ingestTimes, from, from + messageCount, -1L);
+        }
+        Arrays.fill(emitTimes, from, from + messageCount, emitTime);
+        this.messageCount = from + messageCount;
+    }
+
+    /**
+     * 时间数组容量不足时按1.5倍扩容，一个Checkpoint周期内追加多个批次的总复制量与报文数量成正比
+     */
+    private void ensureCapacity(int required) {
+        if (required <= ingestTimes.length) {
+            return;
+        }
+        int capacity = Math.max(required, ingestTimes.length + (ingestTimes.length >> 1));
+        ingestTimes = Arrays.copyOf(ingestTimes, capacity);
+        emitTimes = Arrays.copyOf(emitTimes, capacity);
+    }
+
+    /**
+     * 获取事务内待写库的单据数量
+     */
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * 获取事务内的报文数量
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+}
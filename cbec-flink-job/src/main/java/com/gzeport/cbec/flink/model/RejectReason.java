@@ -0,0 +1,66 @@
+package com.gzeport.cbec.flink.model;
+
+/**
+ * 消息拒绝原因
+ * 随被拒绝的消息一起写入拒绝主题的RejectReason header，供企业排查报文问题
+ */
+public enum RejectReason {
+
+    /**
+     * 消息内容为空
+     */
+    EMPTY_CONTENT("E001", "消息内容为空"),
+
+    /**
+     * 缺少公司ID
+     */
+    MISSING_COMPANY_ID("E002", "公司ID为空"),
+
+    /**
+     * 缺少消息类型
+     */
+    MISSING_MESSAGE_TYPE("E003", "消息类型为空"),
+
+    /**
+     * 缺少发送者ID
+     */
+    MISSING_SENDER_ID("E004", "发送者ID为空"),
+
+    /**
+     * 未知消息类型
+     */
+    UNKNOWN_MESSAGE_TYPE("E005", "未知消息类型"),
+
+    /**
+     * 公司ID不在企业备案中
+     */
+    UNKNOWN_COMPANY("E006", "企业未备案"),
+
+    /**
+     * 企业备案已停用
+     */
+    INACTIVE_COMPANY("E007", "企业备案已停用");
+
+    private final String code;
+
+    private final String description;
+
+    RejectReason(String code, String description) {
+        this.code = code;
+        this.description = description;
+    }
+
+    /**
+     * 获取原因代码
+     */
+    public String getCode() {
+        return code;
+    }
+
+    /**
+     * 获取原因描述
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,49 @@
+package com.gzeport.cbec.flink.model;
+
+import java.io.Serializable;
+
+/**
+ * 被拒绝的消息
+ * 源端校验不通过的Kafka消息及其拒绝原因，经侧输出写入拒绝主题
+ */
+public class RejectedMessage implements Serializable {
+    private static final long serialVersionUID = 1L;
+    private KafkaMessageWithHeaders message;
+    private RejectReason reason;
+
+    public RejectedMessage() {
+    }
+
+    public RejectedMessage(KafkaMessageWithHeaders message, RejectReason reason) {
+        this.message = message;
+        this.reason = reason;
+    }
+
+    /**
+     * 获取原始消息
+     */
+    public KafkaMessageWithHeaders getMessage() {
+        return message;
+    }
+
+    /**
+     * 设置原始消息
+     */
+    public void setMessage(KafkaMessageWithHeaders message) {
+        this.message = message;
+    }
+
+    /**
+     * 获取拒绝原因
+     */
+    public RejectReason getReason() {
+        return reason;
+    }
+
+    /**
+     * 设置拒绝原因
+     */
+    public void setReason(RejectReason reason) {
+        this.reason = reason;
+    }
+}
@@ -0,0 +1,112 @@
+package com.gzeport.cbec.flink.processor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.errors.TopicExistsException;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Kafka主题管理
+ * 作业启动时经AdminClient创建或校验报文主题，返回主题实际分区数，用于设置数据源和下游算子的并行度
+ */
+@Slf4j
+public class KafkaTopicManager implements AutoCloseable {
+
+    private final Admin admin;
+
+    private final long timeoutMs;
+
+    /**
+     * @param admin Kafka管理客户端
+     * @param timeoutMs 单次请求超时时间（毫秒）
+     */
+    public KafkaTopicManager(Admin admin, long timeoutMs) {
+        this.admin = admin;
+        this.timeoutMs = timeoutMs;
+    }
+
+    /**
+     * 连接Kafka集群创建主题管理
+     * @param bootstrapServers Kafka集群地址
+     * @param timeoutMs 单次请求超时时间（毫秒）
+     */
+    public static KafkaTopicManager create(String bootstrapServers, long timeoutMs) {
+        Properties properties = new Properties();
+        properties.put(AdminClientConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        properties.put(AdminClientConfig.REQUEST_TIMEOUT_MS_CONFIG, (int) timeoutMs);
+        properties.put(AdminClientConfig.DEFAULT_API_TIMEOUT_MS_CONFIG, (int) timeoutMs);
+        return new KafkaTopicManager(Admin.create(properties), timeoutMs);
+    }
+
+    /**
+     * 确保主题存在
+     * 主题不存在时按期望分区数和副本因子创建；已存在时校验分区数和副本因子，不一致时只输出告警，不修改主题
+     * @param topic 主题名称
+     * @param partitions 期望分区数
+     * @param replicationFactor 期望副本因子
+     * @param autoCreate 主题不存在时是否创建
+     * @return 主题实际分区数
+     * @throws RuntimeException 主题不存在且不允许创建，或请求Kafka失败时抛出
+     */
+    public int ensureTopic(String topic, int partitions, short replicationFactor, boolean autoCreate) {
+        if (!get(admin.listTopics().names()).contains(topic)) {
+            if (!autoCreate) {
+                throw new RuntimeException("Kafka主题不存在: " + topic);
+            }
+            createTopic(topic, partitions, replicationFactor);
+        }
+
+        TopicDescription description = get(admin.describeTopics(Collections.singleton(topic)).allTopicNames()).get(topic);
+        int actualPartitions = description.partitions().size();
+        int actualReplicationFactor = description.partitions().get(0).replicas().size();
+        if (actualPartitions != partitions) {
+            log.warn("Kafka主题 {} 实际分区数 {} 与配置的 {} 不一致，以实际分区数为准", topic, actualPartitions, partitions);
+        }
+        if (actualReplicationFactor != replicationFactor) {
+            log.warn("Kafka主题 {} 实际副本因子 {} 与配置的 {} 不一致", topic, actualReplicationFactor, replicationFactor);
+        }
+        log.info("Kafka主题 {} 分区数: {}，副本因子: {}", topic, actualPartitions, actualReplicationFactor);
+        return actualPartitions;
+    }
+
+    private void createTopic(String topic, int partitions, short replicationFactor) {
+        try {
+            get(admin.createTopics(Collections.singleton(new NewTopic(topic, partitions, replicationFactor))).all());
+            log.info("创建Kafka主题 {}，分区数: {}，副本因子: {}", topic, partitions, replicationFactor);
+        } catch (RuntimeException e) {
+            // 多个作业同时启动时主题可能已由其他作业创建
+            if (!(e.getCause() instanceof TopicExistsException)) {
+                throw e;
+            }
+            log.info("Kafka主题 {} 已由其他客户端创建", topic);
+        }
+    }
+
+    private <T> T get(KafkaFuture<T> future) {
+        try {
+            return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("请求Kafka集群被中断", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("请求Kafka集群失败: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new RuntimeException("请求Kafka集群超时（" + timeoutMs + "ms）", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        admin.close(Duration.ofMillis(timeoutMs));
+    }
+}
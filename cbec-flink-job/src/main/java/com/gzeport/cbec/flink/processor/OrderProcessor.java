@@ -0,0 +1,435 @@
+package com.gzeport.cbec.flink.processor;
+
+import com.gzeport.cbec.flink.config.FlinkConfig;
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.function.AdaptiveBatchController;
+import com.gzeport.cbec.flink.function.AsyncOrderWriteFunction;
+import com.gzeport.cbec.flink.function.CompanyShardKeySelector;
+import com.gzeport.cbec.flink.function.CountOrTimeoutTrigger;
+import com.gzeport.cbec.flink.function.DocumentDedupFunction;
+import com.gzeport.cbec.flink.function.EnterpriseValidationFunction;
+import com.gzeport.cbec.flink.function.ExactlyOnceOrderSink;
+import com.gzeport.cbec.flink.function.HeaderValidationFunction;
+import com.gzeport.cbec.flink.function.KafkaMessageDeserializationSchema;
+import com.gzeport.cbec.flink.function.MessageTypeRouteFunction;
+import com.gzeport.cbec.flink.function.OrderProcessFunction;
+import com.gzeport.cbec.flink.function.RejectedMessageSerializationSchema;
+import com.gzeport.cbec.flink.model.EnterpriseRecord;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import com.gzeport.cbec.flink.sink.JdbcDocumentWriter;
+import com.gzeport.cbec.flink.sink.OrderJdbcWriter;
+import com.gzeport.cbec.flink.sink.PaymentJdbcWriter;
+import com.gzeport.cbec.flink.sink.WaybillJdbcWriter;
+import com.gzeport.cbec.flink.source.EnterpriseRegistrySource;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.api.common.eventtime.WatermarkStrategy;
+import org.apache.flink.configuration.ConfigConstants;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.configuration.MetricOptions;
+import org.apache.flink.configuration.RestOptions;
+import org.apache.flink.connector.base.DeliveryGuarantee;
+import org.apache.flink.connector.kafka.sink.KafkaSink;
+import org.apache.flink.connector.kafka.source.KafkaSource;
+import org.apache.flink.connector.kafka.source.KafkaSourceOptions;
+import org.apache.flink.connector.kafka.source.enumerator.initializer.OffsetsInitializer;
+import org.apache.flink.runtime.state.hashmap.HashMapStateBackend;
+import org.apache.flink.contrib.streaming.state.RocksDBStateBackend;
+import org.apache.flink.runtime.state.storage.FileSystemCheckpointStorage;
+import org.apache.flink.streaming.api.CheckpointingMode;
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
+import org.apache.flink.streaming.api.datastream.BroadcastStream;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.datastream.KeyedStream;
+import org.apache.flink.streaming.api.datastream.SingleOutputStreamOperator;
+import org.apache.flink.streaming.api.environment.CheckpointConfig;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.api.common.restartstrategy.RestartStrategies;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.streaming.api.windowing.assigners.GlobalWindows;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 订单处理器
+ * 负责配置和启动Flink流处理任务，由CbecFlinkJob按作业参数创建，不依赖Spring
+ * 支持批量处理，提升大促期间的处理性能
+ */
+@Slf4j
+public class OrderProcessor {
+
+    private static final String SINK_MODE_EXACTLY_ONCE = "exactly-once";
+
+    private static final String SINK_MODE_ASYNC = "async";
+
+    private static final String DUPLICATE_MODE_DROP = "drop";
+
+    private static final String DUPLICATE_MODE_UPDATE = "update";
+
+    private final FlinkConfig flinkConfig;
+
+    /**
+     * @param flinkConfig 作业配置
+     */
+    public OrderProcessor(FlinkConfig flinkConfig) {
+        this.flinkConfig = flinkConfig;
+    }
+
+    /**
+     * 启动订单处理任务
+     * 初始化Flink环境，配置Kafka数据源，启动流处理
+     * 支持批量处理，提升大促期间的处理性能
+     */
+    public void startProcessing() throws Exception {
+        log.info("启动订单处理任务...");
+
+        // 创建Flink执行环境，本地运行时同时启用Web UI和指标上报
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment(createFlinkConfiguration());
+        log.info("Flink执行环境创建成功");
+
+        // 创建或校验报文主题，按实际分区数设置并行度，避免数据源子任务空闲
+        alignParallelismToTopic();
+
+        // 配置并行度，与Kafka Topic分区数保持一致
+        env.setParallelism(flinkConfig.getParallelism());
+        // 显式设置最大并行度，分片键依赖Key Group数量计算
+        env.setMaxParallelism(flinkConfig.getMaxParallelism());
+        log.info("设置并行度为: {}，最大并行度: {}", flinkConfig.getParallelism(), flinkConfig.getMaxParallelism());
+
+        // 任务端写库连接参数和热点日志策略写入全局作业参数，各TaskManager上的算子在open()中读取；
+        // 数据库密码在Web UI和REST接口中显示为掩码，未配置时由TaskManager从环境变量读取
+        JdbcConnectionOptions jdbcOptions = createJdbcConnectionOptions();
+        Map<String, String> jobParameters = new HashMap<>(jdbcOptions.toParameters());
+        jobParameters.putAll(flinkConfig.getHotPathLogProperties());
+        env.getConfig().setGlobalJobParameters(TaskParameters.create(jobParameters));
+        log.info("任务端写库连接: {}", jdbcOptions.getUrl());
+
+        // 配置Checkpoint机制
+        configureCheckpoint(env);
+
+        // 配置状态后端
+        configureStateBackend(env);
+
+        // 配置重启策略
+        configureRestartStrategy(env);
+
+        // 读取Kafka数据
+        DataStream<KafkaMessageWithHeaders> orderStream = env
+                .fromSource(createKafkaSource(), WatermarkStrategy.noWatermarks(), "Kafka Source")
+                .setParallelism(flinkConfig.getParallelism());
+        log.info("Kafka数据源创建成功，开始读取订单数据");
+
+        // 源端校验header，无效消息在进入窗口状态之前经侧输出写入拒绝主题
+        SingleOutputStreamOperator<KafkaMessageWithHeaders> validStream = orderStream
+                .process(new HeaderValidationFunction())
+                .name("Header Validation");
+        DataStream<RejectedMessage> rejectedStream = validStream.getSideOutput(HeaderValidationFunction.REJECTED_TAG);
+
+        // 源端按广播的企业备案校验公司ID，未备案或已停用企业的消息与header校验不通过的消息写入同一拒绝主题
+        if (flinkConfig.isEnterpriseRegistryEnabled()) {
+            BroadcastStream<EnterpriseRecord> registryStream = env
+                    .addSource(new EnterpriseRegistrySource(flinkConfig.getEnterpriseRegistryPollIntervalMs(),
+                            flinkConfig.getEnterpriseRegistryPollOverlapMs()))
+                    .name("Enterprise Registry")
+                    .setParallelism(1)
+                    .broadcast(EnterpriseValidationFunction.REGISTRY_STATE);
+            validStream = validStream
+                    .connect(registryStream)
+                    .process(new EnterpriseValidationFunction())
+                    .name("Enterprise Validation");
+            rejectedStream = rejectedStream.union(validStream.getSideOutput(HeaderValidationFunction.REJECTED_TAG));
+            log.info("源端企业备案校验已开启，每 {}ms 增量读取一次企业备案", flinkConfig.getEnterpriseRegistryPollIntervalMs());
+        }
+        attachRejectSink(rejectedStream);
+
+        // 按消息类型分流，订单、支付单、运单各自批处理、写库，并行度和批处理大小分别配置
+        SingleOutputStreamOperator<KafkaMessageWithHeaders> routedStream = validStream
+                .process(new MessageTypeRouteFunction())
+                .name("MessageType Router");
+        log.info("分区模式: {}，批处理触发条件: {} 条或 {}ms", flinkConfig.getKeyMode(), flinkConfig.getBatchSize(), flinkConfig.getBatchTimeoutMs());
+
+        buildPipeline(routedStream, KafkaMessageWithHeaders.MESSAGE_TYPE_ORDER, "orderId",
+                flinkConfig.getBatchSize(), flinkConfig.getBatchTimeoutMs(), flinkConfig.getParallelism(),
+                new OrderProcessFunction(flinkConfig.getBatchSize()), new OrderJdbcWriter());
+        buildPipeline(routedStream.getSideOutput(MessageTypeRouteFunction.PAYMENT_TAG), KafkaMessageWithHeaders.MESSAGE_TYPE_PAYMENT, "paymentId",
+                flinkConfig.getPaymentBatchSize(), flinkConfig.getPaymentBatchTimeoutMs(), flinkConfig.getPaymentParallelism(),
+                new OrderProcessFunction(flinkConfig.getPaymentBatchSize()), new PaymentJdbcWriter());
+        buildPipeline(routedStream.getSideOutput(MessageTypeRouteFunction.SHIPMENT_TAG), KafkaMessageWithHeaders.MESSAGE_TYPE_SHIPMENT, "waybillId",
+                flinkConfig.getShipmentBatchSize(), flinkConfig.getShipmentBatchTimeoutMs(), flinkConfig.getShipmentParallelism(),
+                new OrderProcessFunction(flinkConfig.getShipmentBatchSize()), new WaybillJdbcWriter());
+
+        // 启动任务
+        log.info("订单处理任务启动中...");
+        env.execute("Order Processing Job");
+    }
+
+    /**
+     * 构建单一消息类型的处理分支
+     * 先按公司ID分区对单据ID去重，再按企业ID分片，达到批处理大小或超过最大等待时间（先到者为准）时输出一批报文，再写入该类型对应的数据表
+     * @param messageType 消息类型
+     * @param idTag 非CEB报文中单据ID所在的XML元素名称，CEB报文的单据ID元素由写库实现提供
+     * @param batchSize 批处理大小，也是两阶段提交时每次JDBC批量执行的条数
+     * @param batchTimeoutMs 批处理最大等待时间（毫秒）
+     * @param parallelism 分支并行度
+     * @param processFunction 批处理函数
+     * @param writer 写库实现
+     */
+    private void buildPipeline(DataStream<KafkaMessageWithHeaders> stream, String messageType, String idTag,
+                               int batchSize, long batchTimeoutMs, int parallelism, OrderProcessFunction processFunction,
+                               JdbcDocumentWriter<?> writer) {
+        // 按企业ID分片，分片键按分支并行度预先映射到各子任务
+        CompanyShardKeySelector keySelector = CompanyShardKeySelector.of(
+                flinkConfig.getKeyMode(), flinkConfig.getKeyGroups(), parallelism, flinkConfig.getMaxParallelism());
+
+        DataStream<KafkaMessageWithHeaders> documentStream = stream;
+        if (flinkConfig.isDedupEnabled()) {
+            // 去重状态按公司ID分区，不使用分片键：分片键随并行度计算，扩缩容后同一公司映射到新的分片键，
+            // 已记录的单据ID将无法命中；公司ID所在的Key Group只取决于最大并行度，恢复后仍由持有该状态的子任务处理
+            documentStream = stream
+                    .keyBy(KafkaMessageWithHeaders::getCompanyId, Types.STRING)
+                    .process(createDedupFunction(idTag, writer))
+                    .name(messageType + " Dedup")
+                    .setParallelism(parallelism);
+        }
+        KeyedStream<KafkaMessageWithHeaders, Integer> keyedStream = documentStream.keyBy(keySelector);
+
+        // 自适应批处理：批处理大小和等待时间按JDBC写入耗时、写库满载和消费积压在上下限内调整；
+        // 两阶段提交随Checkpoint提交，批次大小不改变提交频率，只在异步写库时启用
+        AdaptiveBatchController batchController = null;
+        CountOrTimeoutTrigger<KafkaMessageWithHeaders> trigger = CountOrTimeoutTrigger.of(batchSize, batchTimeoutMs);
+        boolean exactlyOnce = SINK_MODE_EXACTLY_ONCE.equalsIgnoreCase(flinkConfig.getSinkMode());
+        if (flinkConfig.isBatchAdaptiveEnabled() && exactlyOnce) {
+            log.warn("{} 分支: 两阶段提交写库模式下自适应批处理不生效，使用固定批处理参数", messageType);
+        } else if (flinkConfig.isBatchAdaptiveEnabled()) {
+            batchController = new AdaptiveBatchController(messageType, batchSize, batchTimeoutMs,
+                    flinkConfig.getBatchAdaptiveMinSize(), flinkConfig.getBatchAdaptiveMaxSize(),
+                    flinkConfig.getBatchAdaptiveMinTimeoutMs(), flinkConfig.getBatchAdaptiveMaxTimeoutMs(),
+                    flinkConfig.getBatchAdaptiveTargetP99Ms(), flinkConfig.getBatchAdaptiveLagThresholdMs());
+            trigger = CountOrTimeoutTrigger.adaptive(batchController);
+            processFunction.setBatchController(batchController);
+        }
+
+        DataStream<OrderBatch> batchStream = keyedStream
+                .window(GlobalWindows.create())
+                .trigger(trigger)
+                // 应用批量处理函数，输出待写库的报文批次
+                .process(processFunction)
+                .name(messageType + " Batch")
+                .setParallelism(parallelism);
+        log.info("{} 分支: 并行度 {}，分片数量 {}，批处理触发条件 {} 条或 {}ms{}",
+                messageType, parallelism, keySelector.getShardCount(), batchSize, batchTimeoutMs,
+                batchController != null ? "（自适应）" : "");
+
+        // 写库
+        attachSink(batchStream, messageType, parallelism, writer, batchSize, batchController);
+    }
+
+    /**
+     * 创建单据ID去重函数
+     * drop: 丢弃重复单据；update: 重复单据继续写库，按单据ID幂等更新已有记录
+     */
+    private DocumentDedupFunction createDedupFunction(String idTag, JdbcDocumentWriter<?> writer) {
+        String duplicateMode = flinkConfig.getDedupDuplicateMode();
+        if (!DUPLICATE_MODE_DROP.equalsIgnoreCase(duplicateMode) && !DUPLICATE_MODE_UPDATE.equalsIgnoreCase(duplicateMode)) {
+            throw new IllegalArgumentException("未知的重复单据处理模式: " + duplicateMode);
+        }
+        return new DocumentDedupFunction(idTag, writer.getMessageRoot(), writer.getMessageIdElement(), TimeUnit.HOURS.toMillis(flinkConfig.getDedupTtlHours()),
+                flinkConfig.getDedupBloomExpectedInsertions(), flinkConfig.getDedupBloomFpp(),
+                DUPLICATE_MODE_DROP.equalsIgnoreCase(duplicateMode));
+    }
+
+    /**
+     * 根据写库模式配置报文批次的写库阶段
+     * exactly-once: 两阶段提交Sink，与Checkpoint对齐，每个Checkpoint周期提交一次事务
+     * async: 异步写库，限制在途批次数，数据库延迟不再阻塞窗口算子
+     */
+    private void attachSink(DataStream<OrderBatch> batchStream, String messageType, int parallelism,
+                            JdbcDocumentWriter<?> writer, int jdbcBatchSize,
+                            AdaptiveBatchController batchController) {
+        // 写库前的报文解析在TaskManager内各写库子任务共用的解析线程池中并行执行
+        writer.setParseOptions(flinkConfig.getParseParallelism(), flinkConfig.getParseThreshold());
+        writer.setValidationRules(flinkConfig.getValidationRulesFile(), flinkConfig.getValidationRulesReloadIntervalMs());
+        writer.setSchemaValidation(flinkConfig.isSchemaValidationEnabled(writer.getMessageRoot()));
+        writer.setInsertMode(flinkConfig.getSinkJdbcInsertMode());
+        String sinkMode = flinkConfig.getSinkMode();
+        if (SINK_MODE_EXACTLY_ONCE.equalsIgnoreCase(sinkMode)) {
+            batchStream.addSink(new ExactlyOnceOrderSink<>(writer, jdbcBatchSize))
+                    .name(messageType + " Exactly-Once Sink").setParallelism(parallelism);
+            log.info("{} 写库模式: 两阶段提交，每 {}ms 随Checkpoint提交一次，写入方式: {}", messageType, flinkConfig.getCheckpointInterval(),
+                    writer.getInsertMode());
+        } else if (SINK_MODE_ASYNC.equalsIgnoreCase(sinkMode)) {
+            AsyncOrderWriteFunction writeFunction = new AsyncOrderWriteFunction(
+                    writer,
+                    flinkConfig.getSinkAsyncCapacity(),
+                    flinkConfig.getSinkRetryMaxAttempts(),
+                    flinkConfig.getSinkRetryDelayMs());
+            writeFunction.setBatchController(batchController);
+            AsyncDataStream.orderedWait(batchStream, writeFunction,
+                            flinkConfig.getSinkAsyncTimeoutMs(), TimeUnit.MILLISECONDS,
+                            flinkConfig.getSinkAsyncCapacity())
+                    .name(messageType + " Async Writer")
+                    .setParallelism(parallelism);
+            log.info("{} 写库模式: 异步写库，最大在途批次 {}，超时 {}ms，最大尝试 {} 次，写入方式: {}", messageType,
+                    flinkConfig.getSinkAsyncCapacity(), flinkConfig.getSinkAsyncTimeoutMs(), flinkConfig.getSinkRetryMaxAttempts(),
+                    writer.getInsertMode());
+        } else {
+            throw new IllegalArgumentException("未知的写库模式: " + sinkMode);
+        }
+    }
+
+    /**
+     * 创建任务端写库连接参数
+     */
+    private JdbcConnectionOptions createJdbcConnectionOptions() {
+        return new JdbcConnectionOptions(flinkConfig.getSinkJdbcUrl(), flinkConfig.getSinkJdbcUsername(),
+                flinkConfig.getSinkJdbcPassword(), flinkConfig.getSinkJdbcDriverClassName(),
+                flinkConfig.getSinkJdbcPoolMaxSize(), flinkConfig.getSinkJdbcPoolConnectionTimeoutMs());
+    }
+
+    /**
+     * 配置被拒绝消息的输出
+     * 拒绝主题未配置时仅记录日志，不写回Kafka
+     */
+    private void attachRejectSink(DataStream<RejectedMessage> rejectedStream) {
+        String rejectTopic = flinkConfig.getKafkaTopicRejectName();
+        if (rejectTopic == null || rejectTopic.isEmpty()) {
+            log.info("未配置拒绝主题，校验不通过的消息仅记录日志");
+            return;
+        }
+        KafkaSink<RejectedMessage> rejectSink = KafkaSink.<RejectedMessage>builder()
+                .setBootstrapServers(flinkConfig.getKafkaBootstrapServers())
+                .setRecordSerializer(new RejectedMessageSerializationSchema(rejectTopic))
+                .setDeliveryGuarantee(DeliveryGuarantee.AT_LEAST_ONCE)
+                .build();
+        rejectedStream.sinkTo(rejectSink).name("Reject Sink");
+        log.info("校验不通过的消息写入拒绝主题: {}", rejectTopic);
+    }
+
+    /**
+     * 创建或校验报文主题，启用自动并行度时将全局并行度设为主题分区数
+     * 支付单、运单分支未单独配置并行度时随全局并行度调整
+     */
+    private void alignParallelismToTopic() {
+        int partitions;
+        try (KafkaTopicManager topicManager = KafkaTopicManager.create(flinkConfig.getKafkaBootstrapServers(), flinkConfig.getKafkaAdminTimeoutMs())) {
+            partitions = topicManager.ensureTopic(flinkConfig.getKafkaTopicOrderName(), flinkConfig.getKafkaTopicOrderPartitions(),
+                    flinkConfig.getKafkaTopicOrderReplicationFactor(), flinkConfig.isKafkaTopicAutoCreate());
+        }
+        if (!flinkConfig.isParallelismAuto()) {
+            if (partitions != flinkConfig.getParallelism()) {
+                log.warn("并行度 {} 与主题分区数 {} 不一致，部分数据源子任务将空闲或读取多个分区", flinkConfig.getParallelism(), partitions);
+            }
+            return;
+        }
+        int parallelism = Math.min(partitions, flinkConfig.getMaxParallelism());
+        if (parallelism < partitions) {
+            log.warn("主题分区数 {} 超过最大并行度 {}，并行度取最大并行度", partitions, flinkConfig.getMaxParallelism());
+        }
+        log.info("按主题分区数设置并行度: {} -> {}", flinkConfig.getParallelism(), parallelism);
+        flinkConfig.setParallelism(parallelism);
+    }
+
+    /**
+     * 创建Kafka数据源
+     * 配置Kafka连接参数，确保与配置文件中的参数一致
+     * 启用分区发现，运行期间新增的分区由已有数据源子任务读取，并行度在作业重启时按新分区数调整
+     */
+    private KafkaSource<KafkaMessageWithHeaders> createKafkaSource() {
+        return KafkaSource.<KafkaMessageWithHeaders>
+                builder()
+                .setBootstrapServers(flinkConfig.getKafkaBootstrapServers())
+                .setTopics(flinkConfig.getKafkaTopicOrderName())
+                .setGroupId(flinkConfig.getKafkaConsumerGroupId())
+                .setStartingOffsets(OffsetsInitializer.committedOffsets(OffsetResetStrategy.EARLIEST))
+                .setProperty("enable.auto.commit", String.valueOf(flinkConfig.isKafkaConsumerEnableAutoCommit()))
+                .setProperty(KafkaSourceOptions.PARTITION_DISCOVERY_INTERVAL_MS.key(),
+                        String.valueOf(flinkConfig.getSourcePartitionDiscoveryIntervalMs()))
+                // 保留原始字节，消息内容在访问时才解码
+                .setDeserializer(new KafkaMessageDeserializationSchema())
+                .build();
+    }
+
+    /**
+     * 创建本地执行环境的Flink配置
+     * 设置Web UI端口，按配置注册指标上报器；二者属于集群级配置，提交到集群运行时以集群配置为准
+     */
+    private Configuration createFlinkConfiguration() {
+        Configuration configuration = new Configuration();
+        // Web UI端口，避免与Spring Boot服务端口冲突
+        configuration.setInteger(RestOptions.PORT, flinkConfig.getWebPort());
+
+        // 指标上报器可插拔：按配置的工厂类注册，未配置时只能通过Web UI和REST接口查看指标
+        String factoryClass = flinkConfig.getMetricsReporterFactoryClass();
+        if (factoryClass != null && !factoryClass.isEmpty()) {
+            String prefix = ConfigConstants.METRICS_REPORTER_PREFIX + flinkConfig.getMetricsReporterName() + ".";
+            configuration.setString(prefix + MetricOptions.REPORTER_FACTORY_CLASS.key(), factoryClass);
+            configuration.setString(prefix + MetricOptions.REPORTER_INTERVAL.key(), flinkConfig.getMetricsReporterInterval());
+            log.info("注册指标上报器: {}，工厂类: {}，上报间隔: {}", flinkConfig.getMetricsReporterName(),
+                    factoryClass, flinkConfig.getMetricsReporterInterval());
+        }
+        return configuration;
+    }
+
+    /**
+     * 配置Checkpoint
+     * 确保数据一致性和容错性，exactly-once写库模式下每个Checkpoint提交一次数据库事务
+     */
+    private void configureCheckpoint(StreamExecutionEnvironment env) {
+        // 启用Checkpoint
+        env.enableCheckpointing(flinkConfig.getCheckpointInterval());
+        log.info("启用Checkpoint，间隔: {}ms", flinkConfig.getCheckpointInterval());
+
+        // 配置Checkpoint模式
+        CheckpointConfig checkpointConfig = env.getCheckpointConfig();
+        checkpointConfig.setCheckpointingMode(CheckpointingMode.EXACTLY_ONCE);
+        checkpointConfig.setCheckpointTimeout(flinkConfig.getCheckpointTimeout());
+        checkpointConfig.setMinPauseBetweenCheckpoints(flinkConfig.getCheckpointMinPauseBetweenCheckpoints());
+        checkpointConfig.setMaxConcurrentCheckpoints(flinkConfig.getCheckpointMaxConcurrentCheckpoints());
+        checkpointConfig.enableExternalizedCheckpoints(CheckpointConfig.ExternalizedCheckpointCleanup.valueOf(flinkConfig.getCheckpointExternalizedCleanup()));
+
+        // 配置Checkpoint存储
+        checkpointConfig.setCheckpointStorage(new FileSystemCheckpointStorage(flinkConfig.getStateCheckpointsDir()));
+        log.info("Checkpoint存储路径: {}", flinkConfig.getStateCheckpointsDir());
+    }
+
+    /**
+     * 配置重启策略
+     * 确保在出现异常时能够自动重启任务
+     */
+    private void configureRestartStrategy(StreamExecutionEnvironment env) {
+        // 配置固定延迟重启策略
+        env.setRestartStrategy(RestartStrategies.fixedDelayRestart(
+                flinkConfig.getRestartStrategyMaxAttempts(), // 最多重启次数
+                flinkConfig.getRestartStrategyDelayMs() // 重启间隔（毫秒）
+        ));
+        log.info("配置固定延迟重启策略: 最多重启{}次，间隔{}秒", 
+                flinkConfig.getRestartStrategyMaxAttempts(), 
+                flinkConfig.getRestartStrategyDelayMs() / 1000);
+    }
+
+    /**
+     * 配置状态后端
+     * 使用RocksDB提升大促时状态存储性能
+     */
+    private void configureStateBackend(StreamExecutionEnvironment env) {
+        // 使用RocksDB状态后端
+        if ("rocksdb".equals(flinkConfig.getStateBackend())) {
+            try {
+                RocksDBStateBackend rocksDBStateBackend = new RocksDBStateBackend(flinkConfig.getStateCheckpointsDir(), flinkConfig.isStateBackendIncremental()); // 使用配置项决定是否启用增量Checkpoint
+                env.setStateBackend(rocksDBStateBackend);
+                log.info("使用RocksDB状态后端，{}{}", 
+                        flinkConfig.isStateBackendIncremental() ? "启用" : "禁用", 
+                        "增量Checkpoint");
+            } catch (Exception e) {
+                log.error("配置RocksDB状态后端失败", e);
+                // 失败时使用HashMapStateBackend作为后备
+                env.setStateBackend(new HashMapStateBackend());
+                log.info("使用HashMapStateBackend作为后备");
+            }
+        }
+    }
+}
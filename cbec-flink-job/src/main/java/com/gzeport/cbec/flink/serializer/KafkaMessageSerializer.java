@@ -0,0 +1,306 @@
+package com.gzeport.cbec.flink.serializer;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * KafkaMessageWithHeaders专用序列化器
+ * 替代Kryo通用序列化，用于窗口状态（RocksDB）和网络传输，格式如下：
+ * <pre>
+ * flags(1字节) | [value长度(varint) value字节] | [CompanyId] | [MessageType] | [SenderId]
+ *              | 其他header数量(varint) | { header名称编码(varint) [header名称] header值长度+1(varint) header值字节 }*
+ * </pre>
+ * header名称按字典编码：0表示后面跟随名称字符串，n表示字典中第n-1个名称；字符串均为varint长度前缀的UTF-8字节
+ * 字典随Checkpoint快照保存，恢复时新字典以旧字典为前缀则可直接读取旧数据，否则先用旧字典读取再迁移
+ * 消息内容字节视为不可变，复制时共享同一数组
+ */
+public final class KafkaMessageSerializer extends TypeSerializer<KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * 默认header名称字典，只允许在末尾追加，已有名称的位置不可调整
+     */
+    static final String[] DEFAULT_KEY_DICTIONARY = {
+            "spring_json_header_types",
+            "traceparent",
+            "IngestTime"
+    };
+
+    private static final int FLAG_VALUE = 1;
+    private static final int FLAG_COMPANY_ID = 1 << 1;
+    private static final int FLAG_MESSAGE_TYPE = 1 << 2;
+    private static final int FLAG_SENDER_ID = 1 << 3;
+
+    private final String[] keyDictionary;
+
+    public KafkaMessageSerializer() {
+        this(DEFAULT_KEY_DICTIONARY);
+    }
+
+    KafkaMessageSerializer(String[] keyDictionary) {
+        this.keyDictionary = keyDictionary;
+    }
+
+    String[] getKeyDictionary() {
+        return keyDictionary;
+    }
+
+    @Override
+    public boolean isImmutableType() {
+        return false;
+    }
+
+    @Override
+    public TypeSerializer<KafkaMessageWithHeaders> duplicate() {
+        // 无状态，可在多线程间共享
+        return this;
+    }
+
+    @Override
+    public KafkaMessageWithHeaders createInstance() {
+        return new KafkaMessageWithHeaders();
+    }
+
+    @Override
+    public KafkaMessageWithHeaders copy(KafkaMessageWithHeaders from) {
+        return new KafkaMessageWithHeaders(from.getValue(), from.getCompanyId(), from.getMessageType(), from.getSenderId(),
+                from.getExtraHeaderKeys().clone(), from.getExtraHeaderValues().clone());
+    }
+
+    @Override
+    public KafkaMessageWithHeaders copy(KafkaMessageWithHeaders from, KafkaMessageWithHeaders reuse) {
+        return copy(from);
+    }
+
+    @Override
+    public int getLength() {
+        return -1;
+    }
+
+    @Override
+    public void serialize(KafkaMessageWithHeaders record, DataOutputView target) throws IOException {
+        int flags = 0;
+        if (record.getValue() != null) {
+            flags |= FLAG_VALUE;
+        }
+        if (record.getCompanyId() != null) {
+            flags |= FLAG_COMPANY_ID;
+        }
+        if (record.getMessageType() != null) {
+            flags |= FLAG_MESSAGE_TYPE;
+        }
+        if (record.getSenderId() != null) {
+            flags |= FLAG_SENDER_ID;
+        }
+        target.writeByte(flags);
+
+        if (record.getValue() != null) {
+            writeVarInt(target, record.getValue().length);
+            target.write(record.getValue());
+        }
+        if (record.getCompanyId() != null) {
+            writeString(target, record.getCompanyId());
+        }
+        if (record.getMessageType() != null) {
+            writeString(target, record.getMessageType());
+        }
+        if (record.getSenderId() != null) {
+            writeString(target, record.getSenderId());
+        }
+
+        String[] keys = record.getExtraHeaderKeys();
+        byte[][] values = record.getExtraHeaderValues();
+        writeVarInt(target, keys.length);
+        for (int i = 0; i < keys.length; i++) {
+            int code = dictionaryCode(keys[i]);
+            writeVarInt(target, code);
+            if (code == 0) {
+                writeString(target, keys[i]);
+            }
+            if (values[i] == null) {
+                writeVarInt(target, 0);
+            } else {
+                writeVarInt(target, values[i].length + 1);
+                target.write(values[i]);
+            }
+        }
+    }
+
+    @Override
+    public KafkaMessageWithHeaders deserialize(DataInputView source) throws IOException {
+        int flags = source.readUnsignedByte();
+
+        byte[] value = null;
+        if ((flags & FLAG_VALUE) != 0) {
+            value = new byte[readVarInt(source)];
+            source.readFully(value);
+        }
+        String companyId = (flags & FLAG_COMPANY_ID) != 0 ? readString(source).intern() : null;
+        String messageType = (flags & FLAG_MESSAGE_TYPE) != 0 ? readString(source).intern() : null;
+        String senderId = (flags & FLAG_SENDER_ID) != 0 ? readString(source).intern() : null;
+
+        int extraCount = readVarInt(source);
+        String[] keys = new String[extraCount];
+        byte[][] values = new byte[extraCount][];
+        for (int i = 0; i < extraCount; i++) {
+            int code = readVarInt(source);
+            if (code == 0) {
+                keys[i] = readString(source);
+            } else if (code <= keyDictionary.length) {
+                keys[i] = keyDictionary[code - 1];
+            } else {
+                throw new IOException("未知的header名称编码: " + code);
+            }
+            int length = readVarInt(source);
+            if (length > 0) {
+                values[i] = new byte[length - 1];
+                source.readFully(values[i]);
+            }
+        }
+
+        return new KafkaMessageWithHeaders(value, companyId, messageType, senderId, keys, values);
+    }
+
+    @Override
+    public KafkaMessageWithHeaders deserialize(KafkaMessageWithHeaders reuse, DataInputView source) throws IOException {
+        return deserialize(source);
+    }
+
+    @Override
+    public void copy(DataInputView source, DataOutputView target) throws IOException {
+        serialize(deserialize(source), target);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof KafkaMessageSerializer
+                && Arrays.equals(keyDictionary, ((KafkaMessageSerializer) obj).keyDictionary);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(keyDictionary);
+    }
+
+    @Override
+    public TypeSerializerSnapshot<KafkaMessageWithHeaders> snapshotConfiguration() {
+        return new KafkaMessageSerializerSnapshot(keyDictionary);
+    }
+
+    private int dictionaryCode(String key) {
+        for (int i = 0; i < keyDictionary.length; i++) {
+            if (keyDictionary[i].equals(key)) {
+                return i + 1;
+            }
+        }
+        return 0;
+    }
+
+    private static void writeString(DataOutputView target, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(target, bytes.length);
+        target.write(bytes);
+    }
+
+    private static String readString(DataInputView source) throws IOException {
+        byte[] bytes = new byte[readVarInt(source)];
+        source.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static void writeVarInt(DataOutputView target, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            target.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        target.writeByte(value);
+    }
+
+    static int readVarInt(DataInputView source) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = source.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("varint格式错误");
+    }
+
+    /**
+     * 序列化器快照
+     * 保存header名称字典，用于从Checkpoint/Savepoint恢复时判断兼容性
+     */
+    public static final class KafkaMessageSerializerSnapshot implements TypeSerializerSnapshot<KafkaMessageWithHeaders> {
+
+        private static final int VERSION = 1;
+
+        private String[] keyDictionary;
+
+        /**
+         * 从快照恢复时由Flink通过反射调用
+         */
+        public KafkaMessageSerializerSnapshot() {
+        }
+
+        KafkaMessageSerializerSnapshot(String[] keyDictionary) {
+            this.keyDictionary = keyDictionary;
+        }
+
+        @Override
+        public int getCurrentVersion() {
+            return VERSION;
+        }
+
+        @Override
+        public void writeSnapshot(DataOutputView out) throws IOException {
+            writeVarInt(out, keyDictionary.length);
+            for (String key : keyDictionary) {
+                writeString(out, key);
+            }
+        }
+
+        @Override
+        public void readSnapshot(int readVersion, DataInputView in, ClassLoader userCodeClassLoader) throws IOException {
+            if (readVersion != VERSION) {
+                throw new IOException("不支持的序列化器快照版本: " + readVersion);
+            }
+            String[] dictionary = new String[readVarInt(in)];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = readString(in);
+            }
+            this.keyDictionary = dictionary;
+        }
+
+        @Override
+        public TypeSerializer<KafkaMessageWithHeaders> restoreSerializer() {
+            return new KafkaMessageSerializer(keyDictionary);
+        }
+
+        @Override
+        public TypeSerializerSchemaCompatibility<KafkaMessageWithHeaders> resolveSchemaCompatibility(
+                TypeSerializer<KafkaMessageWithHeaders> newSerializer) {
+            if (!(newSerializer instanceof KafkaMessageSerializer)) {
+                return TypeSerializerSchemaCompatibility.incompatible();
+            }
+            String[] newDictionary = ((KafkaMessageSerializer) newSerializer).getKeyDictionary();
+            if (newDictionary.length >= keyDictionary.length
+                    && Arrays.equals(keyDictionary, Arrays.copyOf(newDictionary, keyDictionary.length))) {
+                // 新字典只在末尾追加了名称，旧数据中的编码含义不变
+                return TypeSerializerSchemaCompatibility.compatibleAsIs();
+            }
+            // 字典被调整过，用旧字典读取后再用新字典写入
+            return TypeSerializerSchemaCompatibility.compatibleAfterMigration();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.gzeport.cbec.flink.serializer;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInfoFactory;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * KafkaMessageWithHeaders类型信息
+ * 通过@TypeInfo注解注册到消息类上，使Flink在窗口状态和网络传输中使用KafkaMessageSerializer而非Kryo
+ */
+public class KafkaMessageTypeInfo extends TypeInformation<KafkaMessageWithHeaders> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public boolean isBasicType() {
+        return false;
+    }
+
+    @Override
+    public boolean isTupleType() {
+        return false;
+    }
+
+    @Override
+    public int getArity() {
+        return 1;
+    }
+
+    @Override
+    public int getTotalFields() {
+        return 1;
+    }
+
+    @Override
+    public Class<KafkaMessageWithHeaders> getTypeClass() {
+        return KafkaMessageWithHeaders.class;
+    }
+
+    @Override
+    public boolean isKeyType() {
+        return false;
+    }
+
+    @Override
+    public TypeSerializer<KafkaMessageWithHeaders> createSerializer(ExecutionConfig config) {
+        return new KafkaMessageSerializer();
+    }
+
+    @Override
+    public String toString() {
+        return "KafkaMessageTypeInfo";
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof KafkaMessageTypeInfo;
+    }
+
+    @Override
+    public int hashCode() {
+        return KafkaMessageTypeInfo.class.hashCode();
+    }
+
+    @Override
+    public boolean canEqual(Object obj) {
+        return obj instanceof KafkaMessageTypeInfo;
+    }
+
+    /**
+     * 类型信息工厂，供@TypeInfo注解使用
+     */
+    public static class Factory extends TypeInfoFactory<KafkaMessageWithHeaders> {
+        @Override
+        public TypeInformation<KafkaMessageWithHeaders> createTypeInfo(Type t, Map<String, TypeInformation<?>> genericParameters) {
+            return new KafkaMessageTypeInfo();
+        }
+    }
+}
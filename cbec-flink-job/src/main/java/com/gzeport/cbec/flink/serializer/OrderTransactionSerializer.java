@@ -0,0 +1,211 @@
+package com.gzeport.cbec.flink.serializer;
+
+import com.gzeport.cbec.flink.model.OrderTransaction;
+import com.gzeport.cbec.flink.sink.JdbcDocumentWriter;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSchemaCompatibility;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+import org.apache.flink.util.InstantiationUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 两阶段提交事务专用序列化器
+ * 替代Kryo通用序列化，单据按写库实现定义的格式只写入写库用到的列，格式如下：
+ * <pre>
+ * 事务ID | 单据数量(int) | { 单据 }* | 报文数量(int) | { 接收时间(long) }* | { 批次输出时间(long) }*
+ * </pre>
+ * 快照保存写库实现的类名，恢复时由同一写库实现读取
+ * @param <T> 单据实体类型
+ */
+public final class OrderTransactionSerializer<T> extends TypeSerializer<OrderTransaction<T>> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final JdbcDocumentWriter<T> writer;
+
+    /**
+     * @param writer 写库实现，只使用其单据序列化方法
+     */
+    public OrderTransactionSerializer(JdbcDocumentWriter<T> writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public boolean isImmutableType() {
+        return false;
+    }
+
+    @Override
+    public TypeSerializer<OrderTransaction<T>> duplicate() {
+        // 单据序列化方法无状态，可在多线程间共享
+        return this;
+    }
+
+    @Override
+    public OrderTransaction<T> createInstance() {
+        return new OrderTransaction<>();
+    }
+
+    @Override
+    public OrderTransaction<T> copy(OrderTransaction<T> from) {
+        // 单据为可变实体，经序列化深拷贝
+        try {
+            DataOutputSerializer out = new DataOutputSerializer(256);
+            serialize(from, out);
+            return deserialize(new DataInputDeserializer(out.getSharedBuffer(), 0, out.length()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("复制事务失败: " + from.getTransactionId(), e);
+        }
+    }
+
+    @Override
+    public OrderTransaction<T> copy(OrderTransaction<T> from, OrderTransaction<T> reuse) {
+        return copy(from);
+    }
+
+    @Override
+    public int getLength() {
+        return -1;
+    }
+
+    @Override
+    public void serialize(OrderTransaction<T> transaction, DataOutputView target) throws IOException {
+        StringValue.writeString(transaction.getTransactionId(), target);
+        List<T> documents = transaction.getDocuments();
+        target.writeInt(documents.size());
+        for (T document : documents) {
+            writer.serializeDocument(document, target);
+        }
+        // 时间数组预留了扩容空间，只写入已使用的部分
+        int messageCount = transaction.getMessageCount();
+        target.writeInt(messageCount);
+        for (int i = 0; i < messageCount; i++) {
+            target.writeLong(transaction.getIngestTime(i));
+        }
+        for (int i = 0; i < messageCount; i++) {
+            target.writeLong(transaction.getEmitTime(i));
+        }
+    }
+
+    @Override
+    public OrderTransaction<T> deserialize(DataInputView source) throws IOException {
+        OrderTransaction<T> transaction = new OrderTransaction<>(StringValue.readString(source));
+        int documentCount = source.readInt();
+        List<T> documents = new ArrayList<>(documentCount);
+        for (int i = 0; i < documentCount; i++) {
+            documents.add(writer.deserializeDocument(source));
+        }
+        transaction.setDocuments(documents);
+        int messageCount = source.readInt();
+        long[] ingestTimes = new long[messageCount];
+        for (int i = 0; i < messageCount; i++) {
+            ingestTimes[i] = source.readLong();
+        }
+        long[] emitTimes = new long[messageCount];
+        for (int i = 0; i < messageCount; i++) {
+            emitTimes[i] = source.readLong();
+        }
+        transaction.setMessageTimes(ingestTimes, emitTimes);
+        return transaction;
+    }
+
+    @Override
+    public OrderTransaction<T> deserialize(OrderTransaction<T> reuse, DataInputView source) throws IOException {
+        return deserialize(source);
+    }
+
+    @Override
+    public void copy(DataInputView source, DataOutputView target) throws IOException {
+        serialize(deserialize(source), target);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        return obj instanceof OrderTransactionSerializer
+                && writer.getClass() == ((OrderTransactionSerializer<?>) obj).writer.getClass();
+    }
+
+    @Override
+    public int hashCode() {
+        return writer.getClass().hashCode();
+    }
+
+    @Override
+    public TypeSerializerSnapshot<OrderTransaction<T>> snapshotConfiguration() {
+        return new OrderTransactionSerializerSnapshot<>(writer.getClass().getName());
+    }
+
+    /**
+     * 序列化器快照
+     * 保存写库实现类名，用于从Checkpoint/Savepoint恢复时判断兼容性
+     * @param <T> 单据实体类型
+     */
+    public static final class OrderTransactionSerializerSnapshot<T> implements TypeSerializerSnapshot<OrderTransaction<T>> {
+
+        private static final int VERSION = 1;
+
+        private String writerClassName;
+
+        private ClassLoader classLoader;
+
+        /**
+         * 从快照恢复时由Flink通过反射调用
+         */
+        public OrderTransactionSerializerSnapshot() {
+        }
+
+        OrderTransactionSerializerSnapshot(String writerClassName) {
+            this.writerClassName = writerClassName;
+            this.classLoader = Thread.currentThread().getContextClassLoader();
+        }
+
+        @Override
+        public int getCurrentVersion() {
+            return VERSION;
+        }
+
+        @Override
+        public void writeSnapshot(DataOutputView out) throws IOException {
+            out.writeUTF(writerClassName);
+        }
+
+        @Override
+        public void readSnapshot(int readVersion, DataInputView in, ClassLoader userCodeClassLoader) throws IOException {
+            if (readVersion != VERSION) {
+                throw new IOException("不支持的序列化器快照版本: " + readVersion);
+            }
+            this.writerClassName = in.readUTF();
+            this.classLoader = userCodeClassLoader;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public TypeSerializer<OrderTransaction<T>> restoreSerializer() {
+            try {
+                Class<?> writerClass = Class.forName(writerClassName, false, classLoader);
+                return new OrderTransactionSerializer<>((JdbcDocumentWriter<T>) InstantiationUtil.instantiate(writerClass));
+            } catch (ClassNotFoundException e) {
+                throw new IllegalStateException("写库实现不存在: " + writerClassName, e);
+            }
+        }
+
+        @Override
+        public TypeSerializerSchemaCompatibility<OrderTransaction<T>> resolveSchemaCompatibility(
+                TypeSerializer<OrderTransaction<T>> newSerializer) {
+            if (newSerializer instanceof OrderTransactionSerializer
+                    && ((OrderTransactionSerializer<?>) newSerializer).writer.getClass().getName().equals(writerClassName)) {
+                return TypeSerializerSchemaCompatibility.compatibleAsIs();
+            }
+            return TypeSerializerSchemaCompatibility.incompatible();
+        }
+    }
+}
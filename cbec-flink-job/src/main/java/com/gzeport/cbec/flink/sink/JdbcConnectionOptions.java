@@ -0,0 +1,190 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.flink.api.java.utils.ParameterTool;
+
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * 任务端数据库连接参数
+ * 由作业提交端写入全局作业参数，各TaskManager上的写库算子在open()中读取并创建自己的连接池，
+ * 不依赖Spring上下文，作业可部署到多节点Flink集群。
+ * 密码经TaskParameters写入时在Web UI和REST接口中显示为掩码；作业配置中不设置密码时，
+ * 由TaskManager从环境变量CBEC_JDBC_PASSWORD读取，密码不随作业提交
+ */
+public class JdbcConnectionOptions implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final String KEY_URL = "jdbc.url";
+
+    public static final String KEY_USERNAME = "jdbc.username";
+
+    public static final String KEY_PASSWORD = "jdbc.password";
+
+    public static final String KEY_DRIVER = "jdbc.driver";
+
+    /**
+     * 作业参数中没有密码时，TaskManager上读取密码的环境变量
+     */
+    public static final String ENV_PASSWORD = "CBEC_JDBC_PASSWORD";
+
+    /**
+     * 每个子任务的最大连接数，未配置时由写库算子按并发写库线程数确定
+     */
+    public static final String KEY_POOL_MAX_SIZE = "jdbc.pool.max-size";
+
+    public static final String KEY_CONNECTION_TIMEOUT_MS = "jdbc.pool.connection-timeout.ms";
+
+    private final String url;
+
+    private final String username;
+
+    private final String password;
+
+    private final String driverClassName;
+
+    private final int poolMaxSize;
+
+    private final long connectionTimeoutMs;
+
+    /**
+     * @param url JDBC连接地址
+     * @param username 用户名
+     * @param password 密码
+     * @param driverClassName 驱动类名，为空时由连接地址推断
+     * @param poolMaxSize 每个子任务的最大连接数，小于等于0时由写库算子确定
+     * @param connectionTimeoutMs 获取连接超时时间（毫秒）
+     */
+    public JdbcConnectionOptions(String url, String username, String password, String driverClassName,
+                                 int poolMaxSize, long connectionTimeoutMs) {
+        if (url == null || url.isEmpty()) {
+            throw new IllegalArgumentException("未配置数据库连接地址: " + KEY_URL);
+        }
+        this.url = url;
+        this.username = username;
+        this.password = password;
+        this.driverClassName = driverClassName;
+        this.poolMaxSize = poolMaxSize;
+        this.connectionTimeoutMs = connectionTimeoutMs;
+    }
+
+    /**
+     * 从作业参数读取连接参数，作业参数中没有密码或密码为空时读取当前TaskManager的环境变量
+     * @param parameters 作业参数
+     * @return 连接参数
+     */
+    public static JdbcConnectionOptions fromParameters(ParameterTool parameters) {
+        return fromParameters(parameters, System.getenv());
+    }
+
+    static JdbcConnectionOptions fromParameters(ParameterTool parameters, Map<String, String> environment) {
+        String password = parameters.get(KEY_PASSWORD);
+        if ((password == null || password.isEmpty()) && environment.containsKey(ENV_PASSWORD)) {
+            password = environment.get(ENV_PASSWORD);
+        }
+        return new JdbcConnectionOptions(
+                parameters.get(KEY_URL),
+                parameters.get(KEY_USERNAME),
+                password,
+                parameters.get(KEY_DRIVER),
+                parameters.getInt(KEY_POOL_MAX_SIZE, 0),
+                parameters.getLong(KEY_CONNECTION_TIMEOUT_MS, 30000));
+    }
+
+    /**
+     * 转换为作业参数
+     */
+    public Map<String, String> toParameters() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(KEY_URL, url);
+        putIfPresent(parameters, KEY_USERNAME, username);
+        putIfPresent(parameters, KEY_PASSWORD, password);
+        putIfPresent(parameters, KEY_DRIVER, driverClassName);
+        if (poolMaxSize > 0) {
+            parameters.put(KEY_POOL_MAX_SIZE, String.valueOf(poolMaxSize));
+        }
+        parameters.put(KEY_CONNECTION_TIMEOUT_MS, String.valueOf(connectionTimeoutMs));
+        return parameters;
+    }
+
+    /**
+     * 创建子任务独占的连接池
+     * @param poolName 连接池名称，用于日志区分子任务
+     * @param defaultMaxSize 未配置最大连接数时使用的连接数
+     * @return 连接池，写库算子关闭时需关闭
+     */
+    public HikariDataSource createDataSource(String poolName, int defaultMaxSize) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        if (driverClassName != null && !driverClassName.isEmpty()) {
+            config.setDriverClassName(driverClassName);
+        }
+        int maxSize = poolMaxSize > 0 ? poolMaxSize : defaultMaxSize;
+        config.setMaximumPoolSize(maxSize);
+        config.setMinimumIdle(maxSize);
+        config.setConnectionTimeout(connectionTimeoutMs);
+        // 写库时显式管理事务
+        config.setAutoCommit(false);
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * 打开单个连接，不经连接池
+     * 用于低频的读取（如企业备案增量读取），避免为每分钟一次的查询常驻空闲连接
+     * @return 自动提交的连接，调用方负责关闭
+     */
+    public Connection openConnection() throws SQLException {
+        if (driverClassName != null && !driverClassName.isEmpty()) {
+            try {
+                Class.forName(driverClassName);
+            } catch (ClassNotFoundException e) {
+                throw new SQLException("数据库驱动不存在: " + driverClassName, e);
+            }
+        }
+        Properties info = new Properties();
+        if (username != null) {
+            info.setProperty("user", username);
+        }
+        if (password != null) {
+            info.setProperty("password", password);
+        }
+        return DriverManager.getConnection(url, info);
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public String getDriverClassName() {
+        return driverClassName;
+    }
+
+    public int getPoolMaxSize() {
+        return poolMaxSize;
+    }
+
+    public long getConnectionTimeoutMs() {
+        return connectionTimeoutMs;
+    }
+
+    private static void putIfPresent(Map<String, String> parameters, String key, String value) {
+        if (value != null) {
+            parameters.put(key, value);
+        }
+    }
+}
@@ -0,0 +1,349 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.gzeport.cbec.ceb.CebSchemaValidator;
+import com.gzeport.cbec.data.jdbc.MultiRowUpsert;
+import com.gzeport.cbec.logging.HotPathLogger;
+import com.gzeport.cbec.service.BatchProcessStats;
+import com.gzeport.cbec.service.MessageBatchWriter;
+import com.gzeport.cbec.service.ParallelMessageParser;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.service.XmlParserService;
+import com.gzeport.cbec.validation.ValidationRuleEngine;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 不依赖Spring的单据批量写库
+ * 随写库算子序列化分发到各TaskManager，算子在open()中传入子任务独占的连接池；
+ * 解析和校验直接使用XmlParserService、ValidationService（二者无状态、无依赖），写库使用原生JDBC批量执行，
+ * 按单据ID唯一键幂等写入，SQL与参数绑定与服务端的JdbcRepository共用各单据的UpsertStatement。
+ * 写库前的解析和校验在子任务独占的有界ForkJoinPool中并行执行，线程数默认为TaskManager处理器数除以槽位数。
+ * 写入方式可选JDBC批量执行（batch，MySQL需在连接地址中开启rewriteBatchedStatements由驱动合并为多行语句）
+ * 或多行语句（multi-row，每条INSERT写入一块单据，不依赖驱动改写）。
+ * 两阶段提交时解析在写入事务之前完成，事务状态中只保存单据写库用到的列，序列化格式由各写库实现定义
+ * @param <T> 单据实体类型
+ */
+@Slf4j
+public abstract class JdbcDocumentWriter<T> implements MessageBatchWriter, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final HotPathLogger BATCH_LOG = HotPathLogger.getLogger(JdbcDocumentWriter.class, HotPathLogger.CATEGORY_BATCH);
+
+    /**
+     * 写入方式：JDBC批量执行单行语句
+     */
+    public static final String INSERT_MODE_BATCH = "batch";
+
+    /**
+     * 写入方式：多行语句
+     */
+    public static final String INSERT_MODE_MULTI_ROW = "multi-row";
+
+    /**
+     * 解析线程数，小于等于0时为TaskManager处理器数
+     */
+    private int parseParallelism;
+
+    private int parseThreshold = ParallelMessageParser.DEFAULT_THRESHOLD;
+
+    /**
+     * 校验规则文件，为空时使用内置规则
+     */
+    private String validationRulesFile;
+
+    private long validationRulesReloadIntervalMs;
+
+    /**
+     * 是否对CEB报文做XSD校验
+     */
+    private boolean schemaValidation;
+
+    /**
+     * 是否使用多行语句写入
+     */
+    private boolean multiRowInsert;
+
+    private transient DataSource dataSource;
+
+    private transient ParallelMessageParser parallelParser;
+
+    /**
+     * 共用解析线程池的共享名称，独占线程池时为null
+     */
+    private transient String sharedParserName;
+
+    private transient XmlParserService xmlParserService;
+
+    private transient ValidationService validationService;
+
+    /**
+     * 设置报文解析参数，在作业提交端调用
+     * @param parseParallelism 解析线程池的线程数，小于等于0时为TaskManager处理器数
+     * @param parseThreshold 并行解析的最小批次大小
+     */
+    public void setParseOptions(int parseParallelism, int parseThreshold) {
+        this.parseParallelism = parseParallelism;
+        this.parseThreshold = parseThreshold;
+    }
+
+    /**
+     * 设置校验规则，在作业提交端调用
+     * @param rulesFile TaskManager上的规则文件，为空时使用内置规则
+     * @param reloadIntervalMs 检查规则文件修改的间隔，同一TaskManager上的写库子任务共用一份规则
+     */
+    public void setValidationRules(String rulesFile, long reloadIntervalMs) {
+        this.validationRulesFile = rulesFile;
+        this.validationRulesReloadIntervalMs = reloadIntervalMs;
+    }
+
+    /**
+     * 设置是否对CEB报文做XSD校验，在作业提交端调用
+     */
+    public void setSchemaValidation(boolean schemaValidation) {
+        this.schemaValidation = schemaValidation;
+    }
+
+    /**
+     * 设置写入方式，在作业提交端调用
+     * @param insertMode batch或multi-row
+     */
+    public void setInsertMode(String insertMode) {
+        if (INSERT_MODE_BATCH.equalsIgnoreCase(insertMode)) {
+            this.multiRowInsert = false;
+        } else if (INSERT_MODE_MULTI_ROW.equalsIgnoreCase(insertMode)) {
+            this.multiRowInsert = true;
+        } else {
+            throw new IllegalArgumentException("未知的写入方式: " + insertMode);
+        }
+    }
+
+    /**
+     * 获取写入方式
+     */
+    public String getInsertMode() {
+        return multiRowInsert ? INSERT_MODE_MULTI_ROW : INSERT_MODE_BATCH;
+    }
+
+    /**
+     * 开启XSD校验时返回校验的报文类型，用于注册校验指标，否则返回null
+     */
+    public String getSchemaValidationRoot() {
+        return schemaValidation ? getMessageRoot() : null;
+    }
+
+    /**
+     * 使用连接池初始化，创建本写库实现独占的解析线程池
+     * @param dataSource 子任务独占的连接池
+     */
+    public void open(DataSource dataSource) {
+        open(dataSource, null);
+    }
+
+    /**
+     * 使用连接池初始化
+     * 同一TaskManager上同一作业的各槽位、各单据分支的写库子任务共用一个解析线程池，
+     * 解析线程总数不随槽位数和分支数增加
+     * @param dataSource 子任务独占的连接池
+     * @param jobId 作业ID，为null时创建独占的解析线程池
+     */
+    public void open(DataSource dataSource, String jobId) {
+        this.dataSource = dataSource;
+        this.xmlParserService = new XmlParserService(schemaValidation
+                ? new CebSchemaValidator(Collections.singleton(getMessageRoot())) : CebSchemaValidator.DISABLED);
+        this.validationService = new ValidationService(ValidationRuleEngine.shared(validationRulesFile, validationRulesReloadIntervalMs));
+        if (jobId != null) {
+            this.sharedParserName = "Parse-" + jobId;
+            this.parallelParser = ParallelMessageParser.acquire(sharedParserName, parseParallelism, parseThreshold);
+        } else {
+            int threads = parseParallelism > 0 ? parseParallelism : Runtime.getRuntime().availableProcessors();
+            this.parallelParser = new ParallelMessageParser(getClass().getSimpleName() + "-Parse", threads, parseThreshold);
+        }
+        log.info("{}写库解析线程数: {}，{}", getDocumentName(), parallelParser.getParallelism(),
+                sharedParserName != null ? "TaskManager内共用" : "独占");
+    }
+
+    /**
+     * 关闭解析线程池，连接池由创建方关闭
+     */
+    public void close() {
+        if (parallelParser != null) {
+            if (sharedParserName != null) {
+                ParallelMessageParser.release(sharedParserName);
+                sharedParserName = null;
+            } else {
+                parallelParser.close();
+            }
+            parallelParser = null;
+        }
+    }
+
+    /**
+     * 是否已初始化
+     */
+    public boolean isOpen() {
+        return dataSource != null;
+    }
+
+    /**
+     * 获取单据名称，用于日志和连接池命名
+     */
+    public abstract String getDocumentName();
+
+    /**
+     * 获取对应的CEB报文根元素名
+     */
+    public abstract String getMessageRoot();
+
+    /**
+     * 获取CEB报文中单据ID所在元素的本地名称（不含命名空间前缀），与生成解析器的映射一致，用于去重
+     */
+    public abstract String getMessageIdElement();
+
+    /**
+     * 解析单据报文
+     * @return 单据实体，解析失败时返回null
+     */
+    protected abstract T parse(XmlParserService parser, byte[] message);
+
+    /**
+     * 校验单据
+     */
+    protected abstract boolean validate(ValidationService validator, T document);
+
+    /**
+     * 获取按单据ID幂等写入的SQL
+     */
+    protected abstract String getUpsertSql();
+
+    /**
+     * 绑定写入参数
+     */
+    protected abstract void bind(PreparedStatement ps, T document, Timestamp now) throws SQLException;
+
+    /**
+     * 获取多行幂等写入
+     */
+    protected abstract MultiRowUpsert<T> getMultiRowUpsert();
+
+    /**
+     * 序列化单据写库用到的列，用于两阶段提交的事务状态
+     */
+    public abstract void serializeDocument(T document, DataOutputView target) throws IOException;
+
+    /**
+     * 反序列化serializeDocument写入的单据
+     */
+    public abstract T deserializeDocument(DataInputView source) throws IOException;
+
+    @Override
+    public boolean batchProcessMessages(List<byte[]> messages, BatchProcessStats stats) {
+        List<T> documents = parseMessages(messages, stats);
+        try {
+            write(documents, documents.size(), stats);
+            BATCH_LOG.info("批量处理{}报文完成，有效: {} 条，无效: {} 条", getDocumentName(), documents.size(), messages.size() - documents.size());
+            return true;
+        } catch (SQLException e) {
+            log.error("批量保存{}异常: {}", getDocumentName(), e.getMessage());
+            return false;
+        }
+    }
+
+    @Override
+    public int commitMessages(List<byte[]> messages, int batchSize, BatchProcessStats stats) {
+        List<T> documents = parseMessages(messages, stats);
+        int count = commitDocuments(documents, batchSize, stats);
+        BATCH_LOG.info("提交{}事务完成，写入: {} 条，无效: {} 条", getDocumentName(), count, messages.size() - documents.size());
+        return count;
+    }
+
+    /**
+     * 在一个事务中幂等提交已解析和校验的单据
+     * 用于两阶段提交Sink在Checkpoint完成后提交事务，写库失败时抛出异常
+     * @param documents 单据列表
+     * @param batchSize 每次JDBC批量执行的条数，多行写入时为每条语句的行数
+     * @param stats 批量处理统计，由实现填写写入行数和写库耗时
+     * @return 写入的单据数量
+     */
+    public int commitDocuments(List<T> documents, int batchSize, BatchProcessStats stats) {
+        try {
+            return write(documents, batchSize, stats);
+        } catch (SQLException e) {
+            // 提交失败时由Flink重启作业，恢复后重新提交同一事务
+            throw new RuntimeException("提交" + getDocumentName() + "事务失败: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 解析并校验报文，统计解析失败、校验不通过的数量和耗时，结果与报文顺序一致
+     * @param messages 报文原始字节列表
+     * @param stats 批量处理统计
+     * @return 解析成功且校验通过的单据
+     */
+    public List<T> parseMessages(List<byte[]> messages, BatchProcessStats stats) {
+        return parallelParser.parse(messages, message -> parse(xmlParserService, message),
+                document -> validate(validationService, document), stats);
+    }
+
+    /**
+     * 在一个数据库事务中批量幂等写入，失败时回滚
+     * @param batchSize 每次JDBC批量执行的条数，多行写入时为每条语句的行数
+     * @return 写入的单据数量
+     */
+    private int write(List<T> documents, int batchSize, BatchProcessStats stats) throws SQLException {
+        if (documents.isEmpty()) {
+            return 0;
+        }
+        if (dataSource == null) {
+            throw new IllegalStateException(getDocumentName() + "写库尚未初始化连接池");
+        }
+        long start = System.nanoTime();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                if (multiRowInsert) {
+                    getMultiRowUpsert().upsert(connection, documents, batchSize, now);
+                } else {
+                    executeBatch(connection, documents, batchSize, now);
+                }
+                connection.commit();
+            } catch (SQLException | RuntimeException e) {
+                connection.rollback();
+                throw e;
+            }
+        }
+        stats.addWriteTimeNanos(System.nanoTime() - start);
+        stats.setRowsPersisted(documents.size());
+        return documents.size();
+    }
+
+    private void executeBatch(Connection connection, List<T> documents, int batchSize, Timestamp now) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(getUpsertSql())) {
+            int pending = 0;
+            for (T document : documents) {
+                bind(ps, document, now);
+                ps.addBatch();
+                if (++pending >= batchSize) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.gzeport.cbec.ceb.Ceb311OrderParser;
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.jdbc.MultiRowUpsert;
+import com.gzeport.cbec.data.jdbc.OrderUpsertStatement;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.service.XmlParserService;
+import org.apache.flink.api.common.typeutils.base.BigDecSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 订单JDBC写库，按order_id唯一键幂等写入cbec_order
+ */
+public class OrderJdbcWriter extends JdbcDocumentWriter<Order> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getDocumentName() {
+        return "订单";
+    }
+
+    @Override
+    public String getMessageRoot() {
+        return Ceb311OrderParser.ROOT;
+    }
+
+    @Override
+    public String getMessageIdElement() {
+        return "orderNo";
+    }
+
+    @Override
+    protected Order parse(XmlParserService parser, byte[] message) {
+        return parser.parseOrderXml(message);
+    }
+
+    @Override
+    protected boolean validate(ValidationService validator, Order order) {
+        return validator.validateOrder(order);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return OrderUpsertStatement.SQL;
+    }
+
+    @Override
+    protected void bind(PreparedStatement ps, Order order, Timestamp now) throws SQLException {
+        OrderUpsertStatement.bind(ps, order, now);
+    }
+
+    @Override
+    protected MultiRowUpsert<Order> getMultiRowUpsert() {
+        return OrderUpsertStatement.MULTI_ROW;
+    }
+
+    @Override
+    public void serializeDocument(Order order, DataOutputView target) throws IOException {
+        StringValue.writeString(order.getOrderId(), target);
+        StringValue.writeString(order.getCompanyId(), target);
+        StringValue.writeString(order.getCustomerName(), target);
+        BigDecSerializer.INSTANCE.serialize(order.getTotalAmount(), target);
+        StringValue.writeString(order.getOrderStatus(), target);
+    }
+
+    @Override
+    public Order deserializeDocument(DataInputView source) throws IOException {
+        Order order = new Order();
+        order.setOrderId(StringValue.readString(source));
+        order.setCompanyId(StringValue.readString(source));
+        order.setCustomerName(StringValue.readString(source));
+        order.setTotalAmount(BigDecSerializer.INSTANCE.deserialize(source));
+        order.setOrderStatus(StringValue.readString(source));
+        return order;
+    }
+}
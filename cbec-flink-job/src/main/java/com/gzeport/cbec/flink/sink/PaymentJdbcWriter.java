@@ -0,0 +1,89 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.gzeport.cbec.ceb.Ceb411PaymentParser;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.data.jdbc.MultiRowUpsert;
+import com.gzeport.cbec.data.jdbc.PaymentUpsertStatement;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.service.XmlParserService;
+import org.apache.flink.api.common.typeutils.base.BigDecSerializer;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 支付单JDBC写库，按payment_id唯一键幂等写入cbec_payment
+ */
+public class PaymentJdbcWriter extends JdbcDocumentWriter<Payment> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getDocumentName() {
+        return "支付单";
+    }
+
+    @Override
+    public String getMessageRoot() {
+        return Ceb411PaymentParser.ROOT;
+    }
+
+    @Override
+    public String getMessageIdElement() {
+        return "guid";
+    }
+
+    @Override
+    protected Payment parse(XmlParserService parser, byte[] message) {
+        return parser.parsePaymentXml(message);
+    }
+
+    @Override
+    protected boolean validate(ValidationService validator, Payment payment) {
+        return validator.validatePayment(payment);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return PaymentUpsertStatement.SQL;
+    }
+
+    @Override
+    protected void bind(PreparedStatement ps, Payment payment, Timestamp now) throws SQLException {
+        PaymentUpsertStatement.bind(ps, payment, now);
+    }
+
+    @Override
+    protected MultiRowUpsert<Payment> getMultiRowUpsert() {
+        return PaymentUpsertStatement.MULTI_ROW;
+    }
+
+    @Override
+    public void serializeDocument(Payment payment, DataOutputView target) throws IOException {
+        StringValue.writeString(payment.getPaymentId(), target);
+        StringValue.writeString(payment.getOrderId(), target);
+        StringValue.writeString(payment.getCompanyId(), target);
+        BigDecSerializer.INSTANCE.serialize(payment.getPaymentAmount(), target);
+        StringValue.writeString(payment.getPaymentMethod(), target);
+        StringValue.writeString(payment.getPaymentStatus(), target);
+        StringValue.writeString(payment.getTransactionId(), target);
+    }
+
+    @Override
+    public Payment deserializeDocument(DataInputView source) throws IOException {
+        Payment payment = new Payment();
+        payment.setPaymentId(StringValue.readString(source));
+        payment.setOrderId(StringValue.readString(source));
+        payment.setCompanyId(StringValue.readString(source));
+        payment.setPaymentAmount(BigDecSerializer.INSTANCE.deserialize(source));
+        payment.setPaymentMethod(StringValue.readString(source));
+        payment.setPaymentStatus(StringValue.readString(source));
+        payment.setTransactionId(StringValue.readString(source));
+        return payment;
+    }
+}
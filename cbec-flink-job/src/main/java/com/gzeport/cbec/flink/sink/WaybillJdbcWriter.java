@@ -0,0 +1,86 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.gzeport.cbec.ceb.Ceb511WaybillParser;
+import com.gzeport.cbec.data.entity.Waybill;
+import com.gzeport.cbec.data.jdbc.MultiRowUpsert;
+import com.gzeport.cbec.data.jdbc.WaybillUpsertStatement;
+import com.gzeport.cbec.service.ValidationService;
+import com.gzeport.cbec.service.XmlParserService;
+import org.apache.flink.core.memory.DataInputView;
+import org.apache.flink.core.memory.DataOutputView;
+import org.apache.flink.types.StringValue;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+
+/**
+ * 运单JDBC写库，按waybill_id唯一键幂等写入cbec_waybill
+ */
+public class WaybillJdbcWriter extends JdbcDocumentWriter<Waybill> {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    public String getDocumentName() {
+        return "运单";
+    }
+
+    @Override
+    public String getMessageRoot() {
+        return Ceb511WaybillParser.ROOT;
+    }
+
+    @Override
+    public String getMessageIdElement() {
+        return "logisticsNo";
+    }
+
+    @Override
+    protected Waybill parse(XmlParserService parser, byte[] message) {
+        return parser.parseWaybillXml(message);
+    }
+
+    @Override
+    protected boolean validate(ValidationService validator, Waybill waybill) {
+        return validator.validateWaybill(waybill);
+    }
+
+    @Override
+    protected String getUpsertSql() {
+        return WaybillUpsertStatement.SQL;
+    }
+
+    @Override
+    protected void bind(PreparedStatement ps, Waybill waybill, Timestamp now) throws SQLException {
+        WaybillUpsertStatement.bind(ps, waybill, now);
+    }
+
+    @Override
+    protected MultiRowUpsert<Waybill> getMultiRowUpsert() {
+        return WaybillUpsertStatement.MULTI_ROW;
+    }
+
+    @Override
+    public void serializeDocument(Waybill waybill, DataOutputView target) throws IOException {
+        StringValue.writeString(waybill.getWaybillId(), target);
+        StringValue.writeString(waybill.getOrderId(), target);
+        StringValue.writeString(waybill.getCompanyId(), target);
+        StringValue.writeString(waybill.getCarrier(), target);
+        StringValue.writeString(waybill.getTrackingNumber(), target);
+        StringValue.writeString(waybill.getWaybillStatus(), target);
+    }
+
+    @Override
+    public Waybill deserializeDocument(DataInputView source) throws IOException {
+        Waybill waybill = new Waybill();
+        waybill.setWaybillId(StringValue.readString(source));
+        waybill.setOrderId(StringValue.readString(source));
+        waybill.setCompanyId(StringValue.readString(source));
+        waybill.setCarrier(StringValue.readString(source));
+        waybill.setTrackingNumber(StringValue.readString(source));
+        waybill.setWaybillStatus(StringValue.readString(source));
+        return waybill;
+    }
+}
@@ -0,0 +1,80 @@
+package com.gzeport.cbec.flink;
+
+import com.gzeport.cbec.flink.config.FlinkConfig;
+import org.apache.flink.api.java.utils.ParameterTool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Flink作业入口测试类
+ */
+public class CbecFlinkJobTest {
+
+    @Test
+    public void testLoadParameters_DefaultConfig() throws Exception {
+        FlinkConfig config = FlinkConfig.fromParameters(CbecFlinkJob.loadParameters(new String[0]));
+
+        assertEquals(4, config.getParallelism());
+        assertEquals("cbec_topic_order", config.getKafkaTopicOrderName());
+        assertEquals(100, config.getBatchSize());
+        assertNotNull(config.getSinkJdbcUrl());
+        assertEquals("0.001", config.getHotPathLogProperties().get("logging.hot-path.message.sample-rate"));
+        assertTrue(config.isParallelismAuto());
+        assertEquals(2, config.getKafkaTopicOrderPartitions());
+        assertEquals(60000L, config.getSourcePartitionDiscoveryIntervalMs());
+    }
+
+    @Test
+    public void testLoadParameters_ConfigFileAndArgumentsOverride(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("job.properties");
+        Files.write(file, ("flink.parallelism=8\nkafka.topic.order.name=external_topic\n").getBytes(StandardCharsets.UTF_8));
+
+        ParameterTool parameters = CbecFlinkJob.loadParameters(new String[]{
+                "--config", file.toString(), "--flink.parallelism", "16"});
+        FlinkConfig config = FlinkConfig.fromParameters(parameters);
+
+        // 命令行参数优先于配置文件，配置文件优先于默认配置
+        assertEquals(16, config.getParallelism());
+        assertEquals("external_topic", config.getKafkaTopicOrderName());
+        assertEquals("exactly-once", config.getSinkMode());
+    }
+
+    @Test
+    public void testFromParameters_BranchDefaultsAndRequiredKeys() {
+        Map<String, String> values = new HashMap<>();
+        values.put("flink.parallelism", "6");
+        values.put("flink.checkpoint.interval", "60000");
+        values.put("flink.checkpoint.timeout", "120000");
+        values.put("flink.state.backend", "hashmap");
+        values.put("flink.state.checkpoints.dir", "file:///tmp/flink/checkpoints");
+        values.put("flink.batch.size", "200");
+        values.put("kafka.bootstrap.servers", "localhost:9092");
+        values.put("kafka.topic.order.name", "order-topic");
+        values.put("kafka.consumer.group.id", "order-group");
+
+        FlinkConfig config = FlinkConfig.fromParameters(ParameterTool.fromMap(values));
+
+        // 支付单、运单分支未配置时沿用全局批处理大小和并行度
+        assertEquals(200, config.getPaymentBatchSize());
+        assertEquals(6, config.getShipmentParallelism());
+        assertEquals(200, config.getBatchSize());
+        assertTrue(config.getHotPathLogProperties().isEmpty());
+        assertEquals(6, config.getKafkaTopicOrderPartitions());
+
+        // 按主题分区数调整全局并行度后，未单独配置的分支并行度随之调整
+        config.setParallelism(3);
+        assertEquals(3, config.getPaymentParallelism());
+        assertEquals(3, config.getShipmentParallelism());
+
+        assertThrows(RuntimeException.class, () -> FlinkConfig.fromParameters(ParameterTool.fromMap(Collections.emptyMap())));
+    }
+}
@@ -0,0 +1,42 @@
+package com.gzeport.cbec.flink.config;
+
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.functions.RuntimeContext;
+import org.apache.flink.util.InstantiationUtil;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 任务端作业参数测试类
+ */
+public class TaskParametersTest {
+
+    @Test
+    public void testCreate_MasksPasswordForDisplay() throws Exception {
+        Map<String, String> parameters = new JdbcConnectionOptions("jdbc:h2:mem:test", "sa", "secret", "org.h2.Driver", 0, 5000)
+                .toParameters();
+
+        ExecutionConfig executionConfig = new ExecutionConfig();
+        executionConfig.setGlobalJobParameters(TaskParameters.create(parameters));
+        // 模拟提交到集群：执行配置经序列化后分发到TaskManager
+        executionConfig = InstantiationUtil.clone(executionConfig);
+
+        // Web UI和REST接口经toMap()展示
+        Map<String, String> displayed = executionConfig.getGlobalJobParameters().toMap();
+        assertEquals(TaskParameters.MASKED_VALUE, displayed.get(JdbcConnectionOptions.KEY_PASSWORD));
+        assertEquals("jdbc:h2:mem:test", displayed.get(JdbcConnectionOptions.KEY_URL));
+        assertFalse(displayed.containsValue("secret"));
+
+        // 算子读取原值
+        RuntimeContext context = mock(RuntimeContext.class);
+        when(context.getExecutionConfig()).thenReturn(executionConfig);
+        assertEquals("secret", TaskParameters.of(context).get(JdbcConnectionOptions.KEY_PASSWORD));
+        assertEquals("sa", TaskParameters.of(context).get(JdbcConnectionOptions.KEY_USERNAME));
+    }
+}
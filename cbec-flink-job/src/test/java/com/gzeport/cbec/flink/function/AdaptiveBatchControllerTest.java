@@ -0,0 +1,100 @@
+package com.gzeport.cbec.flink.function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 自适应批处理控制器测试类
+ */
+public class AdaptiveBatchControllerTest {
+
+    @Test
+    public void testInitialValuesClamped() {
+        AdaptiveBatchController controller = controller(5000, 10);
+        assertEquals(1000, controller.getBatchSize());
+        assertEquals(200, controller.getTimeoutMs());
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveBatchController("invalid", 100, 1000, 100, 10, 200, 5000, 500, 10000));
+    }
+
+    @Test
+    public void testShrinkWhenP99AboveTarget() {
+        AdaptiveBatchController controller = controller(100, 1000);
+        feed(controller, 800, 1000L);
+        assertEquals(75, controller.getBatchSize());
+        assertEquals(800, controller.getWriteP99Ms());
+
+        // 持续超标时逐步缩小，不低于下限
+        for (int round = 2; round < 20; round++) {
+            feed(controller, 800, round * 1000L);
+        }
+        assertEquals(20, controller.getBatchSize());
+    }
+
+    @Test
+    public void testGrowWhenBacklogged() {
+        AdaptiveBatchController controller = controller(100, 1000);
+        for (int i = 0; i < 100; i++) {
+            controller.recordLag(60000);
+        }
+        feed(controller, 100, 1000L);
+        assertEquals(125, controller.getBatchSize());
+        assertEquals(1500, controller.getTimeoutMs());
+
+        // 写库满载同样视为积压，持续积压时逐步增大，不超过上限
+        for (int round = 2; round < 40; round++) {
+            controller.recordSaturated();
+            feed(controller, 100, round * 1000L);
+        }
+        assertEquals(1000, controller.getBatchSize());
+        assertEquals(5000, controller.getTimeoutMs());
+    }
+
+    @Test
+    public void testShortenTimeoutWhenIdle() {
+        AdaptiveBatchController controller = controller(100, 1000);
+        feed(controller, 100, 1000L);
+        assertEquals(100, controller.getBatchSize());
+        assertEquals(750, controller.getTimeoutMs());
+
+        // 样本不足或距上次调整不足1秒时不调整
+        controller.recordWrite(100, 1500L);
+        assertEquals(750, controller.getTimeoutMs());
+    }
+
+    @Test
+    public void testSharedPerJob() {
+        // 同一TaskManager上两个作业（或同一作业的两次提交）的同名分支各自调整
+        AdaptiveBatchController first = controller(100, 1000).acquire("job-1");
+        AdaptiveBatchController second = controller(100, 1000).acquire("job-2");
+        assertNotSame(first, second);
+        feed(first, 800, 1000L);
+        assertEquals(75, first.getBatchSize());
+        assertEquals(100, second.getBatchSize());
+
+        // 同一作业的其他子任务和触发器取得同一实例
+        AdaptiveBatchController subtask = controller(100, 1000);
+        assertSame(first, subtask.acquire("job-1"));
+        assertSame(first, subtask.shared("job-1"));
+
+        // 最后一个引用释放后移除，再次提交的作业从初始值开始
+        subtask.release("job-1");
+        subtask.release("job-1");
+        AdaptiveBatchController restarted = controller(100, 1000).acquire("job-1");
+        assertNotSame(first, restarted);
+        assertEquals(100, restarted.getBatchSize());
+        restarted.release("job-1");
+        second.release("job-2");
+    }
+
+    private AdaptiveBatchController controller(int initialSize, long initialTimeoutMs) {
+        return new AdaptiveBatchController("test", initialSize, initialTimeoutMs, 20, 1000, 200, 5000, 500, 10000);
+    }
+
+    private void feed(AdaptiveBatchController controller, long latencyMs, long now) {
+        for (int i = 0; i < 16; i++) {
+            controller.recordWrite(latencyMs, now);
+        }
+    }
+}
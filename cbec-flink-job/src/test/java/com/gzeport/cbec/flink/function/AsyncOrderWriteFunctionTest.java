@@ -0,0 +1,181 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.config.TaskParameters;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import com.gzeport.cbec.flink.sink.OrderJdbcWriter;
+import com.gzeport.cbec.service.BatchProcessStats;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.streaming.api.datastream.AsyncDataStream;
+import org.apache.flink.streaming.api.operators.async.AsyncWaitOperatorFactory;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.runtime.tasks.mailbox.Mail;
+import org.apache.flink.streaming.runtime.tasks.mailbox.TaskMailbox;
+import org.apache.flink.streaming.util.OneInputStreamOperatorTestHarness;
+import org.apache.flink.util.ExceptionUtils;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 异步写库函数测试类 - 在AsyncWaitOperator测试工具中运行，写库实现替换为记录调用的实现，不访问数据库表
+ */
+public class AsyncOrderWriteFunctionTest {
+
+    private static final String URL = "jdbc:h2:mem:asyncwriter;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final long TIMEOUT_MS = 10_000;
+
+    @Test
+    public void testOrderKeptWithinShard() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        try (OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness = harness(new AsyncOrderWriteFunction(writer, 3, 3, 1))) {
+            // 8个分片交替到达，共分到3条写库通道，各批次写入耗时随机
+            synchronized (harness.getCheckpointLock()) {
+                for (int seq = 0; seq < 20; seq++) {
+                    for (int shard = 0; shard < 8; shard++) {
+                        harness.processElement(new StreamRecord<>(batch(shard, seq), 0));
+                    }
+                }
+                harness.endInput();
+            }
+
+            assertEquals(160, harness.extractOutputValues().size());
+            assertEquals(8, writer.written.size());
+            for (List<Integer> sequence : writer.written.values()) {
+                List<Integer> expected = new ArrayList<>();
+                for (int seq = 0; seq < 20; seq++) {
+                    expected.add(seq);
+                }
+                assertEquals(expected, sequence);
+            }
+        }
+    }
+
+    @Test
+    public void testRetriesExhausted_FailsTask() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        writer.failing = true;
+        try (OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness = harness(new AsyncOrderWriteFunction(writer, 2, 3, 1))) {
+            synchronized (harness.getCheckpointLock()) {
+                harness.processElement(new StreamRecord<>(batch(5, 0), 0));
+            }
+
+            Throwable failure = awaitFailure(harness);
+            // 在同一通道内重试3次后失败，由Flink重启策略从Checkpoint恢复
+            assertEquals(3, writer.attempts.get());
+            assertTrue(ExceptionUtils.findThrowableWithMessage(failure, "已重试3次").isPresent());
+            assertTrue(ExceptionUtils.findThrowableWithMessage(failure, "PAYMENT").isPresent());
+            assertTrue(harness.extractOutputValues().isEmpty());
+        }
+    }
+
+    @Test
+    public void testTimeout_FailsTask() throws Exception {
+        RecordingWriter writer = new RecordingWriter();
+        writer.blocked = new CountDownLatch(1);
+        try (OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness = harness(new AsyncOrderWriteFunction(writer, 2, 3, 1))) {
+            harness.setProcessingTime(0);
+            synchronized (harness.getCheckpointLock()) {
+                harness.processElement(new StreamRecord<>(batch(1, 0), 0));
+            }
+            synchronized (harness.getCheckpointLock()) {
+                harness.setProcessingTime(TIMEOUT_MS);
+            }
+
+            Throwable failure = awaitFailure(harness);
+            assertTrue(ExceptionUtils.findThrowable(failure, TimeoutException.class).isPresent());
+            assertTrue(harness.extractOutputValues().isEmpty());
+            // 超时不中断写库线程，释放后通道可关闭
+            writer.blocked.countDown();
+        }
+    }
+
+    private static OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness(AsyncOrderWriteFunction function) throws Exception {
+        // 与OrderProcessor.attachSink相同使用有序输出；容量大于写库通道数，同一通道内有多个批次排队
+        OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness = new OneInputStreamOperatorTestHarness<>(
+                new AsyncWaitOperatorFactory<>(function, TIMEOUT_MS, 16, AsyncDataStream.OutputMode.ORDERED),
+                TypeInformation.of(OrderBatch.class).createSerializer(new ExecutionConfig()));
+        harness.getExecutionConfig().setGlobalJobParameters(TaskParameters.create(
+                new JdbcConnectionOptions(URL, "sa", "", "org.h2.Driver", 0, 5000).toParameters()));
+        // 批次失败时算子标记任务失败，由测试检查失败原因
+        harness.getEnvironment().setExpectedExternalFailureCause(Throwable.class);
+        harness.open();
+        return harness;
+    }
+
+    /**
+     * 在测试线程中处理邮箱中的完成回调，直到任务因批次失败被标记为失败
+     */
+    private static Throwable awaitFailure(OneInputStreamOperatorTestHarness<OrderBatch, Integer> harness) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!harness.getEnvironment().getActualExternalFailureCause().isPresent()) {
+            assertTrue(System.nanoTime() < deadline, "批次失败未上报");
+            Optional<Mail> mail = harness.getTaskMailbox().tryTake(TaskMailbox.MIN_PRIORITY);
+            if (mail.isPresent()) {
+                synchronized (harness.getCheckpointLock()) {
+                    mail.get().run();
+                }
+            } else {
+                Thread.sleep(5);
+            }
+        }
+        return harness.getEnvironment().getActualExternalFailureCause().get();
+    }
+
+    private static OrderBatch batch(int shard, int seq) {
+        byte[] message = (shard + ":" + seq).getBytes(StandardCharsets.UTF_8);
+        return new OrderBatch(shard, "PAYMENT", Collections.singletonList(message), new long[]{-1L}, 0L);
+    }
+
+    /**
+     * 按分片记录写入顺序的写库实现
+     */
+    private static class RecordingWriter extends OrderJdbcWriter {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Map<Integer, List<Integer>> written = new ConcurrentHashMap<>();
+
+        private final AtomicInteger attempts = new AtomicInteger();
+
+        private volatile boolean failing;
+
+        private volatile CountDownLatch blocked;
+
+        @Override
+        public boolean batchProcessMessages(List<byte[]> messages, BatchProcessStats stats) {
+            attempts.incrementAndGet();
+            try {
+                if (blocked != null) {
+                    blocked.await();
+                }
+                Thread.sleep(ThreadLocalRandom.current().nextInt(3));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+            if (failing) {
+                return false;
+            }
+            String[] message = new String(messages.get(0), StandardCharsets.UTF_8).split(":");
+            written.computeIfAbsent(Integer.parseInt(message[0]), shard -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(Integer.parseInt(message[1]));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.runtime.state.KeyGroupRangeAssignment;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 企业分片键选择器测试类
+ */
+public class CompanyShardKeySelectorTest {
+
+    private static final int PARALLELISM = 4;
+
+    private static final int MAX_PARALLELISM = 128;
+
+    @Test
+    public void testShardKeysCoverAllSubtasks() {
+        CompanyShardKeySelector selector = new CompanyShardKeySelector(PARALLELISM, PARALLELISM, MAX_PARALLELISM);
+
+        // 每个分片都应落在不同的子任务上
+        Set<Integer> subtasks = new HashSet<>();
+        for (int i = 0; i < 1000; i++) {
+            Integer key = selector.getKey(message("COMP" + String.format("%06d", i)));
+            subtasks.add(KeyGroupRangeAssignment.assignKeyToParallelOperator(key, MAX_PARALLELISM, PARALLELISM));
+        }
+        assertEquals(PARALLELISM, subtasks.size());
+    }
+
+    @Test
+    public void testSameCompanyAlwaysSameKey() {
+        CompanyShardKeySelector selector = CompanyShardKeySelector.of("company", 16, PARALLELISM, MAX_PARALLELISM);
+        assertEquals(16, selector.getShardCount());
+        assertEquals(selector.getKey(message("COMP000001")), selector.getKey(message("COMP000001")));
+        // 缺少CompanyId的消息归入固定分片，不抛出异常
+        assertNotNull(selector.getKey(message(null)));
+    }
+
+    @Test
+    public void testFixedModeUsesSingleKey() {
+        CompanyShardKeySelector selector = CompanyShardKeySelector.of("fixed", 16, PARALLELISM, MAX_PARALLELISM);
+        assertEquals(1, selector.getShardCount());
+        assertEquals(selector.getKey(message("COMP000001")), selector.getKey(message("COMP000999")));
+    }
+
+    @Test
+    public void testUnknownModeRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> CompanyShardKeySelector.of("random", 0, PARALLELISM, MAX_PARALLELISM));
+    }
+
+    @Test
+    public void testLoadBalance_FixedVsCompany() {
+        // 模拟大促流量：100000条消息来自1000家企业，与OrderControllerTest的数据分布一致
+        int total = 100000;
+        long[] fixedLoad = route(CompanyShardKeySelector.of("fixed", 0, PARALLELISM, MAX_PARALLELISM), total);
+        long[] shardedLoad = route(CompanyShardKeySelector.of("company", PARALLELISM * 4, PARALLELISM, MAX_PARALLELISM), total);
+
+        // 各子任务处理能力相同时，作业吞吐受负载最重的子任务限制
+        double fixedSpeedup = total / (double) max(fixedLoad);
+        double shardedSpeedup = total / (double) max(shardedLoad);
+        assertEquals(total, max(fixedLoad));
+        // 分片后最重子任务的负载不超过理想均值的125%
+        assertTrue(max(shardedLoad) <= total / PARALLELISM * 1.25, "分片负载不均衡");
+        assertTrue(shardedSpeedup > fixedSpeedup * 3);
+    }
+
+    private long[] route(CompanyShardKeySelector selector, int total) {
+        long[] load = new long[PARALLELISM];
+        Map<String, KafkaMessageWithHeaders> messages = new HashMap<>();
+        for (int i = 1; i <= total; i++) {
+            String companyId = "COMP" + String.format("%06d", (i % 1000) + 1);
+            KafkaMessageWithHeaders message = messages.computeIfAbsent(companyId, this::message);
+            Integer key = selector.getKey(message);
+            load[KeyGroupRangeAssignment.assignKeyToParallelOperator(key, MAX_PARALLELISM, PARALLELISM)]++;
+        }
+        return load;
+    }
+
+    private long max(long[] values) {
+        long max = 0;
+        for (long value : values) {
+            max = Math.max(max, value);
+        }
+        return max;
+    }
+
+    private KafkaMessageWithHeaders message(String companyId) {
+        Map<String, String> headers = new HashMap<>();
+        if (companyId != null) {
+            headers.put("CompanyId", companyId);
+        }
+        headers.put("MessageType", "ORDER");
+        headers.put("SenderId", "SENDER001");
+        return new KafkaMessageWithHeaders("<order/>", headers);
+    }
+}
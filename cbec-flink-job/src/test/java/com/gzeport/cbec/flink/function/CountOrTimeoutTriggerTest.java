@@ -0,0 +1,181 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.OrderBatch;
+import org.apache.flink.api.common.JobID;
+import org.apache.flink.api.common.state.StateDescriptor;
+import org.apache.flink.api.common.state.ValueState;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.api.java.functions.KeySelector;
+import org.apache.flink.runtime.clusterframework.types.ResourceID;
+import org.apache.flink.runtime.executiongraph.ExecutionAttemptID;
+import org.apache.flink.runtime.metrics.NoOpMetricRegistry;
+import org.apache.flink.runtime.metrics.groups.TaskManagerMetricGroup;
+import org.apache.flink.runtime.metrics.groups.TaskMetricGroup;
+import org.apache.flink.runtime.operators.testutils.MockEnvironment;
+import org.apache.flink.runtime.operators.testutils.MockEnvironmentBuilder;
+import org.apache.flink.streaming.api.datastream.DataStream;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.transformations.OneInputTransformation;
+import org.apache.flink.streaming.api.windowing.assigners.GlobalWindows;
+import org.apache.flink.streaming.api.windowing.triggers.Trigger;
+import org.apache.flink.streaming.api.windowing.triggers.TriggerResult;
+import org.apache.flink.streaming.api.windowing.windows.GlobalWindow;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.KeyedOneInputStreamOperatorTestHarness;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 按数量或超时触发的批处理触发器测试类 - 在窗口算子测试工具中与批处理函数一起运行
+ */
+public class CountOrTimeoutTriggerTest {
+
+    private static final KeySelector<KafkaMessageWithHeaders, Integer> SHARD = message -> 1;
+
+    @Test
+    public void testFireOnCount() throws Exception {
+        try (KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness =
+                     harness(CountOrTimeoutTrigger.of(3, 1000), new OrderProcessFunction(3))) {
+            harness.setProcessingTime(0);
+            harness.processElement(record(1));
+            harness.processElement(record(2));
+            assertTrue(batches(harness).isEmpty());
+            assertEquals(1, harness.numProcessingTimeTimers());
+
+            harness.processElement(record(3));
+            assertEquals(Collections.singletonList(3), batchSizes(harness));
+            // 按数量触发后删除本批次的超时定时器
+            assertEquals(0, harness.numProcessingTimeTimers());
+            harness.setProcessingTime(1000);
+            assertEquals(1, batches(harness).size());
+        }
+    }
+
+    @Test
+    public void testFireOnTimeout() throws Exception {
+        try (KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness =
+                     harness(CountOrTimeoutTrigger.of(100, 1000), new OrderProcessFunction(100))) {
+            harness.setProcessingTime(0);
+            harness.processElement(record(1));
+            harness.setProcessingTime(500);
+            // 超时从批次第一条数据开始计算，后到的数据不延长等待时间
+            harness.processElement(record(2));
+            harness.setProcessingTime(999);
+            assertTrue(batches(harness).isEmpty());
+
+            harness.setProcessingTime(1000);
+            assertEquals(Collections.singletonList(2), batchSizes(harness));
+            assertEquals(0, harness.numProcessingTimeTimers());
+
+            // 下一批次重新计时
+            harness.processElement(record(3));
+            harness.setProcessingTime(1999);
+            assertEquals(1, batches(harness).size());
+            harness.setProcessingTime(2000);
+            assertEquals(2, batches(harness).size());
+        }
+    }
+
+    @Test
+    public void testStaleTimerIgnored() throws Exception {
+        CountOrTimeoutTrigger<KafkaMessageWithHeaders> trigger = CountOrTimeoutTrigger.of(3, 1000);
+        ValueState<Long> timerState = mock(ValueState.class);
+        Trigger.TriggerContext ctx = mock(Trigger.TriggerContext.class);
+        when(ctx.getPartitionedState(any(StateDescriptor.class))).thenReturn(timerState);
+
+        // 已按数量触发、未能删除的定时器：批次已清空或当前批次的定时时间不同
+        assertEquals(TriggerResult.CONTINUE, trigger.onProcessingTime(1000, GlobalWindow.get(), ctx));
+        when(timerState.value()).thenReturn(1500L);
+        assertEquals(TriggerResult.CONTINUE, trigger.onProcessingTime(1000, GlobalWindow.get(), ctx));
+        verify(ctx, never()).deleteProcessingTimeTimer(any(Long.class));
+    }
+
+    @Test
+    public void testClearDeletesTimer() throws Exception {
+        try (KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness =
+                     harness(CountOrTimeoutTrigger.of(100, 1000), new OrderProcessFunction(100))) {
+            harness.setProcessingTime(0);
+            harness.processElement(record(1));
+            assertEquals(1, harness.numProcessingTimeTimers());
+            harness.setProcessingTime(1000);
+            assertEquals(0, harness.numProcessingTimeTimers());
+            assertEquals(0, harness.numKeyedStateEntries());
+        }
+    }
+
+    @Test
+    public void testAdaptiveSizeFromSharedController() throws Exception {
+        AdaptiveBatchController controller = new AdaptiveBatchController("trigger-test", 4, 1000, 1, 10, 100, 5000, 500, 10000);
+        OrderProcessFunction function = new OrderProcessFunction(4);
+        function.setBatchController(controller);
+        try (KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness =
+                     harness(CountOrTimeoutTrigger.adaptive(controller), function)) {
+            // 窗口函数open()中登记的共享实例，写库阶段向其上报写入耗时
+            AdaptiveBatchController shared = new AdaptiveBatchController("trigger-test", 4, 1000, 1, 10, 100, 5000, 500, 10000)
+                    .shared(harness.getEnvironment().getJobID().toString());
+            for (int i = 0; i < 16; i++) {
+                shared.recordWrite(800, 1000L);
+            }
+            assertEquals(3, shared.getBatchSize());
+
+            harness.setProcessingTime(0);
+            for (int i = 1; i <= 3; i++) {
+                harness.processElement(record(i));
+            }
+            assertEquals(Collections.singletonList(3), batchSizes(harness));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness(
+            CountOrTimeoutTrigger<KafkaMessageWithHeaders> trigger, OrderProcessFunction function) throws Exception {
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.getConfig().disableClosureCleaner();
+        // 与OrderProcessor.buildPipeline相同的窗口定义，取出窗口算子放入测试工具
+        DataStream<OrderBatch> stream = env
+                .fromCollection(Collections.<KafkaMessageWithHeaders>emptyList(), TypeInformation.of(KafkaMessageWithHeaders.class))
+                .keyBy(SHARD, Types.INT)
+                .window(GlobalWindows.create())
+                .trigger(trigger)
+                .process(function);
+        OneInputTransformation<KafkaMessageWithHeaders, OrderBatch> transformation =
+                (OneInputTransformation<KafkaMessageWithHeaders, OrderBatch>) stream.getTransformation();
+        // 带作业指标组的任务环境：触发器从指标变量读取作业ID，与窗口函数按RuntimeContext登记的共享控制器一致
+        JobID jobId = new JobID();
+        TaskMetricGroup metricGroup = TaskManagerMetricGroup
+                .createTaskManagerMetricGroup(NoOpMetricRegistry.INSTANCE, "localhost", ResourceID.generate())
+                .addJob(jobId, "Order Processing Job")
+                .addTask(ExecutionAttemptID.randomId(), "ORDER Batch");
+        MockEnvironment environment = new MockEnvironmentBuilder().setJobID(jobId).setMetricGroup(metricGroup).build();
+        KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness =
+                new KeyedOneInputStreamOperatorTestHarness<>(transformation.getOperator(), SHARD, Types.INT, environment);
+        harness.open();
+        return harness;
+    }
+
+    private static StreamRecord<KafkaMessageWithHeaders> record(int i) {
+        byte[] xml = ("<order><orderId>ORDER" + i + "</orderId></order>").getBytes(StandardCharsets.UTF_8);
+        return new StreamRecord<>(new KafkaMessageWithHeaders(xml, "COMP000001", "ORDER", "SENDER01", new String[0], new byte[0][]));
+    }
+
+    private static List<OrderBatch> batches(KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness) {
+        return harness.extractOutputValues();
+    }
+
+    private static List<Integer> batchSizes(KeyedOneInputStreamOperatorTestHarness<Integer, KafkaMessageWithHeaders, OrderBatch> harness) {
+        return batches(harness).stream().map(OrderBatch::size).collect(Collectors.toList());
+    }
+}
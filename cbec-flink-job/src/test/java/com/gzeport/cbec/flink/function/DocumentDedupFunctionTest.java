@@ -0,0 +1,272 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.sink.OrderJdbcWriter;
+import com.gzeport.cbec.service.BatchProcessStats;
+import org.apache.flink.api.common.typeinfo.Types;
+import org.apache.flink.configuration.Configuration;
+import org.apache.flink.core.execution.JobClient;
+import org.apache.flink.core.execution.SavepointFormatType;
+import org.apache.flink.runtime.jobgraph.SavepointConfigOptions;
+import org.apache.flink.streaming.api.environment.StreamExecutionEnvironment;
+import org.apache.flink.streaming.api.functions.sink.SinkFunction;
+import org.apache.flink.streaming.api.functions.source.SourceFunction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 单据ID去重函数测试类
+ */
+public class DocumentDedupFunctionTest {
+
+    private static final byte[] ORDER_ID = "orderId".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] ORDER_NO = "orderNo".getBytes(StandardCharsets.UTF_8);
+
+    private static final byte[] CEB311 = "CEB311Message".getBytes(StandardCharsets.UTF_8);
+
+    private static final int COMPANIES = 20;
+
+    private static final int ORDERS_PER_COMPANY = 5;
+
+    private static final List<byte[]> OUTPUT = new CopyOnWriteArrayList<>();
+
+    private static volatile boolean emitted;
+
+    @Test
+    public void testExtractElementText() {
+        byte[] xml = "<order><orderId> ORDER001 </orderId><companyId>COMP000001</companyId></order>".getBytes(StandardCharsets.UTF_8);
+        assertEquals("ORDER001", DocumentDedupFunction.extractElementText(xml, 0, ORDER_ID));
+        assertEquals("ORDER001", DocumentDedupFunction.extractElementText(
+                "<o:order xmlns:o=\"urn:o\"><o:orderId type=\"1\">ORDER001</o:orderId></o:order>".getBytes(StandardCharsets.UTF_8), 0, ORDER_ID));
+
+        assertNull(DocumentDedupFunction.extractElementText("<order/>".getBytes(StandardCharsets.UTF_8), 0, ORDER_ID));
+        assertNull(DocumentDedupFunction.extractElementText("<order><orderId></orderId></order>".getBytes(StandardCharsets.UTF_8), 0, ORDER_ID));
+        assertNull(DocumentDedupFunction.extractElementText("<order><orderId/></order>".getBytes(StandardCharsets.UTF_8), 0, ORDER_ID));
+        // 名称相同前缀的其他元素不匹配
+        assertNull(DocumentDedupFunction.extractElementText("<order><orderIdType>1</orderIdType></order>".getBytes(StandardCharsets.UTF_8), 0, ORDER_ID));
+        assertNull(DocumentDedupFunction.extractDocumentId(null, CEB311, ORDER_NO, ORDER_ID));
+    }
+
+    @Test
+    public void testExtractDocumentId_CebMessage() {
+        // CEB报文按根元素选择单据编号元素，带前缀和默认命名空间均按本地名称匹配
+        assertEquals("ORDER20240115001", DocumentDedupFunction.extractDocumentId(
+                cebOrder("ceb:", "ORDER20240115001"), CEB311, ORDER_NO, ORDER_ID));
+        assertEquals("ORDER20240115001", DocumentDedupFunction.extractDocumentId(
+                cebOrder("", "ORDER20240115001"), CEB311, ORDER_NO, ORDER_ID));
+        // 非CEB报文仍取idTag
+        byte[] legacy = "<?xml version=\"1.0\"?><!-- 旧格式 --><order><orderNo>X</orderNo><orderId>ORDER001</orderId></order>"
+                .getBytes(StandardCharsets.UTF_8);
+        assertEquals("ORDER001", DocumentDedupFunction.extractDocumentId(legacy, CEB311, ORDER_NO, ORDER_ID));
+    }
+
+    @Test
+    public void testDuplicateCebMessage_Dropped() throws Exception {
+        OUTPUT.clear();
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(1);
+        env.getConfig().disableClosureCleaner();
+        // 带ceb前缀的同一订单重复报送，另一订单报送一次
+        env.fromElements(message(cebOrder("ceb:", "ORDER20240115001")), message(cebOrder("ceb:", "ORDER20240115001")),
+                        message(cebOrder("ceb:", "ORDER20240115002")))
+                .keyBy(KafkaMessageWithHeaders::getCompanyId, Types.STRING)
+                .process(new DocumentDedupFunction("orderId", "CEB311Message", "orderNo", 3_600_000L, 1000, 0.01, true))
+                .addSink(new CollectSink());
+        env.execute("dedup-ceb");
+
+        assertEquals(2, OUTPUT.size());
+    }
+
+    @Test
+    public void testRejectedThenCorrectedResubmission_Kept() throws Exception {
+        byte[] rejected = "<order><orderId>ORDER001</orderId><companyId>COMP000001</companyId></order>".getBytes(StandardCharsets.UTF_8);
+        byte[] corrected = ("<order><orderId>ORDER001</orderId><companyId>COMP000001</companyId><customerName>张三</customerName>"
+                + "<totalAmount>100.00</totalAmount><orderStatus>PENDING</orderStatus></order>").getBytes(StandardCharsets.UTF_8);
+        OUTPUT.clear();
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment();
+        env.setParallelism(1);
+        env.getConfig().disableClosureCleaner();
+        // 丢弃模式：缺少必填字段的订单被拒绝后以同一ID修改重报，随后原样重复报送修改后的订单
+        env.fromElements(message(rejected), message(corrected), message(corrected))
+                .keyBy(KafkaMessageWithHeaders::getCompanyId, Types.STRING)
+                .process(new DocumentDedupFunction("orderId", "CEB311Message", "orderNo", 3_600_000L, 1000, 0.01, true))
+                .addSink(new CollectSink());
+        env.execute("dedup-resubmission");
+
+        assertEquals(2, OUTPUT.size());
+        OrderJdbcWriter writer = new OrderJdbcWriter();
+        writer.open(null);
+        try {
+            BatchProcessStats stats = new BatchProcessStats();
+            List<Order> orders = writer.parseMessages(OUTPUT, stats);
+            assertEquals(1, stats.getValidationRejects());
+            assertEquals(1, orders.size());
+            assertEquals("张三", orders.get(0).getCustomerName());
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    public void testFingerprint() {
+        byte[] xml = "<order><orderId>ORDER001</orderId></order>".getBytes(StandardCharsets.UTF_8);
+        assertEquals(DocumentDedupFunction.fingerprint(xml), DocumentDedupFunction.fingerprint(xml.clone()));
+        assertNotEquals(DocumentDedupFunction.fingerprint(xml),
+                DocumentDedupFunction.fingerprint("<order><orderId>ORDER002</orderId></order>".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testBloomFilter_NoFalseNegatives() {
+        int total = 100000;
+        BloomFilter bloomFilter = new BloomFilter(total, 0.01);
+        for (int i = 0; i < total; i++) {
+            bloomFilter.put("ORDER" + i);
+        }
+        for (int i = 0; i < total; i++) {
+            assertTrue(bloomFilter.mightContain("ORDER" + i));
+        }
+
+        int falsePositives = 0;
+        for (int i = total; i < total * 2; i++) {
+            if (bloomFilter.mightContain("ORDER" + i)) {
+                falsePositives++;
+            }
+        }
+        System.out.println("布隆过滤器: " + total + " 条，误判率: " + (double) falsePositives / total);
+        assertTrue(falsePositives < total * 0.02, "误判率应接近配置值0.01");
+    }
+
+    @Test
+    public void testBloomFilter_Merge() {
+        BloomFilter first = new BloomFilter(1000, 0.01);
+        BloomFilter second = first.emptyCopy();
+        first.put("ORDER001");
+        second.put("ORDER002");
+
+        // 模拟从多个子任务的快照恢复：按位或合并后不会漏判任一子任务记录的ID
+        BloomFilter merged = first.copy();
+        merged.merge(second);
+        assertTrue(merged.mightContain("ORDER001"));
+        assertTrue(merged.mightContain("ORDER002"));
+        assertFalse(first.isCompatible(new BloomFilter(1000, 0.001)));
+        assertThrows(IllegalArgumentException.class, () -> first.merge(new BloomFilter(1000, 0.001)));
+    }
+
+    @Test
+    public void testRestore_DifferentParallelism(@TempDir Path savepointDir) throws Exception {
+        // 并行度2运行，全部单据首次出现
+        String savepoint = runAndStop(2, null, savepointDir);
+        assertEquals(COMPANIES * ORDERS_PER_COMPANY, OUTPUT.size());
+
+        // 从Savepoint以并行度3恢复后重复报送：状态按公司ID分区，键不随并行度变化，全部识别为重复
+        runAndStop(3, savepoint, savepointDir);
+        assertEquals(0, OUTPUT.size());
+    }
+
+    /**
+     * 在MiniCluster上运行去重作业，数据源发送完全部单据后停止并生成Savepoint
+     * @return Savepoint路径
+     */
+    private static String runAndStop(int parallelism, String savepoint, Path savepointDir) throws Exception {
+        OUTPUT.clear();
+        emitted = false;
+        Configuration config = new Configuration();
+        if (savepoint != null) {
+            config.set(SavepointConfigOptions.SAVEPOINT_PATH, savepoint);
+        }
+        StreamExecutionEnvironment env = StreamExecutionEnvironment.getExecutionEnvironment(config);
+        env.setParallelism(parallelism);
+        // 测试JVM未开放java.base模块（Flink启动脚本会添加--add-opens），函数均为静态类，无需清理闭包
+        env.getConfig().disableClosureCleaner();
+        env.addSource(new RepeatedSubmissionSource()).uid("source").setParallelism(1)
+                .keyBy(KafkaMessageWithHeaders::getCompanyId, Types.STRING)
+                .process(new DocumentDedupFunction("orderId", "CEB311Message", "orderNo", 3_600_000L, 1000, 0.01, true)).uid("dedup")
+                .addSink(new CollectSink()).uid("sink");
+
+        JobClient client = env.executeAsync("dedup-rescale");
+        while (!emitted) {
+            Thread.sleep(10);
+        }
+        // Savepoint屏障排在已发送的消息之后，完成时所有消息均已处理；下游子任务尚未全部启动时触发失败，稍后重试
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return client.stopWithSavepoint(false, savepointDir.toUri().toString(), SavepointFormatType.CANONICAL).get();
+            } catch (ExecutionException e) {
+                if (attempt >= 50) {
+                    throw e;
+                }
+                Thread.sleep(100);
+            }
+        }
+    }
+
+    private static byte[] cebOrder(String prefix, String orderNo) {
+        String ns = prefix.isEmpty() ? "xmlns" : "xmlns:" + prefix.substring(0, prefix.length() - 1);
+        return ("<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                + "<" + prefix + "CEB311Message guid=\"9A1B2C3D\" version=\"1.0\" " + ns + "=\"http://www.chinaport.gov.cn/ceb\">"
+                + "<" + prefix + "Order><" + prefix + "OrderHead><" + prefix + "guid>9A1B2C3D-1</" + prefix + "guid>"
+                + "<" + prefix + "orderNo>" + orderNo + "</" + prefix + "orderNo>"
+                + "<" + prefix + "ebcCode>COMP000001</" + prefix + "ebcCode></" + prefix + "OrderHead></" + prefix + "Order>"
+                + "</" + prefix + "CEB311Message>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static KafkaMessageWithHeaders message(byte[] xml) {
+        return message("COMP000001", xml);
+    }
+
+    private static KafkaMessageWithHeaders message(String companyId, byte[] xml) {
+        return new KafkaMessageWithHeaders(xml, companyId, "ORDER", "SENDER01", new String[0], new byte[0][]);
+    }
+
+    /**
+     * 按公司发送订单，发送完成后保持运行等待停止
+     */
+    private static class RepeatedSubmissionSource implements SourceFunction<KafkaMessageWithHeaders> {
+
+        private static final long serialVersionUID = 1L;
+
+        private volatile boolean running = true;
+
+        @Override
+        public void run(SourceContext<KafkaMessageWithHeaders> ctx) throws Exception {
+            synchronized (ctx.getCheckpointLock()) {
+                for (int c = 0; c < COMPANIES; c++) {
+                    String companyId = String.format("COMP%06d", c);
+                    for (int o = 0; o < ORDERS_PER_COMPANY; o++) {
+                        ctx.collect(message(companyId, ("<order><orderId>" + companyId + "-" + o + "</orderId><companyId>" + companyId
+                                + "</companyId></order>").getBytes(StandardCharsets.UTF_8)));
+                    }
+                }
+            }
+            emitted = true;
+            while (running) {
+                Thread.sleep(10);
+            }
+        }
+
+        @Override
+        public void cancel() {
+            running = false;
+        }
+    }
+
+    private static class CollectSink implements SinkFunction<KafkaMessageWithHeaders> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public void invoke(KafkaMessageWithHeaders message, Context context) {
+            OUTPUT.add(message.getValue());
+        }
+    }
+}
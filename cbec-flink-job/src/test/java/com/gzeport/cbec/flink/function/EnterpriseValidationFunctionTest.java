@@ -0,0 +1,129 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.EnterpriseRecord;
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.RejectReason;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import org.apache.flink.streaming.runtime.streamrecord.StreamRecord;
+import org.apache.flink.streaming.util.BroadcastOperatorTestHarness;
+import org.apache.flink.streaming.util.ProcessFunctionTestHarnesses;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 源端企业备案校验函数测试类 - 使用广播算子测试工具
+ */
+public class EnterpriseValidationFunctionTest {
+
+    private BroadcastOperatorTestHarness<KafkaMessageWithHeaders, EnterpriseRecord, KafkaMessageWithHeaders> harness;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        harness = ProcessFunctionTestHarnesses.forBroadcastProcessFunction(
+                new EnterpriseValidationFunction(), EnterpriseValidationFunction.REGISTRY_STATE);
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        harness.close();
+    }
+
+    @Test
+    public void testPassThroughBeforeFirstLoad() throws Exception {
+        // 尚未收到任何备案：不校验直接放行
+        harness.processElement(message("COMP000009"), 1L);
+        // 已收到备案记录但本轮读取尚未完成：仍然放行
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000001", true, 1L), 2L);
+        harness.processElement(message("COMP000009"), 3L);
+
+        assertEquals(2, harness.extractOutputValues().size());
+        assertTrue(rejected().isEmpty());
+        assertFalse(harness.getBroadcastState(EnterpriseValidationFunction.REGISTRY_STATE)
+                .contains(EnterpriseValidationFunction.LOADED_KEY));
+    }
+
+    @Test
+    public void testEmptyRegistry_NotLoaded() throws Exception {
+        // 备案表尚无数据时的刷新标记不开始校验
+        harness.processBroadcastElement(EnterpriseRecord.refreshed(1L), 1L);
+        harness.processElement(message("COMP000009"), 2L);
+
+        assertEquals(1, harness.extractOutputValues().size());
+        assertFalse(harness.getBroadcastState(EnterpriseValidationFunction.REGISTRY_STATE)
+                .contains(EnterpriseValidationFunction.LOADED_KEY));
+    }
+
+    @Test
+    public void testRejectsUnknownAndInactive() throws Exception {
+        load();
+
+        harness.processElement(message("COMP000001"), 10L);
+        harness.processElement(message("COMP000002"), 11L);
+        harness.processElement(message("COMP000009"), 12L);
+
+        assertEquals(1, harness.extractOutputValues().size());
+        assertEquals("COMP000001", harness.extractOutputValues().get(0).getCompanyId());
+        List<RejectedMessage> rejected = rejected();
+        assertEquals(2, rejected.size());
+        assertEquals("COMP000002", rejected.get(0).getMessage().getCompanyId());
+        assertEquals(RejectReason.INACTIVE_COMPANY, rejected.get(0).getReason());
+        assertEquals("E007", rejected.get(0).getReason().getCode());
+        assertEquals("COMP000009", rejected.get(1).getMessage().getCompanyId());
+        assertEquals(RejectReason.UNKNOWN_COMPANY, rejected.get(1).getReason());
+        assertEquals("E006", rejected.get(1).getReason().getCode());
+    }
+
+    @Test
+    public void testDeltaUpdates() throws Exception {
+        load();
+
+        // 增量读取：新备案企业、已停用企业重新启用、已启用企业停用
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000003", true, 20L), 20L);
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000002", true, 21L), 21L);
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000001", false, 22L), 22L);
+        harness.processBroadcastElement(EnterpriseRecord.refreshed(23L), 23L);
+
+        harness.processElement(message("COMP000001"), 30L);
+        harness.processElement(message("COMP000002"), 31L);
+        harness.processElement(message("COMP000003"), 32L);
+
+        assertEquals(List.of("COMP000002", "COMP000003"), harness.extractOutputValues().stream()
+                .map(KafkaMessageWithHeaders::getCompanyId).collect(Collectors.toList()));
+        List<RejectedMessage> rejected = rejected();
+        assertEquals(1, rejected.size());
+        assertEquals("COMP000001", rejected.get(0).getMessage().getCompanyId());
+        assertEquals(RejectReason.INACTIVE_COMPANY, rejected.get(0).getReason());
+        // 已加载标记不计入备案数量，也不被当作企业
+        assertTrue(harness.getBroadcastState(EnterpriseValidationFunction.REGISTRY_STATE)
+                .contains(EnterpriseValidationFunction.LOADED_KEY));
+    }
+
+    /**
+     * 首轮全量读取：COMP000001启用，COMP000002停用
+     */
+    private void load() throws Exception {
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000001", true, 1L), 1L);
+        harness.processBroadcastElement(new EnterpriseRecord("COMP000002", false, 2L), 2L);
+        harness.processBroadcastElement(EnterpriseRecord.refreshed(3L), 3L);
+        assertTrue(harness.getBroadcastState(EnterpriseValidationFunction.REGISTRY_STATE)
+                .contains(EnterpriseValidationFunction.LOADED_KEY));
+    }
+
+    private List<RejectedMessage> rejected() {
+        ConcurrentLinkedQueue<StreamRecord<RejectedMessage>> output = harness.getSideOutput(HeaderValidationFunction.REJECTED_TAG);
+        return output == null ? List.of() : output.stream().map(StreamRecord::getValue).collect(Collectors.toList());
+    }
+
+    private KafkaMessageWithHeaders message(String companyId) {
+        return new KafkaMessageWithHeaders("<order/>".getBytes(StandardCharsets.UTF_8), companyId, "ORDER", "SENDER001",
+                new String[0], new byte[0][]);
+    }
+}
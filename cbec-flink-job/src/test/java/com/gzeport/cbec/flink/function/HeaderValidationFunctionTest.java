@@ -0,0 +1,57 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import com.gzeport.cbec.flink.model.RejectReason;
+import com.gzeport.cbec.flink.model.RejectedMessage;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 源端header校验函数测试类
+ */
+public class HeaderValidationFunctionTest {
+
+    @Test
+    public void testValidate_ValidMessageTypes() {
+        assertNull(HeaderValidationFunction.validate(message("COMP000001", "ORDER", "SENDER001")));
+        assertNull(HeaderValidationFunction.validate(message("COMP000001", "PAYMENT", "SENDER001")));
+        assertNull(HeaderValidationFunction.validate(message("COMP000001", "SHIPMENT", "SENDER001")));
+    }
+
+    @Test
+    public void testValidate_RejectReasons() {
+        assertEquals(RejectReason.MISSING_COMPANY_ID, HeaderValidationFunction.validate(message(null, "ORDER", "SENDER001")));
+        assertEquals(RejectReason.MISSING_COMPANY_ID, HeaderValidationFunction.validate(message("", "ORDER", "SENDER001")));
+        assertEquals(RejectReason.MISSING_MESSAGE_TYPE, HeaderValidationFunction.validate(message("COMP000001", null, "SENDER001")));
+        assertEquals(RejectReason.MISSING_SENDER_ID, HeaderValidationFunction.validate(message("COMP000001", "ORDER", null)));
+        assertEquals(RejectReason.UNKNOWN_MESSAGE_TYPE, HeaderValidationFunction.validate(message("COMP000001", "REFUND", "SENDER001")));
+        assertEquals(RejectReason.EMPTY_CONTENT, HeaderValidationFunction.validate(
+                new KafkaMessageWithHeaders(new byte[0], "COMP000001", "ORDER", "SENDER001", new String[0], new byte[0][])));
+    }
+
+    @Test
+    public void testRejectRecord_KeepsOriginalMessage() {
+        KafkaMessageWithHeaders message = new KafkaMessageWithHeaders("<order/>".getBytes(StandardCharsets.UTF_8),
+                "COMP000001", "REFUND", "SENDER001",
+                new String[]{"TraceId"}, new byte[][]{"trace-1".getBytes(StandardCharsets.UTF_8)});
+
+        ProducerRecord<byte[], byte[]> record = new RejectedMessageSerializationSchema("reject-topic")
+                .serialize(new RejectedMessage(message, RejectReason.UNKNOWN_MESSAGE_TYPE), null, 1L);
+
+        assertEquals("reject-topic", record.topic());
+        assertArrayEquals("COMP000001".getBytes(StandardCharsets.UTF_8), record.key());
+        assertSame(message.getValue(), record.value());
+        assertEquals("REFUND", new String(record.headers().lastHeader("MessageType").value(), StandardCharsets.UTF_8));
+        assertEquals("trace-1", new String(record.headers().lastHeader("TraceId").value(), StandardCharsets.UTF_8));
+        assertEquals("E005", new String(record.headers().lastHeader("RejectReason").value(), StandardCharsets.UTF_8));
+    }
+
+    private KafkaMessageWithHeaders message(String companyId, String messageType, String senderId) {
+        return new KafkaMessageWithHeaders("<order/>".getBytes(StandardCharsets.UTF_8), companyId, messageType, senderId,
+                new String[0], new byte[0][]);
+    }
+}
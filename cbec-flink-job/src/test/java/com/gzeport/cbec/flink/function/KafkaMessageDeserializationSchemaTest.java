@@ -0,0 +1,62 @@
+package com.gzeport.cbec.flink.function;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Kafka消息反序列化器测试类
+ */
+public class KafkaMessageDeserializationSchemaTest {
+
+    @Test
+    public void testToMessage_KeepsRawBytes() {
+        byte[] value = "<order><customerName>张三</customerName></order>".getBytes(StandardCharsets.UTF_8);
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("CompanyId", "COMP000001".getBytes(StandardCharsets.UTF_8));
+        headers.add("MessageType", "ORDER".getBytes(StandardCharsets.UTF_8));
+        headers.add("SenderId", "SENDER001".getBytes(StandardCharsets.UTF_8));
+        headers.add("TraceId", "trace-1".getBytes(StandardCharsets.UTF_8));
+
+        KafkaMessageWithHeaders message = KafkaMessageDeserializationSchema.toMessage(value, headers);
+
+        // 消息内容直接引用Kafka记录的字节，不做拷贝
+        assertSame(value, message.getValue());
+        assertEquals("<order><customerName>张三</customerName></order>", message.getContent());
+        assertEquals("COMP000001", message.getCompanyId());
+        assertEquals("ORDER", message.getMessageType());
+        assertEquals("SENDER001", message.getSenderId());
+        assertEquals("trace-1", message.getHeader("TraceId"));
+        assertArrayEquals(new String[]{"TraceId"}, message.getExtraHeaderKeys());
+    }
+
+    @Test
+    public void testToMessage_WellKnownHeadersInterned() {
+        RecordHeaders first = new RecordHeaders();
+        first.add("CompanyId", "COMP000001".getBytes(StandardCharsets.UTF_8));
+        RecordHeaders second = new RecordHeaders();
+        second.add("CompanyId", "COMP000001".getBytes(StandardCharsets.UTF_8));
+
+        // 不同消息的相同企业ID共享同一个字符串实例
+        assertSame(KafkaMessageDeserializationSchema.toMessage(new byte[0], first).getCompanyId(),
+                KafkaMessageDeserializationSchema.toMessage(new byte[0], second).getCompanyId());
+    }
+
+    @Test
+    public void testGetHeaders_DecodesAllHeaders() {
+        RecordHeaders headers = new RecordHeaders();
+        headers.add("MessageType", "PAYMENT".getBytes(StandardCharsets.UTF_8));
+        headers.add("TraceId", "trace-2".getBytes(StandardCharsets.UTF_8));
+
+        Map<String, String> decoded = KafkaMessageDeserializationSchema.toMessage(null, headers).getHeaders();
+
+        assertEquals(2, decoded.size());
+        assertEquals("PAYMENT", decoded.get("MessageType"));
+        assertEquals("trace-2", decoded.get("TraceId"));
+    }
+}
@@ -0,0 +1,115 @@
+package com.gzeport.cbec.flink.processor;
+
+import org.apache.kafka.clients.admin.Admin;
+import org.apache.kafka.clients.admin.CreateTopicsResult;
+import org.apache.kafka.clients.admin.DescribeTopicsResult;
+import org.apache.kafka.clients.admin.ListTopicsResult;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.common.KafkaFuture;
+import org.apache.kafka.common.Node;
+import org.apache.kafka.common.TopicPartitionInfo;
+import org.apache.kafka.common.errors.TopicExistsException;
+import org.apache.kafka.common.internals.KafkaFutureImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+/**
+ * Kafka主题管理测试类
+ */
+public class KafkaTopicManagerTest {
+
+    private static final String TOPIC = "order-topic";
+
+    private Admin admin;
+
+    private KafkaTopicManager topicManager;
+
+    @BeforeEach
+    public void setUp() {
+        admin = mock(Admin.class);
+        topicManager = new KafkaTopicManager(admin, 1000L);
+    }
+
+    @Test
+    public void testEnsureTopic_ExistingTopicReturnsActualPartitions() {
+        mockExistingTopics(Collections.singleton(TOPIC));
+        mockDescription(4, 1);
+
+        assertEquals(4, topicManager.ensureTopic(TOPIC, 2, (short) 1, true));
+        verify(admin, never()).createTopics(anyCollection());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEnsureTopic_MissingTopicCreatedWithConfiguredPartitions() {
+        mockExistingTopics(Collections.emptySet());
+        CreateTopicsResult createResult = mock(CreateTopicsResult.class);
+        when(createResult.all()).thenReturn(KafkaFuture.completedFuture(null));
+        when(admin.createTopics(anyCollection())).thenReturn(createResult);
+        mockDescription(3, 2);
+
+        assertEquals(3, topicManager.ensureTopic(TOPIC, 3, (short) 2, true));
+
+        ArgumentCaptor<Collection<NewTopic>> captor = ArgumentCaptor.forClass(Collection.class);
+        verify(admin).createTopics(captor.capture());
+        NewTopic newTopic = captor.getValue().iterator().next();
+        assertEquals(TOPIC, newTopic.name());
+        assertEquals(3, newTopic.numPartitions());
+        assertEquals(2, newTopic.replicationFactor());
+    }
+
+    @Test
+    public void testEnsureTopic_ConcurrentCreationTolerated() {
+        mockExistingTopics(Collections.emptySet());
+        CreateTopicsResult createResult = mock(CreateTopicsResult.class);
+        KafkaFutureImpl<Void> failed = new KafkaFutureImpl<>();
+        failed.completeExceptionally(new TopicExistsException(TOPIC));
+        when(createResult.all()).thenReturn(failed);
+        when(admin.createTopics(anyCollection())).thenReturn(createResult);
+        mockDescription(2, 1);
+
+        assertEquals(2, topicManager.ensureTopic(TOPIC, 2, (short) 1, true));
+    }
+
+    @Test
+    public void testEnsureTopic_MissingTopicWithoutAutoCreate() {
+        mockExistingTopics(Collections.emptySet());
+
+        assertThrows(RuntimeException.class, () -> topicManager.ensureTopic(TOPIC, 2, (short) 1, false));
+        verify(admin, never()).createTopics(anyCollection());
+    }
+
+    private void mockExistingTopics(Set<String> topics) {
+        ListTopicsResult listResult = mock(ListTopicsResult.class);
+        when(listResult.names()).thenReturn(KafkaFuture.completedFuture(topics));
+        when(admin.listTopics()).thenReturn(listResult);
+    }
+
+    private void mockDescription(int partitions, int replicas) {
+        List<Node> nodes = new ArrayList<>();
+        for (int i = 0; i < replicas; i++) {
+            nodes.add(new Node(i, "broker" + i, 9092));
+        }
+        List<TopicPartitionInfo> partitionInfos = new ArrayList<>();
+        for (int i = 0; i < partitions; i++) {
+            partitionInfos.add(new TopicPartitionInfo(i, nodes.get(0), nodes, nodes));
+        }
+        DescribeTopicsResult describeResult = mock(DescribeTopicsResult.class);
+        when(describeResult.allTopicNames()).thenReturn(KafkaFuture.completedFuture(
+                Collections.singletonMap(TOPIC, new TopicDescription(TOPIC, false, partitionInfos))));
+        when(admin.describeTopics(any(Collection.class))).thenReturn(describeResult);
+    }
+}
@@ -1,9 +1,6 @@
 package com.gzeport.cbec.flink.processor;
 
-import com.gzeport.cbec.config.BatchConfig;
-import com.gzeport.cbec.config.FlinkConfig;
-import com.gzeport.cbec.config.KafkaConfig;
-import com.gzeport.cbec.service.OrderService;
+import com.gzeport.cbec.flink.config.FlinkConfig;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
@@ -18,18 +15,9 @@ import static org.mockito.Mockito.*;
  */
 public class OrderProcessorTest {
 
-    @Mock
-    private KafkaConfig kafkaConfig;
-
     @Mock
     private FlinkConfig flinkConfig;
 
-    @Mock
-    private BatchConfig batchConfig;
-
-    @Mock
-    private OrderService orderService;
-
     @InjectMocks
     private OrderProcessor orderProcessor;
 
@@ -43,16 +31,20 @@ public class OrderProcessorTest {
         when(flinkConfig.getCheckpointTimeout()).thenReturn(120000L);
         when(flinkConfig.getStateBackend()).thenReturn("rocksdb");
         when(flinkConfig.getStateCheckpointsDir()).thenReturn("file:///tmp/flink/checkpoints");
-        when(batchConfig.getSize()).thenReturn(100);
+        when(flinkConfig.getMaxParallelism()).thenReturn(128);
+        when(flinkConfig.getKeyMode()).thenReturn("company");
+        when(flinkConfig.getKeyGroups()).thenReturn(0);
+        when(flinkConfig.getPaymentBatchSize()).thenReturn(100);
+        when(flinkConfig.getPaymentParallelism()).thenReturn(4);
+        when(flinkConfig.getShipmentBatchSize()).thenReturn(100);
+        when(flinkConfig.getShipmentParallelism()).thenReturn(4);
+        when(flinkConfig.getBatchSize()).thenReturn(100);
 
         // 模拟Kafka配置
-        when(kafkaConfig.getBootstrapServers()).thenReturn("localhost:9092");
-        when(kafkaConfig.getConsumerGroupId()).thenReturn("order-group");
-        when(kafkaConfig.getConsumerAutoOffsetReset()).thenReturn("earliest");
-        when(kafkaConfig.isConsumerEnableAutoCommit()).thenReturn(false);
-        when(kafkaConfig.getTopicOrderName()).thenReturn("order-topic");
-        when(kafkaConfig.getTopicOrderPartitions()).thenReturn(4);
-        when(kafkaConfig.getTopicOrderReplicationFactor()).thenReturn(1);
+        when(flinkConfig.getKafkaBootstrapServers()).thenReturn("localhost:9092");
+        when(flinkConfig.getKafkaConsumerGroupId()).thenReturn("order-group");
+        when(flinkConfig.isKafkaConsumerEnableAutoCommit()).thenReturn(false);
+        when(flinkConfig.getKafkaTopicOrderName()).thenReturn("order-topic");
     }
 
     @Test
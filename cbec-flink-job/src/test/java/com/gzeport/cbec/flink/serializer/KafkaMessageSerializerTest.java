@@ -0,0 +1,147 @@
+package com.gzeport.cbec.flink.serializer;
+
+import com.gzeport.cbec.flink.model.KafkaMessageWithHeaders;
+import org.apache.flink.api.common.ExecutionConfig;
+import org.apache.flink.api.common.typeinfo.TypeInformation;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.api.java.typeutils.runtime.kryo.KryoSerializer;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * KafkaMessageWithHeaders序列化器测试类
+ */
+public class KafkaMessageSerializerTest {
+
+    private final KafkaMessageSerializer serializer = new KafkaMessageSerializer();
+
+    @Test
+    public void testTypeInformationUsesDedicatedSerializer() {
+        TypeInformation<KafkaMessageWithHeaders> typeInfo = TypeInformation.of(KafkaMessageWithHeaders.class);
+        assertTrue(typeInfo instanceof KafkaMessageTypeInfo);
+        assertTrue(typeInfo.createSerializer(new ExecutionConfig()) instanceof KafkaMessageSerializer);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        KafkaMessageWithHeaders message = message(1);
+        message.getHeaders();
+        Map<String, String> headers = new LinkedHashMap<>(message.getHeaders());
+        headers.put("traceparent", "00-abc-01");
+        headers.put("CustomHeader", "自定义");
+        headers.put(KafkaMessageWithHeaders.HEADER_INGEST_TIME, "1700000000000");
+        message.setHeaders(headers);
+
+        KafkaMessageWithHeaders copy = roundTrip(serializer, message);
+
+        assertEquals(message.getContent(), copy.getContent());
+        assertEquals(1700000000000L, copy.getIngestTime());
+        assertEquals(message.getHeaders(), copy.getHeaders());
+        assertSame(message.getCompanyId(), copy.getCompanyId());
+    }
+
+    @Test
+    public void testRoundTrip_NullFields() throws IOException {
+        KafkaMessageWithHeaders copy = roundTrip(serializer, new KafkaMessageWithHeaders());
+
+        assertNull(copy.getValue());
+        assertNull(copy.getCompanyId());
+        assertTrue(copy.getHeaders().isEmpty());
+    }
+
+    @Test
+    public void testSnapshotCompatibility() throws IOException {
+        TypeSerializerSnapshot<KafkaMessageWithHeaders> snapshot = restoreSnapshot(serializer);
+
+        // 字典不变或仅在末尾追加名称时可直接读取旧状态
+        assertTrue(snapshot.resolveSchemaCompatibility(new KafkaMessageSerializer()).isCompatibleAsIs());
+        String[] appended = Arrays.copyOf(KafkaMessageSerializer.DEFAULT_KEY_DICTIONARY, KafkaMessageSerializer.DEFAULT_KEY_DICTIONARY.length + 1);
+        appended[appended.length - 1] = "NewHeader";
+        assertTrue(snapshot.resolveSchemaCompatibility(new KafkaMessageSerializer(appended)).isCompatibleAsIs());
+        // 追加IngestTime之前的字典快照可直接读取
+        assertTrue(restoreSnapshot(new KafkaMessageSerializer(new String[]{"spring_json_header_types", "traceparent"}))
+                .resolveSchemaCompatibility(new KafkaMessageSerializer()).isCompatibleAsIs());
+        // 字典被调整时需要迁移
+        assertTrue(snapshot.resolveSchemaCompatibility(new KafkaMessageSerializer(
+                new String[]{"traceparent"})).isCompatibleAfterMigration());
+
+        // 恢复出的序列化器能读取旧数据
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        serializer.serialize(message(7), out);
+        KafkaMessageWithHeaders restored = snapshot.restoreSerializer().deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+        assertEquals(message(7).getContent(), restored.getContent());
+    }
+
+    @Test
+    @Tag("benchmark")
+    public void testBenchmark_AgainstKryo() throws IOException {
+        int total = 100000;
+        List<KafkaMessageWithHeaders> messages = new ArrayList<>(total);
+        for (int i = 0; i < total; i++) {
+            messages.add(message(i));
+        }
+        TypeSerializer<KafkaMessageWithHeaders> kryo = new KryoSerializer<>(KafkaMessageWithHeaders.class, new ExecutionConfig());
+
+        // 预热
+        measure(kryo, messages);
+        measure(serializer, messages);
+
+        long[] kryoResult = measure(kryo, messages);
+        long[] customResult = measure(serializer, messages);
+        System.out.println("Kryo序列化: " + total + " 条，总字节: " + kryoResult[0] + "，序列化+反序列化耗时: " + kryoResult[1] / 1_000_000 + "ms");
+        System.out.println("专用序列化器: " + total + " 条，总字节: " + customResult[0] + "，序列化+反序列化耗时: " + customResult[1] / 1_000_000 + "ms");
+
+        assertTrue(customResult[0] < kryoResult[0], "专用序列化器的序列化结果应小于Kryo");
+    }
+
+    private long[] measure(TypeSerializer<KafkaMessageWithHeaders> typeSerializer, List<KafkaMessageWithHeaders> messages) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(1024 * 1024);
+        long start = System.nanoTime();
+        for (KafkaMessageWithHeaders message : messages) {
+            typeSerializer.serialize(message, out);
+        }
+        long bytes = out.length();
+        DataInputDeserializer in = new DataInputDeserializer(out.getSharedBuffer(), 0, out.length());
+        for (int i = 0; i < messages.size(); i++) {
+            typeSerializer.deserialize(in);
+        }
+        return new long[]{bytes, System.nanoTime() - start};
+    }
+
+    private KafkaMessageWithHeaders roundTrip(TypeSerializer<KafkaMessageWithHeaders> typeSerializer,
+                                              KafkaMessageWithHeaders message) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        typeSerializer.serialize(message, out);
+        return typeSerializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+    }
+
+    private TypeSerializerSnapshot<KafkaMessageWithHeaders> restoreSnapshot(TypeSerializer<KafkaMessageWithHeaders> typeSerializer) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        TypeSerializerSnapshot.writeVersionedSnapshot(out, typeSerializer.snapshotConfiguration());
+        return TypeSerializerSnapshot.readVersionedSnapshot(new DataInputDeserializer(out.getCopyOfBuffer()), getClass().getClassLoader());
+    }
+
+    private KafkaMessageWithHeaders message(int i) {
+        String orderId = "ORDER" + String.format("%05d", i);
+        String companyId = "COMP" + String.format("%06d", (i % 1000) + 1);
+        String xml = "<order><orderId>" + orderId + "</orderId><companyId>" + companyId + "</companyId><customerName>客户 " + i
+                + "</customerName><totalAmount>" + (100.00 + i) + "</totalAmount><orderStatus>PENDING</orderStatus></order>";
+        return new KafkaMessageWithHeaders(xml.getBytes(StandardCharsets.UTF_8), companyId, "ORDER",
+                "SENDER" + String.format("%03d", (i % 100) + 1),
+                new String[]{"spring_json_header_types"},
+                new byte[][]{"{\"CompanyId\":\"java.lang.String\"}".getBytes(StandardCharsets.UTF_8)});
+    }
+}
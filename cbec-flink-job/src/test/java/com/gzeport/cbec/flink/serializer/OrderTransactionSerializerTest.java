@@ -0,0 +1,137 @@
+package com.gzeport.cbec.flink.serializer;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.data.entity.Payment;
+import com.gzeport.cbec.flink.model.OrderTransaction;
+import com.gzeport.cbec.flink.sink.OrderJdbcWriter;
+import com.gzeport.cbec.flink.sink.PaymentJdbcWriter;
+import com.gzeport.cbec.flink.sink.WaybillJdbcWriter;
+import org.apache.flink.api.common.typeutils.TypeSerializer;
+import org.apache.flink.api.common.typeutils.TypeSerializerSnapshot;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.util.InstantiationUtil;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 两阶段提交事务序列化器测试类
+ */
+public class OrderTransactionSerializerTest {
+
+    private final OrderTransactionSerializer<Order> serializer = new OrderTransactionSerializer<>(new OrderJdbcWriter());
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        OrderTransaction<Order> transaction = new OrderTransaction<>("tx-1");
+        // 一批3条报文，其中1条解析失败，事务只保存2条单据，延迟统计保留3条报文的时间
+        transaction.addBatch(Arrays.asList(order("ORDER001", "100.00"), order("ORDER002", null)), 3,
+                new long[]{1000L, 1001L, 1002L}, 2000L);
+        transaction.addBatch(Collections.singletonList(order("ORDER003", "0.01")), 1, null, 3000L);
+
+        OrderTransaction<Order> copy = roundTrip(serializer, transaction);
+
+        assertEquals("tx-1", copy.getTransactionId());
+        assertEquals(3, copy.size());
+        assertEquals(4, copy.getMessageCount());
+        assertEquals(transaction.getDocuments(), copy.getDocuments());
+        assertNull(copy.getDocuments().get(1).getTotalAmount());
+        assertArrayEquals(new long[]{1000L, 1001L, 1002L, -1L}, copy.getIngestTimes());
+        assertArrayEquals(new long[]{2000L, 2000L, 2000L, 3000L}, copy.getEmitTimes());
+    }
+
+    @Test
+    public void testRoundTrip_Payment() throws IOException {
+        OrderTransactionSerializer<Payment> paymentSerializer = new OrderTransactionSerializer<>(new PaymentJdbcWriter());
+        Payment payment = new Payment();
+        payment.setPaymentId("PAY001");
+        payment.setOrderId("ORDER001");
+        payment.setCompanyId("COMP000001");
+        payment.setPaymentAmount(new BigDecimal("99.90"));
+        payment.setPaymentStatus("PAID");
+        OrderTransaction<Payment> transaction = new OrderTransaction<>("tx-2");
+        transaction.addBatch(Collections.singletonList(payment), 1, new long[]{1L}, 2L);
+
+        assertEquals(transaction.getDocuments(), roundTrip(paymentSerializer, transaction).getDocuments());
+    }
+
+    @Test
+    public void testRoundTrip_ManyBatches() throws IOException {
+        // 多个批次追加后时间数组有扩容余量，序列化只写入已使用的部分
+        OrderTransaction<Order> transaction = new OrderTransaction<>("tx-1");
+        for (int i = 0; i < 100; i++) {
+            transaction.addBatch(Collections.emptyList(), 3, new long[]{i, i, i}, 1000L + i);
+        }
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        serializer.serialize(transaction, out);
+        DataOutputSerializer empty = new DataOutputSerializer(256);
+        serializer.serialize(new OrderTransaction<>("tx-1"), empty);
+        assertEquals(empty.length() + 300 * 2 * Long.BYTES, out.length());
+
+        OrderTransaction<Order> copy = serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+        assertEquals(300, copy.getMessageCount());
+        assertEquals(300, transaction.getIngestTimes().length);
+        assertArrayEquals(transaction.getIngestTimes(), copy.getIngestTimes());
+        assertArrayEquals(transaction.getEmitTimes(), copy.getEmitTimes());
+        assertEquals(99L, copy.getIngestTime(299));
+        assertEquals(1099L, copy.getEmitTime(299));
+    }
+
+    @Test
+    public void testCopy_IsDeep() {
+        OrderTransaction<Order> transaction = new OrderTransaction<>("tx-1");
+        transaction.addBatch(Collections.singletonList(order("ORDER001", "100.00")), 1, null, 0L);
+
+        OrderTransaction<Order> copy = serializer.copy(transaction);
+        transaction.getDocuments().get(0).setOrderStatus("PAID");
+        transaction.addBatch(Collections.singletonList(order("ORDER002", "1.00")), 1, null, 0L);
+
+        assertEquals("PENDING", copy.getDocuments().get(0).getOrderStatus());
+        assertEquals(1, copy.size());
+    }
+
+    @Test
+    public void testSnapshotCompatibility() throws Exception {
+        // 序列化器随Sink分发到TaskManager
+        TypeSerializer<OrderTransaction<Order>> distributed = InstantiationUtil.clone(serializer);
+        TypeSerializerSnapshot<OrderTransaction<Order>> snapshot = restoreSnapshot(distributed);
+
+        assertTrue(snapshot.resolveSchemaCompatibility(new OrderTransactionSerializer<>(new OrderJdbcWriter())).isCompatibleAsIs());
+        assertEquals(serializer, snapshot.restoreSerializer());
+        // 不同单据的写库实现格式不同
+        TypeSerializerSnapshot<?> waybillSnapshot = restoreSnapshot(new OrderTransactionSerializer<>(new WaybillJdbcWriter()));
+        @SuppressWarnings("unchecked")
+        TypeSerializerSnapshot<OrderTransaction<Order>> mismatched = (TypeSerializerSnapshot<OrderTransaction<Order>>) waybillSnapshot;
+        assertTrue(mismatched.resolveSchemaCompatibility(distributed).isIncompatible());
+    }
+
+    private static <T> OrderTransaction<T> roundTrip(TypeSerializer<OrderTransaction<T>> typeSerializer,
+                                                     OrderTransaction<T> transaction) throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        typeSerializer.serialize(transaction, out);
+        return typeSerializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+    }
+
+    private <T> TypeSerializerSnapshot<OrderTransaction<T>> restoreSnapshot(TypeSerializer<OrderTransaction<T>> typeSerializer)
+            throws IOException {
+        DataOutputSerializer out = new DataOutputSerializer(64);
+        TypeSerializerSnapshot.writeVersionedSnapshot(out, typeSerializer.snapshotConfiguration());
+        return TypeSerializerSnapshot.readVersionedSnapshot(new DataInputDeserializer(out.getCopyOfBuffer()), getClass().getClassLoader());
+    }
+
+    private static Order order(String orderId, String amount) {
+        Order order = new Order();
+        order.setOrderId(orderId);
+        order.setCompanyId("COMP000001");
+        order.setCustomerName("张三");
+        order.setTotalAmount(amount != null ? new BigDecimal(amount) : null);
+        order.setOrderStatus("PENDING");
+        return order;
+    }
+}
@@ -0,0 +1,220 @@
+package com.gzeport.cbec.flink.sink;
+
+import com.gzeport.cbec.data.entity.Order;
+import com.gzeport.cbec.flink.model.OrderTransaction;
+import com.gzeport.cbec.flink.serializer.OrderTransactionSerializer;
+import com.gzeport.cbec.service.BatchProcessStats;
+import com.zaxxer.hikari.HikariDataSource;
+import org.apache.flink.api.java.utils.ParameterTool;
+import org.apache.flink.core.memory.DataInputDeserializer;
+import org.apache.flink.core.memory.DataOutputSerializer;
+import org.apache.flink.util.InstantiationUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 订单JDBC写库测试类 - 不启动Spring，使用MySQL兼容模式的H2数据库
+ */
+public class OrderJdbcWriterTest {
+
+    private static final String URL = "jdbc:h2:mem:jdbcwriter;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private HikariDataSource dataSource;
+
+    private OrderJdbcWriter writer;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        JdbcConnectionOptions options = JdbcConnectionOptions.fromParameters(ParameterTool.fromMap(
+                new JdbcConnectionOptions(URL, "sa", "", "org.h2.Driver", 0, 5000).toParameters()));
+        dataSource = options.createDataSource("OrderJdbcWriterTest", 1);
+        execute("DROP TABLE IF EXISTS cbec_order");
+        execute("CREATE TABLE cbec_order (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                + "order_id VARCHAR(255) NOT NULL UNIQUE, company_id VARCHAR(255) NOT NULL, customer_name VARCHAR(255), "
+                + "total_amount DECIMAL(38, 2), order_status VARCHAR(255), create_time TIMESTAMP NOT NULL, update_time TIMESTAMP)");
+
+        // 模拟分发到TaskManager：写库实现经序列化后在任务端初始化
+        writer = InstantiationUtil.clone(new OrderJdbcWriter());
+        writer.open(dataSource);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        writer.close();
+        dataSource.close();
+    }
+
+    @Test
+    public void testBatchProcessMessages_SkipsInvalid() throws SQLException {
+        BatchProcessStats stats = new BatchProcessStats();
+        List<byte[]> messages = Arrays.asList(
+                order("ORDER001", "PENDING"),
+                "<order><orderId>ORDER002</orderId><companyId>COMP000001</companyId></order>".getBytes(StandardCharsets.UTF_8),
+                "not xml".getBytes(StandardCharsets.UTF_8));
+
+        assertTrue(writer.batchProcessMessages(messages, stats));
+
+        assertEquals(1, stats.getRowsPersisted());
+        assertEquals(1, stats.getValidationRejects());
+        assertEquals(1, stats.getParseFailures());
+        assertEquals(1, count());
+    }
+
+    @Test
+    public void testCommitMessages_ReplayIsIdempotent() throws SQLException {
+        List<byte[]> messages = Arrays.asList(order("ORDER001", "PENDING"), order("ORDER002", "PENDING"), order("ORDER003", "PENDING"));
+
+        assertEquals(3, writer.commitMessages(messages, 2, new BatchProcessStats()));
+        // 模拟故障恢复后重新提交同一事务
+        assertEquals(3, writer.commitMessages(messages, 2, new BatchProcessStats()));
+        writer.commitMessages(Collections.singletonList(order("ORDER001", "PAID")), 2, new BatchProcessStats());
+
+        assertEquals(3, count());
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT order_status FROM cbec_order WHERE order_id = 'ORDER001'")) {
+            assertTrue(rs.next());
+            assertEquals("PAID", rs.getString(1));
+        }
+    }
+
+    @Test
+    public void testCommitMessages_FailureRollsBack() throws SQLException {
+        execute("DROP TABLE cbec_order");
+
+        assertThrows(RuntimeException.class,
+                () -> writer.commitMessages(Collections.singletonList(order("ORDER001", "PENDING")), 100, new BatchProcessStats()));
+        assertFalse(writer.batchProcessMessages(Collections.singletonList(order("ORDER001", "PENDING")), new BatchProcessStats()));
+    }
+
+    @Test
+    public void testBatchProcessMessages_ParallelParseKeepsOrder() throws Exception {
+        writer.close();
+        writer = InstantiationUtil.clone(new OrderJdbcWriter());
+        writer.setParseOptions(4, 2);
+        writer.open(dataSource);
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            messages.add(i % 10 == 0 ? "not xml".getBytes(StandardCharsets.UTF_8) : order(String.format("ORDER%03d", i), "PENDING"));
+        }
+
+        BatchProcessStats stats = new BatchProcessStats();
+        List<Order> orders = writer.parseMessages(messages, stats);
+
+        assertEquals(180, orders.size());
+        assertEquals(20, stats.getParseFailures());
+        assertEquals("ORDER001", orders.get(0).getOrderId());
+        assertEquals("ORDER199", orders.get(179).getOrderId());
+        assertTrue(writer.batchProcessMessages(messages, new BatchProcessStats()));
+        assertEquals(180, count());
+    }
+
+    @Test
+    public void testCommitMessages_MultiRowInsert() throws Exception {
+        writer.close();
+        OrderJdbcWriter multiRow = new OrderJdbcWriter();
+        multiRow.setInsertMode(JdbcDocumentWriter.INSERT_MODE_MULTI_ROW);
+        writer = InstantiationUtil.clone(multiRow);
+        writer.open(dataSource);
+        List<byte[]> messages = new ArrayList<>();
+        for (int i = 0; i < 7; i++) {
+            messages.add(order(String.format("ORDER%03d", i), "PENDING"));
+        }
+
+        // 每条语句3行：两条整块语句加一条1行的语句
+        assertEquals(7, writer.commitMessages(messages, 3, new BatchProcessStats()));
+        assertEquals(7, writer.commitMessages(messages, 3, new BatchProcessStats()));
+        writer.commitMessages(Collections.singletonList(order("ORDER001", "PAID")), 3, new BatchProcessStats());
+
+        assertEquals(7, count());
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT order_status FROM cbec_order WHERE order_id = 'ORDER001'")) {
+            assertTrue(rs.next());
+            assertEquals("PAID", rs.getString(1));
+        }
+        assertThrows(IllegalArgumentException.class, () -> multiRow.setInsertMode("copy"));
+    }
+
+    @Test
+    public void testCommitDocuments_ParsedBeforeCommit() throws Exception {
+        List<byte[]> messages = Arrays.asList(order("ORDER001", "PENDING"), "not xml".getBytes(StandardCharsets.UTF_8),
+                order("ORDER002", "PENDING"));
+
+        // 两阶段提交：解析在进入事务时完成，事务状态经序列化恢复后只需写库
+        BatchProcessStats parseStats = new BatchProcessStats();
+        OrderTransaction<Order> transaction = new OrderTransaction<>("tx-1");
+        transaction.addBatch(writer.parseMessages(messages, parseStats), messages.size(), null, 0L);
+        assertEquals(1, parseStats.getParseFailures());
+        OrderTransactionSerializer<Order> serializer = new OrderTransactionSerializer<>(new OrderJdbcWriter());
+        DataOutputSerializer out = new DataOutputSerializer(256);
+        serializer.serialize(transaction, out);
+        OrderTransaction<Order> restored = serializer.deserialize(new DataInputDeserializer(out.getCopyOfBuffer()));
+
+        BatchProcessStats commitStats = new BatchProcessStats();
+        assertEquals(2, writer.commitDocuments(restored.getDocuments(), 100, commitStats));
+        assertEquals(0, commitStats.getParseTimeNanos());
+        assertEquals(2, commitStats.getRowsPersisted());
+        assertEquals(2, count());
+    }
+
+    @Test
+    public void testOptions_RequiresUrl() {
+        assertThrows(IllegalArgumentException.class,
+                () -> JdbcConnectionOptions.fromParameters(ParameterTool.fromMap(Collections.emptyMap())));
+    }
+
+    @Test
+    public void testOptions_PasswordFromEnvironment() throws SQLException {
+        Map<String, String> environment = Collections.singletonMap(JdbcConnectionOptions.ENV_PASSWORD, "secret");
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put(JdbcConnectionOptions.KEY_URL, "jdbc:h2:mem:envpassword;DB_CLOSE_DELAY=-1");
+        parameters.put(JdbcConnectionOptions.KEY_USERNAME, "sa");
+
+        // 作业参数中没有密码时由TaskManager的环境变量提供，H2内存库以首次连接的密码创建
+        try (Connection connection = JdbcConnectionOptions.fromParameters(ParameterTool.fromMap(parameters), environment).openConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+        // 作业参数中的密码优先
+        parameters.put(JdbcConnectionOptions.KEY_PASSWORD, "wrong");
+        assertThrows(SQLException.class,
+                () -> JdbcConnectionOptions.fromParameters(ParameterTool.fromMap(parameters), environment).openConnection());
+    }
+
+    private byte[] order(String orderId, String status) {
+        return ("<order><orderId>" + orderId + "</orderId><companyId>COMP000001</companyId><customerName>张三</customerName>"
+                + "<totalAmount>100.00</totalAmount><orderStatus>" + status + "</orderStatus></order>").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int count() throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM cbec_order")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+            connection.commit();
+        }
+    }
+}
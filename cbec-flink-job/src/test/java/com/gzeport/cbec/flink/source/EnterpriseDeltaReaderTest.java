@@ -0,0 +1,106 @@
+package com.gzeport.cbec.flink.source;
+
+import com.gzeport.cbec.flink.model.EnterpriseRecord;
+import com.gzeport.cbec.flink.sink.JdbcConnectionOptions;
+import org.apache.flink.util.InstantiationUtil;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 企业备案增量读取测试类 - 使用MySQL兼容模式的H2数据库
+ */
+public class EnterpriseDeltaReaderTest {
+
+    private static final String URL = "jdbc:h2:mem:enterprise;MODE=MySQL;DB_CLOSE_DELAY=-1";
+
+    private static final long BASE = 1_700_000_000_000L;
+
+    private Connection connection;
+
+    @BeforeEach
+    public void setUp() throws SQLException {
+        connection = new JdbcConnectionOptions(URL, "sa", "", "org.h2.Driver", 0, 5000).openConnection();
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS cbec_enterprise");
+            statement.execute("CREATE TABLE cbec_enterprise (id BIGINT AUTO_INCREMENT PRIMARY KEY, "
+                    + "company_id VARCHAR(10) NOT NULL UNIQUE, company_name VARCHAR(255), status VARCHAR(255) NOT NULL, "
+                    + "create_time TIMESTAMP NOT NULL, update_time TIMESTAMP NOT NULL)");
+        }
+        insert("COMP000001", "1", BASE);
+        insert("COMP000002", "0", BASE + 1000);
+    }
+
+    @AfterEach
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    @Test
+    public void testFullThenDelta() throws Exception {
+        // 模拟分发到TaskManager
+        EnterpriseDeltaReader reader = InstantiationUtil.clone(new EnterpriseDeltaReader(5000));
+
+        List<EnterpriseRecord> full = reader.read(connection, 0);
+        assertEquals(2, full.size());
+        long watermark = EnterpriseDeltaReader.advance(full, 0);
+        assertEquals(BASE + 1000, watermark);
+
+        insert("COMP000003", "1", BASE + 60000);
+        execute("UPDATE cbec_enterprise SET status = '1', update_time = '" + new Timestamp(BASE + 61000) + "' WHERE company_id = 'COMP000002'");
+
+        List<EnterpriseRecord> delta = reader.read(connection, watermark);
+        // 重叠区间内的COMP000001重复读取，按更新时间升序
+        assertEquals(3, delta.size());
+        assertEquals("COMP000001", delta.get(0).getCompanyId());
+        assertEquals("COMP000003", delta.get(1).getCompanyId());
+        assertTrue(delta.get(1).isActive());
+        assertEquals("COMP000002", delta.get(2).getCompanyId());
+        assertTrue(delta.get(2).isActive());
+        watermark = EnterpriseDeltaReader.advance(delta, watermark);
+        assertEquals(BASE + 61000, watermark);
+    }
+
+    @Test
+    public void testOverlap_CatchesLateCommit() throws SQLException {
+        EnterpriseDeltaReader reader = new EnterpriseDeltaReader(5000);
+        long watermark = EnterpriseDeltaReader.advance(reader.read(connection, 0), 0);
+
+        // 读取之后才提交、更新时间早于已读最大值的修改在重叠区间内，下一轮仍能读到
+        insert("COMP000004", "1", watermark - 3000);
+        List<EnterpriseRecord> delta = reader.read(connection, watermark);
+        assertTrue(delta.stream().anyMatch(record -> "COMP000004".equals(record.getCompanyId())));
+        assertEquals(watermark, EnterpriseDeltaReader.advance(delta, watermark));
+
+        // 不设重叠时漏读
+        assertTrue(new EnterpriseDeltaReader(0).read(connection, watermark).stream()
+                .noneMatch(record -> "COMP000004".equals(record.getCompanyId())));
+        assertThrows(IllegalArgumentException.class, () -> new EnterpriseDeltaReader(-1));
+    }
+
+    private void insert(String companyId, String status, long updateTime) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO cbec_enterprise (company_id, status, create_time, update_time) VALUES (?, ?, ?, ?)")) {
+            statement.setString(1, companyId);
+            statement.setString(2, status);
+            statement.setTimestamp(3, new Timestamp(updateTime));
+            statement.setTimestamp(4, new Timestamp(updateTime));
+            statement.executeUpdate();
+        }
+    }
+
+    private void execute(String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}